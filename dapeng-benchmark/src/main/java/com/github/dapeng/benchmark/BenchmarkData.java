@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.core.RuntimeInstance;
+import com.github.dapeng.core.SoaHeader;
+import com.github.dapeng.core.metadata.Service;
+import com.today.api.common.PageResponse;
+import com.today.api.purchase.response.ListSkuStockByStoreCodeResponse;
+import com.today.api.purchase.response.SkuStockItem;
+import org.apache.commons.io.IOUtils;
+
+import javax.xml.bind.JAXB;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 各基准共用的测试数据
+ */
+final class BenchmarkData {
+
+    static final String SERVICE = "com.today.api.purchase.service.PurchaseService";
+    static final String VERSION = "1.0.0";
+    static final String METHOD = "listSkuStockByStoreCode";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 一个包含items个元素的库存查询响应, 字段取值接近线上数据
+     */
+    static ListSkuStockByStoreCodeResponse stockResponse(int items) {
+        List<SkuStockItem> list = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            SkuStockItem item = new SkuStockItem();
+            item.setId(i);
+            item.setStoreId("store-" + (i % 50));
+            item.setOwnerName("owner");
+            item.setSkuName("sku name " + i);
+            item.setSkuNo("SKU" + i);
+            item.setMasterBarcode("69" + (1000000000L + i));
+            item.setSpec("500g");
+            item.setStockNum(Optional.of(BigDecimal.valueOf(i, 2)));
+            item.setFfStockWeight(Optional.of(i * 0.5));
+            item.setUseUnit(Optional.of("kg"));
+            item.setLastBalanceStock(Optional.of((long) i));
+            item.setSaleUnitName("袋");
+            item.setSaleUnitValue("1");
+            item.setShippingMethodValue("1");
+            item.setShippingMethodName("配送");
+            item.setSkuTypeName("普通");
+            item.setSkuTypeValue("1");
+            item.setCategoryCodeA("A01");
+            item.setCategoryCodeC("C0101");
+            item.setSellingPrice(9.9);
+            item.setTotalSellingPrice(i * 9.9);
+            list.add(item);
+        }
+
+        PageResponse page = new PageResponse();
+        page.setStart(0);
+        page.setLimit(items);
+        page.setResults(items);
+
+        ListSkuStockByStoreCodeResponse response = new ListSkuStockByStoreCodeResponse();
+        response.setSkuStockItemList(list);
+        response.setTotalStockNum(BigDecimal.valueOf(items));
+        response.setTotalStockSellingPrice(items * 1.5);
+        response.setPageResponse(Optional.of(page));
+        return response;
+    }
+
+    /**
+     * 一个填充了常用可选字段的请求头
+     */
+    static SoaHeader soaHeader() {
+        SoaHeader header = new SoaHeader();
+        header.setServiceName(SERVICE);
+        header.setVersionName(VERSION);
+        header.setMethodName(METHOD);
+        header.setCallerMid(Optional.of("com.today.api.purchase.service.PurchaseAdminService:listStock:1.0.0"));
+        header.setCallerIp(0x0A000001);
+        header.setCallerPort(Optional.of(9095));
+        header.setUserId(Optional.of(10086L));
+        header.setOperatorId(Optional.of(2048L));
+        header.setSessionTid(Optional.of(0x1234567890ABCDEFL));
+        header.setCallerTid(Optional.of(0x0FEDCBA987654321L));
+        header.setTimeout(Optional.of(3000));
+        return header;
+    }
+
+    /**
+     * size个同一服务的实例, ip从192.168.1.101开始
+     */
+    static List<RuntimeInstance> instances(int size) {
+        List<RuntimeInstance> instances = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            instances.add(new RuntimeInstance(SERVICE, "192.168.1." + (101 + i), 9090, VERSION));
+        }
+        return instances;
+    }
+
+    static Service service(String xmlResource) throws IOException {
+        String xml = IOUtils.toString(BenchmarkData.class.getResource(xmlResource), "UTF-8");
+        return JAXB.unmarshal(new StringReader(xml), Service.class);
+    }
+
+    static String json(String jsonResource) throws IOException {
+        return IOUtils.toString(BenchmarkData.class.getResource(jsonResource), "UTF-8");
+    }
+}
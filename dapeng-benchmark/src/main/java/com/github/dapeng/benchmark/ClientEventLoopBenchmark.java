@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.core.InvocationContextImpl;
+import com.github.dapeng.core.SoaConnectionPool;
+import com.github.dapeng.core.SoaConnectionPoolFactory;
+import com.github.dapeng.core.SoaException;
+import com.github.dapeng.core.enums.CodecProtocol;
+import com.github.dapeng.registry.RegistryAgentFactory;
+import com.today.api.purchase.request.ListSkuStockByStoreCodeRequest;
+import com.today.api.stock.StockServiceSuperCodec.ListSkuStockByStoreCode_argsSerializer;
+import com.today.api.stock.StockServiceSuperCodec.ListSkuStockByStoreCode_resultSerializer;
+import com.today.api.stock.StockServiceSuperCodec.listSkuStockByStoreCode_args;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 客户端IO线程数(soa.client.io.threads)以及按调用线程选择连接(soa.client.connection.affinity)对吞吐量的影响.
+ * <p>
+ * 多个调用线程通过subPool中的4个连接同步调用同进程里的LoopbackContainer.
+ * 配置在SoaSystemEnvProperties加载时读取, 所以每组参数都在单独fork的jvm里, 并在setup中最先设置.
+ * 服务端和客户端在同一台机器上, 核数不足时IO线程数增加不会带来提升.
+ * <p>
+ * 需要在至少8核的机器上运行才能看出IO线程数的影响, soa.client.io.threads的默认值(1)应该根据其结果调整:
+ * <pre>
+ * java -jar dapeng-benchmark/target/benchmarks.jar ClientEventLoopBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dsoa.subPool.size=4", "-Dsoa.container.port=19191", "-Dhost.ip=127.0.0.1"})
+@Threads(8)
+public class ClientEventLoopBenchmark {
+
+    @Param({"1", "2", "4"})
+    public int ioThreads;
+
+    @Param({"false", "true"})
+    public boolean affinity;
+
+    private LoopbackContainer container;
+    private SoaConnectionPool pool;
+
+    private final listSkuStockByStoreCode_args args = new listSkuStockByStoreCode_args();
+    private final ListSkuStockByStoreCode_argsSerializer argsSerializer = new ListSkuStockByStoreCode_argsSerializer();
+    private final ListSkuStockByStoreCode_resultSerializer resultSerializer = new ListSkuStockByStoreCode_resultSerializer();
+
+    @Setup
+    public void setup() throws Exception {
+        System.setProperty("soa.client.io.threads", String.valueOf(ioThreads));
+        System.setProperty("soa.client.connection.affinity", String.valueOf(affinity));
+
+        InMemoryRegistryAgent registry = new InMemoryRegistryAgent();
+        RegistryAgentFactory.setServerAgent(registry);
+        RegistryAgentFactory.setClientAgent(registry);
+        container = new LoopbackContainer(registry, 10);
+        container.start();
+
+        pool = ServiceLoader.load(SoaConnectionPoolFactory.class, getClass().getClassLoader()).iterator().next().getPool();
+        pool.registerClientInfo(LoopbackContainer.SERVICE, LoopbackContainer.VERSION);
+
+        ListSkuStockByStoreCodeRequest request = new ListSkuStockByStoreCodeRequest();
+        request.setStoreId("store-1");
+        args.setRequest(request);
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.stop();
+    }
+
+    @Benchmark
+    public Object syncCall() throws SoaException {
+        InvocationContextImpl.Factory.currentInstance().codecProtocol(CodecProtocol.CompressedBinary);
+        return pool.send(LoopbackContainer.SERVICE, LoopbackContainer.VERSION, "listSkuStockByStoreCode",
+                args, argsSerializer, resultSerializer);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.core.ProcessorKey;
+import com.github.dapeng.core.RuntimeInstance;
+import com.github.dapeng.core.definition.SoaServiceDefinition;
+import com.github.dapeng.core.helper.SoaSystemEnvProperties;
+import com.github.dapeng.registry.ClientRegistryAgent;
+import com.github.dapeng.registry.RegistryAgent;
+import com.github.dapeng.registry.zookeeper.ZkServiceInfo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 内存中的注册中心, 同时充当服务端的RegistryAgent和客户端的ClientRegistryAgent,
+ * 服务端注册的实例直接同步到客户端的ZkServiceInfo中, 不需要zookeeper.
+ * 没有路由、cookie以及配置信息, 客户端和服务端都走默认配置
+ */
+public class InMemoryRegistryAgent implements RegistryAgent, ClientRegistryAgent {
+
+    /**
+     * 服务名 -> 已注册的实例
+     */
+    private final Map<String, List<RuntimeInstance>> instancesByName = new ConcurrentHashMap<>();
+
+    /**
+     * 客户端已同步的服务信息
+     */
+    private final Map<String, ZkServiceInfo> clientInfoByName = new ConcurrentHashMap<>();
+
+    /**
+     * 服务端的配置信息
+     */
+    private final Map<String, ZkServiceInfo> serverInfoByName = new ConcurrentHashMap<>();
+
+    private Map<ProcessorKey, SoaServiceDefinition<?>> processorMap;
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+        instancesByName.clear();
+        clientInfoByName.values().forEach(info -> info.runtimeInstances().clear());
+    }
+
+    @Override
+    public synchronized void registerService(String serverName, String versionName) {
+        List<RuntimeInstance> instances = instancesByName.computeIfAbsent(serverName, k -> new CopyOnWriteArrayList<>());
+        instances.add(new RuntimeInstance(serverName, SoaSystemEnvProperties.HOST_IP,
+                SoaSystemEnvProperties.SOA_CONTAINER_PORT, versionName));
+        ZkServiceInfo clientInfo = clientInfoByName.get(serverName);
+        if (clientInfo != null) {
+            syncInstances(clientInfo);
+        }
+    }
+
+    @Override
+    public synchronized void unregisterService(String serverName, String versionName) {
+        List<RuntimeInstance> instances = instancesByName.get(serverName);
+        if (instances != null) {
+            instances.removeIf(inst -> inst.version.equals(versionName));
+        }
+        ZkServiceInfo clientInfo = clientInfoByName.get(serverName);
+        if (clientInfo != null) {
+            syncInstances(clientInfo);
+        }
+    }
+
+    @Override
+    public void registerAllServices() {
+        if (processorMap != null) {
+            processorMap.keySet().forEach(key -> registerService(key.serviceName, key.versionName));
+        }
+    }
+
+    @Override
+    public void setProcessorMap(Map<ProcessorKey, SoaServiceDefinition<?>> processorMap) {
+        this.processorMap = processorMap;
+    }
+
+    @Override
+    public Map<ProcessorKey, SoaServiceDefinition<?>> getProcessorMap() {
+        return processorMap;
+    }
+
+    @Override
+    public ZkServiceInfo getZkServiceInfo(boolean usingFallback, String serviceKey) {
+        return serverInfoByName.computeIfAbsent(serviceKey, k -> new ZkServiceInfo(k, new CopyOnWriteArrayList<>()));
+    }
+
+    @Override
+    public synchronized void sync(ZkServiceInfo serviceInfo) {
+        clientInfoByName.put(serviceInfo.serviceName(), serviceInfo);
+        syncInstances(serviceInfo);
+    }
+
+    @Override
+    public synchronized void cancel(ZkServiceInfo serviceInfo) {
+        clientInfoByName.remove(serviceInfo.serviceName(), serviceInfo);
+    }
+
+    @Override
+    public ZkServiceInfo serviceInfo(String serviceName) {
+        return clientInfoByName.get(serviceName);
+    }
+
+    private void syncInstances(ZkServiceInfo serviceInfo) {
+        List<RuntimeInstance> runtimeInstances = serviceInfo.runtimeInstances();
+        List<RuntimeInstance> registered = instancesByName.get(serviceInfo.serviceName());
+        runtimeInstances.clear();
+        if (registered != null) {
+            registered.forEach(inst -> runtimeInstances.add(
+                    new RuntimeInstance(inst.service, inst.ip, inst.port, inst.version)));
+        }
+    }
+}
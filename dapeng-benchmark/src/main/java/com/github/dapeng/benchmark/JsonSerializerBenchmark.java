@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.core.InvocationContextImpl;
+import com.github.dapeng.core.SoaHeader;
+import com.github.dapeng.core.enums.CodecProtocol;
+import com.github.dapeng.core.metadata.Method;
+import com.github.dapeng.core.metadata.Service;
+import com.github.dapeng.json.JsonSerializer;
+import com.github.dapeng.json.OptimizedMetadata;
+import com.github.dapeng.json.Utf8JsonSerializer;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.util.SoaMessageBuilder;
+import com.github.dapeng.util.SoaMessageParser;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 网关路径上的json与thrift互转: json请求编码成消息帧, 以及消息帧解码成json
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializerBenchmark {
+
+    /**
+     * 服务元数据:方法名:json样例
+     */
+    @Param({
+            "/com.today.api.purchase.service.PurchaseService.xml:createTransferOrder:/createTransferOrder.json",
+            "/com.github.dapeng.json.demo.service.OrderService.xml:createAppointmentForAvailable:/orderService_createAppointmentForAvailable-complexStruct.json",
+            "/com.github.dapeng.json.demo.service.OrderService.xml:payNotify:/orderService_payNotify.json"
+    })
+    public String sample;
+
+    private Service metadata;
+    private OptimizedMetadata.OptimizedService service;
+    private Method method;
+    private OptimizedMetadata.OptimizedStruct request;
+    private String json;
+    private ByteBuf utf8Json;
+    private ByteBuf encoded;
+
+    @Setup
+    public void setup() throws IOException, TException {
+        String[] parts = sample.split(":");
+        metadata = BenchmarkData.service(parts[0]);
+        service = new OptimizedMetadata.OptimizedService(metadata);
+        method = service.getMethodMap().get(parts[1]);
+        request = service.getOptimizedStructs().get(method.request.namespace + "." + method.request.name);
+        json = BenchmarkData.json(parts[2]);
+        utf8Json = Unpooled.wrappedBuffer(json.getBytes(StandardCharsets.UTF_8));
+
+        InvocationContextImpl.Factory.currentInstance().codecProtocol(CodecProtocol.CompressedBinary);
+        encoded = jsonToFrame();
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoded.release();
+        InvocationContextImpl.Factory.removeCurrentInstance();
+    }
+
+    private ByteBuf jsonToFrame() throws TException {
+        SoaHeader header = new SoaHeader();
+        header.setServiceName(metadata.name);
+        header.setVersionName(metadata.meta.version);
+        header.setMethodName(method.name);
+
+        JsonSerializer serializer = new JsonSerializer(service, method, metadata.meta.version, request);
+        return new SoaMessageBuilder<String>()
+                .buffer(PooledByteBufAllocator.DEFAULT.buffer(8192))
+                .protocol(CodecProtocol.CompressedBinary)
+                .header(header)
+                .body(json, serializer)
+                .seqid(1)
+                .build();
+    }
+
+    @Benchmark
+    public int jsonToThrift() throws TException {
+        ByteBuf buf = jsonToFrame();
+        int size = buf.readableBytes();
+        buf.release();
+        return size;
+    }
+
+    /**
+     * 请求为UTF-8字节(例如网关收到的http body), 不解码成String
+     */
+    @Benchmark
+    public int utf8JsonToThrift() throws TException {
+        SoaHeader header = new SoaHeader();
+        header.setServiceName(metadata.name);
+        header.setVersionName(metadata.meta.version);
+        header.setMethodName(method.name);
+
+        Utf8JsonSerializer serializer = new Utf8JsonSerializer(new JsonSerializer(service, method, metadata.meta.version, request));
+        ByteBuf buf = new SoaMessageBuilder<ByteBuf>()
+                .buffer(PooledByteBufAllocator.DEFAULT.buffer(8192))
+                .protocol(CodecProtocol.CompressedBinary)
+                .header(header)
+                .body(utf8Json, serializer)
+                .seqid(1)
+                .build();
+        int size = buf.readableBytes();
+        buf.release();
+        return size;
+    }
+
+    @Benchmark
+    public String thriftToJson() throws TException {
+        encoded.readerIndex(0);
+        JsonSerializer serializer = new JsonSerializer(service, method, metadata.meta.version, request);
+        return new SoaMessageParser<>(encoded, serializer).parseHeader().parseBody().getBody();
+    }
+
+    /**
+     * 响应直接以UTF-8写入池化的ByteBuf, 不生成String
+     */
+    @Benchmark
+    public int thriftToUtf8Json() throws TException {
+        encoded.readerIndex(0);
+        Utf8JsonSerializer serializer = new Utf8JsonSerializer(new JsonSerializer(service, method, metadata.meta.version, request));
+        ByteBuf json = new SoaMessageParser<>(encoded, serializer).parseHeader().parseBody().getBody();
+        int size = json.readableBytes();
+        json.release();
+        return size;
+    }
+}
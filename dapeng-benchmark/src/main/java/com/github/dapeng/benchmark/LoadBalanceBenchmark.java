@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.core.RuntimeInstance;
+import com.github.dapeng.registry.zookeeper.LoadBalanceAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 负载均衡算法. weighted=true时各实例权重不同, 走带权重的分支
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBalanceBenchmark {
+
+    @Param({"4", "32"})
+    public int instanceCount;
+
+    @Param({"false", "true"})
+    public boolean weighted;
+
+    private List<RuntimeInstance> instances;
+
+    @Setup
+    public void setup() {
+        instances = BenchmarkData.instances(instanceCount);
+        if (weighted) {
+            for (int i = 0; i < instances.size(); i++) {
+                instances.get(i).weight = 50 + (i % 4) * 50;
+            }
+        }
+        for (int i = 0; i < instances.size(); i++) {
+            for (int j = 0; j < i % 3; j++) {
+                instances.get(i).increaseActiveCount();
+            }
+        }
+    }
+
+    @Benchmark
+    public RuntimeInstance random() {
+        return LoadBalanceAlgorithm.random(instances);
+    }
+
+    @Benchmark
+    public RuntimeInstance roundRobin() {
+        return LoadBalanceAlgorithm.roundRobin(instances);
+    }
+
+    @Benchmark
+    public RuntimeInstance leastActive() {
+        return LoadBalanceAlgorithm.leastActive(instances);
+    }
+}
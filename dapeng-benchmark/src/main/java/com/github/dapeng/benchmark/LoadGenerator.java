@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.core.InvocationContextImpl;
+import com.github.dapeng.core.SoaConnectionPool;
+import com.github.dapeng.core.SoaConnectionPoolFactory;
+import com.github.dapeng.core.SoaException;
+import com.github.dapeng.core.enums.CodecProtocol;
+import com.github.dapeng.registry.RegistryAgentFactory;
+import com.today.api.purchase.request.ListSkuStockByStoreCodeRequest;
+import com.today.api.stock.StockServiceSuperCodec.*;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 端到端压测工具. 在同一个进程里启动容器(只包含库存服务)和客户端, 注册中心使用内存实现,
+ * 按照给定的到达速率(open-loop)发起请求, 输出吞吐量以及HdrHistogram统计的延迟分布.
+ * <p>
+ * 延迟从请求"应该"发出的时间点开始计算, 客户端或服务端处理不过来时排队的时间也计入延迟,
+ * 避免closed-loop压测里的coordinated omission.
+ * <pre>
+ * java -cp dapeng-benchmark/target/benchmarks.jar com.github.dapeng.benchmark.LoadGenerator \
+ *     -rate 5000 -concurrency 64 -method stock -items 20 -protocol CompressedBinary -mode async
+ * </pre>
+ * 参数:
+ * <ul>
+ * <li>rate: 每秒到达的请求数, 默认2000</li>
+ * <li>arrival: 到达间隔的分布, poisson(默认)或者uniform</li>
+ * <li>concurrency: sync模式下的调用线程数, async模式下最大的在途请求数, 默认32</li>
+ * <li>mode: sync(默认)或者async</li>
+ * <li>method: stock(默认, listSkuStockByStoreCode)或者echo</li>
+ * <li>items: stock方法响应中的库存条目数, 用于控制响应包大小, 默认10</li>
+ * <li>protocol: Binary或者CompressedBinary(默认)</li>
+ * <li>warmup/duration: 预热和统计的秒数, 默认5/30</li>
+ * <li>port: 容器监听端口, 默认19090</li>
+ * </ul>
+ */
+public class LoadGenerator {
+
+    private static final String STOCK_METHOD = "listSkuStockByStoreCode";
+
+    private final Map<String, String> options;
+    private final int rate;
+    private final boolean poisson;
+    private final int concurrency;
+    private final boolean async;
+    private final boolean echo;
+    private final CodecProtocol protocol;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+
+    private final Recorder recorder = new Recorder(3);
+    private final Histogram total = new Histogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    private SoaConnectionPool pool;
+    private volatile boolean running = true;
+    private long measureStart;
+    private long measureEnd;
+    private long dropped;
+
+    private LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.rate = Integer.parseInt(options.get("rate"));
+        this.poisson = "poisson".equals(options.get("arrival"));
+        this.concurrency = Integer.parseInt(options.get("concurrency"));
+        this.async = "async".equals(options.get("mode"));
+        this.echo = "echo".equals(options.get("method"));
+        this.protocol = CodecProtocol.valueOf(options.get("protocol"));
+        this.warmupSeconds = Integer.parseInt(options.get("warmup"));
+        this.durationSeconds = Integer.parseInt(options.get("duration"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("rate", "2000");
+        options.put("arrival", "poisson");
+        options.put("concurrency", "32");
+        options.put("mode", "sync");
+        options.put("method", "stock");
+        options.put("items", "10");
+        options.put("protocol", CodecProtocol.CompressedBinary.name());
+        options.put("warmup", "5");
+        options.put("duration", "30");
+        options.put("port", "19090");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String key = args[i].replaceFirst("^-+", "");
+            if (!options.containsKey(key)) {
+                System.err.println("unknown option: " + args[i] + ", available: " + options.keySet());
+                System.exit(1);
+            }
+            options.put(key, args[i + 1]);
+        }
+
+        // 容器和客户端都从SoaSystemEnvProperties读取ip和端口, 必须在其加载之前设置
+        System.setProperty("soa.container.port", options.get("port"));
+        if (System.getProperty("host.ip") == null) {
+            System.setProperty("host.ip", "127.0.0.1");
+        }
+
+        InMemoryRegistryAgent registry = new InMemoryRegistryAgent();
+        RegistryAgentFactory.setServerAgent(registry);
+        RegistryAgentFactory.setClientAgent(registry);
+
+        LoopbackContainer container = new LoopbackContainer(registry, Integer.parseInt(options.get("items")));
+        container.start();
+
+        new LoadGenerator(options).run();
+
+        container.stop();
+        System.exit(0);
+    }
+
+    private void run() throws InterruptedException {
+        pool = ServiceLoader.load(SoaConnectionPoolFactory.class, getClass().getClassLoader()).iterator().next().getPool();
+        pool.registerClientInfo(LoopbackContainer.SERVICE, LoopbackContainer.VERSION);
+
+        System.out.println("options: " + options);
+
+        ExecutorService workers = null;
+        BlockingQueue<Long> arrivals = null;
+        Semaphore inflight = null;
+        if (async) {
+            inflight = new Semaphore(concurrency);
+        } else {
+            arrivals = new LinkedBlockingQueue<>();
+            workers = Executors.newFixedThreadPool(concurrency, daemonThreads("load-worker"));
+            for (int i = 0; i < concurrency; i++) {
+                workers.execute(syncWorker(arrivals));
+            }
+        }
+
+        Thread reporter = new Thread(this::report, "load-reporter");
+        reporter.setDaemon(true);
+        reporter.start();
+
+        // 按到达速率计算每个请求的计划发出时间, 不等待前一个请求完成.
+        // 到了结束时间还没来得及发出的请求不再发出, 计入dropped
+        long start = System.nanoTime();
+        measureStart = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) rate;
+        double next = start;
+        while (next < end) {
+            long intended = (long) next;
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            } else if (System.nanoTime() >= end) {
+                break;
+            }
+            if (async) {
+                if (!inflight.tryAcquire(end - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+                sendAsync(intended, inflight);
+            } else {
+                arrivals.add(intended);
+            }
+            next += poisson ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * intervalNanos : intervalNanos;
+        }
+        while (next < end) {
+            dropped++;
+            next += intervalNanos;
+        }
+
+        running = false;
+        if (async) {
+            inflight.tryAcquire(concurrency, 10, TimeUnit.SECONDS);
+        } else {
+            dropped += arrivals.size();
+            arrivals.clear();
+            workers.shutdown();
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        measureEnd = System.nanoTime();
+        reporter.interrupt();
+        reporter.join();
+        summary();
+    }
+
+    private Runnable syncWorker(BlockingQueue<Long> arrivals) {
+        return () -> {
+            while (running || !arrivals.isEmpty()) {
+                try {
+                    Long intended = arrivals.poll(100, TimeUnit.MILLISECONDS);
+                    if (intended == null) {
+                        continue;
+                    }
+                    try {
+                        sendSync();
+                        record(intended);
+                    } catch (SoaException e) {
+                        errors.increment();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        };
+    }
+
+    private void sendSync() throws SoaException {
+        InvocationContextImpl.Factory.currentInstance().codecProtocol(protocol);
+        if (echo) {
+            pool.send(LoopbackContainer.SERVICE, LoopbackContainer.VERSION, "echo",
+                    new echo_args(), new echo_argsSerializer(), new echo_resultSerializer());
+        } else {
+            pool.send(LoopbackContainer.SERVICE, LoopbackContainer.VERSION, STOCK_METHOD,
+                    stockArgs(), new ListSkuStockByStoreCode_argsSerializer(), new ListSkuStockByStoreCode_resultSerializer());
+        }
+    }
+
+    private void sendAsync(long intended, Semaphore inflight) {
+        Future<?> future;
+        try {
+            InvocationContextImpl.Factory.currentInstance().codecProtocol(protocol);
+            if (echo) {
+                future = pool.sendAsync(LoopbackContainer.SERVICE, LoopbackContainer.VERSION, "echo",
+                        new echo_args(), new echo_argsSerializer(), new echo_resultSerializer());
+            } else {
+                future = pool.sendAsync(LoopbackContainer.SERVICE, LoopbackContainer.VERSION, STOCK_METHOD,
+                        stockArgs(), new ListSkuStockByStoreCode_argsSerializer(), new ListSkuStockByStoreCode_resultSerializer());
+            }
+        } catch (SoaException e) {
+            errors.increment();
+            inflight.release();
+            return;
+        }
+        ((CompletableFuture<?>) future).whenComplete((result, ex) -> {
+            if (ex == null) {
+                record(intended);
+            } else {
+                errors.increment();
+            }
+            inflight.release();
+        });
+    }
+
+    private static listSkuStockByStoreCode_args stockArgs() {
+        ListSkuStockByStoreCodeRequest request = new ListSkuStockByStoreCodeRequest();
+        request.setStoreId("store-1");
+        listSkuStockByStoreCode_args args = new listSkuStockByStoreCode_args();
+        args.setRequest(request);
+        return args;
+    }
+
+    private void record(long intended) {
+        recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+    }
+
+    /**
+     * 每秒输出一次区间统计, 预热结束之后的区间累加到总的统计里
+     */
+    private void report() {
+        Histogram interval = null;
+        int second = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                break;
+            }
+            interval = recorder.getIntervalHistogram(interval);
+            second++;
+            boolean warmup = second <= warmupSeconds;
+            if (!warmup) {
+                total.add(interval);
+            }
+            System.out.printf("%s%4ds  %8d req/s  p50=%8.3fms  p99=%8.3fms  max=%8.3fms  errors=%d%n",
+                    warmup ? "warmup " : "       ", second, interval.getTotalCount(),
+                    millis(interval.getValueAtPercentile(50)), millis(interval.getValueAtPercentile(99)),
+                    millis(interval.getMaxValue()), errors.sum());
+        }
+        // 最后一个不满一秒的区间
+        total.add(recorder.getIntervalHistogram(interval));
+    }
+
+    private void summary() {
+        System.out.println();
+        double seconds = (measureEnd - measureStart) / (double) TimeUnit.SECONDS.toNanos(1);
+        System.out.printf("requests:   %d (errors: %d, dropped: %d)%n", total.getTotalCount(), errors.sum(), dropped);
+        System.out.printf("throughput: %.1f req/s (target %d req/s)%n", total.getTotalCount() / seconds, rate);
+        for (double percentile : new double[]{50, 90, 99, 99.9, 99.99}) {
+            System.out.printf("p%-6s     %10.3f ms%n", percentile, millis(total.getValueAtPercentile(percentile)));
+        }
+        System.out.printf("max         %10.3f ms%n", millis(total.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        return new ThreadFactory() {
+            private int index = 0;
+
+            @Override
+            public synchronized Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, prefix + "-" + index++);
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+}
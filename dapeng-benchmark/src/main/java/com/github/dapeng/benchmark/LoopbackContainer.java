@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.api.Container;
+import com.github.dapeng.api.ContainerFactory;
+import com.github.dapeng.api.healthcheck.DoctorFactory;
+import com.github.dapeng.core.Application;
+import com.github.dapeng.core.ProcessorKey;
+import com.github.dapeng.core.ServiceInfo;
+import com.github.dapeng.core.helper.SoaSystemEnvProperties;
+import com.github.dapeng.impl.container.DapengApplication;
+import com.github.dapeng.impl.plugins.netty.NettyPlugin;
+import com.github.dapeng.registry.RegistryAgent;
+import com.today.api.stock.StockServiceCodec;
+import com.today.api.stock.service.StockService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Optional;
+
+/**
+ * 进程内的服务容器: 不加载spring应用, 直接把库存服务的processor注册到容器里,
+ * 由NettyPlugin在soa.container.port上提供服务, 并注册到给定的注册中心
+ */
+public class LoopbackContainer {
+
+    public static final String SERVICE = "com.today.api.stock.service.StockService";
+    public static final String VERSION = "1.0.0";
+
+    private final RegistryAgent registryAgent;
+    private final int items;
+    private NettyPlugin nettyPlugin;
+
+    /**
+     * @param registryAgent 服务注册的目标
+     * @param items         listSkuStockByStoreCode返回的库存条目数
+     */
+    public LoopbackContainer(RegistryAgent registryAgent, int items) {
+        this.registryAgent = registryAgent;
+        this.items = items;
+    }
+
+    /**
+     * 创建(或者复用进程内已有的)容器并注册库存服务, 不监听端口
+     *
+     * @param items listSkuStockByStoreCode返回的库存条目数
+     */
+    public static Container createContainer(int items) {
+        ClassLoader classLoader = LoopbackContainer.class.getClassLoader();
+        ContainerFactory.createContainer(Collections.singletonList(classLoader), classLoader);
+        Container container = ContainerFactory.getContainer();
+        // echo方法需要doctor提供诊断信息
+        DoctorFactory.createDoctor(classLoader);
+
+        ProcessorKey key = new ProcessorKey(SERVICE, VERSION);
+        container.registerAppProcessors(Collections.singletonMap(key,
+                new StockServiceCodec.Processor<StockService>(new StockServiceStub(items), StockService.class)));
+
+        ServiceInfo serviceInfo = new ServiceInfo(SERVICE, VERSION, "service", StockService.class,
+                Optional.empty(), new HashMap<>(), new HashMap<>());
+        Application application = new DapengApplication(Collections.singletonList(serviceInfo), classLoader);
+        container.registerAppMap(Collections.singletonMap(key, application));
+        return container;
+    }
+
+    public void start() throws IOException, InterruptedException {
+        Container container = createContainer(items);
+
+        nettyPlugin = new NettyPlugin(container);
+        nettyPlugin.start();
+        awaitListening(SoaSystemEnvProperties.SOA_CONTAINER_PORT, 10000);
+
+        registryAgent.setProcessorMap(container.getServiceProcessors());
+        registryAgent.start();
+        registryAgent.registerAllServices();
+    }
+
+    public void stop() {
+        registryAgent.unregisterService(SERVICE, VERSION);
+        registryAgent.stop();
+        if (nettyPlugin != null) {
+            nettyPlugin.stop();
+        }
+    }
+
+    /**
+     * NettyPlugin在后台线程中绑定端口, 这里等到端口可以连接为止
+     */
+    private static void awaitListening(int port, long timeoutMillis) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress("127.0.0.1", port), 200);
+                return;
+            } catch (IOException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(50);
+            }
+        }
+    }
+}
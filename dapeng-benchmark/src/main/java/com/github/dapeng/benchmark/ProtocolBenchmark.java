@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.client.netty.TSoaTransport;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.TBinaryProtocol;
+import com.github.dapeng.org.apache.thrift.protocol.TCompactProtocol;
+import com.github.dapeng.org.apache.thrift.protocol.TProtocol;
+import com.today.api.purchase.response.ListSkuStockByStoreCodeResponse;
+import com.today.api.purchase.response.serializer.ListSkuStockByStoreCodeResponseSerializer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 生成的today-api序列化器在binary/compact协议下的编解码.
+ * json协议走的是网关的JsonSerializer, 见{@link JsonSerializerBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtocolBenchmark {
+
+    @Param({"binary", "compact"})
+    public String protocol;
+
+    @Param({"1", "100"})
+    public int items;
+
+    private final ListSkuStockByStoreCodeResponseSerializer serializer = new ListSkuStockByStoreCodeResponseSerializer();
+    private ListSkuStockByStoreCodeResponse response;
+    private ByteBuf writeBuf;
+    private ByteBuf encoded;
+
+    @Setup
+    public void setup() throws TException {
+        response = BenchmarkData.stockResponse(items);
+        writeBuf = Unpooled.buffer(items * 512 + 256);
+        encoded = Unpooled.buffer(items * 512 + 256);
+        encode(encoded);
+    }
+
+    @TearDown
+    public void tearDown() {
+        writeBuf.release();
+        encoded.release();
+    }
+
+    private TProtocol protocol(TSoaTransport transport) {
+        return "compact".equals(protocol) ? new TCompactProtocol(transport) : new TBinaryProtocol(transport);
+    }
+
+    private void encode(ByteBuf buf) throws TException {
+        TSoaTransport transport = new TSoaTransport(buf);
+        serializer.write(response, protocol(transport));
+        transport.flush();
+    }
+
+    private ListSkuStockByStoreCodeResponse decode(ByteBuf buf) throws TException {
+        return serializer.read(protocol(new TSoaTransport(buf)));
+    }
+
+    @Benchmark
+    public ByteBuf write() throws TException {
+        writeBuf.clear();
+        encode(writeBuf);
+        return writeBuf;
+    }
+
+    @Benchmark
+    public ListSkuStockByStoreCodeResponse read() throws TException {
+        encoded.readerIndex(0);
+        return decode(encoded);
+    }
+
+    @Benchmark
+    public ListSkuStockByStoreCodeResponse roundTrip() throws TException {
+        writeBuf.clear();
+        encode(writeBuf);
+        return decode(writeBuf);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.core.InvocationContextImpl;
+import com.github.dapeng.core.RuntimeInstance;
+import com.github.dapeng.router.Route;
+import com.github.dapeng.router.RoutesExecutor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每次调用都会执行的路由匹配
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutesBenchmark {
+
+    private static final String LINE = System.getProperty("line.separator");
+
+    /**
+     * method: 方法名匹配, 命中第一条
+     * regex: 正则匹配, 前两条未命中, 命中otherwise
+     * userId: 按userId取模分流, 命中后用ip掩码过滤
+     */
+    @Param({"method", "regex", "userId"})
+    public String rule;
+
+    @Param({"8"})
+    public int instanceCount;
+
+    private InvocationContextImpl ctx;
+    private List<Route> routes;
+    private List<RuntimeInstance> instances;
+
+    @Setup
+    public void setup() {
+        ctx = (InvocationContextImpl) InvocationContextImpl.Factory.currentInstance();
+        ctx.serviceName(BenchmarkData.SERVICE);
+        ctx.versionName(BenchmarkData.VERSION);
+        ctx.methodName(BenchmarkData.METHOD);
+        ctx.userId(2052L);
+
+        String content;
+        switch (rule) {
+            case "method":
+                content = "method match 'listSkuStockByStoreCode' , 'getFoo' ; version match '1.0.0' => ~ip'192.168.1.101' , ~ip'192.168.1.103'";
+                break;
+            case "regex":
+                content = "method match r'get.*' => ip'192.168.1.101'" + LINE
+                        + "method match r'create.*' , r'update.*' => ip'192.168.1.102'" + LINE
+                        + "otherwise => ip'192.168.1.104' , ip'192.168.1.105'";
+                break;
+            default:
+                content = "userId match %\"1024n+2..4\" ; version match '1.0.0' => ip\"192.168.1.101/30\"";
+        }
+        routes = RoutesExecutor.parseAll(content);
+        instances = BenchmarkData.instances(instanceCount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        InvocationContextImpl.Factory.removeCurrentInstance();
+    }
+
+    @Benchmark
+    public List<RuntimeInstance> executeRoutes() {
+        return RoutesExecutor.executeRoutes(ctx, routes, instances);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.impl.plugins.monitor.ServerCounterContainer;
+import com.github.dapeng.impl.plugins.monitor.ServiceBasicInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 服务端每次请求的监控计数(与SoaInvokeCounter, SoaLinkStateHandler的调用一致).
+ * 需要打开soa.monitor.enable, 否则计数方法直接返回
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dsoa.monitor.enable=true")
+public class ServerCounterBenchmark {
+
+    @Param({"16"})
+    public int methods;
+
+    private ServerCounterContainer container;
+    private ServiceBasicInfo[] basicInfos;
+
+    @Setup
+    public void setup() {
+        container = ServerCounterContainer.getInstance();
+        basicInfos = new ServiceBasicInfo[methods];
+        for (int i = 0; i < methods; i++) {
+            basicInfos[i] = new ServiceBasicInfo(BenchmarkData.SERVICE, "method" + i, BenchmarkData.VERSION);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        container.destory();
+    }
+
+    private void onRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ServiceBasicInfo basicInfo = basicInfos[random.nextInt(basicInfos.length)];
+
+        container.addRequestFlow(512);
+        container.addServiceElapseInfo(basicInfo, random.nextInt(100));
+        container.increaseServiceCall(basicInfo, true);
+        container.addResponseFlow(2048);
+    }
+
+    @Benchmark
+    public void perRequest() {
+        onRequest();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void perRequestContended() {
+        onRequest();
+    }
+}
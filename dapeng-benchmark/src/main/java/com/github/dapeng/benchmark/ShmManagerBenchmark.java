@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.core.FreqControlRule;
+import com.github.dapeng.impl.filters.freq.ShmManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流计数. 共享内存文件放在java.io.tmpdir下, 不影响本机的/data/shm.data
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dsoa.freq.shm.data=/tmp/dapeng-benchmark-shm.data")
+public class ShmManagerBenchmark {
+
+    /**
+     * 参与计数的key个数, 1表示所有请求落在同一个计数节点上
+     */
+    @Param({"1", "1024"})
+    public int keys;
+
+    private ShmManager manager;
+    private FreqControlRule rule;
+
+    @Setup
+    public void setup() {
+        manager = ShmManager.getInstance();
+
+        rule = new FreqControlRule();
+        rule.app = BenchmarkData.SERVICE;
+        rule.ruleType = "userId";
+        // 阈值足够大, 只测试计数本身而不是被限流的分支
+        rule.minInterval = 60;
+        rule.maxReqForMinInterval = Integer.MAX_VALUE;
+        rule.midInterval = 3600;
+        rule.maxReqForMidInterval = Integer.MAX_VALUE;
+        rule.maxInterval = 86400;
+        rule.maxReqForMaxInterval = Integer.MAX_VALUE;
+    }
+
+    @Benchmark
+    public boolean reportAndCheck() {
+        int key = keys == 1 ? 10086 : ThreadLocalRandom.current().nextInt(keys);
+        return manager.reportAndCheck(rule, key);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean reportAndCheckContended() {
+        int key = keys == 1 ? 10086 : ThreadLocalRandom.current().nextInt(keys);
+        return manager.reportAndCheck(rule, key);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.client.netty.TSoaTransport;
+import com.github.dapeng.core.SoaHeader;
+import com.github.dapeng.core.SoaHeaderSerializer;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.TBinaryProtocol;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求头的编解码. 请求头固定使用TBinaryProtocol
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SoaHeaderBenchmark {
+
+    private final SoaHeaderSerializer serializer = new SoaHeaderSerializer();
+    private SoaHeader header;
+    private ByteBuf writeBuf;
+    private ByteBuf encoded;
+
+    @Setup
+    public void setup() throws TException {
+        header = BenchmarkData.soaHeader();
+        writeBuf = Unpooled.buffer(1024);
+        encoded = Unpooled.buffer(1024);
+        encode(encoded);
+    }
+
+    @TearDown
+    public void tearDown() {
+        writeBuf.release();
+        encoded.release();
+    }
+
+    private void encode(ByteBuf buf) throws TException {
+        TSoaTransport transport = new TSoaTransport(buf);
+        serializer.write(header, new TBinaryProtocol(transport));
+        transport.flush();
+    }
+
+    @Benchmark
+    public ByteBuf write() throws TException {
+        writeBuf.clear();
+        encode(writeBuf);
+        return writeBuf;
+    }
+
+    @Benchmark
+    public SoaHeader read() throws TException {
+        encoded.readerIndex(0);
+        return serializer.read(new TBinaryProtocol(new TSoaTransport(encoded)));
+    }
+
+    @Benchmark
+    public int estimateSize() {
+        return serializer.estimateSize(header);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.core.InvocationContextImpl;
+import com.github.dapeng.core.SoaHeader;
+import com.github.dapeng.core.enums.CodecProtocol;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.util.SoaMessageBuilder;
+import com.github.dapeng.util.SoaMessageParser;
+import com.today.api.purchase.response.ListSkuStockByStoreCodeResponse;
+import com.today.api.purchase.response.serializer.ListSkuStockByStoreCodeResponseSerializer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 完整消息帧(请求头+包体)的组装与解析, 与客户端/服务端的实际路径一致
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SoaMessageBenchmark {
+
+    @Param({"Binary", "CompressedBinary"})
+    public CodecProtocol protocol;
+
+    @Param({"1", "100"})
+    public int items;
+
+    private final ListSkuStockByStoreCodeResponseSerializer serializer = new ListSkuStockByStoreCodeResponseSerializer();
+    private SoaHeader header;
+    private ListSkuStockByStoreCodeResponse body;
+    private ByteBuf encoded;
+
+    @Setup
+    public void setup() throws TException {
+        InvocationContextImpl.Factory.currentInstance();
+        header = BenchmarkData.soaHeader();
+        body = BenchmarkData.stockResponse(items);
+        encoded = newFrame();
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoded.release();
+        InvocationContextImpl.Factory.removeCurrentInstance();
+    }
+
+    private ByteBuf newFrame() throws TException {
+        int estimated = SoaMessageBuilder.estimateSize(header, body, serializer);
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer(estimated > 0 ? estimated : 8192);
+        return new SoaMessageBuilder<ListSkuStockByStoreCodeResponse>()
+                .buffer(buf)
+                .protocol(protocol)
+                .header(header)
+                .body(body, serializer)
+                .seqid(1)
+                .build();
+    }
+
+    @Benchmark
+    public int build() throws TException {
+        ByteBuf buf = newFrame();
+        int size = buf.readableBytes();
+        buf.release();
+        return size;
+    }
+
+    @Benchmark
+    public ListSkuStockByStoreCodeResponse parse() throws TException {
+        encoded.readerIndex(0);
+        return new SoaMessageParser<>(encoded, serializer).parseHeader().parseBody().getBody();
+    }
+}
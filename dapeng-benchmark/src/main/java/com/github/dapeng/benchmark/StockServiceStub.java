@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.core.SoaCode;
+import com.github.dapeng.core.SoaException;
+import com.today.api.purchase.request.*;
+import com.today.api.purchase.response.InventoryTransOutQueryResponse;
+import com.today.api.purchase.response.ListSkuStockByStoreCodeResponse;
+import com.today.api.purchase.response.ListStockByStoreIdResponse;
+import com.today.api.purchase.response.StockQueryResponse;
+import com.today.api.stock.service.StockService;
+
+import java.util.List;
+
+/**
+ * 压测用的库存服务, listSkuStockByStoreCode直接返回预先构造好的响应, 其余方法不支持
+ */
+class StockServiceStub implements StockService {
+
+    private final ListSkuStockByStoreCodeResponse response;
+
+    StockServiceStub(int items) {
+        this.response = BenchmarkData.stockResponse(items);
+    }
+
+    @Override
+    public ListSkuStockByStoreCodeResponse listSkuStockByStoreCode(ListSkuStockByStoreCodeRequest request) throws SoaException {
+        return response;
+    }
+
+    @Override
+    public void addStockAction(CreateStockRequest request) throws SoaException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateInventoryAction(UpdateInventoryRequest request) throws SoaException {
+        throw unsupported();
+    }
+
+    @Override
+    public void deleteStock(List<Long> ids) throws SoaException {
+        throw unsupported();
+    }
+
+    @Override
+    public StockQueryResponse getStockByOwnerId(StockQueryRequest stockQueryRequest) throws SoaException {
+        throw unsupported();
+    }
+
+    @Override
+    public ListStockByStoreIdResponse listStockByStoreId(ListStockByStoreIdRequest request) throws SoaException {
+        throw unsupported();
+    }
+
+    @Override
+    public InventoryTransOutQueryResponse listInventoryTransOutInfo(InventoryTransOutQueryRequest request) throws SoaException {
+        throw unsupported();
+    }
+
+    @Override
+    public void updateStockByStoreAndSkuNos(String storeId, List<String> skuNoList) throws SoaException {
+        throw unsupported();
+    }
+
+    @Override
+    public void calculateElemStock() throws SoaException {
+        throw unsupported();
+    }
+
+    private static SoaException unsupported() {
+        return new SoaException(SoaCode.ServerNoMatchedMethod);
+    }
+}
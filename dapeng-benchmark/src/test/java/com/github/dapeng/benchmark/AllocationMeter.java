@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 统计当前线程在一段代码里分配的堆内存(字节), 基于HotSpot的ThreadMXBean.getThreadAllocatedBytes
+ */
+public final class AllocationMeter {
+
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * 不支持线程分配统计的JVM上跳过测试
+     */
+    public static void assumeSupported() {
+        Assume.assumeTrue("thread allocation measurement not supported",
+                THREAD_MX_BEAN.isThreadAllocatedMemorySupported());
+        THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * 先执行warmup次让JIT和各种缓存(对象池, ThreadLocal等)稳定下来, 再统计之后times次的平均分配量
+     *
+     * @return 每次调用平均分配的字节数
+     */
+    public static long bytesPerOp(int warmup, int times, Action action) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            action.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < times; i++) {
+            action.run();
+        }
+        long after = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        return (after - before) / times;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.core.InvocationContextImpl;
+import com.github.dapeng.core.SoaConnectionPool;
+import com.github.dapeng.core.SoaConnectionPoolFactory;
+import com.github.dapeng.core.enums.CodecProtocol;
+import com.github.dapeng.registry.RegistryAgentFactory;
+import com.today.api.purchase.request.ListSkuStockByStoreCodeRequest;
+import com.today.api.stock.StockServiceSuperCodec.ListSkuStockByStoreCode_argsSerializer;
+import com.today.api.stock.StockServiceSuperCodec.ListSkuStockByStoreCode_resultSerializer;
+import com.today.api.stock.StockServiceSuperCodec.listSkuStockByStoreCode_args;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 客户端同步调用(SoaConnectionPool.send -> SoaBaseConnection.send)在调用线程上的内存分配预算.
+ * <p>
+ * 服务端是同进程里监听soa.container.port的LoopbackContainer, 注册中心使用内存实现.
+ * 只统计调用线程: 组装请求, 等待响应, 解析响应; netty IO线程上的分配不计入
+ */
+public class ClientAllocationBudgetTest {
+
+    private static final int ITEMS = 10;
+    private static final int WARMUP = 5000;
+    private static final int TIMES = 5000;
+
+    /**
+     * 每个请求允许分配的字节数(响应包含ITEMS个库存条目), 约为实测值加12%:
+     * Binary约29700字节, CompressedBinary约30500字节
+     */
+    private static final Map<CodecProtocol, Long> BUDGETS = new EnumMap<>(CodecProtocol.class);
+
+    static {
+        BUDGETS.put(CodecProtocol.Binary, 33500L);
+        BUDGETS.put(CodecProtocol.CompressedBinary, 34300L);
+    }
+
+    private static LoopbackContainer container;
+    private static SoaConnectionPool pool;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        AllocationMeter.assumeSupported();
+
+        InMemoryRegistryAgent registry = new InMemoryRegistryAgent();
+        RegistryAgentFactory.setServerAgent(registry);
+        RegistryAgentFactory.setClientAgent(registry);
+        container = new LoopbackContainer(registry, ITEMS);
+        container.start();
+
+        pool = ServiceLoader.load(SoaConnectionPoolFactory.class, ClientAllocationBudgetTest.class.getClassLoader())
+                .iterator().next().getPool();
+        pool.registerClientInfo(LoopbackContainer.SERVICE, LoopbackContainer.VERSION);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        InvocationContextImpl.Factory.removeCurrentInstance();
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @Test
+    public void binary() throws Exception {
+        assertWithinBudget(CodecProtocol.Binary);
+    }
+
+    @Test
+    public void compressedBinary() throws Exception {
+        assertWithinBudget(CodecProtocol.CompressedBinary);
+    }
+
+    private void assertWithinBudget(CodecProtocol protocol) throws Exception {
+        ListSkuStockByStoreCode_argsSerializer argsSerializer = new ListSkuStockByStoreCode_argsSerializer();
+        ListSkuStockByStoreCode_resultSerializer resultSerializer = new ListSkuStockByStoreCode_resultSerializer();
+        listSkuStockByStoreCode_args args = new listSkuStockByStoreCode_args();
+        ListSkuStockByStoreCodeRequest request = new ListSkuStockByStoreCodeRequest();
+        request.setStoreId("store-1");
+        args.setRequest(request);
+
+        long bytes = AllocationMeter.bytesPerOp(WARMUP, TIMES, () -> {
+            InvocationContextImpl.Factory.currentInstance().codecProtocol(protocol);
+            pool.send(LoopbackContainer.SERVICE, LoopbackContainer.VERSION, "listSkuStockByStoreCode",
+                    args, argsSerializer, resultSerializer);
+        });
+
+        long budget = BUDGETS.get(protocol);
+        assertTrue("client " + protocol + " allocated " + bytes + " bytes/request, budget is " + budget,
+                bytes <= budget);
+    }
+}
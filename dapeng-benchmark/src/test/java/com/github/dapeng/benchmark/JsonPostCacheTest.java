@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.benchmark;
+
+import com.github.dapeng.client.netty.JsonPost;
+import com.github.dapeng.core.InvocationContextImpl;
+import com.github.dapeng.core.SoaConnectionPoolFactory;
+import com.github.dapeng.json.OptimizedMetadata;
+import com.github.dapeng.registry.RegistryAgentFactory;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ServiceLoader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 配置了cache的方法通过JsonPost(String以及UTF-8 ByteBuf两种形式)调用: 第一次未命中, 之后命中缓存.
+ * 同步调用的响应带"status":1, 与异步调用分别缓存
+ * <p>
+ * 元数据见src/test/resources下只包含listSkuStockByStoreCode的StockService.xml
+ */
+public class JsonPostCacheTest {
+
+    private static final String METHOD = "listSkuStockByStoreCode";
+
+    private static InMemoryRegistryAgent registry;
+    private static LoopbackContainer container;
+    private static OptimizedMetadata.OptimizedService service;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        registry = new InMemoryRegistryAgent();
+        RegistryAgentFactory.setServerAgent(registry);
+        RegistryAgentFactory.setClientAgent(registry);
+        container = new LoopbackContainer(registry, 3);
+        container.start();
+        // 创建连接池, 同时注册clientRuntimeInfo
+        ServiceLoader.load(SoaConnectionPoolFactory.class, JsonPostCacheTest.class.getClassLoader())
+                .iterator().next().getPool();
+
+        service = new OptimizedMetadata.OptimizedService(
+                BenchmarkData.service("/com.today.api.stock.service.StockService.xml"));
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        InvocationContextImpl.Factory.removeCurrentInstance();
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @Test
+    public void stringJson() throws Exception {
+        JsonPost post = new JsonPost(LoopbackContainer.SERVICE, LoopbackContainer.VERSION, METHOD);
+        registry.serviceInfo(LoopbackContainer.SERVICE).cacheConfig.serviceConfigs.put(METHOD, 60_000L);
+
+        String request = "{\"body\":{\"request\":{\"storeId\":\"json-string\"}}}";
+        long misses = cacheCounter("CacheMisses");
+        long hits = cacheCounter("CacheHits");
+
+        String first = post.callServiceMethod(request, service);
+        String second = post.callServiceMethod(request, service);
+        String async = post.callServiceMethodAsync(request, service).get();
+        String secondAsync = post.callServiceMethodAsync(request, service).get();
+
+        assertTrue(first, first.contains("\"totalStockNum\":\"3\"") && first.contains("\"status\":1"));
+        assertEquals(first, second);
+        assertTrue(async, async.contains("\"totalStockNum\":\"3\"") && !async.contains("\"status\""));
+        assertEquals(async, secondAsync);
+        assertEquals(2, cacheCounter("CacheMisses") - misses);
+        assertEquals(2, cacheCounter("CacheHits") - hits);
+    }
+
+    @Test
+    public void utf8Json() throws Exception {
+        JsonPost post = new JsonPost(LoopbackContainer.SERVICE, LoopbackContainer.VERSION, METHOD);
+        registry.serviceInfo(LoopbackContainer.SERVICE).cacheConfig.serviceConfigs.put(METHOD, 60_000L);
+
+        ByteBuf request = Unpooled.copiedBuffer("{\"body\":{\"request\":{\"storeId\":\"json-utf8\"}}}",
+                StandardCharsets.UTF_8);
+        long misses = cacheCounter("CacheMisses");
+        long hits = cacheCounter("CacheHits");
+
+        ByteBuf first = post.callServiceMethod(request, service);
+        ByteBuf second = post.callServiceMethod(request, service);
+        // 调用方释放返回的ByteBuf不影响缓存
+        String firstJson = release(first);
+        String secondJson = release(second);
+        String asyncJson = release(post.callServiceMethodAsync(request, service).get());
+        String secondAsyncJson = release(post.callServiceMethodAsync(request, service).get());
+        request.release();
+
+        assertTrue(firstJson, firstJson.contains("\"totalStockNum\":\"3\""));
+        assertEquals(firstJson, secondJson);
+        assertTrue(asyncJson, asyncJson.contains("\"totalStockNum\":\"3\""));
+        assertEquals(asyncJson, secondAsyncJson);
+        assertEquals(2, cacheCounter("CacheMisses") - misses);
+        assertEquals(2, cacheCounter("CacheHits") - hits);
+    }
+
+    private static String release(ByteBuf json) {
+        String value = json.toString(StandardCharsets.UTF_8);
+        json.release();
+        return value;
+    }
+
+    private static long cacheCounter(String name) throws Exception {
+        return (Long) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName("com.github.dapeng:name=clientRuntimeInfo"), name);
+    }
+}
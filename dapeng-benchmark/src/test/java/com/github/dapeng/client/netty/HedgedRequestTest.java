@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.benchmark.InMemoryRegistryAgent;
+import com.github.dapeng.benchmark.LoopbackContainer;
+import com.github.dapeng.core.InvocationContextImpl;
+import com.github.dapeng.core.RuntimeInstance;
+import com.github.dapeng.core.SoaConnectionPool;
+import com.github.dapeng.core.SoaConnectionPoolFactory;
+import com.github.dapeng.core.enums.LoadBalanceStrategy;
+import com.github.dapeng.registry.RegistryAgentFactory;
+import com.github.dapeng.registry.zookeeper.ZkServiceInfo;
+import com.today.api.purchase.request.ListSkuStockByStoreCodeRequest;
+import com.today.api.stock.StockServiceSuperCodec.ListSkuStockByStoreCode_argsSerializer;
+import com.today.api.stock.StockServiceSuperCodec.ListSkuStockByStoreCode_resultSerializer;
+import com.today.api.stock.StockServiceSuperCodec.listSkuStockByStoreCode_args;
+import com.today.api.stock.StockServiceSuperCodec.listSkuStockByStoreCode_result;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 对冲请求: 一个实例是LoopbackContainer, 另一个实例只接受连接从不响应(慢实例).
+ * 第一个请求发往慢实例时, 对冲请求发往LoopbackContainer并返回结果, 发往慢实例的请求被取消.
+ * <p>
+ * 负载均衡使用RoundRobin, 保证有一半的请求先发往慢实例; 请求数不超过对冲令牌桶的突发容量(10)
+ */
+public class HedgedRequestTest {
+
+    private static final String METHOD = "listSkuStockByStoreCode";
+    private static final long HEDGE_DELAY = 20;
+    private static final long TIMEOUT = 3000;
+    private static final int CALLS = 4;
+
+    private static InMemoryRegistryAgent registry;
+    private static LoopbackContainer container;
+    private static ServerSocket blackHole;
+    private static SoaConnectionPool pool;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        registry = new InMemoryRegistryAgent();
+        RegistryAgentFactory.setServerAgent(registry);
+        RegistryAgentFactory.setClientAgent(registry);
+        container = new LoopbackContainer(registry, 3);
+        container.start();
+        blackHole = new ServerSocket(0);
+
+        pool = ServiceLoader.load(SoaConnectionPoolFactory.class, HedgedRequestTest.class.getClassLoader())
+                .iterator().next().getPool();
+        pool.registerClientInfo(LoopbackContainer.SERVICE, LoopbackContainer.VERSION);
+
+        ZkServiceInfo info = registry.serviceInfo(LoopbackContainer.SERVICE);
+        RuntimeInstance first = info.runtimeInstances().get(0);
+        info.runtimeInstances().add(new RuntimeInstance(first.service, first.ip, blackHole.getLocalPort(), first.version));
+        info.idempotentConfig.globalConfig = true;
+        info.hedgeConfig.globalConfig = HEDGE_DELAY;
+        info.timeConfig.globalConfig = TIMEOUT;
+        info.loadbalanceConfig.globalConfig = LoadBalanceStrategy.RoundRobin;
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        InvocationContextImpl.Factory.removeCurrentInstance();
+        if (container != null) {
+            container.stop();
+        }
+        if (blackHole != null) {
+            blackHole.close();
+        }
+    }
+
+    @Test
+    public void syncHedgeWins() throws Exception {
+        long slowest = 0;
+        for (int i = 0; i < CALLS; i++) {
+            long start = System.nanoTime();
+            listSkuStockByStoreCode_result result = pool.send(LoopbackContainer.SERVICE, LoopbackContainer.VERSION,
+                    METHOD, args("sync-" + i), new ListSkuStockByStoreCode_argsSerializer(),
+                    new ListSkuStockByStoreCode_resultSerializer());
+            slowest = Math.max(slowest, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            assertEquals(3, result.getSuccess().getTotalStockNum().intValue());
+        }
+        // 至少一次等到了对冲请求, 但是没有等到超时
+        assertTrue("slowest call " + slowest + "ms", slowest >= HEDGE_DELAY && slowest < TIMEOUT / 2);
+        assertLosersCancelled();
+    }
+
+    @Test
+    public void asyncHedgeWins() throws Exception {
+        List<Future<listSkuStockByStoreCode_result>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLS; i++) {
+            futures.add(pool.sendAsync(LoopbackContainer.SERVICE, LoopbackContainer.VERSION, METHOD,
+                    args("async-" + i), new ListSkuStockByStoreCode_argsSerializer(),
+                    new ListSkuStockByStoreCode_resultSerializer()));
+        }
+        for (Future<listSkuStockByStoreCode_result> future : futures) {
+            listSkuStockByStoreCode_result result = future.get(TIMEOUT / 2, TimeUnit.MILLISECONDS);
+            assertNotNull(result.getSuccess());
+        }
+        assertLosersCancelled();
+    }
+
+    /**
+     * 发往慢实例的请求在对冲请求返回之后都被取消, 不再占用在途请求的位置
+     */
+    private static void assertLosersCancelled() throws InterruptedException {
+        SoaBaseConnection slow = (SoaBaseConnection) SubPoolFactory
+                .getSubPool(registry.serviceInfo(LoopbackContainer.SERVICE).runtimeInstances().get(1).ip,
+                        blackHole.getLocalPort())
+                .getConnection();
+        long deadline = System.currentTimeMillis() + 1000;
+        while (slow.pendingRequests() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, slow.pendingRequests());
+    }
+
+    private static listSkuStockByStoreCode_args args(String storeId) {
+        ListSkuStockByStoreCodeRequest request = new ListSkuStockByStoreCodeRequest();
+        request.setStoreId(storeId);
+        listSkuStockByStoreCode_args args = new listSkuStockByStoreCode_args();
+        args.setRequest(request);
+        return args;
+    }
+}
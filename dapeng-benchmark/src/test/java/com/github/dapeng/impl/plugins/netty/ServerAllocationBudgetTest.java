@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.impl.plugins.netty;
+
+import com.github.dapeng.api.Container;
+import com.github.dapeng.benchmark.AllocationMeter;
+import com.github.dapeng.benchmark.LoopbackContainer;
+import com.github.dapeng.core.InvocationContextImpl;
+import com.github.dapeng.core.SoaHeader;
+import com.github.dapeng.core.enums.CodecProtocol;
+import com.github.dapeng.util.SoaMessageBuilder;
+import com.today.api.purchase.request.ListSkuStockByStoreCodeRequest;
+import com.today.api.stock.StockServiceSuperCodec.ListSkuStockByStoreCode_argsSerializer;
+import com.today.api.stock.StockServiceSuperCodec.listSkuStockByStoreCode_args;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 服务端一次请求(拆包-解码-分发-编码)在IO线程上的内存分配预算.
+ * <p>
+ * 使用EmbeddedChannel按NettyPlugin的顺序组装handler, 业务线程池关闭(soa.container.usethreadpool=false,
+ * 见pom中surefire的配置), 这样整条路径都在测试线程上执行, 可以用ThreadMXBean统计.
+ * 超出预算说明热点路径上引入了新的对象分配, 确认合理后再调整预算
+ */
+public class ServerAllocationBudgetTest {
+
+    private static final int ITEMS = 10;
+    private static final int WARMUP = 20000;
+    private static final int TIMES = 10000;
+
+    /**
+     * 每个请求允许分配的字节数(响应包含ITEMS个库存条目), 约为实测值加12%:
+     * Binary约17750字节, CompressedBinary约19800字节
+     */
+    private static final Map<CodecProtocol, Long> BUDGETS = new EnumMap<>(CodecProtocol.class);
+
+    static {
+        BUDGETS.put(CodecProtocol.Binary, 19900L);
+        BUDGETS.put(CodecProtocol.CompressedBinary, 22200L);
+    }
+
+    private static Container container;
+
+    @BeforeClass
+    public static void setUp() {
+        AllocationMeter.assumeSupported();
+        container = LoopbackContainer.createContainer(ITEMS);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        InvocationContextImpl.Factory.removeCurrentInstance();
+    }
+
+    @Test
+    public void binary() throws Exception {
+        assertWithinBudget(CodecProtocol.Binary);
+    }
+
+    @Test
+    public void compressedBinary() throws Exception {
+        assertWithinBudget(CodecProtocol.CompressedBinary);
+    }
+
+    private void assertWithinBudget(CodecProtocol protocol) throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(
+                new SoaFrameDecoder(),
+                new SoaLinkStateHandler(),
+                new SoaMsgEncoder(container),
+                new SoaMsgDecoder(container),
+                new SoaServerHandler(container));
+        byte[] request = requestFrame(protocol);
+
+        long bytes = AllocationMeter.bytesPerOp(WARMUP, TIMES, () -> {
+            channel.writeInbound(Unpooled.wrappedBuffer(request));
+            Object response = channel.readOutbound();
+            assertNotNull("no response", response);
+            ReferenceCountUtil.release(response);
+        });
+        channel.finishAndReleaseAll();
+
+        long budget = BUDGETS.get(protocol);
+        assertTrue("server " + protocol + " allocated " + bytes + " bytes/request, budget is " + budget,
+                bytes <= budget);
+    }
+
+    private static byte[] requestFrame(CodecProtocol protocol) throws Exception {
+        SoaHeader header = new SoaHeader();
+        header.setServiceName(LoopbackContainer.SERVICE);
+        header.setVersionName(LoopbackContainer.VERSION);
+        header.setMethodName("listSkuStockByStoreCode");
+
+        ListSkuStockByStoreCodeRequest request = new ListSkuStockByStoreCodeRequest();
+        request.setStoreId("store-1");
+        listSkuStockByStoreCode_args args = new listSkuStockByStoreCode_args();
+        args.setRequest(request);
+
+        ByteBuf buf = new SoaMessageBuilder<listSkuStockByStoreCode_args>()
+                .buffer(Unpooled.buffer(1024))
+                .protocol(protocol)
+                .header(header)
+                .body(args, new ListSkuStockByStoreCode_argsSerializer())
+                .seqid(1)
+                .build();
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        return bytes;
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.filter;
+
+import com.github.dapeng.core.filter.Filter;
+
+/**
+ * 客户端过滤器(鉴权, 监控, 链路跟踪等)的扩展点.
+ * <p>
+ * 通过META-INF/services/com.github.dapeng.client.filter.ClientFilter注册, 客户端第一次发送请求前加载一次,
+ * 按soa.filter.includes/soa.filter.excludes过滤, 同时实现InitializableFilter时加载后调用init.
+ * 过滤器位于LogFilter之后, 发送请求之前; 所有请求共享同一个实例, 必须线程安全,
+ * 请求相关的状态放到FilterContext里(attribute: context, serverInfo, result)
+ */
+public interface ClientFilter extends Filter {
+}
@@ -19,6 +19,7 @@ package com.github.dapeng.client.filter;
 
 import com.github.dapeng.core.InvocationContextImpl;
 import com.github.dapeng.core.InvocationInfoImpl;
+import com.github.dapeng.core.SoaCode;
 import com.github.dapeng.core.SoaException;
 import com.github.dapeng.core.TransactionContext;
 import com.github.dapeng.core.filter.Filter;
@@ -66,12 +67,14 @@ public class LogFilter implements Filter {
 
             MDC.put(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID, invocationContext.sessionTid().map(DapengUtil::longToHexStr).orElse("0"));
 
-            String infoLog = "request[seqId:" + invocationContext.seqId() + ", server:" + filterContext.getAttribute("serverInfo") + "]:"
-                    + "service[" + invocationContext.serviceName()
-                    + "]:version[" + invocationContext.versionName()
-                    + "]:method[" + invocationContext.methodName() + "]";
+            if (LOGGER.isInfoEnabled()) {
+                String infoLog = "request[seqId:" + invocationContext.seqId() + ", server:" + filterContext.getAttribute("serverInfo") + "]:"
+                        + "service[" + invocationContext.serviceName()
+                        + "]:version[" + invocationContext.versionName()
+                        + "]:method[" + invocationContext.methodName() + "]";
 
-            LOGGER.info(getClass().getSimpleName() + "::onEntry," + infoLog);
+                LOGGER.info(getClass().getSimpleName() + "::onEntry," + infoLog);
+            }
         } finally {
             next.onEntry(filterContext);
         }
@@ -85,6 +88,14 @@ public class LogFilter implements Filter {
             InvocationInfoImpl invocationInfo = (InvocationInfoImpl) invocationContext.lastInvocationInfo();
             invocationInfo.serviceTime(System.currentTimeMillis() - startTime);
 
+            boolean normal = SoaSystemEnvProperties.SOA_NORMAL_RESP_CODE.equals(invocationInfo.responseCode());
+            // 调用方主动取消(例如对冲请求中落后的一方)不是错误
+            boolean cancelled = SoaCode.ReqCancelled.getCode().equals(invocationInfo.responseCode());
+            if (normal ? !LOGGER.isInfoEnabled() : cancelled ? !LOGGER.isDebugEnabled() : !LOGGER.isErrorEnabled()) {
+                // 日志级别关闭时不拼接日志
+                return;
+            }
+
             String infoLog = "response[seqId:" + invocationContext.seqId() + ", respCode:" + invocationInfo.responseCode() + ", server: " + filterContext.getAttribute("serverInfo") + "]:"
                     + "service[" + invocationContext.serviceName()
                     + "]:version[" + invocationContext.versionName()
@@ -93,8 +104,10 @@ public class LogFilter implements Filter {
                     + ", calleeTime1:" + invocationInfo.calleeTime1()
                     + ", calleeTime2:" + invocationInfo.calleeTime2()
                     + ", calleeIp: " + transferIp(invocationInfo.calleeIp());
-            if (SoaSystemEnvProperties.SOA_NORMAL_RESP_CODE.equals(invocationInfo.responseCode())) {
+            if (normal) {
                 LOGGER.info(getClass().getSimpleName() + "::onExit," + infoLog);
+            } else if (cancelled) {
+                LOGGER.debug(getClass().getSimpleName() + "::onExit," + infoLog);
             } else {
                 LOGGER.error(getClass().getSimpleName() + "::onExit," + infoLog);
             }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.client.filter.ClientFilter;
+import com.github.dapeng.client.filter.LogFilter;
+import com.github.dapeng.core.SoaException;
+import com.github.dapeng.core.filter.Filter;
+import com.github.dapeng.core.filter.FilterChain;
+import com.github.dapeng.core.filter.FilterContext;
+import com.github.dapeng.core.filter.InitializableFilter;
+import com.github.dapeng.util.FilterLoaderUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * 预先构建的客户端过滤器链: head -> LogFilter -> 用户过滤器(ClientFilter) -> tail.
+ * <p>
+ * 与SharedChain的调用顺序一致, 但每个位置的FilterChain只创建一次, 请求过程中不再分配链对象;
+ * 过滤器都是无状态的共享实例, 请求相关的数据都在ClientFilterContext里
+ */
+final class ClientFilterChain {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClientFilterChain.class);
+
+    private static final List<Filter> USER_FILTERS = loadUserFilters();
+
+    private final Filter[] filters;
+    private final Node[] nodes;
+
+    private ClientFilterChain(List<Filter> filters) {
+        this.filters = filters.toArray(new Filter[0]);
+        this.nodes = new Node[this.filters.length];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new Node(i);
+        }
+    }
+
+    static ClientFilterChain build(Filter head, Filter tail) {
+        List<Filter> filters = new ArrayList<>(USER_FILTERS.size() + 3);
+        filters.add(head);
+        filters.add(new LogFilter());
+        filters.addAll(USER_FILTERS);
+        filters.add(tail);
+        return new ClientFilterChain(filters);
+    }
+
+    void onEntry(FilterContext ctx) throws SoaException {
+        nodes[0].onEntry(ctx);
+    }
+
+    /**
+     * tail之前的链, tail在请求完成后调用其onExit
+     */
+    FilterChain prevOfTail() {
+        return nodes[nodes.length - 2];
+    }
+
+    private final class Node implements FilterChain {
+        private final int index;
+
+        Node(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void onEntry(FilterContext ctx) throws SoaException {
+            filters[index].onEntry(ctx, index + 1 < nodes.length ? nodes[index + 1] : null);
+        }
+
+        @Override
+        public void onExit(FilterContext ctx) throws SoaException {
+            filters[index].onExit(ctx, index > 0 ? nodes[index - 1] : null);
+        }
+    }
+
+    private static List<Filter> loadUserFilters() {
+        List<Filter> filters = new ArrayList<>();
+        for (ClientFilter filter : ServiceLoader.load(ClientFilter.class, ClientFilterChain.class.getClassLoader())) {
+            if (FilterLoaderUtil.included(filter)) {
+                LOGGER.info("ClientFilterChain :: client filters :: [{}]", filter.getClass().getSimpleName());
+                if (filter instanceof InitializableFilter) {
+                    ((InitializableFilter) filter).init();
+                }
+                filters.add(filter);
+            }
+        }
+        return Collections.unmodifiableList(filters);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.core.BeanSerializer;
+import com.github.dapeng.core.InvocationContextImpl;
+import com.github.dapeng.core.filter.Filter;
+import com.github.dapeng.core.filter.FilterContext;
+import io.netty.buffer.ByteBuf;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 一次客户端请求在过滤器链中的上下文.
+ * <ul>
+ * <li>请求参数直接作为字段, 供共享的head/dispatch过滤器使用</li>
+ * <li>常用的attribute(context, serverInfo, startTime, result)用字段保存, 其它attribute和attach在第一次使用时才创建Map</li>
+ * <li>异步请求时同时作为响应的回调, 不再为每个请求创建lambda</li>
+ * </ul>
+ */
+final class ClientFilterContext implements FilterContext, BiConsumer<ByteBuf, Throwable> {
+
+    private static final String CONTEXT = "context";
+    private static final String SERVER_INFO = "serverInfo";
+    private static final String RESULT = "result";
+    /**
+     * LogFilter记录的请求开始时间
+     */
+    private static final String START_TIME = "startTime";
+
+    final SoaBaseConnection connection;
+    final String service;
+    final String version;
+    final String method;
+    final Object request;
+    final BeanSerializer<Object> requestSerializer;
+    final BeanSerializer<Object> responseSerializer;
+    final long timeout;
+    final int seqid;
+    final InvocationContextImpl invocationContext;
+    /**
+     * 异步请求的结果, 同步请求时为null
+     */
+    final SoaBaseConnection.ResultFuture future;
+    /**
+     * 请求开始的时间(System.nanoTime)
+     */
+    final long startNanos = System.nanoTime();
+
+    private Object context;
+    private Object serverInfo;
+    private Object startTime;
+    private Object result;
+    private Map<String, Object> attributes;
+    private Map<Filter, Map<String, Object>> attaches;
+
+    @SuppressWarnings("unchecked")
+    ClientFilterContext(SoaBaseConnection connection, String service, String version, String method,
+                        Object request, BeanSerializer<?> requestSerializer, BeanSerializer<?> responseSerializer,
+                        long timeout, int seqid, InvocationContextImpl invocationContext,
+                        SoaBaseConnection.ResultFuture future) {
+        this.connection = connection;
+        this.service = service;
+        this.version = version;
+        this.method = method;
+        this.request = request;
+        this.requestSerializer = (BeanSerializer<Object>) requestSerializer;
+        this.responseSerializer = (BeanSerializer<Object>) responseSerializer;
+        this.timeout = timeout;
+        this.seqid = seqid;
+        this.invocationContext = invocationContext;
+        this.future = future;
+        this.context = invocationContext;
+        this.serverInfo = connection.serverInfo;
+    }
+
+    /**
+     * 请求开始到现在的时间(微秒)
+     */
+    long elapsedMicros() {
+        return (System.nanoTime() - startNanos) / 1000;
+    }
+
+    /**
+     * 异步请求的响应到达(或者失败)
+     */
+    @Override
+    public void accept(ByteBuf response, Throwable ex) {
+        connection.onAsyncResponse(this, response, ex);
+    }
+
+    @Override
+    public void setAttach(Filter filter, String key, Object value) {
+        if (attaches == null) {
+            attaches = new HashMap<>();
+        }
+        attaches.computeIfAbsent(filter, f -> new HashMap<>()).put(key, value);
+    }
+
+    @Override
+    public Object getAttach(Filter filter, String key) {
+        Map<String, Object> values = attaches == null ? null : attaches.get(filter);
+        return values == null ? null : values.get(key);
+    }
+
+    @Override
+    public void setAttribute(String key, Object value) {
+        switch (key) {
+            case CONTEXT:
+                context = value;
+                break;
+            case SERVER_INFO:
+                serverInfo = value;
+                break;
+            case START_TIME:
+                startTime = value;
+                break;
+            case RESULT:
+                result = value;
+                break;
+            default:
+                if (attributes == null) {
+                    attributes = new HashMap<>();
+                }
+                attributes.put(key, value);
+        }
+    }
+
+    @Override
+    public Object getAttribute(String key) {
+        switch (key) {
+            case CONTEXT:
+                return context;
+            case SERVER_INFO:
+                return serverInfo;
+            case START_TIME:
+                return startTime;
+            case RESULT:
+                return result;
+            default:
+                return attributes == null ? null : attributes.get(key);
+        }
+    }
+}
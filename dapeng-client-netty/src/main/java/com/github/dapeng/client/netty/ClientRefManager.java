@@ -17,7 +17,8 @@
 package com.github.dapeng.client.netty;
 
 import com.github.dapeng.core.SoaConnectionPool;
-import com.github.dapeng.registry.zookeeper.ClientZkAgent;
+import com.github.dapeng.registry.ClientRegistryAgent;
+import com.github.dapeng.registry.RegistryAgentFactory;
 import com.github.dapeng.registry.zookeeper.ZkServiceInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +35,7 @@ public class ClientRefManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientRefManager.class);
 
     private static final ClientRefManager instance = new ClientRefManager();
-    private final ClientZkAgent clientZkAgent = ClientZkAgent.getInstance();
+    private final ClientRegistryAgent clientZkAgent = RegistryAgentFactory.getClientAgent();
 
     /**
      * in only, never out
@@ -66,7 +67,10 @@ public class ClientRefManager {
             LOGGER.debug("ClientRefManager::registerClient, serviceName:" + serviceName);
             clientInfo = new SoaConnectionPool.ClientInfo(serviceName, version);
             ZkServiceInfo serviceInfo = new ZkServiceInfo(serviceName, new CopyOnWriteArrayList<>());
+            // 发现新的实例时提前建立连接
+            serviceInfo.runtimeInstancesListener(SubPoolFactory::prewarm);
             clientZkAgent.sync(serviceInfo);
+            SubPoolFactory.prewarm(serviceInfo.runtimeInstances());
 
             SoaConnectionPoolImpl.ClientInfoSoftRef clientInfoSoftRef = new SoaConnectionPoolImpl.ClientInfoSoftRef(clientInfo, serviceInfo, referenceQueue);
             handlesByName.put(serviceName, clientInfoSoftRef);
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 客户端运行信息的MBean, 第一个连接池创建时注册
+ */
+public class ClientRuntimeInfo implements ClientRuntimeInfoMBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClientRuntimeInfo.class);
+
+    private static final AtomicBoolean REGISTERED = new AtomicBoolean(false);
+
+    static void register() {
+        if (!REGISTERED.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new ClientRuntimeInfo(),
+                    new ObjectName("com.github.dapeng:name=clientRuntimeInfo"));
+            LOGGER.info("::registerMBean clientRuntimeInfo success");
+        } catch (Exception e) {
+            LOGGER.info("::registerMBean clientRuntimeInfo error [" + e.getMessage() + "]", e);
+        }
+    }
+
+    @Override
+    public String getInstanceHealth() {
+        StringBuilder builder = new StringBuilder("[");
+        for (InstanceHealth health : InstanceHealth.all()) {
+            if (builder.length() > 1) {
+                builder.append(',');
+            }
+            builder.append(health);
+        }
+        return builder.append(']').toString();
+    }
+
+    @Override
+    public int getEjectedInstances() {
+        int count = 0;
+        for (InstanceHealth health : InstanceHealth.all()) {
+            if (health.state() != InstanceHealth.State.CLOSED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long getTotalEjections() {
+        return InstanceHealth.totalEjections();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return ResponseCache.INSTANCE.hits();
+    }
+
+    @Override
+    public long getCacheStaleHits() {
+        return ResponseCache.INSTANCE.staleHits();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return ResponseCache.INSTANCE.misses();
+    }
+
+    @Override
+    public long getCacheEvictions() {
+        return ResponseCache.INSTANCE.evictions();
+    }
+
+    @Override
+    public int getCacheEntries() {
+        return ResponseCache.INSTANCE.size();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+/**
+ * 客户端运行信息, 注册为 com.github.dapeng:name=clientRuntimeInfo
+ */
+public interface ClientRuntimeInfoMBean {
+
+    /**
+     * 获取各个服务实例的健康状况(状态, 连续失败次数, 错误率, 响应时间, 摘除次数)
+     * @return
+     */
+    String getInstanceHealth();
+
+    /**
+     * 获取当前被摘除(包括正在试探)的实例数
+     * @return
+     */
+    int getEjectedInstances();
+
+    /**
+     * 获取累计摘除实例的次数
+     * @return
+     */
+    long getTotalEjections();
+
+    /**
+     * 获取客户端缓存命中(未过期)的次数
+     * @return
+     */
+    long getCacheHits();
+
+    /**
+     * 获取客户端缓存命中已过期结果(返回旧结果并在后台刷新)的次数
+     * @return
+     */
+    long getCacheStaleHits();
+
+    /**
+     * 获取客户端缓存未命中的次数
+     * @return
+     */
+    long getCacheMisses();
+
+    /**
+     * 获取客户端缓存因为超过最大数量被淘汰的次数
+     * @return
+     */
+    long getCacheEvictions();
+
+    /**
+     * 获取客户端缓存当前的结果数
+     * @return
+     */
+    int getCacheEntries();
+}
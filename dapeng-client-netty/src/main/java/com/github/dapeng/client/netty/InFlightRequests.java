@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.core.SoaCode;
+import com.github.dapeng.core.SoaException;
+import com.github.dapeng.core.helper.SoaSystemEnvProperties;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.util.AttributeKey;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 一个连接(channel)上等待响应的请求.
+ * <ul>
+ * <li>按seqid定位到固定的槽位, 登记和完成都是一次CAS; 槽位被更早的请求占用时放入溢出表</li>
+ * <li>同步和异步请求的超时都由共享的时间轮触发</li>
+ * <li>连接关闭时所有等待中的请求立即以异常结束, 之后登记的请求也直接失败</li>
+ * </ul>
+ * 请求只由一方结束: 从表中移除请求的一方(响应, 超时, 写失败, 连接关闭)负责完成future,
+ * 迟到的响应直接释放
+ */
+final class InFlightRequests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InFlightRequests.class);
+
+    static final AttributeKey<InFlightRequests> KEY = AttributeKey.valueOf("dapeng.inFlightRequests");
+
+    /**
+     * 客户端共享的时间轮: 请求超时, 对冲请求的延迟
+     */
+    static final Timer TIMER = new HashedWheelTimer(
+            new DefaultThreadFactory("dapeng-client-timeout", true),
+            SoaSystemEnvProperties.SOA_CLIENT_TIMER_TICK, TimeUnit.MILLISECONDS, 512);
+
+    private final AtomicReferenceArray<PendingRequest> slots;
+    private final int mask;
+    private final Map<Integer, PendingRequest> overflow = new ConcurrentHashMap<>();
+    /**
+     * 等待响应的请求数, 用于选择最空闲的连接
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * 连接关闭的原因, 非null时不再接受新的请求
+     */
+    private volatile SoaException closed;
+
+    InFlightRequests(int slots) {
+        int size = Integer.highestOneBit(Math.max(slots, 1) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(Math.max(size, 1));
+        this.mask = this.slots.length() - 1;
+    }
+
+    /**
+     * 在channel上安装在途请求表, 连接关闭时结束所有等待中的请求
+     */
+    static InFlightRequests install(Channel channel) {
+        InFlightRequests inFlight = new InFlightRequests(SoaSystemEnvProperties.SOA_CLIENT_INFLIGHT_SLOTS);
+        channel.attr(KEY).set(inFlight);
+        channel.closeFuture().addListener(future -> inFlight.close(
+                new SoaException(SoaCode.NotConnected, "连接已断开: " + channel.remoteAddress())));
+        return inFlight;
+    }
+
+    static InFlightRequests of(Channel channel) {
+        return channel.attr(KEY).get();
+    }
+
+    /**
+     * 登记一个等待响应的请求, timeout毫秒后以ReqTimeOut结束
+     */
+    PendingRequest register(int seqid, long timeout) {
+        PendingRequest request = new PendingRequest(this, seqid);
+        pending.incrementAndGet();
+        if (!slots.compareAndSet(seqid & mask, null, request)) {
+            overflow.put(seqid, request);
+        }
+        SoaException cause = closed;
+        if (cause != null) {
+            discard(request, cause);
+            return request;
+        }
+        request.timeout = TIMER.newTimeout(request, timeout, TimeUnit.MILLISECONDS);
+        return request;
+    }
+
+    /**
+     * 响应到达
+     */
+    void complete(ByteBuf msg) {
+        // length(4) stx(1) version(1) protocol(1) seqid(4) header(...) body(...) etx(1)
+        int seqid = msg.getInt(msg.readerIndex() + 7);
+        PendingRequest request = remove(seqid);
+        if (request == null) {
+            LOGGER.error("返回结果超时，siqid为：" + seqid);
+            msg.release();
+            return;
+        }
+        request.cancelTimeout();
+        if (!request.complete(msg)) {
+            msg.release();
+        }
+    }
+
+    /**
+     * 放弃等待请求的响应
+     *
+     * @return false 表示请求已经由另一方结束(例如响应先一步到达, 此时future中的ByteBuf需要调用方释放)
+     */
+    boolean discard(PendingRequest request, Throwable cause) {
+        if (!remove(request)) {
+            return false;
+        }
+        request.cancelTimeout();
+        return request.completeExceptionally(cause);
+    }
+
+    /**
+     * 连接关闭, 结束所有等待中的请求
+     */
+    void close(SoaException cause) {
+        closed = cause;
+        for (int i = 0; i < slots.length(); i++) {
+            PendingRequest request = slots.get(i);
+            if (request != null) {
+                discard(request, cause);
+            }
+        }
+        for (PendingRequest request : overflow.values()) {
+            discard(request, cause);
+        }
+    }
+
+    int pending() {
+        return pending.get();
+    }
+
+    private PendingRequest remove(int seqid) {
+        int index = seqid & mask;
+        PendingRequest request = slots.get(index);
+        if (request == null || request.seqid != seqid || !slots.compareAndSet(index, request, null)) {
+            request = overflow.isEmpty() ? null : overflow.remove(seqid);
+        }
+        if (request != null) {
+            pending.decrementAndGet();
+        }
+        return request;
+    }
+
+    private boolean remove(PendingRequest request) {
+        if (slots.compareAndSet(request.seqid & mask, request, null)
+                || overflow.remove(request.seqid, request)) {
+            pending.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 等待响应的请求. 同时作为超时任务以及写出结果的监听器, 每个请求只分配这一个对象(以及时间轮的Timeout)
+     */
+    static final class PendingRequest extends CompletableFuture<ByteBuf> implements TimerTask, ChannelFutureListener {
+        private final InFlightRequests inFlight;
+        final int seqid;
+        private volatile Timeout timeout;
+        /**
+         * 在WriteCoalescer队列中等待写出的请求包
+         */
+        ByteBuf requestBuf;
+
+        PendingRequest(InFlightRequests inFlight, int seqid) {
+            this.inFlight = inFlight;
+            this.seqid = seqid;
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            inFlight.discard(this, new SoaException(SoaCode.ReqTimeOut));
+        }
+
+        /**
+         * 请求没能写出时不再等待超时
+         */
+        @Override
+        public void operationComplete(ChannelFuture future) {
+            if (!future.isSuccess()) {
+                inFlight.discard(this, future.cause());
+            }
+        }
+
+        /**
+         * 放弃等待响应, 见InFlightRequests.discard
+         */
+        boolean discard(Throwable cause) {
+            return inFlight.discard(this, cause);
+        }
+
+        private void cancelTimeout() {
+            Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+}
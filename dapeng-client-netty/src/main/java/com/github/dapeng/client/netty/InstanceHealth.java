@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.core.RuntimeInstance;
+import com.github.dapeng.core.SoaCode;
+import com.github.dapeng.core.SoaException;
+import com.github.dapeng.core.helper.SoaSystemEnvProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 客户端对一个服务实例(ip:port)的被动健康检查(熔断).
+ * <ul>
+ * <li>CLOSED: 正常参与负载均衡, 连续失败次数, 错误率EWMA或者响应时间EWMA(相对其它实例)超过阈值时摘除(OPEN)</li>
+ * <li>OPEN: 不参与负载均衡, 退避时间到达后进入HALF_OPEN; 每次重新摘除退避时间加倍</li>
+ * <li>HALF_OPEN: 同时只放行少量试探请求, 连续成功若干次后恢复(CLOSED), 失败则重新摘除</li>
+ * </ul>
+ * 只有连接失败, 超时, 服务端不可用算作失败, 业务异常算作成功.
+ * 负载均衡不会摘除全部实例: 所有实例都被摘除时仍然在全部实例中选择
+ */
+final class InstanceHealth {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InstanceHealth.class);
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final Map<IpPort, InstanceHealth> HEALTHS = new ConcurrentHashMap<>(16);
+
+    private static final double ALPHA = 0.1;
+    /**
+     * 样本数少于这个值时不按错误率以及响应时间摘除
+     */
+    private static final int MIN_SAMPLES = 20;
+    /**
+     * 响应时间低于这个值(微秒)时不算作响应慢
+     */
+    private static final long LATENCY_FLOOR = 10_000;
+    private static final int MAX_BACKOFF_LEVEL = 4;
+    /**
+     * 半开状态同时放行的试探请求数, 以及恢复需要的连续成功次数
+     */
+    private static final int PROBES = 1;
+    private static final int PROBE_SUCCESSES = 3;
+
+    private static final AtomicLong TOTAL_EJECTIONS = new AtomicLong();
+
+    private final String ip;
+    private final int port;
+
+    private volatile State state = State.CLOSED;
+    private volatile long ejectedUntil;
+    private volatile double errorEwma;
+    private volatile double latencyEwma;
+    private int samples;
+    private int consecutiveFailures;
+    private int probeSuccesses;
+    private volatile int probesInFlight;
+    private int backoffLevel;
+    private long ejections;
+
+    private InstanceHealth(String ip, int port) {
+        this.ip = ip;
+        this.port = port;
+    }
+
+    static InstanceHealth of(String ip, int port) {
+        IpPort ipPort = new IpPort(ip, port);
+        InstanceHealth health = HEALTHS.get(ipPort);
+        if (health == null) {
+            health = HEALTHS.computeIfAbsent(ipPort, key -> new InstanceHealth(ip, port));
+        }
+        return health;
+    }
+
+    static Collection<InstanceHealth> all() {
+        return HEALTHS.values();
+    }
+
+    static long totalEjections() {
+        return TOTAL_EJECTIONS.get();
+    }
+
+    /**
+     * 去掉已摘除的实例, 以及响应时间明显慢于其它实例的实例.
+     * 没有实例需要去掉时返回原来的列表; 全部都被摘除时也返回原来的列表
+     */
+    static List<RuntimeInstance> available(List<RuntimeInstance> instances) {
+        if (!SoaSystemEnvProperties.SOA_CLIENT_BREAKER_ENABLE || instances.size() < 2) {
+            return instances;
+        }
+        ejectLatencyOutliers(instances);
+
+        List<RuntimeInstance> available = null;
+        for (int i = 0; i < instances.size(); i++) {
+            RuntimeInstance instance = instances.get(i);
+            if (of(instance.ip, instance.port).isAvailable()) {
+                if (available != null) {
+                    available.add(instance);
+                }
+            } else if (available == null) {
+                available = new ArrayList<>(instances.size());
+                available.addAll(instances.subList(0, i));
+            }
+        }
+        return available == null || available.isEmpty() ? instances : available;
+    }
+
+    /**
+     * 响应时间EWMA超过其它实例平均值soa.client.breaker.latency.factor倍的实例摘除
+     */
+    private static void ejectLatencyOutliers(List<RuntimeInstance> instances) {
+        int factor = SoaSystemEnvProperties.SOA_CLIENT_BREAKER_LATENCY_FACTOR;
+        if (factor <= 0) {
+            return;
+        }
+        double sum = 0;
+        int count = 0;
+        for (RuntimeInstance instance : instances) {
+            InstanceHealth health = of(instance.ip, instance.port);
+            if (health.state == State.CLOSED && health.samples >= MIN_SAMPLES) {
+                sum += health.latencyEwma;
+                count++;
+            }
+        }
+        if (count < 2) {
+            return;
+        }
+        for (RuntimeInstance instance : instances) {
+            InstanceHealth health = of(instance.ip, instance.port);
+            double latency = health.latencyEwma;
+            if (health.state == State.CLOSED && health.samples >= MIN_SAMPLES && latency > LATENCY_FLOOR
+                    && latency > factor * (sum - latency) / (count - 1)) {
+                health.eject("响应时间 " + (long) latency / 1000 + "ms");
+            }
+        }
+    }
+
+    /**
+     * 是否参与负载均衡
+     */
+    boolean isAvailable() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return System.currentTimeMillis() >= ejectedUntil;
+            default:
+                return probesInFlight < PROBES;
+        }
+    }
+
+    /**
+     * 负载均衡选中了这个实例
+     */
+    synchronized void onSelected() {
+        if (state == State.OPEN && System.currentTimeMillis() >= ejectedUntil) {
+            state = State.HALF_OPEN;
+            probeSuccesses = 0;
+            probesInFlight = 0;
+            LOGGER.info("instance {}:{} half-open, probing", ip, port);
+        }
+        if (state == State.HALF_OPEN) {
+            probesInFlight++;
+        }
+    }
+
+    /**
+     * 请求结束
+     *
+     * @param exception 请求失败的原因, 成功时为null
+     * @param micros    请求耗时(微秒)
+     */
+    void onResult(SoaException exception, long micros) {
+        if (!SoaSystemEnvProperties.SOA_CLIENT_BREAKER_ENABLE) {
+            return;
+        }
+        if (exception == null || !isFailure(exception)) {
+            if (exception != null && (SoaCode.ClientUnKnown.getCode().equals(exception.getCode())
+                    || SoaCode.ReqCancelled.getCode().equals(exception.getCode()))) {
+                // 客户端自身的错误, 请求被取消, 都与实例无关
+                onAbandoned();
+                return;
+            }
+            onSuccess(micros);
+        } else {
+            onFailure(exception);
+        }
+    }
+
+    /**
+     * 请求没有得到实例的结果(被取消, 发送之前客户端出错): 不计入统计, 只归还试探请求的名额,
+     * 否则半开状态的实例不会再被选中, 也就永远不会恢复
+     */
+    synchronized void onAbandoned() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+        }
+    }
+
+    private synchronized void onSuccess(long micros) {
+        samples++;
+        consecutiveFailures = 0;
+        errorEwma += ALPHA * (0 - errorEwma);
+        latencyEwma = latencyEwma == 0 ? micros : latencyEwma + ALPHA * (micros - latencyEwma);
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            if (++probeSuccesses >= PROBE_SUCCESSES) {
+                state = State.CLOSED;
+                backoffLevel = Math.max(0, backoffLevel - 1);
+                samples = 0;
+                errorEwma = 0;
+                latencyEwma = 0;
+                LOGGER.warn("instance {}:{} recovered", ip, port);
+            }
+        }
+    }
+
+    private synchronized void onFailure(SoaException exception) {
+        samples++;
+        consecutiveFailures++;
+        errorEwma += ALPHA * (1 - errorEwma);
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            eject("试探请求失败: " + exception.getMessage());
+        } else if (state == State.CLOSED) {
+            if (consecutiveFailures >= SoaSystemEnvProperties.SOA_CLIENT_BREAKER_FAILURES) {
+                eject("连续失败 " + consecutiveFailures + " 次: " + exception.getMessage());
+            } else if (samples >= MIN_SAMPLES
+                    && errorEwma * 100 >= SoaSystemEnvProperties.SOA_CLIENT_BREAKER_ERROR_RATE) {
+                eject("错误率 " + (int) (errorEwma * 100) + "%: " + exception.getMessage());
+            }
+        }
+    }
+
+    private synchronized void eject(String reason) {
+        if (state == State.OPEN) {
+            return;
+        }
+        long backoff = SoaSystemEnvProperties.SOA_CLIENT_BREAKER_BACKOFF << backoffLevel;
+        backoffLevel = Math.min(MAX_BACKOFF_LEVEL, backoffLevel + 1);
+        ejectedUntil = System.currentTimeMillis() + backoff;
+        state = State.OPEN;
+        ejections++;
+        TOTAL_EJECTIONS.incrementAndGet();
+        LOGGER.warn("instance {}:{} ejected for {}ms, {}", ip, port, backoff, reason);
+    }
+
+    /**
+     * 连接失败, 超时以及服务端不可用算作实例的失败
+     */
+    static boolean isFailure(SoaException exception) {
+        String code = exception.getCode();
+        return SoaCode.NotConnected.getCode().equals(code)
+                || SoaCode.ReqTimeOut.getCode().equals(code)
+                || SoaCode.ServerReqTimeOut.getCode().equals(code)
+                || SoaCode.ContainerStatusError.getCode().equals(code);
+    }
+
+    State state() {
+        return state;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "{\"instance\":\"" + ip + ":" + port + "\""
+                + ",\"state\":\"" + state + "\""
+                + ",\"consecutiveFailures\":" + consecutiveFailures
+                + ",\"errorRate\":" + (int) (errorEwma * 100)
+                + ",\"latencyMicros\":" + (long) latencyEwma
+                + ",\"ejections\":" + ejections
+                + (state == State.OPEN ? ",\"ejectedUntil\":" + ejectedUntil : "")
+                + "}";
+    }
+}
@@ -19,18 +19,20 @@ package com.github.dapeng.client.netty;
 import com.github.dapeng.core.*;
 import com.github.dapeng.core.helper.DapengUtil;
 import com.github.dapeng.core.helper.SoaSystemEnvProperties;
-import com.github.dapeng.core.metadata.Method;
 import com.github.dapeng.core.metadata.Service;
-import com.github.dapeng.json.JsonSerializer;
 import com.github.dapeng.json.OptimizedMetadata;
 import com.github.dapeng.util.DumpUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ServiceLoader;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import static com.github.dapeng.util.InvocationContextUtils.capsuleContext;
 
@@ -48,6 +50,17 @@ public class JsonPost {
     private final static SoaConnectionPoolFactory factory = ServiceLoader.load(SoaConnectionPoolFactory.class, JsonPost.class.getClassLoader()).iterator().next();
 
 
+    private static final JsonCodec<String, String> STRING_CODEC = new JsonCodec<>(
+            OptimizedMetadata.OptimizedMethod::getRequestSerializer,
+            OptimizedMetadata.OptimizedMethod::getResponseSerializer,
+            OptimizedMetadata.OptimizedMethod::getStatusResponseSerializer,
+            json -> json, DumpUtil::formatToString);
+    private static final JsonCodec<ByteBuf, ByteBuf> UTF8_CODEC = new JsonCodec<>(
+            OptimizedMetadata.OptimizedMethod::getUtf8RequestSerializer,
+            OptimizedMetadata.OptimizedMethod::getUtf8ResponseSerializer,
+            OptimizedMetadata.OptimizedMethod::getUtf8StatusResponseSerializer,
+            json -> Unpooled.copiedBuffer(json, StandardCharsets.UTF_8), DumpUtil::formatToString);
+
     private SoaConnectionPool pool;
     private final SoaConnectionPool.ClientInfo clientInfo;
     private final String methodName;
@@ -73,12 +86,32 @@ public class JsonPost {
      */
     public String callServiceMethod(final String jsonParameter,
                                     final OptimizedMetadata.OptimizedService optimizedService) throws Exception {
-        Method method = optimizedService.getMethodMap().get(methodName);
+        return callServiceMethod(jsonParameter, optimizedService, STRING_CODEC);
+    }
+
+    /**
+     * 调用远程服务, 请求和响应都是UTF-8编码的json, 不需要编解码成String.
+     * 不改变jsonParameter的readerIndex, jsonParameter以及返回的ByteBuf都由调用方释放
+     *
+     * @param jsonParameter
+     * @param optimizedService
+     * @return
+     * @throws Exception
+     */
+    public ByteBuf callServiceMethod(final ByteBuf jsonParameter,
+                                     final OptimizedMetadata.OptimizedService optimizedService) throws Exception {
+        return callServiceMethod(jsonParameter, optimizedService, UTF8_CODEC);
+    }
+
+    private <REQ, RESP> RESP callServiceMethod(final REQ jsonParameter,
+                                               final OptimizedMetadata.OptimizedService optimizedService,
+                                               final JsonCodec<REQ, RESP> codec) throws Exception {
+        OptimizedMetadata.OptimizedMethod method = optimizedService.getOptimizedMethod(methodName);
 
         if (method == null) {
-            return String.format("{\"responseCode\":\"%s\", \"responseMsg\":\"%s\", \"success\":\"{}\", \"status\":0}",
+            return codec.fromString.apply(String.format("{\"responseCode\":\"%s\", \"responseMsg\":\"%s\", \"success\":\"{}\", \"status\":0}",
                     SoaCode.NoMatchedMethod,
-                    "method:" + methodName + " for service:" + clientInfo.serviceName + " not found");
+                    "method:" + methodName + " for service:" + clientInfo.serviceName + " not found"));
         }
 
         try {
@@ -94,25 +127,25 @@ public class JsonPost {
 
             MDC.put(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID, sessionTid);
 
-            OptimizedMetadata.OptimizedStruct req = optimizedService.getOptimizedStructs().get(method.request.namespace + "." + method.request.name);
-            OptimizedMetadata.OptimizedStruct resp = optimizedService.getOptimizedStructs().get(method.response.namespace + "." + method.response.name);
-
-            JsonSerializer jsonEncoder = new JsonSerializer(optimizedService, method, clientInfo.version, req);
-            JsonSerializer jsonDecoder = new JsonSerializer(optimizedService, method, clientInfo.version, resp);
+            BeanSerializer<REQ> jsonEncoder = codec.encoder.apply(method);
+            // 响应在解码时直接带上"status":1
+            BeanSerializer<RESP> jsonDecoder = codec.statusDecoder.apply(method);
 
             final long beginTime = System.currentTimeMillis();
 
             Service origService = optimizedService.getService();
-            LOGGER.info("soa-request: service:[" + origService.namespace + "." + origService.name
-                    + ":" + origService.meta.version + "], method:" + methodName + ", param:"
-                    + jsonParameter);
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("soa-request: service:[" + origService.namespace + "." + origService.name
+                        + ":" + origService.meta.version + "], method:" + methodName + ", param:"
+                        + jsonEncoder.toString(jsonParameter));
+            }
 
-            String jsonResponse = post(clientInfo.serviceName, clientInfo.version,
-                    methodName, jsonParameter, jsonEncoder, jsonDecoder);
+            RESP jsonResponse = post(clientInfo.serviceName, clientInfo.version,
+                    methodName, jsonParameter, jsonEncoder, jsonDecoder, codec);
             if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("soa-response: " + jsonResponse + " cost:" + (System.currentTimeMillis() - beginTime) + "ms");
-            } else {
-                LOGGER.info("soa-response: " + DumpUtil.formatToString(jsonResponse) + " cost:" + (System.currentTimeMillis() - beginTime) + "ms");
+                LOGGER.debug("soa-response: " + jsonDecoder.toString(jsonResponse) + " cost:" + (System.currentTimeMillis() - beginTime) + "ms");
+            } else if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("soa-response: " + codec.brief.apply(jsonResponse) + " cost:" + (System.currentTimeMillis() - beginTime) + "ms");
             }
 
             return jsonResponse;
@@ -128,13 +161,14 @@ public class JsonPost {
      *
      * @return
      */
-    private String post(String serviceName, String version, String method, String requestJson, JsonSerializer jsonEncoder, JsonSerializer jsonDecoder) throws Exception {
+    private <REQ, RESP> RESP post(String serviceName, String version, String method, REQ requestJson,
+                                  BeanSerializer<REQ> jsonEncoder, BeanSerializer<RESP> jsonDecoder,
+                                  JsonCodec<REQ, RESP> codec) throws Exception {
 
-        String jsonResponse;
+        RESP jsonResponse;
         String sessionTid = MDC.get(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID);
         try {
-            String result = this.pool.send(serviceName, version, method, requestJson, jsonEncoder, jsonDecoder);
-            jsonResponse = result.equals("{}") ? "{\"status\":1}" : result.substring(0, result.lastIndexOf('}')) + ",\"status\":1}";
+            jsonResponse = this.pool.send(serviceName, version, method, requestJson, jsonEncoder, jsonDecoder);
             //MDC will be remove by client filter
             MDC.put(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID, sessionTid);
         } catch (SoaException e) {
@@ -145,7 +179,7 @@ public class JsonPost {
                 LOGGER.error(e.getMsg());
             }
             if (doNotThrowError) {
-                jsonResponse = String.format("{\"responseCode\":\"%s\", \"responseMsg\":\"%s\", \"success\":\"%s\", \"status\":0}", e.getCode(), e.getMsg(), "{}");
+                jsonResponse = codec.fromString.apply(String.format("{\"responseCode\":\"%s\", \"responseMsg\":\"%s\", \"success\":\"%s\", \"status\":0}", e.getCode(), e.getMsg(), "{}"));
             } else {
                 throw e;
             }
@@ -154,7 +188,7 @@ public class JsonPost {
             MDC.put(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID, sessionTid);
             LOGGER.error(e.getMessage(), e);
             if (doNotThrowError) {
-                jsonResponse = String.format("{\"responseCode\":\"%s\", \"responseMsg\":\"%s\", \"success\":\"%s\", \"status\":0}", "9999", "系统繁忙，请稍后再试[9999]！", "{}");
+                jsonResponse = codec.fromString.apply(String.format("{\"responseCode\":\"%s\", \"responseMsg\":\"%s\", \"success\":\"%s\", \"status\":0}", "9999", "系统繁忙，请稍后再试[9999]！", "{}"));
             } else {
                 throw e;
             }
@@ -175,13 +209,33 @@ public class JsonPost {
      */
     public Future<String> callServiceMethodAsync(final String jsonParameter,
                                                  final OptimizedMetadata.OptimizedService optimizedService) throws Exception {
-        Method method = optimizedService.getMethodMap().get(methodName);
+        return callServiceMethodAsync(jsonParameter, optimizedService, STRING_CODEC);
+    }
+
+    /**
+     * 异步调用远程服务, 请求和响应都是UTF-8编码的json.
+     * 不改变jsonParameter的readerIndex, 由调用方在请求发出后释放; 返回的ByteBuf由调用方释放
+     *
+     * @param jsonParameter    json请求
+     * @param optimizedService 服务元数据信息
+     * @return
+     * @throws Exception
+     */
+    public Future<ByteBuf> callServiceMethodAsync(final ByteBuf jsonParameter,
+                                                  final OptimizedMetadata.OptimizedService optimizedService) throws Exception {
+        return callServiceMethodAsync(jsonParameter, optimizedService, UTF8_CODEC);
+    }
+
+    private <REQ, RESP> Future<RESP> callServiceMethodAsync(final REQ jsonParameter,
+                                                            final OptimizedMetadata.OptimizedService optimizedService,
+                                                            final JsonCodec<REQ, RESP> codec) throws Exception {
+        OptimizedMetadata.OptimizedMethod method = optimizedService.getOptimizedMethod(methodName);
 
         if (method == null) {
 
-            String resp = String.format("{\"responseCode\":\"%s\", \"responseMsg\":\"%s\", \"success\":\"{}\", \"status\":0}",
+            RESP resp = codec.fromString.apply(String.format("{\"responseCode\":\"%s\", \"responseMsg\":\"%s\", \"success\":\"{}\", \"status\":0}",
                     SoaCode.NoMatchedMethod,
-                    "method:" + methodName + " for service:" + clientInfo.serviceName + " not found");
+                    "method:" + methodName + " for service:" + clientInfo.serviceName + " not found"));
             return CompletableFuture.completedFuture(resp);
         }
 
@@ -198,20 +252,19 @@ public class JsonPost {
                 MDC.put(SoaSystemEnvProperties.THREAD_LEVEL_KEY, logLevel);
             }
 
-            OptimizedMetadata.OptimizedStruct req = optimizedService.getOptimizedStructs().get(method.request.namespace + "." + method.request.name);
-            OptimizedMetadata.OptimizedStruct resp = optimizedService.getOptimizedStructs().get(method.response.namespace + "." + method.response.name);
-
-            JsonSerializer jsonEncoder = new JsonSerializer(optimizedService, method, clientInfo.version, req);
-            JsonSerializer jsonDecoder = new JsonSerializer(optimizedService, method, clientInfo.version, resp);
+            BeanSerializer<REQ> jsonEncoder = codec.encoder.apply(method);
+            BeanSerializer<RESP> jsonDecoder = codec.decoder.apply(method);
 
             Service origService = optimizedService.getService();
 
-            LOGGER.info("soa-request: service:[" + origService.namespace + "." + origService.name
-                    + ":" + origService.meta.version + "], method:" + methodName + ", param:"
-                    + jsonParameter);
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("soa-request: service:[" + origService.namespace + "." + origService.name
+                        + ":" + origService.meta.version + "], method:" + methodName + ", param:"
+                        + jsonEncoder.toString(jsonParameter));
+            }
 
-            Future<String> jsonResponse = postAsync(clientInfo.serviceName, clientInfo.version,
-                    methodName, jsonParameter, jsonEncoder, jsonDecoder);
+            Future<RESP> jsonResponse = postAsync(clientInfo.serviceName, clientInfo.version,
+                    methodName, jsonParameter, jsonEncoder, jsonDecoder, codec);
             //MDC will be remove by client filter
             MDC.put(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID, sessionTid);
 
@@ -229,8 +282,10 @@ public class JsonPost {
      *
      * @return
      */
-    private Future<String> postAsync(String serviceName, String version, String method, String requestJson, JsonSerializer jsonEncoder, JsonSerializer jsonDecoder) throws Exception {
-        Future<String> jsonResponse;
+    private <REQ, RESP> Future<RESP> postAsync(String serviceName, String version, String method, REQ requestJson,
+                                               BeanSerializer<REQ> jsonEncoder, BeanSerializer<RESP> jsonDecoder,
+                                               JsonCodec<REQ, RESP> codec) throws Exception {
+        Future<RESP> jsonResponse;
         try {
             jsonResponse = this.pool.sendAsync(serviceName, version, method, requestJson, jsonEncoder, jsonDecoder);
         } catch (SoaException e) {
@@ -240,7 +295,7 @@ public class JsonPost {
                 LOGGER.error(e.getMsg());
             }
             if (doNotThrowError) {
-                jsonResponse = CompletableFuture.completedFuture(String.format("{\"responseCode\":\"%s\", \"responseMsg\":\"%s\", \"success\":\"%s\", \"status\":0}", e.getCode(), e.getMsg(), "{}"));
+                jsonResponse = CompletableFuture.completedFuture(codec.fromString.apply(String.format("{\"responseCode\":\"%s\", \"responseMsg\":\"%s\", \"success\":\"%s\", \"status\":0}", e.getCode(), e.getMsg(), "{}")));
             } else {
                 throw e;
             }
@@ -249,11 +304,43 @@ public class JsonPost {
 
             LOGGER.error(e.getMessage(), e);
             if (doNotThrowError) {
-                jsonResponse = CompletableFuture.completedFuture(String.format("{\"responseCode\":\"%s\", \"responseMsg\":\"%s\", \"success\":\"%s\", \"status\":0}", "9999", "系统繁忙，请稍后再试[9999]！", "{}"));
+                jsonResponse = CompletableFuture.completedFuture(codec.fromString.apply(String.format("{\"responseCode\":\"%s\", \"responseMsg\":\"%s\", \"success\":\"%s\", \"status\":0}", "9999", "系统繁忙，请稍后再试[9999]！", "{}")));
             } else {
                 throw e;
             }
         }
         return jsonResponse;
     }
-}
\ No newline at end of file
+
+    /**
+     * 请求/响应的json形式: String, 或者UTF-8字节(ByteBuf)
+     */
+    private static final class JsonCodec<REQ, RESP> {
+        final Function<OptimizedMetadata.OptimizedMethod, BeanSerializer<REQ>> encoder;
+        final Function<OptimizedMetadata.OptimizedMethod, BeanSerializer<RESP>> decoder;
+        /**
+         * 同步调用的响应解码, 带上"status":1
+         */
+        final Function<OptimizedMetadata.OptimizedMethod, BeanSerializer<RESP>> statusDecoder;
+        /**
+         * 出错时直接构造的json响应
+         */
+        final Function<String, RESP> fromString;
+        /**
+         * 日志中输出的简要响应
+         */
+        final Function<RESP, String> brief;
+
+        JsonCodec(Function<OptimizedMetadata.OptimizedMethod, BeanSerializer<REQ>> encoder,
+                  Function<OptimizedMetadata.OptimizedMethod, BeanSerializer<RESP>> decoder,
+                  Function<OptimizedMetadata.OptimizedMethod, BeanSerializer<RESP>> statusDecoder,
+                  Function<String, RESP> fromString,
+                  Function<RESP, String> brief) {
+            this.encoder = encoder;
+            this.decoder = decoder;
+            this.statusDecoder = statusDecoder;
+            this.fromString = fromString;
+            this.brief = brief;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 一个方法最近的响应时间分布, 用于计算对冲请求的延迟(例如p95).
+ * <ul>
+ * <li>按微秒取对数分桶, 每个2的幂再分成4个桶, 结果取桶的上界, 误差不超过25%</li>
+ * <li>只保留当前和上一个窗口(各10s)的数据, 反映最近的响应时间</li>
+ * <li>百分位每秒最多计算一次, 样本数不足时不给出结果</li>
+ * </ul>
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final long WINDOW = 10_000;
+    private static final long RECOMPUTE_INTERVAL = 1000;
+    /**
+     * 样本数少于这个值时不计算百分位
+     */
+    static final int MIN_SAMPLES = 100;
+
+    private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+    private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+    private volatile long windowEnd = System.currentTimeMillis() + WINDOW;
+
+    private volatile long cachedValue = -1;
+    private volatile int cachedPercentile = -1;
+    private volatile long computedAt = 0;
+
+    /**
+     * 记录一次响应时间(微秒)
+     */
+    void record(long micros) {
+        long now = System.currentTimeMillis();
+        if (now >= windowEnd) {
+            rotate(now);
+        }
+        current.incrementAndGet(bucket(Math.max(1, micros)));
+    }
+
+    /**
+     * 最近响应时间的第percentile百分位(微秒), 样本不足时返回-1
+     */
+    long percentile(int percentile) {
+        long now = System.currentTimeMillis();
+        if (cachedPercentile == percentile && now - computedAt < RECOMPUTE_INTERVAL) {
+            return cachedValue;
+        }
+        if (now >= windowEnd) {
+            rotate(now);
+        }
+        AtomicLongArray current = this.current;
+        AtomicLongArray previous = this.previous;
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += current.get(i) + previous.get(i);
+        }
+        long value = -1;
+        if (total >= MIN_SAMPLES) {
+            long rank = (total * percentile + 99) / 100;
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                count += current.get(i) + previous.get(i);
+                if (count >= rank) {
+                    value = upperBound(i);
+                    break;
+                }
+            }
+        }
+        cachedValue = value;
+        cachedPercentile = percentile;
+        computedAt = now;
+        return value;
+    }
+
+    private synchronized void rotate(long now) {
+        if (now < windowEnd) {
+            return;
+        }
+        // 超过两个窗口没有数据时, 上一个窗口的数据也已经过期
+        previous = now - windowEnd >= WINDOW ? new AtomicLongArray(BUCKETS) : current;
+        current = new AtomicLongArray(BUCKETS);
+        windowEnd = now + WINDOW;
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        long lower = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
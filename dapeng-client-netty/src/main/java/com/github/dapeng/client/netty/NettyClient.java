@@ -26,8 +26,10 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
@@ -37,8 +39,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
-import java.util.Map;
-import java.util.concurrent.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Created by lihuimin on 2017/12/21.
@@ -52,102 +54,10 @@ public class NettyClient {
     private final int allIdleTimeSeconds = 0;
 
     private Bootstrap bootstrap = null;
-    private final EventLoopGroup workerGroup = new NioEventLoopGroup(1);
-
-    private static class RequestQueue {
-
-        private static class AsyncRequestWithTimeout {
-            public AsyncRequestWithTimeout(int seqid, long timeout, CompletableFuture future) {
-                this.seqid = seqid;
-                this.expired = System.currentTimeMillis() + timeout;
-                this.future = future;
-            }
-
-            final long expired;
-            final int seqid;
-            final CompletableFuture<?> future;
-        }
-
-        private static final Map<Integer, CompletableFuture<ByteBuf>> FUTURE_CACHES =
-                new ConcurrentHashMap<>();
-        private static final PriorityBlockingQueue<AsyncRequestWithTimeout> FUTURES_CACHES_WITH_TIMEOUT =
-                new PriorityBlockingQueue<>(256,
-                        (o1, o2) -> (int) (o1.expired - o2.expired));
-
-        static void put(int seqId, CompletableFuture<ByteBuf> requestFuture) {
-            FUTURE_CACHES.put(seqId, requestFuture);
-        }
-
-        static void putAsync(int seqId, CompletableFuture<ByteBuf> requestFuture, long timeout) {
-            FUTURE_CACHES.put(seqId, requestFuture);
-
-            AsyncRequestWithTimeout fwt = new AsyncRequestWithTimeout(seqId, timeout, requestFuture);
-            FUTURES_CACHES_WITH_TIMEOUT.add(fwt);
-        }
-
-        /*
-         * block1 in discard, and block2 in complete will be synchornized, so
-         * 1. block1 then block2
-         *    - block2's future2 will be null, so the ByteBuf will released
-         * 2. block2 then block1
-         *    - block1 will get the msg and release it
-         * 3. No block1, just block2
-         *    - future.complete(msg) success.
-         * 4. No block2, Just block1
-         *    - the future not completed, simple discard it from queue
-         */
-
-        static CompletableFuture<ByteBuf> discard(int seqId) {
-            CompletableFuture<ByteBuf> future = FUTURE_CACHES.get(seqId);
-            if(future != null){
-                block1: synchronized (future) {  // complete(seqid, msg) maybe execute before here,
-                    ByteBuf msg = future.getNow(null);
-                    if (msg != null) msg.release();
-                    FUTURE_CACHES.remove(seqId);
-                }
-            }
-            return future;
-        }
-
-        static void complete(int seqid, ByteBuf msg) {
-            CompletableFuture<ByteBuf> future = FUTURE_CACHES.get(seqid);
-            if(future != null){
-                block2: synchronized (future) { // discard(seqId) maybe execute before here
-                    CompletableFuture<ByteBuf> future2 = FUTURE_CACHES.get(seqid);
-                    if(future2 != null)
-                        future2.complete(msg);
-                    else
-                        msg.release();
-
-                    FUTURE_CACHES.remove(seqid);
-                }
-            }
-            else {
-                LOGGER.error("返回结果超时，siqid为：" + seqid);
-                msg.release();
-            }
-        }
-
-        /**
-         * 一次检查中超过50个请求超时就打印一下日志
-         */
-        static void checkTimeout() {
-            long now = System.currentTimeMillis();
-
-            AsyncRequestWithTimeout fwt = FUTURES_CACHES_WITH_TIMEOUT.peek();
-            while (fwt != null && fwt.expired < now) {
-                CompletableFuture future = fwt.future;
-                if (future.isDone() == false) {
-                    future.completeExceptionally(new SoaException(SoaCode.ReqTimeOut));
-                }
-
-                FUTURES_CACHES_WITH_TIMEOUT.remove();
-                discard(fwt.seqid);
-
-                fwt = FUTURES_CACHES_WITH_TIMEOUT.peek();
-            }
-        }
-    }
+    /**
+     * 连接按创建顺序轮流分配到各个事件循环上, 每个连接的读写和响应回调都固定在分到的事件循环上
+     */
+    private final EventLoopGroup workerGroup = new NioEventLoopGroup(Math.max(1, SoaSystemEnvProperties.SOA_CLIENT_IO_THREADS));
 
     public NettyClient() {
         initBootstrap();
@@ -162,13 +72,15 @@ public class NettyClient {
         bootstrap.channel(NioSocketChannel.class);
         bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
         bootstrap.option(ChannelOption.ALLOCATOR, allocator);
+        bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, SoaSystemEnvProperties.SOA_CLIENT_CONNECT_TIMEOUT);
         bootstrap.handler(new ChannelInitializer<SocketChannel>() {
             @Override
             public void initChannel(SocketChannel ch) throws Exception {
+                WriteCoalescer.install(ch);
                 ch.pipeline().addLast(new IdleStateHandler(readerIdleTimeSeconds, writerIdleTimeSeconds, allIdleTimeSeconds),
                         new SoaFrameDecoder(), //粘包和断包处理
                         new SoaIdleHandler(),
-                        new SoaClientHandler(callBack));
+                        new SoaClientHandler(InFlightRequests.install(ch)::complete));
             }
         });
         return bootstrap;
@@ -188,84 +100,54 @@ public class NettyClient {
         //means that this channel is not idle and would not managered by IdleConnectionManager
         IdleConnectionManager.remove(channel);
 
-        CompletableFuture<ByteBuf> future = new CompletableFuture<>();
-
-        RequestQueue.put(seqid, future);
+        InFlightRequests.PendingRequest future = InFlightRequests.of(channel).register(seqid, timeout);
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("NettyClient::send, timeout:" + timeout + ", seqId:" + seqid + ",  to: " + channel.remoteAddress());
         }
 
         try {
-            channel.writeAndFlush(request);
-            ByteBuf respByteBuf = future.get(timeout, TimeUnit.MILLISECONDS);
-            return respByteBuf;
-        } catch (TimeoutException e) {
-            // 如果在服务里面, 那么不清理MDC
-            if (!TransactionContext.hasCurrentInstance()) {
-                MDC.remove(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID);
-            }
-            LOGGER.error("请求服务超时[{}] seqid: {}", service,  seqid, e);
-            throw new SoaException(SoaCode.ReqTimeOut.getCode(), "请求服务超时[" + service + "]");
+            WriteCoalescer.of(channel).write(future, request);
+            return future.get();
         } catch (Throwable e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            discard(future, cause);
             // 如果在服务里面, 那么不清理MDC
             if (!TransactionContext.hasCurrentInstance()) {
                 MDC.remove(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID);
             }
-            throw new SoaException(SoaCode.ClientUnKnown, e.getMessage() == null ? SoaCode.ClientUnKnown.getMsg() : e.getMessage());
-        } finally {
-            RequestQueue.discard(seqid);
+            if (cause instanceof SoaException) {
+                if (SoaCode.ReqTimeOut.getCode().equals(((SoaException) cause).getCode())) {
+                    LOGGER.error("请求服务超时[{}] seqid: {}", service, seqid);
+                    throw new SoaException(SoaCode.ReqTimeOut.getCode(), "请求服务超时[" + service + "]");
+                }
+                throw (SoaException) cause;
+            }
+            throw new SoaException(SoaCode.ClientUnKnown, cause.getMessage() == null ? SoaCode.ClientUnKnown.getMsg() : cause.getMessage());
         }
 
     }
 
+    /**
+     * 同步请求失败时放弃等待响应, 如果响应恰好在此之前到达则释放掉
+     */
+    private static void discard(InFlightRequests.PendingRequest future, Throwable cause) {
+        if (!future.discard(cause) && !future.isCompletedExceptionally()) {
+            future.join().release();
+        }
+    }
+
     public CompletableFuture<ByteBuf> sendAsync(Channel channel, int seqid, ByteBuf request, long timeout) throws Exception {
 
         IdleConnectionManager.remove(channel);
 
-        CompletableFuture<ByteBuf> future = new CompletableFuture<>();
-
-        RequestQueue.putAsync(seqid, future, timeout);
+        InFlightRequests.PendingRequest future = InFlightRequests.of(channel).register(seqid, timeout);
 
-        channel.writeAndFlush(request);
+        WriteCoalescer.of(channel).write(future, request);
 
         return future;
     }
 
-    private SoaClientHandler.CallBack callBack = msg -> {
-        // length(4) stx(1) version(1) protocol(1) seqid(4) header(...) body(...) etx(1)
-        int readerIndex = msg.readerIndex();
-        msg.skipBytes(7); // length4 + stx1 + version1 + protocol1
-        int seqid = msg.readInt();
-
-        msg.readerIndex(readerIndex);
-        RequestQueue.complete(seqid, msg);
-    };
-
-    /**
-     * 定时任务，使得超时的异步任务返回异常给调用者
-     */
-    private static long DEFAULT_SLEEP_TIME = 100L;
-
-    static {
-
-        final Thread asyncCheckTimeThread = new Thread("ConnectionPool-ReqTimeout-Thread") {
-            @Override
-            public void run() {
-                while (true) {
-                    try {
-                        RequestQueue.checkTimeout();
-                        Thread.sleep(DEFAULT_SLEEP_TIME);
-                    } catch (Exception e) {
-                        LOGGER.error("Check Async Timeout Thread Error", e);
-                    }
-                }
-            }
-        };
-        asyncCheckTimeThread.start();
-    }
-
-
     /**
      * 同步连接并返回channel
      *
@@ -278,6 +160,20 @@ public class NettyClient {
         return bootstrap.connect(host, port).sync().channel();
     }
 
+    /**
+     * 为新的连接分配一个事件循环
+     */
+    public EventLoop nextEventLoop() {
+        return workerGroup.next();
+    }
+
+    /**
+     * 异步连接, channel注册到给定的事件循环上(重连时保持在同一个事件循环)
+     */
+    public ChannelFuture connectAsync(String host, int port, EventLoop eventLoop) {
+        return bootstrap.clone(eventLoop).connect(host, port);
+    }
+
     public void shutdown() {
         LOGGER.warn("NettyClient shutdown gracefully");
         workerGroup.shutdownGracefully();
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按正常请求数补充的令牌桶, 限制额外请求(对冲请求, 重试)带来的负载.
+ * <p>
+ * 每个正常请求存入percent%个令牌, 每个额外请求取出一个, 最多存maxTokens个(允许短时间的突发);
+ * 所以长期来看额外请求不超过正常请求的percent%
+ */
+final class RequestBudget {
+
+    /**
+     * 一个令牌的份数, 每个正常请求存入percent份
+     */
+    private static final long TOKEN = 100;
+
+    private final long percent;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    RequestBudget(int percent, int maxTokens) {
+        this.percent = Math.max(0, percent);
+        this.capacity = Math.max(1, maxTokens) * TOKEN;
+        this.balance = new AtomicLong(this.percent == 0 ? 0 : capacity);
+    }
+
+    /**
+     * 一个正常请求
+     */
+    void onRequest() {
+        if (percent == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = balance.get();
+            if (current >= capacity) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(capacity, current + percent)));
+    }
+
+    /**
+     * 取出一个令牌, 没有时返回false(不应该发送额外请求)
+     */
+    boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * 取出的令牌没有用掉(例如没有其它可用的实例), 放回去
+     */
+    void release() {
+        balance.addAndGet(TOKEN);
+    }
+}
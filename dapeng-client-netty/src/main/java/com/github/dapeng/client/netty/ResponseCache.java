@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.core.BeanSerializer;
+import com.github.dapeng.core.helper.SoaSystemEnvProperties;
+import com.github.dapeng.json.JsonSerializer;
+import com.github.dapeng.json.Utf8JsonSerializer;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.TCompactProtocol;
+import com.github.dapeng.util.TCommonTransport;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 客户端对方法返回结果的缓存(zk上配置了cache的方法).
+ * <ul>
+ * <li>按服务, 版本, 方法以及序列化后的请求查找; json请求(JsonPost)直接使用请求的UTF-8字节</li>
+ * <li>保存序列化后的结果(json响应保存UTF-8字节), 每次命中时重新反序列化, 调用方修改返回的对象不影响缓存</li>
+ * <li>过期(ttl)后的一个ttl内仍然返回旧的结果, 同时只有一个请求在后台刷新; 再之后按未命中处理</li>
+ * <li>最多缓存soa.client.cache.max.entries个结果, 超过时淘汰最久没有使用的</li>
+ * </ul>
+ */
+final class ResponseCache {
+
+    static final ResponseCache INSTANCE = new ResponseCache(SoaSystemEnvProperties.SOA_CLIENT_CACHE_MAX_ENTRIES);
+
+    static final class Key {
+        private final String service;
+        private final String version;
+        private final String method;
+        private final byte[] request;
+        /**
+         * json响应的序列化器(按实例区分): 同一个请求, 同步调用的响应带"status":1, 异步的不带, 不能共用缓存.
+         * 其它序列化器为null
+         */
+        private final Object variant;
+        private final int hash;
+
+        Key(String service, String version, String method, byte[] request, BeanSerializer<?> responseSerializer) {
+            this.service = service;
+            this.version = version;
+            this.method = method;
+            this.request = request;
+            this.variant = isJson(responseSerializer) ? responseSerializer : null;
+            this.hash = (((service.hashCode() * 31 + version.hashCode()) * 31 + method.hashCode()) * 31
+                    + Arrays.hashCode(request)) * 31 + System.identityHashCode(variant);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && variant == other.variant && service.equals(other.service) && version.equals(other.version)
+                    && method.equals(other.method) && Arrays.equals(request, other.request);
+        }
+    }
+
+    static final class Entry {
+        final byte[] response;
+        final long freshUntil;
+        final long staleUntil;
+        /**
+         * 是否已经有请求在后台刷新这个结果
+         */
+        final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        Entry(byte[] response, long ttl) {
+            long now = System.currentTimeMillis();
+            this.response = response;
+            this.freshUntil = now + ttl;
+            this.staleUntil = now + 2 * ttl;
+        }
+
+        boolean isStale() {
+            return System.currentTimeMillis() >= freshUntil;
+        }
+    }
+
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    ResponseCache(int maxEntries) {
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 查找缓存的结果, 没有或者已经超过可以返回旧结果的时间时返回null
+     */
+    Entry get(Key key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && System.currentTimeMillis() >= entry.staleUntil) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+        } else if (entry.isStale()) {
+            staleHits.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    void put(Key key, byte[] response, long ttl) {
+        Entry entry = new Entry(response, ttl);
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long staleHits() {
+        return staleHits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * 请求在缓存中的key.
+     * json序列化器(JsonSerializer, Utf8JsonSerializer)只能写入发送请求的ByteBuf, 不能单独序列化, 直接使用json的UTF-8字节
+     */
+    static <T> byte[] encodeRequest(T request, BeanSerializer<T> serializer) throws TException {
+        byte[] json = jsonBytes(request, serializer);
+        return json != null ? json : serialize(request, serializer);
+    }
+
+    static <T> byte[] encodeResponse(T response, BeanSerializer<T> serializer) throws TException {
+        byte[] json = jsonBytes(response, serializer);
+        return json != null ? json : serialize(response, serializer);
+    }
+
+    /**
+     * json响应每次返回新的String/ByteBuf(由调用方释放), 其它响应重新反序列化
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T decodeResponse(byte[] bytes, BeanSerializer<T> serializer) throws TException {
+        if (serializer instanceof JsonSerializer) {
+            return (T) new String(bytes, StandardCharsets.UTF_8);
+        } else if (serializer instanceof Utf8JsonSerializer) {
+            return (T) Unpooled.copiedBuffer(bytes);
+        }
+        return deserialize(bytes, serializer);
+    }
+
+    /**
+     * json的UTF-8字节, 不是json序列化器时返回null. 不改变ByteBuf的readerIndex
+     */
+    private static byte[] jsonBytes(Object json, BeanSerializer<?> serializer) {
+        if (serializer instanceof JsonSerializer) {
+            return ((String) json).getBytes(StandardCharsets.UTF_8);
+        } else if (serializer instanceof Utf8JsonSerializer) {
+            return ByteBufUtil.getBytes((ByteBuf) json);
+        }
+        return null;
+    }
+
+    private static boolean isJson(BeanSerializer<?> serializer) {
+        return serializer instanceof JsonSerializer || serializer instanceof Utf8JsonSerializer;
+    }
+
+    static <T> byte[] serialize(T bean, BeanSerializer<T> serializer) throws TException {
+        TCommonTransport transport = new TCommonTransport(new byte[128], TCommonTransport.Type.Write);
+        serializer.write(bean, new TCompactProtocol(transport));
+        transport.flush();
+        return transport.getByteBuf();
+    }
+
+    static <T> T deserialize(byte[] bytes, BeanSerializer<T> serializer) throws TException {
+        TCommonTransport transport = new TCommonTransport(bytes, TCommonTransport.Type.Read);
+        return serializer.read(new TCompactProtocol(transport));
+    }
+}
@@ -16,7 +16,6 @@
  */
 package com.github.dapeng.client.netty;
 
-import com.github.dapeng.client.filter.LogFilter;
 import com.github.dapeng.core.*;
 import com.github.dapeng.core.filter.*;
 import com.github.dapeng.core.helper.DapengUtil;
@@ -26,15 +25,18 @@ import com.github.dapeng.util.DumpUtil;
 import com.github.dapeng.util.SoaMessageParser;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoop;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 import java.util.ServiceLoader;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.github.dapeng.core.helper.IPUtils.transferIp;
@@ -45,26 +47,57 @@ import static com.github.dapeng.core.helper.IPUtils.transferIp;
 @SuppressWarnings("unchecked")
 public abstract class SoaBaseConnection implements SoaConnection {
     private static final Logger LOGGER = LoggerFactory.getLogger(SoaBaseConnection.class);
+    /**
+     * 第一次重连的退避时间(毫秒)
+     */
+    private static final long INITIAL_BACKOFF = 100;
 
     private final String host;
     private final int port;
+    /**
+     * host:port, 过滤器链中的serverInfo
+     */
+    final String serverInfo;
+    /**
+     * 实例的健康状况(熔断), 同一个ip:port的连接共享
+     */
+    final InstanceHealth health;
     private final static SoaConnectionPoolFactory factory = ServiceLoader.load(SoaConnectionPoolFactory.class,
             SoaBaseConnection.class.getClassLoader()).iterator().next();
-    private Channel channel = null;
+    private volatile Channel channel = null;
+    /**
+     * 正在建立的连接(CONNECTING), 没有在连接时为null
+     */
+    private ChannelFuture connecting = null;
+    /**
+     * 连续连接失败的次数以及下一次允许连接的时间, 退避期间的请求直接失败
+     */
+    private int connectFailures = 0;
+    private long nextConnectTime = 0;
+    /**
+     * 连接已经从subPool中移除并关闭, 不再重连
+     */
+    private volatile boolean closed = false;
     private NettyClient client;
-    private final static AtomicInteger seqidAtomic = new AtomicInteger(0);
+    /**
+     * 连接所在的事件循环, 重连后不变
+     */
+    private final EventLoop eventLoop;
+    /**
+     * seqid按连接递增, 用于在连接的在途请求表中定位槽位
+     */
+    private final AtomicInteger seqidAtomic = new AtomicInteger(0);
     private ClientRefManager clientRefManager = ClientRefManager.getInstance();
 
 
     SoaBaseConnection(String host, int port) {
         this.client = NettyClientFactory.getNettyClient();
+        this.eventLoop = client.nextEventLoop();
         this.host = host;
         this.port = port;
-        try {
-            channel = connect(host, port);
-        } catch (Exception e) {
-            LOGGER.error("connect to {}:{} failed", host, port);
-        }
+        this.serverInfo = host + ":" + port;
+        this.health = InstanceHealth.of(host, port);
+        connectAsync();
     }
 
 
@@ -81,80 +114,24 @@ public abstract class SoaBaseConnection implements SoaConnection {
         InvocationContextImpl invocationContext = (InvocationContextImpl) InvocationContextImpl.Factory.currentInstance();
         invocationContext.seqId(seqid);
 
-        Filter dispatchFilter = new Filter() {
-            private FilterChain getPrevChain(FilterContext ctx) {
-                SharedChain chain = (SharedChain) ctx.getAttach(this, "chain");
-                return new SharedChain(chain.head, chain.shared, chain.tail, chain.size() - 2);
-            }
-
-            @Override
-            public void onEntry(FilterContext ctx, FilterChain next) throws SoaException {
-                if (LOGGER.isTraceEnabled()) {
-                    LOGGER.trace("dispatchFilter::onEntry");
-                }
-                ByteBuf requestBuf = buildRequestBuf(service, version, method, seqid, request, requestSerializer);
-
-                // TODO filter
-                checkChannel();
-
-                try {
-                    ByteBuf responseBuf = client.send(channel, seqid, requestBuf, timeout, service);
-
-                    Result<RESP> result = processResponse(responseBuf, responseSerializer);
-                    ctx.setAttribute("result", result);
-
-                    onExit(ctx, getPrevChain(ctx));
-                } finally {
-                    InvocationContextImpl.Factory.removeCurrentInstance();
-                }
-            }
-
-            @Override
-            public void onExit(FilterContext ctx, FilterChain prev) throws SoaException {
-                prev.onExit(ctx);
-            }
-        };
-
-        //an empty filter
-        Filter headerFilter = new Filter() {
-            @Override
-            public void onEntry(FilterContext ctx, FilterChain next) throws SoaException {
-                if (LOGGER.isTraceEnabled()) {
-                    LOGGER.trace("headerFilter::onEntry");
-                }
-                next.onEntry(ctx);
-            }
-
-            @Override
-            public void onExit(FilterContext ctx, FilterChain prev) throws SoaException {
-                // do nothing
-                if (LOGGER.isTraceEnabled()) {
-                    LOGGER.trace("headerFilter::onExit");
-                }
-            }
-        };
-
-        List<Filter> shareFilters = new ArrayList<>();
-        shareFilters.add(new LogFilter());
-        SharedChain sharedChain = new SharedChain(headerFilter, shareFilters, dispatchFilter, 0);
-
-        FilterContextImpl filterContext = new FilterContextImpl();
-        filterContext.setAttach(dispatchFilter, "chain", sharedChain);
-        filterContext.setAttribute("context", invocationContext);
-        filterContext.setAttribute("serverInfo", host + ":" + port);
-
-        sharedChain.onEntry(filterContext);
+        ClientFilterContext filterContext = new ClientFilterContext(this, service, version, method, request,
+                requestSerializer, responseSerializer, timeout, seqid, invocationContext, null);
+        try {
+            SYNC_CHAIN.onEntry(filterContext);
+        } catch (SoaException e) {
+            health.onResult(e, filterContext.elapsedMicros());
+            throw e;
+        } catch (RuntimeException | Error e) {
+            health.onAbandoned();
+            throw e;
+        }
 
         Result<RESP> result = (Result<RESP>) filterContext.getAttribute("result");
         assert (result != null);
+        health.onResult(result.exception, filterContext.elapsedMicros());
 
         //请求响应，在途请求-1
-        RuntimeInstance runtimeInstance = clientRefManager.serviceInfo(service).runtimeInstance(host, port);
-        if (runtimeInstance == null) {
-            LOGGER.error("SoaBaseConnection::runtimeInstance not found.");
-        } else {
-            runtimeInstance.decreaseActiveCount();
-        }
+        decreaseActiveCount(service);
 
         if (result.success != null) {
             return result.success;
@@ -176,144 +153,264 @@ public abstract class SoaBaseConnection implements SoaConnection {
         InvocationContextImpl invocationContext = (InvocationContextImpl) InvocationContextImpl.Factory.currentInstance();
         invocationContext.seqId(seqid);
 
-        Filter dispatchFilter = new Filter() {
-            private FilterChain getPrevChain(FilterContext ctx) {
-                SharedChain chain = (SharedChain) ctx.getAttach(this, "chain");
-                return new SharedChain(chain.head, chain.shared, chain.tail, chain.size() - 2);
+        ResultFuture resultFuture = new ResultFuture();
+        ClientFilterContext filterContext = new ClientFilterContext(this, service, version, method, request,
+                requestSerializer, responseSerializer, timeout, seqid, invocationContext, resultFuture);
+        try {
+            ASYNC_CHAIN.onEntry(filterContext);
+        } catch (TException e) {
+            if (e instanceof SoaException) {
+                health.onResult((SoaException) e, filterContext.elapsedMicros());
+            } else {
+                health.onAbandoned();
             }
+            throw new SoaException(e);
+        } catch (RuntimeException | Error e) {
+            health.onAbandoned();
+            throw e;
+        }
 
-            @Override
-            public void onEntry(FilterContext ctx, FilterChain next) throws SoaException {
-                try {
-
-                    ByteBuf requestBuf = buildRequestBuf(service, version, method, seqid, request, requestSerializer);
-
-                    CompletableFuture<ByteBuf> responseBufFuture;
-                    try {
-                        checkChannel();
-                        responseBufFuture = client.sendAsync(channel, seqid, requestBuf, timeout);
-                    } catch (Exception e) {
-                        LOGGER.error(e.getMessage(), e);
-                        Result<RESP> result = new Result<>(null,
-                                new SoaException(SoaCode.ClientUnKnown, SoaCode.ClientUnKnown.getMsg()));
-                        ctx.setAttribute("result", result);
-                        onExit(ctx, getPrevChain(ctx));
-                        return;
-                    }
-
-                    responseBufFuture.whenComplete((realResult, ex) -> {
-                        MDC.put(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID, invocationContext.sessionTid().map(DapengUtil::longToHexStr).orElse("0"));
-                        if (ex != null) {
-                            SoaException soaException = convertToSoaException(ex);
-                            Result<RESP> result = new Result<>(null, soaException);
-                            ctx.setAttribute("result", result);
-                        } else {
-                            //fixme do it in filter
-                            InvocationContextImpl.Factory.currentInstance(invocationContext);
-
-                            Result<RESP> result = processResponse(realResult, responseSerializer);
-                            ctx.setAttribute("result", result);
-                        }
-
-                        try {
-                            onExit(ctx, getPrevChain(ctx));
-                        } catch (SoaException e) {
-                            LOGGER.error(e.getMessage(), e);
-                        } finally {
-                            InvocationContextImpl.Factory.removeCurrentInstance();
-                            MDC.remove(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID);
-                        }
-                    });
-                } catch (Exception e) {
-                    LOGGER.error(e.getMessage(), e);
-                    SoaException soaException = convertToSoaException(e);
-                    Result<RESP> result = new Result<>(null, soaException);
-
-                    if (invocationContext.lastInvocationInfo().responseCode() == null) {
-                        ((InvocationInfoImpl) invocationContext.lastInvocationInfo()).responseCode(soaException.getCode());
-                    }
-
-                    ctx.setAttribute("result", result);
-
-                    // fix  sendAsync  json序列化异常  LogFilter respCode == null
-                    InvocationContextImpl invocationContext = (InvocationContextImpl) ctx.getAttribute("context");
-                    InvocationInfoImpl lastInfo = (InvocationInfoImpl) invocationContext.lastInvocationInfo();
-                    lastInfo.responseCode(soaException.getCode());
-                    lastInfo.calleeIp(transferIp(host));
-                    lastInfo.calleePort(port);
-
-                    invocationContext.lastInvocationInfo(lastInfo);
-                    ctx.setAttribute("context", invocationContext);
-
-                    onExit(ctx, getPrevChain(ctx));
-                } finally {
-                    InvocationContextImpl.Factory.removeCurrentInstance();
-                    MDC.remove(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID);
-                }
+        //请求响应，在途请求-1
+        decreaseActiveCount(service);
+
+        return (Future<RESP>) resultFuture;
+    }
+
+    private void decreaseActiveCount(String service) {
+        RuntimeInstance runtimeInstance = clientRefManager.serviceInfo(service).runtimeInstance(host, port);
+        if (runtimeInstance == null) {
+            LOGGER.error("SoaBaseConnection::runtimeInstance not found.");
+        } else {
+            runtimeInstance.decreaseActiveCount();
+        }
+    }
+
+    /**
+     * 同步请求的dispatch: 发送请求并等待响应, 然后反向执行过滤器链的onExit
+     */
+    private void dispatch(ClientFilterContext ctx) throws SoaException {
+        long deadline = System.currentTimeMillis() + ctx.timeout;
+        Channel channel = awaitChannel(ctx.timeout);
+        ByteBuf requestBuf = buildRequestBuf(ctx.service, ctx.version, ctx.method, ctx.seqid, ctx.request, ctx.requestSerializer);
+
+        try {
+            ByteBuf responseBuf = client.send(channel, ctx.seqid, requestBuf,
+                    Math.max(1, deadline - System.currentTimeMillis()), ctx.service);
+
+            Result<Object> result = processResponse(responseBuf, ctx.responseSerializer);
+            ctx.setAttribute("result", result);
+
+            SYNC_CHAIN.prevOfTail().onExit(ctx);
+        } finally {
+            InvocationContextImpl.Factory.removeCurrentInstance();
+        }
+    }
+
+    /**
+     * 异步请求的dispatch: 发送请求, 响应到达后在onAsyncResponse中反向执行过滤器链的onExit
+     */
+    private void dispatchAsync(ClientFilterContext ctx) throws SoaException {
+        InvocationContextImpl invocationContext = ctx.invocationContext;
+        try {
+
+            ByteBuf requestBuf = buildRequestBuf(ctx.service, ctx.version, ctx.method, ctx.seqid, ctx.request, ctx.requestSerializer);
+
+            CompletableFuture<ByteBuf> responseBufFuture;
+            try {
+                responseBufFuture = sendAsync(ctx.seqid, requestBuf, ctx.timeout);
+            } catch (Exception e) {
+                LOGGER.error(e.getMessage(), e);
+                // 保留连接不可用等错误码, 调用方据此决定是否换一个实例重试
+                Result<Object> result = new Result<>(null, e instanceof SoaException ? (SoaException) e
+                        : new SoaException(SoaCode.ClientUnKnown, SoaCode.ClientUnKnown.getMsg()));
+                ctx.setAttribute("result", result);
+                ASYNC_CHAIN.prevOfTail().onExit(ctx);
+                return;
             }
 
-            @Override
-            public void onExit(FilterContext ctx, FilterChain prev) throws SoaException {
-                prev.onExit(ctx);
+            ctx.future.response(responseBufFuture);
+            responseBufFuture.whenComplete(ctx);
+        } catch (Exception e) {
+            LOGGER.error(e.getMessage(), e);
+            SoaException soaException = convertToSoaException(e);
+            Result<Object> result = new Result<>(null, soaException);
+
+            if (invocationContext.lastInvocationInfo().responseCode() == null) {
+                ((InvocationInfoImpl) invocationContext.lastInvocationInfo()).responseCode(soaException.getCode());
             }
-        };
-
-        Filter headFilter = new Filter() {
-            @Override
-            public void onEntry(FilterContext ctx, FilterChain next) throws SoaException {
-                CompletableFuture<RESP> resultFuture = new CompletableFuture<>();
-                ctx.setAttach(this, "future", resultFuture);
-                next.onEntry(ctx);
+
+            ctx.setAttribute("result", result);
+
+            // fix  sendAsync  json序列化异常  LogFilter respCode == null
+            InvocationContextImpl context = (InvocationContextImpl) ctx.getAttribute("context");
+            InvocationInfoImpl lastInfo = (InvocationInfoImpl) context.lastInvocationInfo();
+            lastInfo.responseCode(soaException.getCode());
+            lastInfo.calleeIp(transferIp(host));
+            lastInfo.calleePort(port);
+
+            context.lastInvocationInfo(lastInfo);
+            ctx.setAttribute("context", context);
+
+            ASYNC_CHAIN.prevOfTail().onExit(ctx);
+        } finally {
+            InvocationContextImpl.Factory.removeCurrentInstance();
+            MDC.remove(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID);
+        }
+    }
+
+    /**
+     * 异步请求的响应到达(或者失败)
+     */
+    void onAsyncResponse(ClientFilterContext ctx, ByteBuf realResult, Throwable ex) {
+        InvocationContextImpl invocationContext = ctx.invocationContext;
+        MDC.put(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID, invocationContext.sessionTid().map(DapengUtil::longToHexStr).orElse("0"));
+        if (ex != null) {
+            SoaException soaException = convertToSoaException(ex);
+            Result<Object> result = new Result<>(null, soaException);
+            ctx.setAttribute("result", result);
+            // 没有收到响应(超时, 连接断开, 被调用方取消等), LogFilter需要respCode
+            InvocationInfoImpl lastInfo = (InvocationInfoImpl) invocationContext.lastInvocationInfo();
+            if (lastInfo != null && lastInfo.responseCode() == null) {
+                lastInfo.responseCode(soaException.getCode());
             }
+        } else {
+            //fixme do it in filter
+            InvocationContextImpl.Factory.currentInstance(invocationContext);
 
-            @Override
-            public void onExit(FilterContext ctx, FilterChain prev) throws SoaException {
+            Result<Object> result = processResponse(realResult, ctx.responseSerializer);
+            ctx.setAttribute("result", result);
+        }
 
-                CompletableFuture<RESP> future = (CompletableFuture<RESP>) ctx.getAttach(this, "future");
-                Result<RESP> result = (Result<RESP>) ctx.getAttribute("result");
-                if (result.success != null) {
-                    future.complete(result.success);
-                } else {
-                    future.completeExceptionally(result.exception);
-                }
+        try {
+            ASYNC_CHAIN.prevOfTail().onExit(ctx);
+        } catch (SoaException e) {
+            LOGGER.error(e.getMessage(), e);
+        } finally {
+            InvocationContextImpl.Factory.removeCurrentInstance();
+            MDC.remove(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID);
+        }
+    }
+
+    /**
+     * 同步请求的head: 什么都不做
+     */
+    private static final Filter SYNC_HEAD_FILTER = new Filter() {
+        @Override
+        public void onEntry(FilterContext ctx, FilterChain next) throws SoaException {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("headerFilter::onEntry");
             }
-        };
-        // Head, LoadBalance, .. dispatch
-        List<Filter> shareFilters = new ArrayList<>();
-        shareFilters.add(new LogFilter());
+            next.onEntry(ctx);
+        }
 
-        SharedChain sharedChain = new SharedChain(headFilter, shareFilters, dispatchFilter, 0);
+        @Override
+        public void onExit(FilterContext ctx, FilterChain prev) throws SoaException {
+            // do nothing
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("headerFilter::onExit");
+            }
+        }
+    };
 
-        FilterContextImpl filterContext = new FilterContextImpl();
-        filterContext.setAttach(dispatchFilter, "chain", sharedChain);
-        filterContext.setAttribute("context", invocationContext);
-        filterContext.setAttribute("serverInfo", host + ":" + port);
+    /**
+     * 异步请求的head: onExit时完成返回给调用方的future
+     */
+    private static final Filter ASYNC_HEAD_FILTER = new Filter() {
+        @Override
+        public void onEntry(FilterContext ctx, FilterChain next) throws SoaException {
+            next.onEntry(ctx);
+        }
 
-        try {
-            sharedChain.onEntry(filterContext);
-        } catch (TException e) {
-            throw new SoaException(e);
+        @Override
+        public void onExit(FilterContext ctx, FilterChain prev) throws SoaException {
+            ClientFilterContext clientContext = (ClientFilterContext) ctx;
+            ResultFuture future = clientContext.future;
+            Result<?> result = (Result<?>) ctx.getAttribute("result");
+            clientContext.connection.health.onResult(result.exception, clientContext.elapsedMicros());
+            if (result.success != null) {
+                future.complete(result.success);
+            } else {
+                future.completeExceptionally(result.exception);
+            }
+        }
+    };
+
+    private static final Filter SYNC_DISPATCH_FILTER = new Filter() {
+        @Override
+        public void onEntry(FilterContext ctx, FilterChain next) throws SoaException {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("dispatchFilter::onEntry");
+            }
+            ClientFilterContext clientContext = (ClientFilterContext) ctx;
+            clientContext.connection.dispatch(clientContext);
         }
-        CompletableFuture<RESP> resultFuture = (CompletableFuture<RESP>) filterContext.getAttach(headFilter, "future");
 
+        @Override
+        public void onExit(FilterContext ctx, FilterChain prev) throws SoaException {
+            prev.onExit(ctx);
+        }
+    };
 
-        assert (resultFuture != null);
-        //请求响应，在途请求-1
-        RuntimeInstance runtimeInstance = clientRefManager.serviceInfo(service).runtimeInstance(host, port);
-        if (runtimeInstance == null) {
-            LOGGER.error("SoaBaseConnection::runtimeInstance not found.");
-        } else {
-            runtimeInstance.decreaseActiveCount();
+    private static final Filter ASYNC_DISPATCH_FILTER = new Filter() {
+        @Override
+        public void onEntry(FilterContext ctx, FilterChain next) throws SoaException {
+            ClientFilterContext clientContext = (ClientFilterContext) ctx;
+            clientContext.connection.dispatchAsync(clientContext);
         }
 
-        return resultFuture;
+        @Override
+        public void onExit(FilterContext ctx, FilterChain prev) throws SoaException {
+            prev.onExit(ctx);
+        }
+    };
+
+    /**
+     * 异步请求返回给调用方的future. 调用方cancel时放弃等待响应, 不再占用连接上的在途请求槽位
+     */
+    static final class ResultFuture extends CompletableFuture<Object> {
+        private volatile CompletableFuture<ByteBuf> response;
+
+        void response(CompletableFuture<ByteBuf> response) {
+            this.response = response;
+            if (isCancelled()) {
+                abandon(response);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            CompletableFuture<ByteBuf> response = this.response;
+            if (cancelled && response != null) {
+                abandon(response);
+            }
+            return cancelled;
+        }
+
+        private static void abandon(CompletableFuture<ByteBuf> response) {
+            SoaException cause = new SoaException(SoaCode.ReqCancelled);
+            if (response instanceof InFlightRequests.PendingRequest) {
+                ((InFlightRequests.PendingRequest) response).discard(cause);
+            } else {
+                response.completeExceptionally(cause);
+            }
+        }
     }
 
+    /**
+     * 所有连接共享的过滤器链: head -> LogFilter -> 用户过滤器(ClientFilter) -> dispatch
+     */
+    private static final ClientFilterChain SYNC_CHAIN = ClientFilterChain.build(SYNC_HEAD_FILTER, SYNC_DISPATCH_FILTER);
+    private static final ClientFilterChain ASYNC_CHAIN = ClientFilterChain.build(ASYNC_HEAD_FILTER, ASYNC_DISPATCH_FILTER);
+
 
     private SoaException convertToSoaException(Throwable ex) {
         SoaException soaException;
         if (ex instanceof SoaException) {
             soaException = (SoaException) ex;
+        } else if (ex instanceof IOException) {
+            // 请求写出失败(连接已断开等)
+            soaException = new SoaException(SoaCode.NotConnected.getCode(), ex.getMessage() == null ? SoaCode.NotConnected.getMsg() : ex.getMessage());
         } else {
             soaException = new SoaException(SoaCode.ClientUnKnown.getCode(), ex.getMessage());
         }
@@ -378,34 +475,142 @@ public abstract class SoaBaseConnection implements SoaConnection {
 
 
     /**
-     * 创建连接
+     * 开始异步建立连接
+     *
+     * @return 连接已经可用或者正在建立时返回对应的future; 退避期间或者连接已关闭时返回null
      */
-    private synchronized Channel connect(String host, int port) throws SoaException {
+    private synchronized ChannelFuture connectAsync() {
+        Channel channel = this.channel;
         if (channel != null && channel.isActive()) {
-            return channel;
+            return channel.newSucceededFuture();
+        }
+        if (connecting != null) {
+            return connecting;
         }
+        if (closed || System.currentTimeMillis() < nextConnectTime) {
+            return null;
+        }
+        if (channel != null) {
+            channel.close();
+            this.channel = null;
+        }
+        ChannelFuture future = client.connectAsync(host, port, eventLoop);
+        connecting = future;
+        future.addListener((ChannelFutureListener) this::onConnectComplete);
+        return future;
+    }
 
-        try {
-            return channel = this.client.connect(host, port);
-        } catch (Exception e) {
-            throw new SoaException(SoaCode.NotConnected);
+    private synchronized void onConnectComplete(ChannelFuture connectFuture) {
+        if (connecting == connectFuture) {
+            connecting = null;
+        }
+        if (connectFuture.isSuccess()) {
+            connectFailures = 0;
+            if (closed) {
+                connectFuture.channel().close();
+            } else {
+                channel = connectFuture.channel();
+            }
+        } else {
+            connectFailures++;
+            // 指数退避, 在[backoff/2, backoff)之间随机, 避免大量客户端同时重连
+            long backoff = Math.min(SoaSystemEnvProperties.SOA_CLIENT_RECONNECT_MAX_BACKOFF,
+                    INITIAL_BACKOFF << Math.min(connectFailures - 1, 16));
+            long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+            nextConnectTime = System.currentTimeMillis() + delay;
+            LOGGER.error("connect to {}:{} failed({} times), retry after {}ms: {}",
+                    host, port, connectFailures, delay, connectFuture.cause().getMessage());
         }
     }
 
-    private void checkChannel() throws SoaException {
-        if (channel == null) {
-            connect(host, port);
-        } else if (!channel.isActive()) {
-            try {
-                channel.close();
-            } finally {
-                channel = null;
-                connect(host, port);
+    /**
+     * 取得可用的连接. 连接正在建立时, 按照配置在timeout内等待或者直接失败
+     */
+    Channel awaitChannel(long timeout) throws SoaException {
+        Channel channel = this.channel;
+        if (channel != null && channel.isActive()) {
+            return channel;
+        }
+        ChannelFuture connecting = connectAsync();
+        if (connecting != null && SoaSystemEnvProperties.SOA_CLIENT_CONNECTING_QUEUE) {
+            connecting.awaitUninterruptibly(timeout);
+        }
+        if (connecting == null || !connecting.isSuccess()) {
+            throw new SoaException(SoaCode.NotConnected, "连接不可用: " + host + ":" + port);
+        }
+        return connecting.channel();
+    }
+
+    /**
+     * 异步发送; 连接正在建立时请求排在连接完成之后发出, 超时时间包含等待连接的时间
+     */
+    private CompletableFuture<ByteBuf> sendAsync(int seqid, ByteBuf requestBuf, long timeout) throws Exception {
+        Channel channel = this.channel;
+        if (channel != null && channel.isActive()) {
+            return client.sendAsync(channel, seqid, requestBuf, timeout);
+        }
+        ChannelFuture connecting = connectAsync();
+        if (connecting == null || !SoaSystemEnvProperties.SOA_CLIENT_CONNECTING_QUEUE) {
+            requestBuf.release();
+            throw new SoaException(SoaCode.NotConnected, "连接不可用: " + host + ":" + port);
+        }
+        long deadline = System.currentTimeMillis() + timeout;
+        CompletableFuture<ByteBuf> future = new CompletableFuture<>();
+        connecting.addListener((ChannelFuture connected) -> {
+            long remaining = deadline - System.currentTimeMillis();
+            if (!connected.isSuccess() || remaining <= 0) {
+                requestBuf.release();
+                future.completeExceptionally(connected.isSuccess() ? new SoaException(SoaCode.ReqTimeOut)
+                        : new SoaException(SoaCode.NotConnected, "连接不可用: " + host + ":" + port));
+                return;
             }
+            CompletableFuture<ByteBuf> sent = client.sendAsync(connected.channel(), seqid, requestBuf, remaining);
+            // 调用方放弃(见ResultFuture.abandon)时, 连接上的请求也不再等待响应
+            future.whenComplete((response, ex) -> {
+                if (ex != null && sent instanceof InFlightRequests.PendingRequest) {
+                    ((InFlightRequests.PendingRequest) sent).discard(ex);
+                }
+            });
+            sent.whenComplete((response, ex) -> {
+                if (ex != null) {
+                    future.completeExceptionally(ex);
+                } else if (!future.complete(response)) {
+                    response.release();
+                }
+            });
+        });
+        return future;
+    }
+
+    String host() {
+        return host;
+    }
+
+    int port() {
+        return port;
+    }
+
+    /**
+     * 连接上等待响应的请求数
+     */
+    int pendingRequests() {
+        Channel channel = this.channel;
+        InFlightRequests inFlight = channel == null ? null : InFlightRequests.of(channel);
+        return inFlight == null ? 0 : inFlight.pending();
+    }
+
+    /**
+     * 关闭连接, 之后不再重连
+     */
+    synchronized void close() {
+        closed = true;
+        if (channel != null) {
+            channel.close();
         }
     }
 
 
+
     /**
      * 构造lastInvocationInfo
      *
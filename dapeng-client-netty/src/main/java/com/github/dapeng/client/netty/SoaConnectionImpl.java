@@ -43,13 +43,13 @@ public class SoaConnectionImpl extends SoaBaseConnection {
         AbstractByteBufAllocator allocator =
                 SoaSystemEnvProperties.SOA_POOLED_BYTEBUF ?
                         PooledByteBufAllocator.DEFAULT : UnpooledByteBufAllocator.DEFAULT;
-        final ByteBuf requestBuf = allocator.buffer(8192);
+        SoaHeader header = SoaHeaderHelper.buildHeader(service, version, method);
+        int estimatedSize = SoaMessageBuilder.estimateSize(header, request, requestSerializer);
+        final ByteBuf requestBuf = allocator.buffer(estimatedSize < 0 ? 8192 : estimatedSize);
 
         SoaMessageBuilder<REQ> builder = new SoaMessageBuilder<>();
 
         try {
-            SoaHeader header = SoaHeaderHelper.buildHeader(service, version, method);
-
             ByteBuf buf = builder.buffer(requestBuf)
                     .header(header)
                     .body(request, requestSerializer)
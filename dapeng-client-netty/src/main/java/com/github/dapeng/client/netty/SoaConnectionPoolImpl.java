@@ -22,11 +22,15 @@ import com.github.dapeng.core.*;
 import com.github.dapeng.core.enums.LoadBalanceStrategy;
 import com.github.dapeng.core.helper.IPUtils;
 import com.github.dapeng.core.helper.SoaSystemEnvProperties;
+import com.github.dapeng.org.apache.thrift.TException;
 import com.github.dapeng.registry.zookeeper.ZkServiceInfo;
 import com.github.dapeng.router.Route;
 import com.github.dapeng.registry.ConfigKey;
 import com.github.dapeng.registry.zookeeper.LoadBalanceAlgorithm;
 import com.github.dapeng.router.RoutesExecutor;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -35,9 +39,21 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 import static com.github.dapeng.core.SoaCode.*;
 import static com.github.dapeng.util.InvocationContextUtils.capsuleContext;
@@ -51,6 +67,26 @@ public class SoaConnectionPoolImpl implements SoaConnectionPool {
     private final LoadBalanceStrategy DEFAULT_LB_STRATEGY = LoadBalanceStrategy.Random;
 
     private ClientRefManager clientRefManager = ClientRefManager.getInstance();
+    /**
+     * 对冲请求的令牌桶(按服务)以及方法最近的响应时间
+     */
+    private static final int HEDGE_BURST = 10;
+    private final Map<String, RequestBudget> hedgeBudgets = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, LatencyHistogram>> latencies = new ConcurrentHashMap<>();
+    /**
+     * 重试的令牌桶(按服务)
+     */
+    private static final int RETRY_BURST = 10;
+    private final Map<String, RequestBudget> retryBudgets = new ConcurrentHashMap<>();
+    /**
+     * 方法返回结果的缓存(zk上配置了cache的方法)
+     */
+    private final ResponseCache responseCache = ResponseCache.INSTANCE;
+    /**
+     * 对冲请求以及重试在这里发送, 不占用超时定时器(InFlightRequests.TIMER)以及netty事件循环的线程:
+     * 查找连接, filter以及序列化请求都可能比较慢. 队列满时放弃对冲/重试
+     */
+    private static final ThreadPoolExecutor RESEND_EXECUTOR = newResendExecutor();
 
     static class ClientInfoSoftRef extends SoftReference<ClientInfo> {
         final ZkServiceInfo serviceInfo;
@@ -67,9 +103,18 @@ public class SoaConnectionPoolImpl implements SoaConnectionPool {
         }
     }
 
+    private static ThreadPoolExecutor newResendExecutor() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(1024), new DefaultThreadFactory("dapeng-client-resend", true));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     public SoaConnectionPoolImpl() {
         IdleConnectionManager connectionManager = new IdleConnectionManager();
         connectionManager.start();
+        ClientRuntimeInfo.register();
     }
 
     @Override
@@ -90,6 +135,20 @@ public class SoaConnectionPoolImpl implements SoaConnectionPool {
             throw new SoaException(SoaCode.NotFoundServer, "服务 [ " + service + " ] 无可用实例");
         }
 
+        long cacheTtl = getCacheTtl(serviceInfo, method);
+        if (cacheTtl > 0) {
+            return sendCached(serviceInfo, version, method, request, requestSerializer, responseSerializer, cacheTtl);
+        }
+        return doSend(serviceInfo, version, method, request, requestSerializer, responseSerializer);
+    }
+
+    private <REQ, RESP> RESP doSend(
+            ZkServiceInfo serviceInfo, String version,
+            String method, REQ request,
+            BeanSerializer<REQ> requestSerializer,
+            BeanSerializer<RESP> responseSerializer)
+            throws SoaException {
+        String service = serviceInfo.serviceName();
         SoaConnection connection = retryFindConnection(serviceInfo, version, method);
         // 选好的服务版本(可能不同于请求的版本)
         String serverVersion = InvocationContextImpl.Factory.currentInstance().versionName();
@@ -101,6 +160,22 @@ public class SoaConnectionPoolImpl implements SoaConnectionPool {
             logger.debug("findConnection:serviceName:{},methodName:{},version:[{} -> {}] ,TimeOut:{}",
                     service, method, version, serverVersion, timeout);
         }
+        if (isIdempotent(serviceInfo, method)) {
+            long hedgeDelay = getHedgeDelay(serviceInfo, method);
+            int retries = getRetries(serviceInfo, method);
+            if (retries > 0) {
+                RetriedRequest retried = new RetriedRequest(serviceInfo, version, method, request,
+                        requestSerializer, responseSerializer, timeout, hedgeDelay, retries);
+                retried.start((SoaBaseConnection) connection);
+                return (RESP) await(retried, service);
+            }
+            if (hedgeDelay != 0) {
+                HedgedRequest hedged = new HedgedRequest(serviceInfo, version, method, request,
+                        requestSerializer, responseSerializer, timeout, hedgeDelay);
+                hedged.start((SoaBaseConnection) connection);
+                return (RESP) await(hedged, service);
+            }
+        }
         return connection.send(service, version, method, request, requestSerializer, responseSerializer, timeout);
     }
 
@@ -116,6 +191,19 @@ public class SoaConnectionPoolImpl implements SoaConnectionPool {
             throw new SoaException(SoaCode.NotFoundServer, "服务 [ " + service + " ] 无可用实例");
         }
 
+        long cacheTtl = getCacheTtl(serviceInfo, method);
+        if (cacheTtl > 0) {
+            return sendAsyncCached(serviceInfo, version, method, request, requestSerializer, responseSerializer, cacheTtl);
+        }
+        return doSendAsync(serviceInfo, version, method, request, requestSerializer, responseSerializer);
+    }
+
+    private <REQ, RESP> Future<RESP> doSendAsync(
+            ZkServiceInfo serviceInfo, String version,
+            String method, REQ request,
+            BeanSerializer<REQ> requestSerializer,
+            BeanSerializer<RESP> responseSerializer) throws SoaException {
+        String service = serviceInfo.serviceName();
         SoaConnection connection = retryFindConnection(serviceInfo, version, method);
 
         String serverVersion = InvocationContextImpl.Factory.currentInstance().versionName();
@@ -127,9 +215,148 @@ public class SoaConnectionPoolImpl implements SoaConnectionPool {
             logger.debug("findConnection:serviceName:{},methodName:{},version:[{} -> {}] ,TimeOut:{}",
                     service, method, version, serverVersion, timeout);
         }
+        if (isIdempotent(serviceInfo, method)) {
+            long hedgeDelay = getHedgeDelay(serviceInfo, method);
+            int retries = getRetries(serviceInfo, method);
+            if (retries > 0) {
+                RetriedRequest retried = new RetriedRequest(serviceInfo, version, method, request,
+                        requestSerializer, responseSerializer, timeout, hedgeDelay, retries);
+                retried.start((SoaBaseConnection) connection);
+                return (Future<RESP>) retried;
+            }
+            if (hedgeDelay != 0) {
+                HedgedRequest hedged = new HedgedRequest(serviceInfo, version, method, request,
+                        requestSerializer, responseSerializer, timeout, hedgeDelay);
+                hedged.start((SoaBaseConnection) connection);
+                return (Future<RESP>) hedged;
+            }
+        }
         return connection.sendAsync(service, version, method, request, requestSerializer, responseSerializer, timeout);
     }
 
+    /**
+     * 先查缓存: 命中时不发送请求; 结果已过期但还可以返回旧结果时, 同时在后台发送一个请求刷新; 未命中时发送请求并缓存结果
+     */
+    private <REQ, RESP> RESP sendCached(
+            ZkServiceInfo serviceInfo, String version,
+            String method, REQ request,
+            BeanSerializer<REQ> requestSerializer,
+            BeanSerializer<RESP> responseSerializer,
+            long ttl) throws SoaException {
+        ResponseCache.Key key = cacheKey(serviceInfo, version, method, request, requestSerializer,
+                responseSerializer);
+        if (key == null) {
+            return doSend(serviceInfo, version, method, request, requestSerializer, responseSerializer);
+        }
+        ResponseCache.Entry entry = responseCache.get(key);
+        if (entry != null) {
+            return cachedResponse(serviceInfo, version, method, request, requestSerializer, responseSerializer,
+                    ttl, key, entry);
+        }
+        RESP response = doSend(serviceInfo, version, method, request, requestSerializer, responseSerializer);
+        cacheResponse(key, response, responseSerializer, ttl);
+        return response;
+    }
+
+    private <REQ, RESP> Future<RESP> sendAsyncCached(
+            ZkServiceInfo serviceInfo, String version,
+            String method, REQ request,
+            BeanSerializer<REQ> requestSerializer,
+            BeanSerializer<RESP> responseSerializer,
+            long ttl) throws SoaException {
+        ResponseCache.Key key = cacheKey(serviceInfo, version, method, request, requestSerializer,
+                responseSerializer);
+        if (key == null) {
+            return doSendAsync(serviceInfo, version, method, request, requestSerializer, responseSerializer);
+        }
+        ResponseCache.Entry entry = responseCache.get(key);
+        if (entry != null) {
+            return CompletableFuture.completedFuture(cachedResponse(serviceInfo, version, method, request,
+                    requestSerializer, responseSerializer, ttl, key, entry));
+        }
+        CompletableFuture<RESP> sent = (CompletableFuture<RESP>) doSendAsync(serviceInfo, version, method, request,
+                requestSerializer, responseSerializer);
+        // 先缓存再交给调用方: json响应(ByteBuf)交给调用方之后可能已经被释放
+        CompletableFuture<RESP> result = new CompletableFuture<RESP>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                sent.cancel(mayInterruptIfRunning);
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        sent.whenComplete((response, ex) -> {
+            if (ex == null) {
+                cacheResponse(key, response, responseSerializer, ttl);
+                result.complete(response);
+            } else {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return 请求不能序列化成缓存的key时返回null, 不使用缓存
+     */
+    private <REQ> ResponseCache.Key cacheKey(ZkServiceInfo serviceInfo, String version, String method,
+                                             REQ request, BeanSerializer<REQ> requestSerializer,
+                                             BeanSerializer<?> responseSerializer) {
+        try {
+            return new ResponseCache.Key(serviceInfo.serviceName(), version, method,
+                    ResponseCache.encodeRequest(request, requestSerializer), responseSerializer);
+        } catch (TException | RuntimeException e) {
+            logger.error("cache key of " + serviceInfo.serviceName() + ":" + method + " failed: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 缓存命中: 与正常请求一样清除本次调用的上下文; 结果已过期时, 没有其它刷新请求的话用上下文的副本在后台刷新
+     */
+    private <REQ, RESP> RESP cachedResponse(
+            ZkServiceInfo serviceInfo, String version,
+            String method, REQ request,
+            BeanSerializer<REQ> requestSerializer,
+            BeanSerializer<RESP> responseSerializer,
+            long ttl, ResponseCache.Key key, ResponseCache.Entry entry) throws SoaException {
+        InvocationContextImpl context = (InvocationContextImpl) InvocationContextImpl.Factory.currentInstance();
+        if (entry.isStale() && entry.refreshing.compareAndSet(false, true)) {
+            InvocationContextImpl.Factory.currentInstance(context.copy());
+            try {
+                Future<RESP> future = doSendAsync(serviceInfo, version, method, request,
+                        requestSerializer, responseSerializer);
+                ((CompletableFuture<RESP>) future).whenComplete((response, ex) -> {
+                    if (ex == null) {
+                        cacheResponse(key, response, responseSerializer, ttl);
+                    } else {
+                        entry.refreshing.set(false);
+                        logger.warn("refresh cached response of " + serviceInfo.serviceName() + ":" + method
+                                + " failed: " + ex.getMessage());
+                    }
+                });
+            } catch (SoaException e) {
+                entry.refreshing.set(false);
+                logger.warn("refresh cached response of " + serviceInfo.serviceName() + ":" + method
+                        + " failed: " + e.getMessage());
+            }
+        }
+        InvocationContextImpl.Factory.removeCurrentInstance();
+        try {
+            return ResponseCache.decodeResponse(entry.response, responseSerializer);
+        } catch (TException e) {
+            throw new SoaException(e);
+        }
+    }
+
+    private <RESP> void cacheResponse(ResponseCache.Key key, RESP response,
+                                      BeanSerializer<RESP> responseSerializer, long ttl) {
+        try {
+            responseCache.put(key, ResponseCache.encodeResponse(response, responseSerializer), ttl);
+        } catch (TException | RuntimeException e) {
+            logger.error("cache response failed: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public RuntimeInstance getRuntimeInstance(String service, String serviceIp, int servicePort) {
         return clientRefManager.serviceInfo(service).runtimeInstance(serviceIp, servicePort);
@@ -138,6 +365,16 @@ public class SoaConnectionPoolImpl implements SoaConnectionPool {
     private SoaConnection findConnection(final ZkServiceInfo serviceInfo,
                                          final String version,
                                          final String method) throws SoaException {
+        return findConnection(serviceInfo, version, method, null);
+    }
+
+    /**
+     * @param excluded 不选择这些连接对应的实例(对冲请求, 重试要发往其它实例), 没有其它可用实例时返回null
+     */
+    private SoaConnection findConnection(final ZkServiceInfo serviceInfo,
+                                         final String version,
+                                         final String method,
+                                         final Collection<SoaBaseConnection> excluded) throws SoaException {
 
         InvocationContextImpl context = (InvocationContextImpl) InvocationContextImpl.Factory.currentInstance();
 
@@ -181,12 +418,29 @@ public class SoaConnectionPoolImpl implements SoaConnectionPool {
             throw new SoaException(NoMatchedRouting, "服务 [ " + serviceInfo.serviceName() + " ] 无可用实例:路由规则没有解析到可运行的实例");
         }
 
+        if (excluded != null) {
+            List<RuntimeInstance> others = new ArrayList<>(routedInstances.size());
+            for (RuntimeInstance rt : routedInstances) {
+                if (!isExcluded(rt, excluded)) {
+                    others.add(rt);
+                }
+            }
+            if (others.isEmpty()) {
+                return null;
+            }
+            routedInstances = others;
+        }
+
+        // 熔断: 去掉被摘除的实例(全部被摘除时不去掉)
+        routedInstances = InstanceHealth.available(routedInstances);
+
         //loadBalance
         RuntimeInstance inst = loadBalance(method, serviceInfo, routedInstances);
         if (inst == null) {
             // should not reach here
             throw new SoaException(NotFoundServer, "服务 [ " + serviceInfo.serviceName() + " ] 无可用实例:负载均衡没有找到合适的运行实例");
         }
+        InstanceHealth.of(inst.ip, inst.port).onSelected();
 
         inst.increaseActiveCount();
 
@@ -199,6 +453,15 @@ public class SoaConnectionPoolImpl implements SoaConnectionPool {
 
     }
 
+    private static boolean isExcluded(RuntimeInstance instance, Collection<SoaBaseConnection> excluded) {
+        for (SoaBaseConnection connection : excluded) {
+            if (instance.ip.equals(connection.host()) && instance.port == connection.port()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 版本 兼容(主版本不兼容，副版本向下兼容)
      *
@@ -334,6 +597,482 @@ public class SoaConnectionPoolImpl implements SoaConnectionPool {
         return instance;
     }
 
+    /**
+     * 幂等的方法(zk配置, 方法级别 -> 服务级别 -> 全局)才能对冲以及重试; 指定了服务实例(calleeIp)时都不做
+     */
+    private boolean isIdempotent(ZkServiceInfo serviceInfo, String method) {
+        Boolean idempotent = getZkConfig(serviceInfo.idempotentConfig, method, ConfigKey.Idempotent);
+        return idempotent != null && idempotent
+                && !InvocationContextImpl.Factory.currentInstance().calleeIp().isPresent();
+    }
+
+    /**
+     * 对冲请求的延迟(方法级别 -> 服务级别 -> 全局)
+     *
+     * @return 0 表示不对冲; 正数为固定的毫秒数; 负数-N表示方法最近响应时间的第N百分位
+     */
+    private long getHedgeDelay(ZkServiceInfo serviceInfo, String method) {
+        Long hedge = getZkConfig(serviceInfo.hedgeConfig, method, ConfigKey.Hedge);
+        return hedge == null ? 0 : hedge;
+    }
+
+    /**
+     * 失败后换一个实例重试的最大次数(方法级别 -> 服务级别 -> 全局), 默认不重试
+     */
+    private int getRetries(ZkServiceInfo serviceInfo, String method) {
+        Integer retries = getZkConfig(serviceInfo.failoverConfig, method, ConfigKey.FailOver);
+        return retries == null ? 0 : retries;
+    }
+
+    /**
+     * 方法返回结果的缓存时间(方法级别 -> 服务级别 -> 全局), 0表示不缓存; 指定了服务实例(calleeIp)时不缓存
+     */
+    private long getCacheTtl(ZkServiceInfo serviceInfo, String method) {
+        Long ttl = getZkConfig(serviceInfo.cacheConfig, method, ConfigKey.Cache);
+        return ttl == null || InvocationContextImpl.Factory.currentInstance().calleeIp().isPresent() ? 0 : ttl;
+    }
+
+    private static <T> T getZkConfig(ZkServiceInfo.Config<T> config, String method, ConfigKey key) {
+        T value = config.serviceConfigs.get(method);
+        if (value == null) {
+            value = config.serviceConfigs.get(key.getValue());
+        }
+        return value == null ? config.globalConfig : value;
+    }
+
+    private RequestBudget hedgeBudget(String service) {
+        return hedgeBudgets.computeIfAbsent(service,
+                s -> new RequestBudget(SoaSystemEnvProperties.SOA_CLIENT_HEDGE_BUDGET, HEDGE_BURST));
+    }
+
+    private RequestBudget retryBudget(String service) {
+        return retryBudgets.computeIfAbsent(service,
+                s -> new RequestBudget(SoaSystemEnvProperties.SOA_CLIENT_RETRY_BUDGET, RETRY_BURST));
+    }
+
+    private LatencyHistogram latencyHistogram(String service, String method) {
+        return latencies.computeIfAbsent(service, s -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> new LatencyHistogram());
+    }
+
+    /**
+     * 对冲请求: 第一个请求在延迟之内没有返回时, 向另一个实例再发一次, 使用先成功返回的结果并取消另一个.
+     * <ul>
+     * <li>对冲请求受服务的令牌桶限制, 不超过正常请求的soa.client.hedge.budget%</li>
+     * <li>按百分位计算延迟时, 样本不足(刚启动)不发送对冲请求</li>
+     * <li>第一个请求在对冲之前失败时直接返回失败(是否重试由RetriedRequest决定)</li>
+     * </ul>
+     * 两个请求都以异步方式发送, 同步调用等待本future. 对冲请求在RESEND_EXECUTOR上发送, 发送时不持有本对象的锁
+     */
+    private final class HedgedRequest extends CompletableFuture<Object> implements TimerTask {
+        private final ZkServiceInfo serviceInfo;
+        private final String service;
+        private final String version;
+        private final String method;
+        private final Object request;
+        private final BeanSerializer<Object> requestSerializer;
+        private final BeanSerializer<Object> responseSerializer;
+        private final long timeout;
+        private final long hedgeDelay;
+        private final LatencyHistogram histogram;
+        private final RequestBudget budget;
+        private final long startTime = System.nanoTime();
+
+        private InvocationContextImpl context;
+        private SoaBaseConnection primaryConnection;
+        private CompletableFuture<Object> primary;
+        private CompletableFuture<Object> hedge;
+        private InvocationContextImpl hedgeContext;
+        private long hedgeStartTime;
+        private Timeout timer;
+        /**
+         * 对冲请求正在发送(还没有hedge)
+         */
+        private boolean hedging;
+        /**
+         * 已经失败的请求数, 以及对冲请求发出之前第一个请求的失败原因
+         */
+        private int failed;
+        private Throwable firstFailure;
+
+        @SuppressWarnings("unchecked")
+        HedgedRequest(ZkServiceInfo serviceInfo, String version, String method, Object request,
+                      BeanSerializer<?> requestSerializer, BeanSerializer<?> responseSerializer,
+                      long timeout, long hedgeDelay) {
+            this.serviceInfo = serviceInfo;
+            this.service = serviceInfo.serviceName();
+            this.version = version;
+            this.method = method;
+            this.request = request;
+            this.requestSerializer = (BeanSerializer<Object>) requestSerializer;
+            this.responseSerializer = (BeanSerializer<Object>) responseSerializer;
+            this.timeout = timeout;
+            this.hedgeDelay = hedgeDelay;
+            this.histogram = latencyHistogram(service, method);
+            this.budget = hedgeBudget(service);
+        }
+
+        /**
+         * 在调用线程发送第一个请求, 并安排对冲请求
+         */
+        @SuppressWarnings("unchecked")
+        void start(SoaBaseConnection connection) throws SoaException {
+            synchronized (this) {
+                context = (InvocationContextImpl) InvocationContextImpl.Factory.currentInstance();
+                primaryConnection = connection;
+            }
+            budget.onRequest();
+            CompletableFuture<Object> sent = (CompletableFuture<Object>) connection.sendAsync(service, version, method,
+                    request, requestSerializer, responseSerializer, timeout);
+            synchronized (this) {
+                primary = sent;
+                if (isDone()) {
+                    // 发送期间被取消
+                    sent.cancel(false);
+                    return;
+                }
+                long delay = hedgeDelay > 0 ? hedgeDelay : percentileDelay((int) Math.min(100, -hedgeDelay));
+                if (delay > 0 && delay < timeout) {
+                    timer = InFlightRequests.TIMER.newTimeout(this, delay, TimeUnit.MILLISECONDS);
+                }
+            }
+            sent.whenComplete((result, ex) -> onComplete(false, result, ex));
+        }
+
+        private long percentileDelay(int percentile) {
+            long micros = histogram.percentile(percentile);
+            return micros < 0 ? -1 : Math.max(1, (micros + 999) / 1000);
+        }
+
+        /**
+         * 延迟到达(定时器线程), 交给RESEND_EXECUTOR发送对冲请求
+         */
+        @Override
+        public void run(Timeout timeout) {
+            if (isDone()) {
+                return;
+            }
+            try {
+                RESEND_EXECUTOR.execute(this::sendHedge);
+            } catch (RejectedExecutionException e) {
+                logger.warn("hedge request skipped, too many pending resends: service:{}, method:{}", service, method);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void sendHedge() {
+            long remaining;
+            InvocationContextImpl attemptContext;
+            synchronized (this) {
+                if (isDone() || failed > 0) {
+                    return;
+                }
+                remaining = this.timeout - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                if (remaining <= 0 || !budget.tryAcquire()) {
+                    return;
+                }
+                hedging = true;
+                hedgeContext = attemptContext = context.copy();
+                hedgeStartTime = System.nanoTime();
+            }
+            CompletableFuture<Object> sent = null;
+            InvocationContextImpl.Factory.currentInstance(attemptContext);
+            try {
+                SoaConnection connection = findConnection(serviceInfo, version, method,
+                        Collections.singletonList(primaryConnection));
+                if (connection == null) {
+                    // 没有其它可用的实例
+                    budget.release();
+                } else {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("hedge request: service:{}, method:{}, after:{}ms", service, method, this.timeout - remaining);
+                    }
+                    sent = (CompletableFuture<Object>) connection.sendAsync(service, version, method, request,
+                            requestSerializer, responseSerializer, remaining);
+                }
+            } catch (Exception e) {
+                logger.error("hedge request failed: " + e.getMessage(), e);
+            } finally {
+                InvocationContextImpl.Factory.removeCurrentInstance();
+            }
+
+            synchronized (this) {
+                hedging = false;
+                if (sent == null) {
+                    // 对冲请求没有发出去, 第一个请求在这期间已经失败
+                    if (failed > 0 && !isDone()) {
+                        completeExceptionally(firstFailure);
+                        cancelOthers();
+                    }
+                    return;
+                }
+                hedge = sent;
+                if (isDone()) {
+                    sent.cancel(false);
+                    return;
+                }
+            }
+            sent.whenComplete((result, ex) -> onComplete(true, result, ex));
+        }
+
+        private synchronized void onComplete(boolean isHedge, Object result, Throwable ex) {
+            if (isDone()) {
+                return;
+            }
+            if (ex == null) {
+                histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - (isHedge ? hedgeStartTime : startTime)));
+                if (isHedge) {
+                    // 调用方的上下文里是实际返回结果的请求的信息
+                    context.lastInvocationInfo(hedgeContext.lastInvocationInfo());
+                }
+                complete(result);
+                cancelOthers();
+                return;
+            }
+            failed++;
+            // 另一个请求还在等待(或者正在发送)时, 使用它的结果
+            if (failed == 1 && (hedge != null || hedging)) {
+                firstFailure = ex;
+                return;
+            }
+            completeExceptionally(ex);
+            cancelOthers();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                synchronized (this) {
+                    cancelOthers();
+                }
+            }
+            return cancelled;
+        }
+
+        private void cancelOthers() {
+            if (timer != null) {
+                timer.cancel();
+            }
+            if (primary != null && !primary.isDone()) {
+                primary.cancel(false);
+            }
+            if (hedge != null && !hedge.isDone()) {
+                hedge.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * 失败后换一个实例重试: 排除已经失败的实例, 直到成功, 次数用完或者不能重试.
+     * <ul>
+     * <li>只重试连接失败, 超时以及服务端不可用(容器不在运行状态)的错误, 业务异常直接返回</li>
+     * <li>所有尝试共用一个截止时间(第一次发送时的超时), 剩余时间少于soa.client.retry.min.time时不再重试</li>
+     * <li>重试受服务的令牌桶限制, 不超过正常请求的soa.client.retry.budget%, 避免重试风暴</li>
+     * </ul>
+     * 配置了对冲时每次尝试都是一个对冲请求. 重试在RESEND_EXECUTOR上发送, 不占用完成上一次尝试的线程(定时器或者netty事件循环),
+     * 发送时不持有本对象的锁
+     */
+    private final class RetriedRequest extends CompletableFuture<Object> implements BiConsumer<Object, Throwable> {
+        private final ZkServiceInfo serviceInfo;
+        private final String service;
+        private final String version;
+        private final String method;
+        private final Object request;
+        private final BeanSerializer<Object> requestSerializer;
+        private final BeanSerializer<Object> responseSerializer;
+        private final long deadline;
+        private final long timeout;
+        private final long hedgeDelay;
+        private final int retries;
+        private final RequestBudget budget;
+        private final List<SoaBaseConnection> failed = new ArrayList<>(2);
+
+        private InvocationContextImpl context;
+        private InvocationContextImpl attemptContext;
+        private SoaBaseConnection connection;
+        private CompletableFuture<Object> attempt;
+        private int attempts;
+
+        @SuppressWarnings("unchecked")
+        RetriedRequest(ZkServiceInfo serviceInfo, String version, String method, Object request,
+                       BeanSerializer<?> requestSerializer, BeanSerializer<?> responseSerializer,
+                       long timeout, long hedgeDelay, int retries) {
+            this.serviceInfo = serviceInfo;
+            this.service = serviceInfo.serviceName();
+            this.version = version;
+            this.method = method;
+            this.request = request;
+            this.requestSerializer = (BeanSerializer<Object>) requestSerializer;
+            this.responseSerializer = (BeanSerializer<Object>) responseSerializer;
+            this.timeout = timeout;
+            this.deadline = System.currentTimeMillis() + timeout;
+            this.hedgeDelay = hedgeDelay;
+            this.retries = retries;
+            this.budget = retryBudget(service);
+        }
+
+        void start(SoaBaseConnection connection) throws SoaException {
+            synchronized (this) {
+                context = (InvocationContextImpl) InvocationContextImpl.Factory.currentInstance();
+            }
+            budget.onRequest();
+            send(connection, context, timeout);
+        }
+
+        /**
+         * 发送一次尝试, 调用方设置好attemptContext为当前线程的InvocationContext
+         */
+        @SuppressWarnings("unchecked")
+        private void send(SoaBaseConnection connection, InvocationContextImpl attemptContext, long timeout) throws SoaException {
+            CompletableFuture<Object> sent;
+            if (hedgeDelay != 0) {
+                HedgedRequest hedged = new HedgedRequest(serviceInfo, version, method, request,
+                        requestSerializer, responseSerializer, timeout, hedgeDelay);
+                hedged.start(connection);
+                sent = hedged;
+            } else {
+                sent = (CompletableFuture<Object>) connection.sendAsync(service, version, method, request,
+                        requestSerializer, responseSerializer, timeout);
+            }
+            synchronized (this) {
+                this.connection = connection;
+                this.attemptContext = attemptContext;
+                this.attempt = sent;
+                if (isDone()) {
+                    // 发送期间被取消
+                    sent.cancel(false);
+                    return;
+                }
+            }
+            sent.whenComplete(this);
+        }
+
+        @Override
+        public synchronized void accept(Object result, Throwable ex) {
+            if (isDone()) {
+                return;
+            }
+            if (ex == null) {
+                if (attemptContext != context) {
+                    // 调用方的上下文里是实际返回结果的请求的信息
+                    context.lastInvocationInfo(attemptContext.lastInvocationInfo());
+                }
+                complete(result);
+                return;
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (!acquireRetry(cause)) {
+                completeExceptionally(cause);
+                return;
+            }
+            List<SoaBaseConnection> excluded = new ArrayList<>(failed);
+            InvocationContextImpl retryContext = context.copy();
+            try {
+                RESEND_EXECUTOR.execute(() -> resend(cause, excluded, retryContext));
+            } catch (RejectedExecutionException e) {
+                logger.warn("retry request skipped, too many pending resends: service:{}, method:{}", service, method);
+                budget.release();
+                completeExceptionally(cause);
+            }
+        }
+
+        /**
+         * 可以重试时占用一个重试名额
+         */
+        private boolean acquireRetry(Throwable cause) {
+            if (attempts >= retries || !isRetryable(cause)) {
+                return false;
+            }
+            if (deadline - System.currentTimeMillis() < SoaSystemEnvProperties.SOA_CLIENT_RETRY_MIN_TIME) {
+                return false;
+            }
+            if (!budget.tryAcquire()) {
+                logger.warn("retry budget exhausted: service:{}, method:{}", service, method);
+                return false;
+            }
+            attempts++;
+            failed.add(connection);
+            return true;
+        }
+
+        private void resend(Throwable cause, List<SoaBaseConnection> excluded, InvocationContextImpl retryContext) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (isDone() || remaining < SoaSystemEnvProperties.SOA_CLIENT_RETRY_MIN_TIME) {
+                budget.release();
+                completeExceptionally(cause);
+                return;
+            }
+            InvocationContextImpl.Factory.currentInstance(retryContext);
+            try {
+                SoaConnection next = findConnection(serviceInfo, version, method, excluded);
+                if (next == null) {
+                    // 没有其它可用的实例
+                    budget.release();
+                    completeExceptionally(cause);
+                    return;
+                }
+                logger.warn("retry request: service:{}, method:{}, attempt:{}, remaining:{}ms, cause:{}",
+                        service, method, excluded.size(), remaining, cause.getMessage());
+                send((SoaBaseConnection) next, retryContext, remaining);
+            } catch (Exception e) {
+                logger.error("retry request failed: " + e.getMessage(), e);
+                completeExceptionally(cause);
+            } finally {
+                InvocationContextImpl.Factory.removeCurrentInstance();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                synchronized (this) {
+                    if (attempt != null && !attempt.isDone()) {
+                        attempt.cancel(false);
+                    }
+                }
+            }
+            return cancelled;
+        }
+    }
+
+    /**
+     * 连接失败, 超时以及服务端不可用时, 请求可以发往其它实例重试
+     */
+    private static boolean isRetryable(Throwable cause) {
+        if (!(cause instanceof SoaException)) {
+            return false;
+        }
+        String code = ((SoaException) cause).getCode();
+        return SoaCode.NotConnected.getCode().equals(code)
+                || SoaCode.ReqTimeOut.getCode().equals(code)
+                || SoaCode.ServerReqTimeOut.getCode().equals(code)
+                || SoaCode.ContainerStatusError.getCode().equals(code);
+    }
+
+    /**
+     * 同步调用等待(对冲, 重试)请求的结果
+     */
+    private static Object await(CompletableFuture<Object> future, String service) throws SoaException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SoaException) {
+                if (SoaCode.ReqTimeOut.getCode().equals(((SoaException) cause).getCode())) {
+                    throw new SoaException(SoaCode.ReqTimeOut.getCode(), "请求服务超时[" + service + "]");
+                }
+                throw (SoaException) cause;
+            }
+            throw new SoaException(SoaCode.ClientUnKnown, cause.getMessage() == null ? SoaCode.ClientUnKnown.getMsg() : cause.getMessage());
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new SoaException(SoaCode.ClientUnKnown, SoaCode.ClientUnKnown.getMsg());
+        }
+    }
+
     /**
      * 超时逻辑:
      * 1. 如果invocationContext有设置的话, 那么用invocationContext的(这个值每次调用都可能不一样)
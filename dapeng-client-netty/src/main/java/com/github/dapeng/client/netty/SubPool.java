@@ -18,49 +18,171 @@ package com.github.dapeng.client.netty;
 
 import com.github.dapeng.core.SoaConnection;
 import com.github.dapeng.core.helper.SoaSystemEnvProperties;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
+ * 单个客户端跟单个服务节点之间的连接.
+ * <ul>
+ * <li>每次选择在途请求最少的连接(从随机位置开始比较, 相同时不总是落在第一个连接上)</li>
+ * <li>每隔一段时间采样平均每个连接的在途请求数(EWMA), 持续超过阈值时在后台增加连接,
+ * 持续低于阈值的1/4时减少连接, 连接数在[MIN, MAX]之间; 移除的连接等在途请求结束后再关闭</li>
+ * </ul>
+ *
  * @author lihuimin
  * @date 2017/12/25
  */
 public class SubPool {
 
-    static final int MAX = SoaSystemEnvProperties.SOA_SUBPOOL_SIZE;
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubPool.class);
+
+    static final int MIN = Math.max(1, SoaSystemEnvProperties.SOA_SUBPOOL_SIZE);
+    static final int MAX = Math.max(MIN, SoaSystemEnvProperties.SOA_SUBPOOL_MAX_SIZE);
+    private static final int GROW_THRESHOLD = SoaSystemEnvProperties.SOA_SUBPOOL_GROW_THRESHOLD;
+
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final double SAMPLE_WEIGHT = 0.2;
+    /**
+     * 调整连接数之后至少再采样这么多次才再次调整
+     */
+    private static final int RESIZE_COOLDOWN_SAMPLES = 10;
+    private static final long CLOSE_CHECK_SECONDS = 1;
+    private static final int CLOSE_MAX_CHECKS = 60;
+
+    /**
+     * 增加/关闭连接在这个线程上执行, 不阻塞调用线程
+     */
+    private static final ScheduledExecutorService RESIZER = Executors.newSingleThreadScheduledExecutor(
+            new DefaultThreadFactory("dapeng-subpool-resizer", true));
 
     private final String ip;
     private final int port;
 
     /**
      * connection that used by rpcClients, such as java, scala, php..
+     * 只在RESIZER线程上整体替换
      */
-    private final SoaConnection[] soaConnections;
-    private final AtomicInteger index = new AtomicInteger(0);
+    private volatile SoaBaseConnection[] soaConnections;
+
+    private final AtomicBoolean sampling = new AtomicBoolean();
+    private volatile long nextSample = System.nanoTime();
+    /**
+     * 以下字段只在持有sampling时访问
+     */
+    private double depth = 0;
+    private int cooldown = 0;
 
     SubPool(String ip, int port) {
         this.ip = ip;
         this.port = port;
 
-        soaConnections = new SoaConnection[MAX];
-        for(int i = 0; i < MAX; i++) {
-            soaConnections[i] = new SoaConnectionImpl(ip, port);
+        SoaBaseConnection[] connections = new SoaBaseConnection[MIN];
+        for (int i = 0; i < MIN; i++) {
+            connections[i] = new SoaConnectionImpl(ip, port);
         }
+        this.soaConnections = connections;
     }
 
     public SoaConnection getConnection() {
-        if (MAX == 1) {
-            return soaConnections[0];
+        SoaBaseConnection[] connections = this.soaConnections;
+        if (MIN != MAX) {
+            sample(connections);
+        }
+        int n = connections.length;
+        if (n == 1) {
+            return connections[0];
+        }
+        if (SoaSystemEnvProperties.SOA_CLIENT_CONNECTION_AFFINITY) {
+            // 同一个调用线程总是使用同一个连接(同一个事件循环)
+            return connections[(int) (Thread.currentThread().getId() % n)];
         }
 
-        int idx = this.index.getAndIncrement();
-        if(idx < 0) {
-            synchronized (this){
-                this.index.set(0);
-                idx = 0;
+        int start = ThreadLocalRandom.current().nextInt(n);
+        SoaBaseConnection best = connections[start];
+        int bestPending = best.pendingRequests();
+        for (int i = 1; i < n && bestPending > 0; i++) {
+            SoaBaseConnection connection = connections[(start + i) % n];
+            int pending = connection.pendingRequests();
+            if (pending < bestPending) {
+                best = connection;
+                bestPending = pending;
             }
         }
-        return soaConnections[idx%MAX];
+        return best;
+    }
+
+    int size() {
+        return soaConnections.length;
+    }
+
+    private void sample(SoaBaseConnection[] connections) {
+        long now = System.nanoTime();
+        if (now - nextSample < 0 || !sampling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            nextSample = now + SAMPLE_INTERVAL_NANOS;
+            int total = 0;
+            for (SoaBaseConnection connection : connections) {
+                total += connection.pendingRequests();
+            }
+            depth += SAMPLE_WEIGHT * ((double) total / connections.length - depth);
+            if (cooldown > 0) {
+                cooldown--;
+                return;
+            }
+            if (depth > GROW_THRESHOLD && connections.length < MAX) {
+                cooldown = RESIZE_COOLDOWN_SAMPLES;
+                RESIZER.execute(this::grow);
+            } else if (depth < GROW_THRESHOLD / 4.0 && connections.length > MIN) {
+                cooldown = RESIZE_COOLDOWN_SAMPLES;
+                RESIZER.execute(this::shrink);
+            }
+        } finally {
+            sampling.set(false);
+        }
+    }
+
+    private void grow() {
+        SoaBaseConnection[] connections = this.soaConnections;
+        if (connections.length >= MAX) {
+            return;
+        }
+        SoaBaseConnection[] grown = Arrays.copyOf(connections, connections.length + 1);
+        grown[connections.length] = new SoaConnectionImpl(ip, port);
+        this.soaConnections = grown;
+        LOGGER.info("SubPool[{}:{}] grow to {} connections", ip, port, grown.length);
+    }
+
+    private void shrink() {
+        SoaBaseConnection[] connections = this.soaConnections;
+        if (connections.length <= MIN) {
+            return;
+        }
+        SoaBaseConnection removed = connections[connections.length - 1];
+        this.soaConnections = Arrays.copyOf(connections, connections.length - 1);
+        LOGGER.info("SubPool[{}:{}] shrink to {} connections", ip, port, connections.length - 1);
+        closeWhenIdle(removed, CLOSE_MAX_CHECKS);
+    }
+
+    /**
+     * 等移除的连接上的请求都结束(最多等CLOSE_MAX_CHECKS秒)后关闭
+     */
+    private void closeWhenIdle(SoaBaseConnection connection, int checks) {
+        RESIZER.schedule(() -> {
+            if (connection.pendingRequests() == 0 || checks <= 1) {
+                connection.close();
+            } else {
+                closeWhenIdle(connection, checks - 1);
+            }
+        }, CLOSE_CHECK_SECONDS, TimeUnit.SECONDS);
     }
-}
\ No newline at end of file
+}
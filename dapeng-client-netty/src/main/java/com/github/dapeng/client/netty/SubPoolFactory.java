@@ -16,10 +16,11 @@
  */
 package com.github.dapeng.client.netty;
 
-import java.util.HashMap;
+import com.github.dapeng.core.RuntimeInstance;
+
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * @author huyj
@@ -27,24 +28,23 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 class SubPoolFactory {
 
-    private final static Map<IpPort, SubPool> subPoolsMap = new HashMap<>(16);
-    private static final ReentrantLock subPoolLock = new ReentrantLock();
+    private final static Map<IpPort, SubPool> subPoolsMap = new ConcurrentHashMap<>(16);
 
     static SubPool getSubPool(String ip, int port) {
         IpPort ipPort = new IpPort(ip, port);
         SubPool subPool = subPoolsMap.get(ipPort);
         if (subPool == null) {
-            try {
-                subPoolLock.lock();
-                subPool = subPoolsMap.get(ipPort);
-                if (subPool == null) {
-                    subPool = new SubPool(ip, port);
-                    subPoolsMap.put(ipPort, subPool);
-                }
-            } finally {
-                subPoolLock.unlock();
-            }
+            subPool = subPoolsMap.computeIfAbsent(ipPort, key -> new SubPool(ip, port));
         }
         return subPool;
     }
+
+    /**
+     * 为还没有连接的服务实例建立连接(异步), 第一次调用时不需要再等待连接
+     */
+    static void prewarm(Collection<RuntimeInstance> instances) {
+        for (RuntimeInstance instance : instances) {
+            getSubPool(instance.ip, instance.port);
+        }
+    }
 }
@@ -20,6 +20,8 @@ import com.github.dapeng.org.apache.thrift.transport.TTransport;
 import com.github.dapeng.org.apache.thrift.transport.TTransportException;
 import io.netty.buffer.ByteBuf;
 
+import java.nio.ByteBuffer;
+
 /**
  * @author craneding
  * @date 16/1/12
@@ -33,6 +35,14 @@ public class TSoaTransport extends TTransport {
     private int beginIndex;
     private Type type = Type.Init;
     private final ByteBuf byteBuf;
+    /**
+     * 是否允许readSlice直接返回byteBuf的视图
+     */
+    private boolean zeroCopy = false;
+    /**
+     * 是否已经返回过byteBuf的视图
+     */
+    private boolean sliced = false;
 
     public TSoaTransport(ByteBuf byteBuf) {
         this.byteBuf = byteBuf;
@@ -57,6 +67,80 @@ public class TSoaTransport extends TTransport {
     public int read(byte[] buf, int off, int len) throws TTransportException {
         if (len < 0) throw new IllegalArgumentException();
 
+        beginRead();
+
+        int realLen = Math.min(byteBuf.readableBytes(), len);
+
+        if (realLen <= 0) return realLen;
+
+        byteBuf.readBytes(buf, off, realLen);
+
+        return realLen;
+    }
+
+    /**
+     * 直接移动readerIndex跳过len个字节, 不做拷贝
+     */
+    @Override
+    public boolean skipBytes(int len) throws TTransportException {
+        if (len < 0) throw new IllegalArgumentException();
+
+        beginRead();
+
+        if (byteBuf.readableBytes() < len)
+            throw new TTransportException("ByteBuf's readable bytes is less than skip length");
+
+        byteBuf.skipBytes(len);
+        return true;
+    }
+
+    /**
+     * 开启零拷贝读取binary字段.
+     * 开启后readSlice返回的视图直接引用byteBuf的内存, 调用方需要保证在视图使用完之前byteBuf不被释放
+     */
+    public void enableZeroCopy() {
+        this.zeroCopy = true;
+    }
+
+    /**
+     * @return 是否有binary字段引用了byteBuf的内存
+     */
+    public boolean hasSlices() {
+        return sliced;
+    }
+
+    @Override
+    public ByteBuffer readSlice(int len) throws TTransportException {
+        if (!zeroCopy) return null;
+        if (len < 0) throw new IllegalArgumentException();
+
+        beginRead();
+
+        if (byteBuf.readableBytes() < len)
+            throw new TTransportException("ByteBuf's readable bytes is less than slice length");
+
+        ByteBuffer slice = byteBuf.nioBuffer(byteBuf.readerIndex(), len).asReadOnlyBuffer();
+        byteBuf.skipBytes(len);
+        sliced = true;
+        return slice;
+    }
+
+    @Override
+    public int getReadPosition() {
+        return byteBuf.readerIndex();
+    }
+
+    @Override
+    public byte[] copyRange(int fromPosition, int toPosition) throws TTransportException {
+        if (fromPosition < 0 || toPosition < fromPosition || toPosition > byteBuf.writerIndex())
+            throw new TTransportException("invalid range [" + fromPosition + ", " + toPosition + ")");
+
+        byte[] bytes = new byte[toPosition - fromPosition];
+        byteBuf.getBytes(fromPosition, bytes);
+        return bytes;
+    }
+
+    private void beginRead() throws TTransportException {
         if (type == Type.Init) {
             int length = byteBuf.readInt();
 
@@ -66,18 +150,26 @@ public class TSoaTransport extends TTransport {
             type = Type.Read;
         } else if (type == Type.Write)
             throw new TTransportException("try to read from write-only transport");
+    }
 
-        int realLen = Math.min(byteBuf.readableBytes(), len);
+    @Override
+    public void write(byte[] buf, int off, int len) throws TTransportException {
+        beginWrite();
 
-        if (realLen <= 0) return realLen;
+        byteBuf.writeBytes(buf, off, len);
+    }
 
-        byteBuf.readBytes(buf, off, realLen);
+    /**
+     * 直接从ByteBuffer(包括只读视图以及堆外内存)写入, 不改变buf的position
+     */
+    @Override
+    public void write(ByteBuffer buf) throws TTransportException {
+        beginWrite();
 
-        return realLen;
+        byteBuf.writeBytes(buf.duplicate());
     }
 
-    @Override
-    public void write(byte[] buf, int off, int len) throws TTransportException {
+    private void beginWrite() throws TTransportException {
         if (type == Type.Init) {
             // placeholder for msg length
             byteBuf.writeInt(0);
@@ -85,8 +177,6 @@ public class TSoaTransport extends TTransport {
             type = Type.Write;
         } else if (type == Type.Read)
             throw new TTransportException("try to write from read-only transport");
-
-        byteBuf.writeBytes(buf, off, len);
     }
 
     @Override
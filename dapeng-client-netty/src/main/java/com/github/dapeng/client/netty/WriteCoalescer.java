@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.core.SoaCode;
+import com.github.dapeng.core.SoaException;
+import com.github.dapeng.core.helper.SoaSystemEnvProperties;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 合并一个连接上的请求写出.
+ * <p>
+ * 调用线程只把请求放入队列, 由连接的事件循环一次取出队列中的所有请求写出后只flush一次,
+ * 大量并发(例如扇出的异步调用)时系统调用次数从每个请求一次降到每批一次.
+ * <ul>
+ * <li>延迟上限: 请求在事件循环下一次执行任务时写出, 不会等待后续的请求</li>
+ * <li>每批最多maxBatch个请求, 超过时先flush一次, 避免一次写出过多数据</li>
+ * </ul>
+ */
+final class WriteCoalescer implements Runnable {
+
+    static final AttributeKey<WriteCoalescer> KEY = AttributeKey.valueOf("dapeng.writeCoalescer");
+
+    private final Channel channel;
+    private final int maxBatch;
+    private final Queue<InFlightRequests.PendingRequest> queue = new ConcurrentLinkedQueue<>();
+    /**
+     * 已经向事件循环提交了写出任务, 还没有开始执行
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    WriteCoalescer(Channel channel, int maxBatch) {
+        this.channel = channel;
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    static WriteCoalescer install(Channel channel) {
+        WriteCoalescer coalescer = new WriteCoalescer(channel, SoaSystemEnvProperties.SOA_CLIENT_WRITE_BATCH);
+        channel.attr(KEY).set(coalescer);
+        return coalescer;
+    }
+
+    static WriteCoalescer of(Channel channel) {
+        return channel.attr(KEY).get();
+    }
+
+    /**
+     * 写出请求, 写出失败时请求以异常结束
+     */
+    void write(InFlightRequests.PendingRequest request, ByteBuf requestBuf) {
+        if (maxBatch == 1) {
+            channel.writeAndFlush(requestBuf).addListener(request);
+            return;
+        }
+        request.requestBuf = requestBuf;
+        queue.offer(request);
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                channel.eventLoop().execute(this);
+            } catch (RejectedExecutionException e) {
+                // 事件循环已经关闭
+                scheduled.set(false);
+                failQueued(new SoaException(SoaCode.NotConnected, "连接已断开: " + channel.remoteAddress()));
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        do {
+            scheduled.set(false);
+            int written = 0;
+            InFlightRequests.PendingRequest request;
+            while ((request = queue.poll()) != null) {
+                ByteBuf requestBuf = request.requestBuf;
+                request.requestBuf = null;
+                channel.write(requestBuf).addListener(request);
+                if (++written == maxBatch) {
+                    channel.flush();
+                    written = 0;
+                }
+            }
+            if (written > 0) {
+                channel.flush();
+            }
+            // 放入队列后发现任务已提交的调用方不会再提交, 这里接着处理
+        } while (!queue.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+
+    private void failQueued(SoaException cause) {
+        InFlightRequests.PendingRequest request;
+        while ((request = queue.poll()) != null) {
+            ByteBuf requestBuf = request.requestBuf;
+            request.requestBuf = null;
+            requestBuf.release();
+            request.discard(cause);
+        }
+    }
+}
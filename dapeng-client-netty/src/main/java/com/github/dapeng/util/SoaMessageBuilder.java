@@ -22,6 +22,7 @@ import com.github.dapeng.core.SoaHeaderSerializer;
 import com.github.dapeng.core.enums.CodecProtocol;
 import com.github.dapeng.core.helper.SoaHeaderHelper;
 import com.github.dapeng.json.JsonSerializer;
+import com.github.dapeng.json.Utf8JsonSerializer;
 import com.github.dapeng.org.apache.thrift.TException;
 import com.github.dapeng.org.apache.thrift.protocol.TBinaryProtocol;
 import com.github.dapeng.org.apache.thrift.protocol.TCompactProtocol;
@@ -39,6 +40,11 @@ public class SoaMessageBuilder<T> {
     public final byte ETX = 0x03;
     public final byte VERSION = 1;
 
+    /**
+     * 帧长度(4) + STX + VERSION + protocol + seqid(4) + ETX
+     */
+    static final int FRAME_OVERHEAD = Integer.BYTES + 3 + Integer.BYTES + 1;
+
     private SoaHeader header;
     protected T body;
     protected BeanSerializer<T> bodySerializer;
@@ -74,6 +80,19 @@ public class SoaMessageBuilder<T> {
         return this;
     }
 
+    /**
+     * 估算请求帧的字节数, 用于一次性分配足够大的ByteBuf
+     *
+     * @return 估算的字节数, 包体无法估算时返回-1
+     */
+    public static <T> int estimateSize(SoaHeader header, T body, BeanSerializer<T> bodySerializer) {
+        int bodySize = bodySerializer.estimateSize(body);
+        if (bodySize < 0) {
+            return -1;
+        }
+        return FRAME_OVERHEAD + new SoaHeaderSerializer().estimateSize(header) + bodySize;
+    }
+
     public ByteBuf build() throws TException {
         InvocationContext invocationCtx = InvocationContextImpl.Factory.currentInstance();
 
@@ -87,13 +106,6 @@ public class SoaMessageBuilder<T> {
         headerProtocol.writeByte(protocol.getCode());
         headerProtocol.writeI32(seqid);
 
-        boolean isStreamProcessor = bodySerializer instanceof JsonSerializer;
-
-        if (isStreamProcessor) {
-            //如果是流式序列化器, 那么延后写入header信息
-            ((JsonSerializer) bodySerializer).setRequestByteBuf(buffer);
-        }
-
         new SoaHeaderSerializer().write(header, headerProtocol);
 
         //writer body
@@ -113,7 +125,14 @@ public class SoaMessageBuilder<T> {
         }
 
         try {
-            bodySerializer.write(body, bodyProtocol);
+            //如果是流式序列化器, 直接传入buffer. 序列化器可能被多个请求共享, 不在其上保存buffer
+            if (bodySerializer instanceof JsonSerializer) {
+                ((JsonSerializer) bodySerializer).write((String) body, bodyProtocol, buffer);
+            } else if (bodySerializer instanceof Utf8JsonSerializer) {
+                ((Utf8JsonSerializer) bodySerializer).write((ByteBuf) body, bodyProtocol, buffer);
+            } else {
+                bodySerializer.write(body, bodyProtocol);
+            }
         } catch (SoaException e) {
             // 异常转换, 让异常更加明确
             if (e.getCode().equals(SoaCode.StructFieldNull.getCode())) {
@@ -19,6 +19,7 @@ package com.github.dapeng.util;
 import com.github.dapeng.client.netty.TSoaTransport;
 import com.github.dapeng.core.*;
 import com.github.dapeng.core.enums.CodecProtocol;
+import com.github.dapeng.core.helper.SkippedFieldsCounter;
 import com.github.dapeng.org.apache.thrift.TException;
 import com.github.dapeng.org.apache.thrift.protocol.TBinaryProtocol;
 import com.github.dapeng.org.apache.thrift.protocol.TCompactProtocol;
@@ -43,6 +44,7 @@ public class SoaMessageParser<RESP> {
     private int seqid;
     private TProtocol bodyProtocol;
     private TProtocol headerProtocol;
+    private TSoaTransport transport;
 
     private ByteBuf buffer;
 
@@ -61,6 +63,7 @@ public class SoaMessageParser<RESP> {
 
     public SoaMessageParser<RESP> parseHeader() throws TException {
         TSoaTransport transport = new TSoaTransport(buffer);
+        this.transport = transport;
         TBinaryProtocol headerProtocol = new TBinaryProtocol(transport, buffer.readableBytes(),
                 buffer.readableBytes(), false, true);
         this.headerProtocol = headerProtocol;
@@ -101,8 +104,11 @@ public class SoaMessageParser<RESP> {
 
     public SoaMessageParser<RESP> parseBody() throws TException {
         if (bodySerializer != null) {
+            long skippedBytesOfHeader = transport.getSkippedBytes();
             try {
                 this.body = bodySerializer.read(bodyProtocol);
+                SkippedFieldsCounter.record(header.getServiceName(), header.getMethodName(), header.getVersionName(),
+                        transport.getSkippedBytes() - skippedBytesOfHeader);
             } catch (SoaException e) {
                 if (e.getCode().equals(SoaCode.StructFieldNull.getCode())) {
                     e.setCode(SoaCode.ReqFieldNull.getCode());
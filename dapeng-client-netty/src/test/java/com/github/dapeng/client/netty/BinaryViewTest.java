@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.*;
+import com.github.dapeng.org.apache.thrift.transport.TMemoryInputTransport;
+import com.github.dapeng.org.apache.thrift.transport.TTransport;
+import com.github.dapeng.util.TCommonTransport;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * binary字段的零拷贝读写: readBinaryView / TTransport.readSlice / TTransport.write(ByteBuffer)
+ */
+public class BinaryViewTest {
+
+    private static final byte[][] VALUES = {new byte[0], "dapeng".getBytes(), bytes(64 * 1024)};
+
+    @Test
+    public void binaryZeroCopy() throws TException {
+        zeroCopy(TBinaryProtocol::new);
+    }
+
+    @Test
+    public void compactZeroCopy() throws TException {
+        zeroCopy(TCompactProtocol::new);
+    }
+
+    @Test
+    public void binaryCopy() throws TException {
+        copy(TBinaryProtocol::new);
+    }
+
+    @Test
+    public void compactCopy() throws TException {
+        copy(TCompactProtocol::new);
+    }
+
+    @Test
+    public void binaryOtherTransports() throws TException {
+        otherTransports(TBinaryProtocol::new);
+    }
+
+    @Test
+    public void compactOtherTransports() throws TException {
+        otherTransports(TCompactProtocol::new);
+    }
+
+    /**
+     * 视图直接引用ByteBuf的内存, 并且不增加引用计数:
+     * 由调用方(SoaMsgDecoder)根据hasSlices保留请求帧, 响应编码完成后(SoaMsgEncoder)再释放
+     */
+    private void zeroCopy(Function<TTransport, TProtocol> protocol) throws TException {
+        for (boolean direct : new boolean[]{false, true}) {
+            ByteBuf buf = direct ? Unpooled.directBuffer() : Unpooled.buffer();
+            writeValues(buf, protocol);
+
+            TSoaTransport transport = new TSoaTransport(buf);
+            transport.enableZeroCopy();
+            ByteBuffer[] views = readValues(protocol.apply(transport));
+
+            assertTrue(transport.hasSlices());
+            assertEquals(0, buf.readableBytes());
+            assertEquals(1, buf.refCnt());
+            for (ByteBuffer view : views) {
+                // compact协议的空值不经过传输层
+                assertTrue(view.isReadOnly() || !view.hasRemaining());
+            }
+
+            // 修改ByteBuf的内容, 视图随之改变
+            ByteBuffer last = views[views.length - 1];
+            int offset = buf.writerIndex() - last.remaining();
+            buf.setByte(offset, buf.getByte(offset) + 1);
+            assertEquals((byte) (VALUES[VALUES.length - 1][0] + 1), last.get(last.position()));
+            buf.setByte(offset, buf.getByte(offset) - 1);
+
+            // SoaMsgDecoder: 有视图引用时保留请求帧, MessageToMessageDecoder随后释放自己持有的那一份
+            if (transport.hasSlices()) {
+                buf.retain();
+            }
+            buf.release();
+            assertEquals(1, buf.refCnt());
+            assertValues(views);
+
+            // SoaMsgEncoder: 响应写完后释放
+            assertTrue(buf.release());
+        }
+    }
+
+    private void copy(Function<TTransport, TProtocol> protocol) throws TException {
+        ByteBuf buf = Unpooled.directBuffer();
+        writeValues(buf, protocol);
+
+        TSoaTransport transport = new TSoaTransport(buf);
+        ByteBuffer[] values = readValues(protocol.apply(transport));
+
+        assertFalse(transport.hasSlices());
+        assertTrue(buf.release());
+        assertValues(values);
+    }
+
+    private void otherTransports(Function<TTransport, TProtocol> protocol) throws TException {
+        ByteBuf buf = Unpooled.buffer();
+        writeValues(buf, protocol);
+        byte[] bytes = Arrays.copyOfRange(buf.array(), Integer.BYTES, buf.writerIndex());
+
+        assertValues(readValues(protocol.apply(new TCommonTransport(bytes, TCommonTransport.Type.Read))));
+
+        // TMemoryInputTransport直接包装自己的数组
+        ByteBuffer[] views = readValues(protocol.apply(new TMemoryInputTransport(bytes)));
+        assertValues(views);
+        assertSame(bytes, views[views.length - 1].array());
+    }
+
+    /**
+     * 每个值写两次: 一次是只读的堆外ByteBuffer, 一次是position/arrayOffset都不为0的堆内ByteBuffer,
+     * 写入后ByteBuffer的position不变
+     */
+    private static void writeValues(ByteBuf buf, Function<TTransport, TProtocol> protocol) throws TException {
+        TSoaTransport transport = new TSoaTransport(buf);
+        TProtocol oprot = protocol.apply(transport);
+        for (byte[] value : VALUES) {
+            ByteBuffer direct = ByteBuffer.allocateDirect(value.length);
+            direct.put(value).flip();
+            ByteBuffer readOnly = direct.asReadOnlyBuffer();
+            oprot.writeBinary(readOnly);
+            assertEquals(0, readOnly.position());
+
+            byte[] padded = new byte[value.length + 8];
+            System.arraycopy(value, 0, padded, 4, value.length);
+            ByteBuffer heap = ByteBuffer.wrap(padded, 2, value.length + 4).slice();
+            heap.position(2).limit(2 + value.length);
+            oprot.writeBinary(heap);
+            assertEquals(2, heap.position());
+        }
+        transport.flush();
+    }
+
+    private static ByteBuffer[] readValues(TProtocol iprot) throws TException {
+        ByteBuffer[] values = new ByteBuffer[VALUES.length * 2];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = iprot.readBinaryView();
+        }
+        return values;
+    }
+
+    private static void assertValues(ByteBuffer[] values) {
+        for (int i = 0; i < values.length; i++) {
+            ByteBuffer value = values[i].duplicate();
+            byte[] bytes = new byte[value.remaining()];
+            value.get(bytes);
+            assertArrayEquals("value " + i, VALUES[i / 2], bytes);
+        }
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        return bytes;
+    }
+}
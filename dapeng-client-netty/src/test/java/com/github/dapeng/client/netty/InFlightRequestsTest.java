@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.core.SoaCode;
+import com.github.dapeng.core.SoaException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * InFlightRequests: 槽位, 溢出表, 超时, 连接关闭, 以及响应/放弃/关闭同时发生时每个请求只结束一次
+ */
+public class InFlightRequestsTest {
+
+    private static final long NO_TIMEOUT = 60_000;
+
+    @Test
+    public void completeBySlot() throws Exception {
+        InFlightRequests inFlight = new InFlightRequests(4);
+        InFlightRequests.PendingRequest request = inFlight.register(1, NO_TIMEOUT);
+        assertEquals(1, inFlight.pending());
+
+        ByteBuf response = response(1);
+        inFlight.complete(response);
+        assertSame(response, request.get());
+        assertEquals(0, inFlight.pending());
+        response.release();
+    }
+
+    /**
+     * 槽位被更早的请求占用时使用溢出表, 两个请求按seqid各自完成
+     */
+    @Test
+    public void overflow() throws Exception {
+        InFlightRequests inFlight = new InFlightRequests(2);
+        InFlightRequests.PendingRequest first = inFlight.register(1, NO_TIMEOUT);
+        InFlightRequests.PendingRequest second = inFlight.register(3, NO_TIMEOUT);
+        InFlightRequests.PendingRequest third = inFlight.register(5, NO_TIMEOUT);
+        assertEquals(3, inFlight.pending());
+
+        ByteBuf secondResponse = response(3);
+        inFlight.complete(secondResponse);
+        assertSame(secondResponse, second.get());
+        assertFalse(first.isDone());
+
+        ByteBuf firstResponse = response(1);
+        inFlight.complete(firstResponse);
+        assertSame(firstResponse, first.get());
+
+        assertTrue(third.discard(new SoaException(SoaCode.ClientUnKnown)));
+        assertEquals(0, inFlight.pending());
+        firstResponse.release();
+        secondResponse.release();
+    }
+
+    @Test
+    public void timeout() throws Exception {
+        InFlightRequests inFlight = new InFlightRequests(4);
+        InFlightRequests.PendingRequest request = inFlight.register(1, 50);
+        assertEquals(SoaCode.ReqTimeOut.getCode(), failure(request, 5000).getCode());
+        assertEquals(0, inFlight.pending());
+    }
+
+    /**
+     * 超时或者被放弃之后到达的响应直接释放
+     */
+    @Test
+    public void lateResponseReleased() throws Exception {
+        InFlightRequests inFlight = new InFlightRequests(4);
+        InFlightRequests.PendingRequest request = inFlight.register(1, NO_TIMEOUT);
+        assertTrue(request.discard(new SoaException(SoaCode.ClientUnKnown)));
+        assertFalse(request.discard(new SoaException(SoaCode.ClientUnKnown)));
+
+        ByteBuf late = response(1);
+        inFlight.complete(late);
+        assertEquals(0, late.refCnt());
+        assertEquals(SoaCode.ClientUnKnown.getCode(), failure(request, 0).getCode());
+    }
+
+    @Test
+    public void close() throws Exception {
+        InFlightRequests inFlight = new InFlightRequests(2);
+        InFlightRequests.PendingRequest slot = inFlight.register(1, NO_TIMEOUT);
+        InFlightRequests.PendingRequest overflow = inFlight.register(3, NO_TIMEOUT);
+
+        SoaException cause = new SoaException(SoaCode.NotConnected);
+        inFlight.close(cause);
+        assertSame(cause, failure(slot, 0));
+        assertSame(cause, failure(overflow, 0));
+        assertEquals(0, inFlight.pending());
+
+        // 关闭之后登记的请求直接失败
+        InFlightRequests.PendingRequest after = inFlight.register(5, NO_TIMEOUT);
+        assertSame(cause, failure(after, 0));
+        assertEquals(0, inFlight.pending());
+    }
+
+    /**
+     * 多个线程同时登记, 响应, 放弃(槽位很少, 大部分请求在溢出表中): 每个请求只结束一次,
+     * 响应要么交给请求要么被释放, 最后没有在途请求
+     */
+    @Test
+    public void concurrentCompleteAndDiscard() throws Exception {
+        InFlightRequests inFlight = new InFlightRequests(8);
+        int threads = 4;
+        int perThread = 5000;
+        AtomicInteger seqids = new AtomicInteger();
+        List<ByteBuf> responses = new ArrayList<>();
+        List<InFlightRequests.PendingRequest> requests = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            CountDownLatch start = new CountDownLatch(1);
+            for (int t = 0; t < threads; t++) {
+                List<ByteBuf> myResponses = new ArrayList<>(perThread);
+                List<InFlightRequests.PendingRequest> myRequests = new ArrayList<>(perThread);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        int seqid = seqids.getAndIncrement();
+                        InFlightRequests.PendingRequest request = inFlight.register(seqid, NO_TIMEOUT);
+                        ByteBuf response = response(seqid);
+                        myRequests.add(request);
+                        myResponses.add(response);
+                        // 响应与放弃在两个线程上同时发生
+                        Future<?> discard = executor.submit(() -> {
+                            if (ThreadLocalRandom.current().nextBoolean()) {
+                                request.discard(new SoaException(SoaCode.ClientUnKnown));
+                            }
+                        });
+                        inFlight.complete(response);
+                        discard.get();
+                    }
+                    synchronized (requests) {
+                        requests.addAll(myRequests);
+                        responses.addAll(myResponses);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(0, inFlight.pending());
+        for (int i = 0; i < requests.size(); i++) {
+            InFlightRequests.PendingRequest request = requests.get(i);
+            ByteBuf response = responses.get(i);
+            assertTrue(request.isDone());
+            if (request.isCompletedExceptionally()) {
+                // 请求被放弃, 响应已经释放
+                assertEquals(0, response.refCnt());
+            } else {
+                assertSame(response, request.get());
+                assertEquals(1, response.refCnt());
+                response.release();
+            }
+        }
+    }
+
+    /**
+     * 登记与关闭同时发生: 关闭之后不会留下等待中的请求
+     */
+    @Test
+    public void concurrentRegisterAndClose() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            InFlightRequests inFlight = new InFlightRequests(16);
+            SoaException cause = new SoaException(SoaCode.NotConnected);
+            List<InFlightRequests.PendingRequest> requests = new ArrayList<>();
+            CountDownLatch registering = new CountDownLatch(1);
+            Thread registrar = new Thread(() -> {
+                for (int seqid = 0; seqid < 2000; seqid++) {
+                    requests.add(inFlight.register(seqid, NO_TIMEOUT));
+                    if (seqid == 100) {
+                        registering.countDown();
+                    }
+                }
+            });
+            registrar.start();
+            registering.await();
+            inFlight.close(cause);
+            registrar.join();
+
+            assertEquals(0, inFlight.pending());
+            for (InFlightRequests.PendingRequest request : requests) {
+                assertSame(cause, failure(request, 0));
+            }
+        }
+    }
+
+    private static ByteBuf response(int seqid) {
+        // length(4) stx(1) version(1) protocol(1) seqid(4)
+        ByteBuf buf = Unpooled.buffer(16);
+        buf.writeZero(16);
+        buf.setInt(7, seqid);
+        return buf;
+    }
+
+    private static SoaException failure(InFlightRequests.PendingRequest request, long waitMillis) throws Exception {
+        try {
+            ByteBuf response = waitMillis > 0 ? request.get(waitMillis, TimeUnit.MILLISECONDS) : request.getNow(null);
+            fail("request should fail, got " + response);
+            return null;
+        } catch (ExecutionException e) {
+            return (SoaException) e.getCause();
+        } catch (CompletionException e) {
+            return (SoaException) e.getCause();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.core.RuntimeInstance;
+import com.github.dapeng.core.SoaCode;
+import com.github.dapeng.core.SoaException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * InstanceHealth的状态转换: CLOSED -> OPEN -> HALF_OPEN -> CLOSED/OPEN.
+ * <p>
+ * 退避时间由surefire设置为100ms(soa.client.breaker.backoff), 每个用例使用不同的端口(实例)
+ */
+public class InstanceHealthTest {
+
+    private static final long BACKOFF = 100;
+
+    @Test
+    public void consecutiveFailuresEject() {
+        InstanceHealth health = InstanceHealth.of("127.0.0.1", 20001);
+        long ejections = InstanceHealth.totalEjections();
+        for (int i = 0; i < 4; i++) {
+            health.onResult(new SoaException(SoaCode.ReqTimeOut), 1000);
+        }
+        assertEquals(InstanceHealth.State.CLOSED, health.state());
+
+        health.onResult(new SoaException(SoaCode.NotConnected), 1000);
+        assertEquals(InstanceHealth.State.OPEN, health.state());
+        assertFalse(health.isAvailable());
+        assertEquals(ejections + 1, InstanceHealth.totalEjections());
+    }
+
+    @Test
+    public void businessErrorsAreSuccesses() {
+        InstanceHealth health = InstanceHealth.of("127.0.0.1", 20002);
+        for (int i = 0; i < 4; i++) {
+            health.onResult(new SoaException(SoaCode.ReqTimeOut), 1000);
+        }
+        // 业务异常打断连续失败
+        health.onResult(new SoaException("Err-Biz-001", "库存不足"), 1000);
+        health.onResult(new SoaException(SoaCode.ReqTimeOut), 1000);
+        assertEquals(InstanceHealth.State.CLOSED, health.state());
+    }
+
+    @Test
+    public void probeSuccessesRecover() throws InterruptedException {
+        InstanceHealth health = ejected(20003);
+
+        Thread.sleep(BACKOFF + 20);
+        assertTrue(health.isAvailable());
+        for (int i = 0; i < 3; i++) {
+            health.onSelected();
+            assertEquals(InstanceHealth.State.HALF_OPEN, health.state());
+            // 同时只放行一个试探请求
+            assertFalse(health.isAvailable());
+            health.onResult(null, 1000);
+        }
+        assertEquals(InstanceHealth.State.CLOSED, health.state());
+        assertTrue(health.isAvailable());
+    }
+
+    @Test
+    public void failedProbeEjectsWithLongerBackoff() throws InterruptedException {
+        InstanceHealth health = ejected(20004);
+
+        Thread.sleep(BACKOFF + 20);
+        health.onSelected();
+        health.onResult(new SoaException(SoaCode.ServerReqTimeOut), 1000);
+        assertEquals(InstanceHealth.State.OPEN, health.state());
+
+        // 第二次摘除的退避时间加倍
+        Thread.sleep(BACKOFF + 20);
+        assertFalse(health.isAvailable());
+        Thread.sleep(BACKOFF);
+        assertTrue(health.isAvailable());
+    }
+
+    /**
+     * 试探请求被取消(对冲请求中输掉的一方)时归还名额, 实例之后仍然可以恢复
+     */
+    @Test
+    public void cancelledProbeReleased() throws InterruptedException {
+        InstanceHealth health = ejected(20005);
+
+        Thread.sleep(BACKOFF + 20);
+        health.onSelected();
+        assertFalse(health.isAvailable());
+        health.onResult(new SoaException(SoaCode.ReqCancelled), 1000);
+        assertEquals(InstanceHealth.State.HALF_OPEN, health.state());
+        assertTrue(health.isAvailable());
+
+        for (int i = 0; i < 3; i++) {
+            health.onSelected();
+            health.onResult(null, 1000);
+        }
+        assertEquals(InstanceHealth.State.CLOSED, health.state());
+    }
+
+    /**
+     * 发送之前客户端出错(非SoaException)时同样归还名额
+     */
+    @Test
+    public void abandonedProbeReleased() throws InterruptedException {
+        InstanceHealth health = ejected(20006);
+
+        Thread.sleep(BACKOFF + 20);
+        health.onSelected();
+        health.onAbandoned();
+        assertEquals(InstanceHealth.State.HALF_OPEN, health.state());
+        assertTrue(health.isAvailable());
+    }
+
+    @Test
+    public void availableSkipsEjectedButNeverAll() {
+        RuntimeInstance healthy = new RuntimeInstance("test.Service", "127.0.0.1", 20007, "1.0.0");
+        RuntimeInstance broken = new RuntimeInstance("test.Service", "127.0.0.1", 20008, "1.0.0");
+        ejected(20008);
+
+        List<RuntimeInstance> instances = Arrays.asList(broken, healthy);
+        assertEquals(Collections.singletonList(healthy), InstanceHealth.available(instances));
+
+        List<RuntimeInstance> onlyBroken = Collections.singletonList(broken);
+        assertSame(onlyBroken, InstanceHealth.available(onlyBroken));
+        List<RuntimeInstance> allBroken = Arrays.asList(broken, broken);
+        assertSame(allBroken, InstanceHealth.available(allBroken));
+    }
+
+    @Test
+    public void slowInstanceEjected() {
+        RuntimeInstance fast1 = new RuntimeInstance("test.Service", "127.0.0.1", 20009, "1.0.0");
+        RuntimeInstance fast2 = new RuntimeInstance("test.Service", "127.0.0.1", 20010, "1.0.0");
+        RuntimeInstance slow = new RuntimeInstance("test.Service", "127.0.0.1", 20011, "1.0.0");
+        for (int i = 0; i < 20; i++) {
+            InstanceHealth.of(fast1.ip, fast1.port).onResult(null, 5_000);
+            InstanceHealth.of(fast2.ip, fast2.port).onResult(null, 5_000);
+            InstanceHealth.of(slow.ip, slow.port).onResult(null, 200_000);
+        }
+
+        assertEquals(Arrays.asList(fast1, fast2), InstanceHealth.available(Arrays.asList(fast1, fast2, slow)));
+        assertEquals(InstanceHealth.State.OPEN, InstanceHealth.of(slow.ip, slow.port).state());
+    }
+
+    private static InstanceHealth ejected(int port) {
+        InstanceHealth health = InstanceHealth.of("127.0.0.1", port);
+        for (int i = 0; i < 5; i++) {
+            health.onResult(new SoaException(SoaCode.NotConnected), 1000);
+        }
+        assertEquals(InstanceHealth.State.OPEN, health.state());
+        return health;
+    }
+}
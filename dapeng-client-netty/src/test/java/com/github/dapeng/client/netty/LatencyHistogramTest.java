@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * LatencyHistogram: 分桶连续单调, 桶上界的误差不超过25%, 以及百分位的计算
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValuesExact() {
+        for (int v = 0; v < 8; v++) {
+            assertEquals(v, LatencyHistogram.upperBound(LatencyHistogram.bucket(v)));
+        }
+    }
+
+    @Test
+    public void bucketsContiguous() {
+        int last = LatencyHistogram.bucket(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(last));
+        for (int b = 0; b < last; b++) {
+            long upper = LatencyHistogram.upperBound(b);
+            assertEquals(b, LatencyHistogram.bucket(upper));
+            assertEquals(b + 1, LatencyHistogram.bucket(upper + 1));
+        }
+    }
+
+    @Test
+    public void relativeError() {
+        for (long v = 1; v < 1_000_000; v++) {
+            assertBucket(v);
+        }
+        for (int shift = 20; shift < 63; shift++) {
+            long v = 1L << shift;
+            assertBucket(v - 1);
+            assertBucket(v);
+            assertBucket(v + 1);
+            assertBucket(v + (v >>> 1) + 12345);
+        }
+    }
+
+    @Test
+    public void notEnoughSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < LatencyHistogram.MIN_SAMPLES - 1; i++) {
+            histogram.record(1000);
+        }
+        assertEquals(-1, histogram.percentile(95));
+    }
+
+    @Test
+    public void percentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(LatencyHistogram.upperBound(LatencyHistogram.bucket(95_000)), histogram.percentile(95));
+
+        histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(LatencyHistogram.upperBound(LatencyHistogram.bucket(100_000)), histogram.percentile(100));
+
+        // 0微秒按1微秒记录
+        histogram = new LatencyHistogram();
+        for (int i = 0; i < 200; i++) {
+            histogram.record(0);
+        }
+        assertEquals(1, histogram.percentile(50));
+    }
+
+    private static void assertBucket(long v) {
+        long upper = LatencyHistogram.upperBound(LatencyHistogram.bucket(v));
+        assertTrue(v + " -> " + upper, upper >= v);
+        assertTrue(v + " -> " + upper, (upper - v) * 4 < v || upper == v);
+        if (LatencyHistogram.bucket(v) > 0) {
+            assertTrue(LatencyHistogram.upperBound(LatencyHistogram.bucket(v) - 1) < v);
+        }
+    }
+}
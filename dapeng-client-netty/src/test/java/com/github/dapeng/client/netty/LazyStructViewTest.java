@@ -0,0 +1,605 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.core.*;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.*;
+import com.github.dapeng.org.apache.thrift.transport.TMemoryInputTransport;
+import com.github.dapeng.org.apache.thrift.transport.TTransport;
+import com.github.dapeng.util.TCommonTransport;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * 延迟解码视图: LazyStructView / LazyViewSerializer / LazyResultSerializer
+ * <p>
+ * 返回值里夹杂了旧版本不认识的字段, 以及重复出现的字段(以最后一次为准)
+ */
+public class LazyStructViewTest {
+
+    private static final LazyResultSerializer<ItemView> RESULT_SERIALIZER =
+            new LazyResultSerializer<>("getItem_result", new LazyViewSerializer<>(ItemView::new));
+
+    @Test
+    public void binaryOnSoaTransport() throws TException {
+        viewOnSoaTransport(TBinaryProtocol::new);
+    }
+
+    @Test
+    public void compactOnSoaTransport() throws TException {
+        viewOnSoaTransport(TCompactProtocol::new);
+    }
+
+    @Test
+    public void binaryOnCommonTransport() throws TException {
+        viewOnCommonTransport(TBinaryProtocol::new);
+    }
+
+    @Test
+    public void compactOnCommonTransport() throws TException {
+        viewOnCommonTransport(TCompactProtocol::new);
+    }
+
+    /**
+     * 传输层不支持getReadPosition时直接解码完整的bean
+     */
+    @Test
+    public void fallbackToBean() throws TException {
+        for (Function<TTransport, TProtocol> protocol : protocols()) {
+            Message message = writeMessage(protocol, true);
+
+            ItemView view = RESULT_SERIALIZER.read(protocol.apply(new TMemoryInputTransport(message.body())));
+            assertEquals(-1, view.rawSize());
+            assertView(view);
+            assertEquals(expected(0), view.materialize());
+        }
+    }
+
+    /**
+     * 协议不同时先解码再序列化, 未知字段不会被带过去
+     */
+    @Test
+    public void writeWithOtherProtocol() throws TException {
+        Message message = writeMessage(TBinaryProtocol::new, true);
+        ItemView view = RESULT_SERIALIZER.read(new TBinaryProtocol(
+                new TCommonTransport(message.body(), TCommonTransport.Type.Read)));
+
+        TCommonTransport out = new TCommonTransport(new byte[64], TCommonTransport.Type.Write);
+        new LazyViewSerializer<>(ItemView::new).write(view, new TCompactProtocol(out));
+
+        byte[] bytes = out.getByteBuf();
+        Item item = new ItemSerializer().read(new TCompactProtocol(new TCommonTransport(bytes, TCommonTransport.Type.Read)));
+        assertEquals(expected(0), item);
+        assertTrue(bytes.length < view.rawSize());
+    }
+
+    /**
+     * 校验延迟到materialize: 缺少必填字段时, 其它字段仍然可以访问
+     */
+    @Test
+    public void validateOnMaterialize() throws TException {
+        for (Function<TTransport, TProtocol> protocol : protocols()) {
+            Message message = writeMessage(protocol, false);
+            ItemView view = RESULT_SERIALIZER.read(protocol.apply(
+                    new TCommonTransport(message.body(), TCommonTransport.Type.Read)));
+
+            assertEquals(100, view.getId());
+            assertNull(view.getName());
+            try {
+                view.materialize();
+                fail();
+            } catch (SoaException e) {
+                assertEquals(SoaCode.StructFieldNull.getCode(), e.getCode());
+            }
+        }
+    }
+
+    /**
+     * 视图拷贝了结构体的原始字节, 不引用ByteBuf, 释放ByteBuf之后仍然可用
+     */
+    private void viewOnSoaTransport(Function<TTransport, TProtocol> protocol) throws TException {
+        Message message = writeMessage(protocol, true);
+        ByteBuf buf = Unpooled.directBuffer();
+        buf.writeBytes(message.frame);
+
+        TSoaTransport transport = new TSoaTransport(buf);
+        ItemView view = RESULT_SERIALIZER.read(protocol.apply(transport));
+        assertEquals(0, buf.readableBytes());
+        assertTrue(buf.release());
+
+        assertViewAndPassThrough(view, message, protocol);
+    }
+
+    private void viewOnCommonTransport(Function<TTransport, TProtocol> protocol) throws TException {
+        Message message = writeMessage(protocol, true);
+        TCommonTransport transport = new TCommonTransport(message.body(), TCommonTransport.Type.Read);
+
+        ItemView view = RESULT_SERIALIZER.read(protocol.apply(transport));
+        assertEquals(message.frame.length - Integer.BYTES, transport.getReadPosition());
+        assertTrue(transport.getSkippedBytes() > 0);
+
+        assertViewAndPassThrough(view, message, protocol);
+    }
+
+    private void assertViewAndPassThrough(ItemView view, Message message, Function<TTransport, TProtocol> protocol)
+            throws TException {
+        byte[] success = Arrays.copyOfRange(message.frame, message.successBegin, message.successEnd);
+        assertEquals(success.length, view.rawSize());
+        assertView(view);
+
+        // 未解码时原样写出, 包括未知字段
+        assertArrayEquals(success, write(view, protocol));
+
+        Item item = view.materialize();
+        assertSame(item, view.materialize());
+        assertEquals(expected(0), item);
+        assertEquals(item, new ItemSerializer().read(protocol.apply(
+                new TCommonTransport(success, TCommonTransport.Type.Read))));
+
+        // 解码之后按bean重新序列化
+        byte[] rewritten = write(view, protocol);
+        assertTrue(rewritten.length < success.length);
+        assertEquals(item, new ItemSerializer().read(protocol.apply(
+                new TCommonTransport(rewritten, TCommonTransport.Type.Read))));
+    }
+
+    private static void assertView(ItemView view) throws SoaException {
+        Item expected = expected(0);
+        assertEquals(expected.id, view.getId());
+        assertEquals(expected.name, view.getName());
+        assertEquals(expected.flag, view.getFlag());
+        assertEquals(expected.child, view.getChild());
+        assertEquals(expected.values, view.getValues());
+        assertEquals(Optional.empty(), view.getRemark());
+    }
+
+    private static byte[] write(ItemView view, Function<TTransport, TProtocol> protocol) throws TException {
+        TCommonTransport out = new TCommonTransport(new byte[64], TCommonTransport.Type.Write);
+        new LazyViewSerializer<>(ItemView::new).write(view, protocol.apply(out));
+        return out.getByteBuf();
+    }
+
+    private static List<Function<TTransport, TProtocol>> protocols() {
+        return Arrays.asList(TBinaryProtocol::new, TCompactProtocol::new);
+    }
+
+    private static Item expected(int depth) {
+        Item item = new Item();
+        item.id = 100 + depth;
+        item.name = "item" + depth;
+        item.flag = Optional.of(depth % 2 == 0);
+        item.child = depth == 0 ? Optional.of(expected(depth + 1)) : Optional.empty();
+        item.values = Arrays.asList(1L, -2L, Long.MAX_VALUE);
+        return item;
+    }
+
+    static class Message {
+        byte[] frame;
+        int successBegin;
+        int successEnd;
+
+        byte[] body() {
+            return Arrays.copyOfRange(frame, Integer.BYTES, frame.length);
+        }
+    }
+
+    /**
+     * 新版本服务返回的getItem_result
+     */
+    private static Message writeMessage(Function<TTransport, TProtocol> protocol, boolean withName) throws TException {
+        ByteBuf buf = Unpooled.buffer();
+        TSoaTransport transport = new TSoaTransport(buf);
+        TProtocol oprot = protocol.apply(transport);
+        Message message = new Message();
+
+        oprot.writeStructBegin(new TStruct("getItem_result"));
+        oprot.writeFieldBegin(new TField("unknown", TType.I32, (short) 5));
+        oprot.writeI32(5);
+        oprot.writeFieldEnd();
+
+        oprot.writeFieldBegin(new TField("success", TType.STRUCT, (short) 0));
+        message.successBegin = buf.writerIndex();
+        writeItem(oprot, 0, withName);
+        message.successEnd = buf.writerIndex();
+        oprot.writeFieldEnd();
+
+        oprot.writeFieldBegin(new TField("unknown", TType.STRING, (short) 1));
+        oprot.writeString("unknown");
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+        transport.flush();
+
+        message.frame = Arrays.copyOf(buf.array(), buf.writerIndex());
+        return message;
+    }
+
+    private static void writeItem(TProtocol oprot, int depth, boolean withName) throws TException {
+        oprot.writeStructBegin(new TStruct("Item"));
+
+        oprot.writeFieldBegin(new TField("id", TType.I32, (short) 1));
+        oprot.writeI32(depth);
+        oprot.writeFieldEnd();
+
+        oprot.writeFieldBegin(new TField("unknownBinary", TType.STRING, (short) 10));
+        oprot.writeBinary(ByteBuffer.wrap(new byte[300]));
+        oprot.writeFieldEnd();
+
+        if (withName) {
+            oprot.writeFieldBegin(new TField("name", TType.STRING, (short) 2));
+            oprot.writeString("item" + depth);
+            oprot.writeFieldEnd();
+        }
+
+        oprot.writeFieldBegin(new TField("unknownStruct", TType.STRUCT, (short) 11));
+        oprot.writeStructBegin(new TStruct("Unknown"));
+        oprot.writeFieldBegin(new TField("f1", TType.I64, (short) 1));
+        oprot.writeI64(-1L);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(new TField("f2", TType.LIST, (short) 2));
+        oprot.writeListBegin(new TList(TType.STRING, 2));
+        oprot.writeString("a");
+        oprot.writeString("b");
+        oprot.writeListEnd();
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+        oprot.writeFieldEnd();
+
+        oprot.writeFieldBegin(new TField("flag", TType.BOOL, (short) 3));
+        oprot.writeBool(depth % 2 == 0);
+        oprot.writeFieldEnd();
+
+        if (depth == 0) {
+            oprot.writeFieldBegin(new TField("child", TType.STRUCT, (short) 4));
+            writeItem(oprot, depth + 1, withName);
+            oprot.writeFieldEnd();
+        }
+
+        oprot.writeFieldBegin(new TField("unknownBool", TType.BOOL, (short) 12));
+        oprot.writeBool(true);
+        oprot.writeFieldEnd();
+
+        oprot.writeFieldBegin(new TField("values", TType.LIST, (short) 5));
+        oprot.writeListBegin(new TList(TType.I64, 3));
+        oprot.writeI64(1L);
+        oprot.writeI64(-2L);
+        oprot.writeI64(Long.MAX_VALUE);
+        oprot.writeListEnd();
+        oprot.writeFieldEnd();
+
+        // 类型与旧版本不一致的字段按未知字段处理
+        oprot.writeFieldBegin(new TField("remark", TType.I32, (short) 6));
+        oprot.writeI32(6);
+        oprot.writeFieldEnd();
+
+        oprot.writeFieldBegin(new TField("unknownMap", TType.MAP, (short) 13));
+        oprot.writeMapBegin(new TMap(TType.I32, TType.DOUBLE, 2));
+        oprot.writeI32(1);
+        oprot.writeDouble(1.5);
+        oprot.writeI32(2);
+        oprot.writeDouble(2.5);
+        oprot.writeMapEnd();
+        oprot.writeFieldEnd();
+
+        // 重复的字段以最后一次为准
+        oprot.writeFieldBegin(new TField("id", TType.I32, (short) 1));
+        oprot.writeI32(100 + depth);
+        oprot.writeFieldEnd();
+
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+    }
+
+    static class Item {
+        int id;
+        String name;
+        Optional<Boolean> flag = Optional.empty();
+        Optional<Item> child = Optional.empty();
+        List<Long> values = new ArrayList<>();
+        Optional<String> remark = Optional.empty();
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Item)) {
+                return false;
+            }
+            Item item = (Item) o;
+            return id == item.id && Objects.equals(name, item.name) && flag.equals(item.flag)
+                    && child.equals(item.child) && values.equals(item.values) && remark.equals(item.remark);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, name, flag, child, values, remark);
+        }
+
+        @Override
+        public String toString() {
+            return "Item{id=" + id + ", name=" + name + ", flag=" + flag + ", child=" + child
+                    + ", values=" + values + ", remark=" + remark + "}";
+        }
+    }
+
+    /**
+     * 与生成代码相同结构的序列化器
+     */
+    static class ItemSerializer implements BeanSerializer<Item> {
+
+        @Override
+        public Item read(TProtocol iprot) throws TException {
+            Item bean = new Item();
+            iprot.readStructBegin();
+            while (true) {
+                TField schemeField = iprot.readFieldBegin();
+                if (schemeField.type == TType.STOP) {
+                    break;
+                }
+                switch (schemeField.id) {
+                    case 1:
+                        if (schemeField.type == TType.I32) {
+                            bean.id = iprot.readI32();
+                        } else {
+                            TProtocolUtil.skip(iprot, schemeField.type);
+                        }
+                        break;
+                    case 2:
+                        if (schemeField.type == TType.STRING) {
+                            bean.name = iprot.readString();
+                        } else {
+                            TProtocolUtil.skip(iprot, schemeField.type);
+                        }
+                        break;
+                    case 3:
+                        if (schemeField.type == TType.BOOL) {
+                            bean.flag = Optional.of(iprot.readBool());
+                        } else {
+                            TProtocolUtil.skip(iprot, schemeField.type);
+                        }
+                        break;
+                    case 4:
+                        if (schemeField.type == TType.STRUCT) {
+                            bean.child = Optional.of(read(iprot));
+                        } else {
+                            TProtocolUtil.skip(iprot, schemeField.type);
+                        }
+                        break;
+                    case 5:
+                        if (schemeField.type == TType.LIST) {
+                            bean.values = readValues(iprot);
+                        } else {
+                            TProtocolUtil.skip(iprot, schemeField.type);
+                        }
+                        break;
+                    case 6:
+                        if (schemeField.type == TType.STRING) {
+                            bean.remark = Optional.of(iprot.readString());
+                        } else {
+                            TProtocolUtil.skip(iprot, schemeField.type);
+                        }
+                        break;
+                    default:
+                        TProtocolUtil.skip(iprot, schemeField.type);
+                }
+                iprot.readFieldEnd();
+            }
+            iprot.readStructEnd();
+
+            validate(bean);
+            return bean;
+        }
+
+        static List<Long> readValues(TProtocol iprot) throws TException {
+            TList list = iprot.readListBegin();
+            List<Long> values = new ArrayList<>(list.size);
+            for (int i = 0; i < list.size; i++) {
+                values.add(iprot.readI64());
+            }
+            iprot.readListEnd();
+            return values;
+        }
+
+        @Override
+        public void write(Item bean, TProtocol oprot) throws TException {
+            validate(bean);
+
+            oprot.writeStructBegin(new TStruct("Item"));
+            oprot.writeFieldBegin(new TField("id", TType.I32, (short) 1));
+            oprot.writeI32(bean.id);
+            oprot.writeFieldEnd();
+            oprot.writeFieldBegin(new TField("name", TType.STRING, (short) 2));
+            oprot.writeString(bean.name);
+            oprot.writeFieldEnd();
+            if (bean.flag.isPresent()) {
+                oprot.writeFieldBegin(new TField("flag", TType.BOOL, (short) 3));
+                oprot.writeBool(bean.flag.get());
+                oprot.writeFieldEnd();
+            }
+            if (bean.child.isPresent()) {
+                oprot.writeFieldBegin(new TField("child", TType.STRUCT, (short) 4));
+                write(bean.child.get(), oprot);
+                oprot.writeFieldEnd();
+            }
+            oprot.writeFieldBegin(new TField("values", TType.LIST, (short) 5));
+            oprot.writeListBegin(new TList(TType.I64, bean.values.size()));
+            for (Long value : bean.values) {
+                oprot.writeI64(value);
+            }
+            oprot.writeListEnd();
+            oprot.writeFieldEnd();
+            if (bean.remark.isPresent()) {
+                oprot.writeFieldBegin(new TField("remark", TType.STRING, (short) 6));
+                oprot.writeString(bean.remark.get());
+                oprot.writeFieldEnd();
+            }
+            oprot.writeFieldStop();
+            oprot.writeStructEnd();
+        }
+
+        @Override
+        public void validate(Item bean) throws TException {
+            if (bean.name == null) {
+                throw new SoaException(SoaCode.StructFieldNull, "name字段不允许为空");
+            }
+        }
+
+        @Override
+        public String toString(Item bean) {
+            return bean == null ? "null" : bean.toString();
+        }
+    }
+
+    /**
+     * 与lazyView选项生成的视图相同的结构
+     */
+    static class ItemView extends LazyStructView<Item> {
+
+        private static final BeanSerializer<Item> SERIALIZER = new ItemSerializer();
+
+        private int id;
+        private boolean idDecoded;
+        private String name;
+        private boolean nameDecoded;
+        private Optional<Boolean> flag = Optional.empty();
+        private boolean flagDecoded;
+        private Optional<Item> child = Optional.empty();
+        private boolean childDecoded;
+        private List<Long> values = new ArrayList<>();
+        private boolean valuesDecoded;
+        private Optional<String> remark = Optional.empty();
+        private boolean remarkDecoded;
+
+        @Override
+        protected BeanSerializer<Item> serializer() {
+            return SERIALIZER;
+        }
+
+        public int getId() throws SoaException {
+            if (bean() != null) {
+                return bean().id;
+            }
+            if (!idDecoded) {
+                TProtocol iprot = fieldProtocol((short) 1, TType.I32);
+                if (iprot != null) {
+                    try {
+                        this.id = iprot.readI32();
+                    } catch (TException e) {
+                        throw decodeError(e);
+                    }
+                }
+                idDecoded = true;
+            }
+            return this.id;
+        }
+
+        public String getName() throws SoaException {
+            if (bean() != null) {
+                return bean().name;
+            }
+            if (!nameDecoded) {
+                TProtocol iprot = fieldProtocol((short) 2, TType.STRING);
+                if (iprot != null) {
+                    try {
+                        this.name = iprot.readString();
+                    } catch (TException e) {
+                        throw decodeError(e);
+                    }
+                }
+                nameDecoded = true;
+            }
+            return this.name;
+        }
+
+        public Optional<Boolean> getFlag() {
+            if (bean() != null) {
+                return bean().flag;
+            }
+            if (!flagDecoded) {
+                Boolean elem0 = fieldBool((short) 3);
+                if (elem0 != null) {
+                    this.flag = Optional.of(elem0);
+                }
+                flagDecoded = true;
+            }
+            return this.flag;
+        }
+
+        public Optional<Item> getChild() throws SoaException {
+            if (bean() != null) {
+                return bean().child;
+            }
+            if (!childDecoded) {
+                TProtocol iprot = fieldProtocol((short) 4, TType.STRUCT);
+                if (iprot != null) {
+                    try {
+                        this.child = Optional.of(SERIALIZER.read(iprot));
+                    } catch (SoaException e) {
+                        throw e;
+                    } catch (TException e) {
+                        throw decodeError(e);
+                    }
+                }
+                childDecoded = true;
+            }
+            return this.child;
+        }
+
+        public List<Long> getValues() throws SoaException {
+            if (bean() != null) {
+                return bean().values;
+            }
+            if (!valuesDecoded) {
+                TProtocol iprot = fieldProtocol((short) 5, TType.LIST);
+                if (iprot != null) {
+                    try {
+                        this.values = ItemSerializer.readValues(iprot);
+                    } catch (TException e) {
+                        throw decodeError(e);
+                    }
+                }
+                valuesDecoded = true;
+            }
+            return this.values;
+        }
+
+        public Optional<String> getRemark() throws SoaException {
+            if (bean() != null) {
+                return bean().remark;
+            }
+            if (!remarkDecoded) {
+                TProtocol iprot = fieldProtocol((short) 6, TType.STRING);
+                if (iprot != null) {
+                    try {
+                        this.remark = Optional.of(iprot.readString());
+                    } catch (TException e) {
+                        throw decodeError(e);
+                    }
+                }
+                remarkDecoded = true;
+            }
+            return this.remark;
+        }
+    }
+}
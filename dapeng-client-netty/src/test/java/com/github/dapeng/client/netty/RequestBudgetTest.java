@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * RequestBudget: 初始满额, 按正常请求的percent%补充, 不超过上限, 放回, 并发取令牌不超发
+ */
+public class RequestBudgetTest {
+
+    @Test
+    public void startsFull() {
+        RequestBudget budget = new RequestBudget(10, 3);
+        assertEquals(3, drain(budget));
+    }
+
+    @Test
+    public void disabled() {
+        RequestBudget budget = new RequestBudget(0, 10);
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+        }
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    public void refillByPercent() {
+        RequestBudget budget = new RequestBudget(10, 10);
+        drain(budget);
+
+        for (int i = 0; i < 9; i++) {
+            budget.onRequest();
+        }
+        assertFalse(budget.tryAcquire());
+        budget.onRequest();
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+
+        // 长期来看额外请求数是正常请求的percent%
+        for (int i = 0; i < 55; i++) {
+            budget.onRequest();
+        }
+        assertEquals(5, drain(budget));
+    }
+
+    @Test
+    public void percentAboveHundred() {
+        RequestBudget budget = new RequestBudget(250, 10);
+        drain(budget);
+        budget.onRequest();
+        budget.onRequest();
+        assertEquals(5, drain(budget));
+    }
+
+    @Test
+    public void capacity() {
+        RequestBudget budget = new RequestBudget(50, 4);
+        drain(budget);
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+        }
+        assertEquals(4, drain(budget));
+
+        // 上限不是令牌的整数倍时也不超过maxTokens个
+        budget = new RequestBudget(30, 4);
+        drain(budget);
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+        }
+        assertEquals(4, drain(budget));
+    }
+
+    @Test
+    public void release() {
+        RequestBudget budget = new RequestBudget(10, 2);
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+        budget.release();
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    public void concurrentAcquire() throws Exception {
+        int threads = 8;
+        // 上限足够大, 存入的令牌不会因为已满而丢弃
+        RequestBudget budget = new RequestBudget(10, 1000);
+        drain(budget);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int acquired = 0;
+                    for (int j = 0; j < 1000; j++) {
+                        budget.onRequest();
+                        if (budget.tryAcquire()) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+            start.countDown();
+            int acquired = 0;
+            for (Future<Integer> result : results) {
+                acquired += result.get(10, TimeUnit.SECONDS);
+            }
+            // 8000个正常请求的10%, 不多也不少
+            assertEquals(800, acquired + drain(budget));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int drain(RequestBudget budget) {
+        int n = 0;
+        while (budget.tryAcquire()) {
+            n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ResponseCache: key的比较, 过期后返回旧结果并且只有一个请求刷新, 超过两个ttl后未命中, 按最久没有使用淘汰
+ */
+public class ResponseCacheTest {
+
+    private static final byte[] RESPONSE = "response".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void keyEquality() {
+        ResponseCache.Key key = key("getSku", 1, 2, 3);
+        assertEquals(key, key("getSku", 1, 2, 3));
+        assertEquals(key.hashCode(), key("getSku", 1, 2, 3).hashCode());
+        assertNotEquals(key, key("getSku", 1, 2, 4));
+        assertNotEquals(key, key("getSkus", 1, 2, 3));
+        assertNotEquals(key, new ResponseCache.Key("com.github.dapeng.Service", "1.0.1", "getSku",
+                new byte[]{1, 2, 3}, null));
+    }
+
+    @Test
+    public void hitAndMiss() {
+        ResponseCache cache = new ResponseCache(10);
+        assertNull(cache.get(key("getSku", 1)));
+        cache.put(key("getSku", 1), RESPONSE, 60_000);
+
+        ResponseCache.Entry entry = cache.get(key("getSku", 1));
+        assertNotNull(entry);
+        assertFalse(entry.isStale());
+        assertArrayEquals(RESPONSE, entry.response);
+        assertNull(cache.get(key("getSku", 2)));
+
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+        assertEquals(0, cache.staleHits());
+    }
+
+    @Test
+    public void staleWithinSecondTtl() throws Exception {
+        ResponseCache cache = new ResponseCache(10);
+        cache.put(key("getSku", 1), RESPONSE, 200);
+
+        Thread.sleep(250);
+        ResponseCache.Entry entry = cache.get(key("getSku", 1));
+        assertNotNull(entry);
+        assertTrue(entry.isStale());
+        assertEquals(1, cache.staleHits());
+        // 只有第一个拿到旧结果的请求去刷新
+        assertTrue(entry.refreshing.compareAndSet(false, true));
+        assertFalse(cache.get(key("getSku", 1)).refreshing.compareAndSet(false, true));
+
+        // 刷新后重新计算ttl
+        cache.put(key("getSku", 1), RESPONSE, 200);
+        assertFalse(cache.get(key("getSku", 1)).isStale());
+        assertEquals(1, cache.hits());
+    }
+
+    @Test
+    public void expiredAfterSecondTtl() throws Exception {
+        ResponseCache cache = new ResponseCache(10);
+        cache.put(key("getSku", 1), RESPONSE, 100);
+
+        Thread.sleep(250);
+        assertNull(cache.get(key("getSku", 1)));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.misses());
+        assertEquals(0, cache.staleHits());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        ResponseCache cache = new ResponseCache(2);
+        cache.put(key("getSku", 1), RESPONSE, 60_000);
+        cache.put(key("getSku", 2), RESPONSE, 60_000);
+        // 访问1之后, 2是最久没有使用的
+        assertNotNull(cache.get(key("getSku", 1)));
+        cache.put(key("getSku", 3), RESPONSE, 60_000);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        assertNull(cache.get(key("getSku", 2)));
+        assertNotNull(cache.get(key("getSku", 1)));
+        assertNotNull(cache.get(key("getSku", 3)));
+
+        // 覆盖已有的key不淘汰
+        cache.put(key("getSku", 3), RESPONSE, 60_000);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+    }
+
+    private static ResponseCache.Key key(String method, int... request) {
+        byte[] bytes = new byte[request.length];
+        for (int i = 0; i < request.length; i++) {
+            bytes[i] = (byte) request[i];
+        }
+        return new ResponseCache.Key("com.github.dapeng.Service", "1.0.0", method, bytes, null);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.core.SoaCode;
+import com.github.dapeng.core.SoaException;
+import io.netty.channel.Channel;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * SoaBaseConnection: 连接失败后退避, 退避期间直接失败, 退避结束后重连; 连接断开后重连; 关闭后不再重连
+ */
+public class SoaBaseConnectionTest {
+
+    private static final String HOST = "127.0.0.1";
+
+    @Test
+    public void backoffAfterConnectFailure() throws Exception {
+        int port = freePort();
+        SoaBaseConnection connection = new SoaConnectionImpl(HOST, port);
+        assertNotConnected(connection, 1000);
+
+        try (ServerSocket server = listen(port)) {
+            // 服务端已经可用, 但退避期间(第一次失败后在[50, 100)ms之间)不会发起连接, 直接失败
+            long start = System.currentTimeMillis();
+            assertNotConnected(connection, 1000);
+            assertTrue(System.currentTimeMillis() - start < 50);
+
+            Thread.sleep(250);
+            Channel channel = connection.awaitChannel(1000);
+            assertTrue(channel.isActive());
+            connection.close();
+        }
+    }
+
+    @Test
+    public void reconnectAfterDisconnect() throws Exception {
+        try (ServerSocket server = listen(0)) {
+            SoaBaseConnection connection = new SoaConnectionImpl(HOST, server.getLocalPort());
+            Channel first = connection.awaitChannel(1000);
+            try (Socket accepted = server.accept()) {
+                accepted.close();
+                assertTrue(first.closeFuture().await(3000));
+            }
+
+            Channel second = connection.awaitChannel(1000);
+            assertNotSame(first, second);
+            assertTrue(second.isActive());
+            connection.close();
+        }
+    }
+
+    @Test
+    public void noReconnectAfterClose() throws Exception {
+        try (ServerSocket server = listen(0)) {
+            SoaBaseConnection connection = new SoaConnectionImpl(HOST, server.getLocalPort());
+            Channel channel = connection.awaitChannel(1000);
+            connection.close();
+            assertTrue(channel.closeFuture().await(3000));
+            assertNotConnected(connection, 1000);
+            assertEquals(0, connection.pendingRequests());
+        }
+    }
+
+    private static void assertNotConnected(SoaBaseConnection connection, long timeout) {
+        try {
+            connection.awaitChannel(timeout);
+            fail("connected");
+        } catch (SoaException e) {
+            assertEquals(SoaCode.NotConnected.getCode(), e.getCode());
+        }
+    }
+
+    private static ServerSocket listen(int port) throws Exception {
+        ServerSocket server = new ServerSocket();
+        server.setReuseAddress(true);
+        server.bind(new InetSocketAddress(InetAddress.getByName(HOST), port));
+        return server;
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = listen(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
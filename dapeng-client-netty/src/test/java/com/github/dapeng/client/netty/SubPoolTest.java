@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import io.netty.channel.Channel;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SubPool: 在途请求持续偏高时增加连接, 回落后减少连接, 移除的连接等在途请求结束后才关闭.
+ * 服务端只建立连接不返回响应, 在途请求直接登记在连接的InFlightRequests上
+ */
+public class SubPoolTest {
+
+    private static final long NO_TIMEOUT = 60_000;
+
+    private static ServerSocket server;
+
+    @BeforeClass
+    public static void startServer() throws Exception {
+        server = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+    }
+
+    @AfterClass
+    public static void stopServer() throws Exception {
+        server.close();
+    }
+
+    @Test
+    public void growAndShrink() throws Exception {
+        SubPool pool = new SubPool("127.0.0.1", server.getLocalPort());
+        assertEquals(SubPool.MIN, pool.size());
+
+        SoaBaseConnection first = (SoaBaseConnection) pool.getConnection();
+        InFlightRequests firstInFlight = InFlightRequests.of(first.awaitChannel(3000));
+        // 远超过增长阈值(默认64)
+        List<InFlightRequests.PendingRequest> requests = new ArrayList<>();
+        for (int i = 1; i <= 400; i++) {
+            requests.add(firstInFlight.register(i, NO_TIMEOUT));
+        }
+        waitFor(() -> pool.size() == SubPool.MIN + 1, pool, 3000);
+
+        // 新的连接没有在途请求, 优先被选中
+        SoaBaseConnection second = (SoaBaseConnection) pool.getConnection();
+        assertNotSame(first, second);
+        Channel secondChannel = second.awaitChannel(3000);
+        InFlightRequests.PendingRequest lastRequest = InFlightRequests.of(secondChannel).register(1, NO_TIMEOUT);
+
+        for (InFlightRequests.PendingRequest request : requests) {
+            request.discard(new Exception("test"));
+        }
+        waitFor(() -> pool.size() == SubPool.MIN, pool, 10_000);
+        assertSame(first, pool.getConnection());
+
+        // 移除的连接上还有在途请求, 暂不关闭
+        Thread.sleep(1500);
+        assertTrue(secondChannel.isActive());
+        assertTrue(lastRequest.discard(new Exception("test")));
+        assertTrue(secondChannel.closeFuture().await(3000));
+        assertTrue(first.awaitChannel(0).isActive());
+    }
+
+    /**
+     * 采样在getConnection时进行, 等待期间持续调用
+     */
+    private static void waitFor(BooleanSupplier condition, SubPool pool, long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (!condition.getAsBoolean()) {
+            assertTrue("timeout, size: " + pool.size(), System.currentTimeMillis() < deadline);
+            pool.getConnection();
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.*;
+import com.github.dapeng.org.apache.thrift.transport.TMemoryInputTransport;
+import com.github.dapeng.org.apache.thrift.transport.TTransport;
+import com.github.dapeng.org.apache.thrift.transport.TTransportException;
+import com.github.dapeng.util.TCommonTransport;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * 未知字段按长度跳过: TProtocolUtil.skip / skipBinary / TTransport.skipBytes / getReadPosition
+ * <p>
+ * 新版本的消息里除了字段1和字段100, 其它都是旧版本不认识的字段(覆盖所有类型以及嵌套结构体)
+ */
+public class TProtocolSkipTest {
+
+    private static final int ID = 42;
+    private static final String NAME = "新版本的消息";
+
+    @Test
+    public void binaryOnSoaTransport() throws TException {
+        skipOnSoaTransport(TBinaryProtocol::new);
+    }
+
+    @Test
+    public void compactOnSoaTransport() throws TException {
+        skipOnSoaTransport(TCompactProtocol::new);
+    }
+
+    @Test
+    public void binaryOnCommonTransport() throws TException {
+        skipOnCommonTransport(TBinaryProtocol::new);
+    }
+
+    @Test
+    public void compactOnCommonTransport() throws TException {
+        skipOnCommonTransport(TCompactProtocol::new);
+    }
+
+    /**
+     * 不支持skipBytes/getReadPosition的传输层走原来的逐个读取, 也不统计跳过的字节数
+     */
+    @Test
+    public void binaryOnMemoryTransport() throws TException {
+        skipOnMemoryTransport(TBinaryProtocol::new);
+    }
+
+    @Test
+    public void compactOnMemoryTransport() throws TException {
+        skipOnMemoryTransport(TCompactProtocol::new);
+    }
+
+    @Test
+    public void skipBytes() throws TException {
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeInt(8).writeLong(0x0102030405060708L);
+        TSoaTransport transport = new TSoaTransport(buf);
+
+        assertEquals(0, transport.getReadPosition());
+        assertTrue(transport.skipBytes(3));
+        assertEquals(7, transport.getReadPosition());
+        try {
+            transport.skipBytes(6);
+            fail();
+        } catch (TTransportException e) {
+            assertEquals(7, transport.getReadPosition());
+        }
+        assertTrue(transport.skipBytes(5));
+        assertEquals(0, buf.readableBytes());
+
+        TCommonTransport common = new TCommonTransport(new byte[8], TCommonTransport.Type.Read);
+        assertTrue(common.skipBytes(8));
+        assertEquals(8, common.getReadPosition());
+        try {
+            common.skipBytes(1);
+            fail();
+        } catch (TTransportException e) {
+            assertEquals(8, common.getReadPosition());
+        }
+        assertEquals(-1, new TCommonTransport(new byte[8], TCommonTransport.Type.Write).getReadPosition());
+
+        TMemoryInputTransport memory = new TMemoryInputTransport(new byte[8]);
+        assertFalse(memory.skipBytes(8));
+        assertEquals(-1, memory.getReadPosition());
+    }
+
+    @Test
+    public void copyRange() throws TException {
+        byte[] bytes = {1, 2, 3, 4, 5, 6, 7, 8};
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeInt(bytes.length).writeBytes(bytes);
+
+        TSoaTransport transport = new TSoaTransport(buf);
+        assertArrayEquals(new byte[]{3, 4, 5}, transport.copyRange(6, 9));
+        assertArrayEquals(new byte[0], transport.copyRange(12, 12));
+        assertInvalidRange(transport, 9, 6);
+        assertInvalidRange(transport, 0, 13);
+
+        TCommonTransport common = new TCommonTransport(bytes, TCommonTransport.Type.Read);
+        assertArrayEquals(new byte[]{3, 4, 5}, common.copyRange(2, 5));
+        assertInvalidRange(common, -1, 2);
+        assertInvalidRange(common, 0, 9);
+
+        assertInvalidRange(new TMemoryInputTransport(bytes), 0, 1);
+    }
+
+    private static void assertInvalidRange(TTransport transport, int from, int to) {
+        try {
+            transport.copyRange(from, to);
+            fail("[" + from + ", " + to + ")");
+        } catch (TTransportException expected) {
+        }
+    }
+
+    private void skipOnSoaTransport(Function<TTransport, TProtocol> protocol) throws TException {
+        ByteBuf buf = Unpooled.buffer();
+        int skipped = writeMessage(buf, protocol);
+
+        TSoaTransport transport = new TSoaTransport(buf);
+        readMessage(protocol.apply(transport));
+        assertEquals(skipped, transport.getSkippedBytes());
+        assertEquals(0, buf.readableBytes());
+    }
+
+    private void skipOnCommonTransport(Function<TTransport, TProtocol> protocol) throws TException {
+        ByteBuf buf = Unpooled.buffer();
+        int skipped = writeMessage(buf, protocol);
+        byte[] bytes = Arrays.copyOfRange(buf.array(), Integer.BYTES, buf.writerIndex());
+
+        TCommonTransport transport = new TCommonTransport(bytes, TCommonTransport.Type.Read);
+        readMessage(protocol.apply(transport));
+        assertEquals(skipped, transport.getSkippedBytes());
+        assertEquals(bytes.length, transport.getReadPosition());
+    }
+
+    private void skipOnMemoryTransport(Function<TTransport, TProtocol> protocol) throws TException {
+        ByteBuf buf = Unpooled.buffer();
+        writeMessage(buf, protocol);
+        byte[] bytes = Arrays.copyOfRange(buf.array(), Integer.BYTES, buf.writerIndex());
+
+        TMemoryInputTransport transport = new TMemoryInputTransport(bytes);
+        readMessage(protocol.apply(transport));
+        assertEquals(0, transport.getSkippedBytes());
+        assertEquals(0, transport.getBytesRemainingInBuffer());
+    }
+
+    /**
+     * 旧版本只认识字段1和字段100
+     */
+    private static void readMessage(TProtocol iprot) throws TException {
+        Integer id = null;
+        String name = null;
+        iprot.readStructBegin();
+        while (true) {
+            TField field = iprot.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            if (field.id == 1 && field.type == TType.I32) {
+                id = iprot.readI32();
+            } else if (field.id == 100 && field.type == TType.STRING) {
+                name = iprot.readString();
+            } else {
+                TProtocolUtil.skip(iprot, field.type);
+            }
+            iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        assertEquals(Integer.valueOf(ID), id);
+        assertEquals(NAME, name);
+    }
+
+    /**
+     * 写入新版本的消息
+     *
+     * @return 未知字段的值(不含字段头)一共占的字节数
+     */
+    private static int writeMessage(ByteBuf buf, Function<TTransport, TProtocol> protocol) throws TException {
+        TSoaTransport transport = new TSoaTransport(buf);
+        TProtocol oprot = protocol.apply(transport);
+        boolean compact = oprot instanceof TCompactProtocol;
+        int skipped = 0;
+
+        oprot.writeStructBegin(new TStruct("message"));
+
+        oprot.writeFieldBegin(new TField("id", TType.I32, (short) 1));
+        oprot.writeI32(ID);
+        oprot.writeFieldEnd();
+
+        // compact协议的bool值保存在字段头里, 跳过时不占字节
+        oprot.writeFieldBegin(new TField("flag", TType.BOOL, (short) 2));
+        int begin = buf.writerIndex();
+        oprot.writeBool(true);
+        skipped += compact ? 0 : buf.writerIndex() - begin;
+        oprot.writeFieldEnd();
+
+        short id = 3;
+        for (byte type : new byte[]{TType.BYTE, TType.I16, TType.I32, TType.I64, TType.DOUBLE,
+                TType.STRING, TType.STRUCT, TType.LIST, TType.SET, TType.MAP}) {
+            for (int variant = 0; variant < 4; variant++) {
+                oprot.writeFieldBegin(new TField("unknown" + id, type, id++));
+                begin = buf.writerIndex();
+                writeValue(oprot, type, variant, 0);
+                skipped += buf.writerIndex() - begin;
+                oprot.writeFieldEnd();
+            }
+        }
+
+        // 跨度超过15的字段id, compact协议使用长格式的字段头
+        oprot.writeFieldBegin(new TField("name", TType.STRING, (short) 100));
+        oprot.writeString(NAME);
+        oprot.writeFieldEnd();
+
+        oprot.writeFieldBegin(new TField("unknown", TType.LIST, Short.MAX_VALUE));
+        begin = buf.writerIndex();
+        oprot.writeListBegin(new TList(TType.BOOL, 3));
+        oprot.writeBool(true);
+        oprot.writeBool(false);
+        oprot.writeBool(true);
+        oprot.writeListEnd();
+        skipped += buf.writerIndex() - begin;
+        oprot.writeFieldEnd();
+
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+        transport.flush();
+        return skipped;
+    }
+
+    /**
+     * 按类型写入一个值, variant区分同一类型的不同写法(空值/定长元素/变长元素等)
+     */
+    private static void writeValue(TProtocol oprot, byte type, int variant, int depth) throws TException {
+        switch (type) {
+            case TType.BOOL:
+                oprot.writeBool(variant % 2 == 0);
+                break;
+            case TType.BYTE:
+                oprot.writeByte((byte) (variant - 1));
+                break;
+            case TType.I16:
+                oprot.writeI16(variant == 0 ? Short.MIN_VALUE : (short) variant);
+                break;
+            case TType.I32:
+                oprot.writeI32(variant == 0 ? Integer.MIN_VALUE : variant * 1000000);
+                break;
+            case TType.I64:
+                oprot.writeI64(variant == 0 ? Long.MAX_VALUE : -variant);
+                break;
+            case TType.DOUBLE:
+                oprot.writeDouble(variant == 0 ? Double.NaN : variant / 3.0);
+                break;
+            case TType.STRING:
+                if (variant == 0) {
+                    oprot.writeString("");
+                } else if (variant == 1) {
+                    oprot.writeString("未知字段");
+                } else {
+                    byte[] bytes = new byte[5000];
+                    Arrays.fill(bytes, (byte) 0x7f);
+                    oprot.writeBinary(ByteBuffer.wrap(bytes));
+                }
+                break;
+            case TType.STRUCT:
+                oprot.writeStructBegin(new TStruct("nested"));
+                if (variant > 0 && depth < 3) {
+                    short id = 1;
+                    for (byte fieldType : new byte[]{TType.BOOL, TType.I64, TType.STRING, TType.STRUCT, TType.MAP}) {
+                        oprot.writeFieldBegin(new TField("f" + id, fieldType, id));
+                        writeValue(oprot, fieldType, variant, depth + 1);
+                        oprot.writeFieldEnd();
+                        id += variant == 1 ? 1 : 20;
+                    }
+                }
+                oprot.writeFieldStop();
+                oprot.writeStructEnd();
+                break;
+            case TType.LIST:
+            case TType.SET: {
+                // variant 0: 空集合, 1: 定长元素, 2: 嵌套的变长元素, 3: 整数(binary协议定长, compact协议变长)
+                byte elemType = variant == 0 ? TType.I64 : variant == 1 ? TType.DOUBLE : variant == 2 ? TType.STRUCT
+                        : type == TType.LIST ? TType.I32 : TType.I64;
+                int size = variant == 0 ? 0 : 20;
+                if (type == TType.LIST) {
+                    oprot.writeListBegin(new TList(elemType, size));
+                } else {
+                    oprot.writeSetBegin(new TSet(elemType, size));
+                }
+                for (int i = 0; i < size; i++) {
+                    writeValue(oprot, elemType, i % 4, depth + 1);
+                }
+                if (type == TType.LIST) {
+                    oprot.writeListEnd();
+                } else {
+                    oprot.writeSetEnd();
+                }
+                break;
+            }
+            case TType.MAP: {
+                // variant 0: 空map, 1: 整数的key和value, 2: 变长的key和嵌套的value, 3: 两种协议都定长的key和value
+                byte keyType = variant == 2 ? TType.STRING : variant == 3 ? TType.BYTE : TType.I32;
+                byte valueType = variant == 2 ? TType.LIST : variant == 3 ? TType.DOUBLE : TType.I64;
+                int size = variant == 0 || depth > 2 ? 0 : 10;
+                oprot.writeMapBegin(new TMap(keyType, valueType, size));
+                for (int i = 0; i < size; i++) {
+                    writeValue(oprot, keyType, i % 4, depth + 1);
+                    writeValue(oprot, valueType, i % 4, depth + 1);
+                }
+                oprot.writeMapEnd();
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("type: " + type);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.client.netty;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * WriteCoalescer: 同一轮事件循环中的请求合并成一次flush, 每批不超过maxBatch, 写失败的请求以异常结束,
+ * 多个线程同时写出时请求不丢失
+ */
+public class WriteCoalescerTest {
+
+    private static final long NO_TIMEOUT = 60_000;
+
+    @Test
+    public void oneFlushPerBatch() {
+        FlushCounter counter = new FlushCounter();
+        EmbeddedChannel channel = new EmbeddedChannel(counter);
+        WriteCoalescer coalescer = new WriteCoalescer(channel, 64);
+        InFlightRequests inFlight = new InFlightRequests(16);
+
+        for (int seqid = 0; seqid < 10; seqid++) {
+            coalescer.write(inFlight.register(seqid, NO_TIMEOUT), request(seqid));
+        }
+        // 事件循环执行任务之前不写出
+        assertTrue(counter.batches.isEmpty());
+
+        channel.runPendingTasks();
+        assertEquals(listOf(10), counter.batches);
+        for (int seqid = 0; seqid < 10; seqid++) {
+            ByteBuf written = channel.readOutbound();
+            assertEquals(seqid, written.readInt());
+            written.release();
+        }
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void maxBatch() {
+        FlushCounter counter = new FlushCounter();
+        EmbeddedChannel channel = new EmbeddedChannel(counter);
+        WriteCoalescer coalescer = new WriteCoalescer(channel, 4);
+        InFlightRequests inFlight = new InFlightRequests(16);
+
+        for (int seqid = 0; seqid < 10; seqid++) {
+            coalescer.write(inFlight.register(seqid, NO_TIMEOUT), request(seqid));
+        }
+        channel.runPendingTasks();
+        assertEquals(listOf(4, 4, 2), counter.batches);
+        channel.finishAndReleaseAll();
+    }
+
+    /**
+     * maxBatch为1时不合并, 在调用线程直接writeAndFlush
+     */
+    @Test
+    public void noBatching() {
+        FlushCounter counter = new FlushCounter();
+        EmbeddedChannel channel = new EmbeddedChannel(counter);
+        WriteCoalescer coalescer = new WriteCoalescer(channel, 1);
+        InFlightRequests inFlight = new InFlightRequests(16);
+
+        for (int seqid = 0; seqid < 3; seqid++) {
+            coalescer.write(inFlight.register(seqid, NO_TIMEOUT), request(seqid));
+        }
+        assertEquals(listOf(1, 1, 1), counter.batches);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void writeFailureCompletesRequest() throws Exception {
+        IOException cause = new IOException("broken pipe");
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+                ((ByteBuf) msg).release();
+                promise.setFailure(cause);
+            }
+        });
+        WriteCoalescer coalescer = new WriteCoalescer(channel, 64);
+        InFlightRequests inFlight = new InFlightRequests(16);
+        InFlightRequests.PendingRequest request = inFlight.register(1, NO_TIMEOUT);
+        ByteBuf requestBuf = request(1);
+
+        coalescer.write(request, requestBuf);
+        channel.runPendingTasks();
+        try {
+            request.get(1, TimeUnit.SECONDS);
+            fail("write should fail");
+        } catch (ExecutionException e) {
+            assertEquals(cause, e.getCause());
+        }
+        assertEquals(0, inFlight.pending());
+        assertEquals(0, requestBuf.refCnt());
+        channel.finish();
+    }
+
+    /**
+     * 多个线程同时向一个真实的事件循环写出: 对端按每个线程的写出顺序收到全部请求, 所有写出都成功
+     */
+    @Test
+    public void concurrentWriters() throws Exception {
+        int threads = 4;
+        int perThread = 5000;
+        EventLoopGroup group = new DefaultEventLoopGroup(2);
+        LocalAddress address = new LocalAddress("write-coalescer-test");
+        AtomicLong received = new AtomicLong();
+        CountDownLatch allReceived = new CountDownLatch(1);
+        long[] lastByThread = new long[threads];
+        Arrays.fill(lastByThread, -1);
+        List<String> errors = new ArrayList<>();
+        try {
+            Channel server = new ServerBootstrap().group(group).channel(LocalServerChannel.class)
+                    .childHandler(new ChannelInitializer<LocalChannel>() {
+                        @Override
+                        protected void initChannel(LocalChannel ch) {
+                            ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                                @Override
+                                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                                    ByteBuf buf = (ByteBuf) msg;
+                                    int thread = buf.readInt();
+                                    long n = buf.readInt();
+                                    buf.release();
+                                    if (n != lastByThread[thread] + 1) {
+                                        errors.add("thread " + thread + ": " + n + " after " + lastByThread[thread]);
+                                    }
+                                    lastByThread[thread] = n;
+                                    if (received.incrementAndGet() == threads * perThread) {
+                                        allReceived.countDown();
+                                    }
+                                }
+                            });
+                        }
+                    }).bind(address).sync().channel();
+            Channel client = new Bootstrap().group(group).channel(LocalChannel.class)
+                    .handler(new ChannelInboundHandlerAdapter()).connect(address).sync().channel();
+            WriteCoalescer coalescer = new WriteCoalescer(client, 16);
+            InFlightRequests inFlight = new InFlightRequests(1024);
+
+            List<InFlightRequests.PendingRequest> requests = new ArrayList<>();
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                List<InFlightRequests.PendingRequest> mine = new ArrayList<>(perThread);
+                writers.add(new Thread(() -> {
+                    for (int n = 0; n < perThread; n++) {
+                        InFlightRequests.PendingRequest request = inFlight.register(thread * perThread + n, NO_TIMEOUT);
+                        mine.add(request);
+                        ByteBuf buf = Unpooled.buffer(8);
+                        buf.writeInt(thread).writeInt(n);
+                        coalescer.write(request, buf);
+                    }
+                    synchronized (requests) {
+                        requests.addAll(mine);
+                    }
+                }));
+            }
+            writers.forEach(Thread::start);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+
+            assertTrue("received " + received.get(), allReceived.await(10, TimeUnit.SECONDS));
+            assertTrue(errors.toString(), errors.isEmpty());
+            // 写出成功的请求仍在等待响应
+            assertEquals(threads * perThread, inFlight.pending());
+            for (InFlightRequests.PendingRequest request : requests) {
+                assertFalse(request.isDone());
+            }
+            client.close().sync();
+            server.close().sync();
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+        }
+    }
+
+    private static ByteBuf request(int seqid) {
+        return Unpooled.buffer(4).writeInt(seqid);
+    }
+
+    private static List<Integer> listOf(Integer... values) {
+        return Arrays.asList(values);
+    }
+
+    /**
+     * 记录每次flush之前写出的请求数
+     */
+    private static final class FlushCounter extends ChannelOutboundHandlerAdapter {
+        final List<Integer> batches = new ArrayList<>();
+        private int writes;
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            writes++;
+            ctx.write(msg, promise);
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+            batches.add(writes);
+            writes = 0;
+            ctx.flush();
+        }
+    }
+}
@@ -48,6 +48,9 @@ object Scrooge {
       |   metadata
       |   scala
       |   java
+      |     zeroCopyBinary  binary fields reference the request buffer instead of copying
+      |     lazyView        generate lazily decoded XxxView classes and xxxView client methods
+      |     primitiveCollections  list/set/map of i32/i64/double as unboxed collections
       |-----------------------------------------------------------------------
     """.stripMargin
 
@@ -64,6 +67,7 @@ object Scrooge {
     var inDir: String = null
     var resources: Array[String] = null //the thrift files
     var language: String = ""
+    var options: Set[String] = Set.empty
     var version: String = null
     var generateAll: Boolean = false
 
@@ -73,7 +77,17 @@ object Scrooge {
         args(index) match {
           case "-gen" =>
             //获取languages
-            if (index + 1 < args.length) language = args(index + 1)
+            if (index + 1 < args.length) {
+              // language[val1,val2,val3]
+              val gen = args(index + 1)
+              val optionStart = gen.indexOf('[')
+              if (optionStart > 0 && gen.endsWith("]")) {
+                language = gen.substring(0, optionStart)
+                options = gen.substring(optionStart + 1, gen.length - 1).split(",").map(_.trim).filter(_.nonEmpty).toSet
+              } else {
+                language = gen
+              }
+            }
           case "-out" =>
             //获取到outDir
             if (index + 1 < args.length) outDir = args(index + 1)
@@ -159,7 +173,7 @@ object Scrooge {
           case "metadata" => new MetadataGenerator().generate(services, outDir)
           case "js" => new JavascriptGenerator().generate(services, outDir)
           case "json" => new JsonGenerator().generate(services, outDir)
-          case "java" => new JavaGenerator().generate(services, outDir, generateAll, structs, enums)
+          case "java" => new JavaGenerator(options).generate(services, outDir, generateAll, structs, enums)
           case "scala" => new ScalaGenerator().generate(services, outDir, generateAll, structs, enums)
         }
 
@@ -28,8 +28,11 @@ import scala.xml.Elem
   *
   * @author tangliu
   * @date 15/9/8
+  * @param options 生成选项, 通过 -gen java[option1,option2] 指定
   */
-class JavaCodecGenerator extends CodeGenerator {
+class JavaCodecGenerator(options: Set[String] = Set.empty) extends CodeGenerator {
+
+  import JavaCodecGenerator._
 
   override def generate(services: util.List[Service], outDir: String, generateAll:Boolean , structs: util.List[Struct], enums:util.List[TEnum]): Unit = {}
 
@@ -103,7 +106,7 @@ class JavaCodecGenerator extends CodeGenerator {
 
            //3. args_serializer
             public static class {method.name.charAt(0).toUpper + method.name.substring(1)}_argsSerializer implements BeanSerializer{lt}{method.name}_args{gt}<block>
-            {getReadMethod(method.getRequest)}{getWriteMethod(method.getRequest)}{getValidateMethod(method.getRequest)}
+            {getReadMethod(method.getRequest)}{getWriteMethod(method.getRequest)}{getEstimateSizeMethod(method.getRequest)}{getValidateMethod(method.getRequest)}
 
             @Override
             public String toString({method.name}_args bean) <block> return bean == null ? "null" : bean.toString(); </block>
@@ -144,10 +147,11 @@ class JavaCodecGenerator extends CodeGenerator {
               </block>
               iprot.readStructEnd();
 
-              validate(bean);
+              {getRequiredFieldChecks(method.getResponse)}
               return bean;
             </block>
             {getWriteMethod(method.getResponse)}
+            {getEstimateSizeMethod(method.getResponse)}
             {getValidateMethod(method.getResponse)}
 
             @Override
@@ -738,7 +742,7 @@ class JavaCodecGenerator extends CodeGenerator {
         *
         **/
         {<div>public class {struct.name}Serializer implements BeanSerializer{lt}{struct.getNamespace() + "." + struct.name}{gt}<block>
-        {getReadMethod(struct)}{getWriteMethod(struct)}{getValidateMethod(struct)}
+        {getReadMethod(struct)}{getWriteMethod(struct)}{getEstimateSizeMethod(struct)}{getValidateMethod(struct)}
         @Override
         public String toString({struct.getNamespace() + "." + struct.name} bean)
         <block>return bean == null ? "null" : bean.toString();</block>
@@ -782,6 +786,10 @@ class JavaCodecGenerator extends CodeGenerator {
   }
 
   def toJavaDataType(dataType:DataType): Elem = {
+    toPrimitiveCollection(options, dataType) match {
+      case Some(collection) => return <div>{collection.className}</div>
+      case None =>
+    }
     dataType.kind match {
       case KIND.VOID => <div>void</div>
       case KIND.BOOLEAN => <div>Boolean</div>
@@ -811,6 +819,10 @@ class JavaCodecGenerator extends CodeGenerator {
 
 
   def getJavaReadElement(dataType: DataType, index: Int):Elem = {
+    toPrimitiveCollection(options, dataType) match {
+      case Some(collection) => return getPrimitiveCollectionReadElement(collection, index)
+      case None =>
+    }
     dataType.kind match {
       case KIND.BOOLEAN => <div>boolean elem{index} = iprot.readBool();</div>
       case KIND.STRING => <div>String elem{index} = iprot.readString();</div>
@@ -819,7 +831,9 @@ class JavaCodecGenerator extends CodeGenerator {
       case KIND.INTEGER => <div> int elem{index} = iprot.readI32();</div>
       case KIND.LONG => <div>long elem{index} = iprot.readI64();</div>
       case KIND.DOUBLE => <div> double elem{index} = iprot.readDouble();</div>
-      case KIND.BINARY => <div>java.nio.ByteBuffer elem{index} = iprot.readBinary();</div>
+      case KIND.BINARY =>
+        if (options.contains(ZeroCopyBinary)) <div>java.nio.ByteBuffer elem{index} = iprot.readBinaryView();</div>
+        else <div>java.nio.ByteBuffer elem{index} = iprot.readBinary();</div>
       case KIND.BIGDECIMAL => <div>java.math.BigDecimal elem{index} = new java.math.BigDecimal(iprot.readString());</div>
       case KIND.DATE => <div>Long time = iprot.readI64(); java.util.Date elem{index} = new java.util.Date(time);</div>
       case KIND.STRUCT => <div>{dataType.qualifiedName} elem{index} = new {dataType.qualifiedName}();
@@ -901,13 +915,75 @@ class JavaCodecGenerator extends CodeGenerator {
       </block>
       iprot.readStructEnd();
 
-      validate(bean);
+      {getRequiredFieldChecks(struct)}
       return bean;
     </block>
     </div>
   }
 
+  /**
+    * 原生类型集合的读取, 元素直接用add/put的原生类型重载写入, 不装箱
+    */
+  def getPrimitiveCollectionReadElement(collection: PrimitiveCollection, index: Int): Elem = {
+    collection.kind match {
+      case KIND.LIST => <div>com.github.dapeng.org.apache.thrift.protocol.TList _list{index} = iprot.readListBegin();
+        {collection.className} elem{index} = new {collection.className}(_list{index}.size);
+        for(int _i{index} = 0; _i{index} {lt} _list{index}.size; ++ _i{index})<block>
+          elem{index}.add{collection.element.name}(iprot.read{collection.element.wire}());
+        </block>
+        iprot.readListEnd();</div>
+      case KIND.SET => <div>com.github.dapeng.org.apache.thrift.protocol.TSet _set{index} = iprot.readSetBegin();
+        {collection.className} elem{index} = new {collection.className}(_set{index}.size);
+        for(int _i{index} = 0; _i{index} {lt} _set{index}.size; ++ _i{index})<block>
+          elem{index}.add{collection.element.name}(iprot.read{collection.element.wire}());
+        </block>
+        iprot.readSetEnd();</div>
+      case KIND.MAP => <div>com.github.dapeng.org.apache.thrift.protocol.TMap _map{index} = iprot.readMapBegin();
+        {collection.className} elem{index} = new {collection.className}(_map{index}.size);
+        for(int _i{index} = 0; _i{index} {lt} _map{index}.size; ++ _i{index})<block>
+          elem{index}.put(iprot.read{collection.key.get.wire}(), iprot.read{collection.element.wire}());
+        </block>
+        iprot.readMapEnd();</div>
+      case _ => throw new IllegalArgumentException(s"不支持的原生类型集合: ${collection.kind}")
+    }
+  }
+
+  /**
+    * 原生类型集合的写出, list按下标遍历, set/map按槽位遍历, 不产生迭代器及装箱对象
+    */
+  def getPrimitiveCollectionWriteElement(collection: PrimitiveCollection, dataType: DataType, index: Int): Elem = {
+    collection.kind match {
+      case KIND.LIST => <div>
+        oprot.writeListBegin(new com.github.dapeng.org.apache.thrift.protocol.TList({toThriftDateType(dataType.valueType)}, elem{index}.size()));
+        for(int _i{index} = 0; _i{index} {lt} elem{index}.size(); ++ _i{index})<block>
+          oprot.write{collection.element.wire}(elem{index}.get{collection.element.name}(_i{index}));
+        </block>
+        oprot.writeListEnd();
+      </div>
+      case KIND.SET => <div>
+        oprot.writeSetBegin(new com.github.dapeng.org.apache.thrift.protocol.TSet({toThriftDateType(dataType.valueType)}, elem{index}.size()));
+        for(int _s{index} = elem{index}.nextSlot(0); _s{index} {gt}= 0; _s{index} = elem{index}.nextSlot(_s{index} + 1))<block>
+          oprot.write{collection.element.wire}(elem{index}.keyAt(_s{index}));
+        </block>
+        oprot.writeSetEnd();
+      </div>
+      case KIND.MAP => <div>
+        oprot.writeMapBegin(new com.github.dapeng.org.apache.thrift.protocol.TMap({toThriftDateType(dataType.keyType)}, {toThriftDateType(dataType.valueType)}, elem{index}.size()));
+        for(int _s{index} = elem{index}.nextSlot(0); _s{index} {gt}= 0; _s{index} = elem{index}.nextSlot(_s{index} + 1))<block>
+          oprot.write{collection.key.get.wire}(elem{index}.keyAt(_s{index}));
+          oprot.write{collection.element.wire}(elem{index}.valueAt(_s{index}));
+        </block>
+        oprot.writeMapEnd();
+      </div>
+      case _ => throw new IllegalArgumentException(s"不支持的原生类型集合: ${collection.kind}")
+    }
+  }
+
   def toJavaWriteElement(dataType: DataType, index: Int): Elem = {
+    toPrimitiveCollection(options, dataType) match {
+      case Some(collection) => return getPrimitiveCollectionWriteElement(collection, dataType, index)
+      case None =>
+    }
 
     dataType.kind match {
       case KIND.BOOLEAN => <div>oprot.writeBool(elem{index});</div>
@@ -958,6 +1034,10 @@ class JavaCodecGenerator extends CodeGenerator {
   }
 
 
+  /**
+    * 必填字段的非空检查在写出该字段时顺带完成, 嵌套结构体由各自的write检查,
+    * 每个对象只遍历一次, 不再在write之前调用validate
+    */
   def getWriteMethod(struct: Struct): Elem = {
 
     var index = 0
@@ -965,7 +1045,6 @@ class JavaCodecGenerator extends CodeGenerator {
       @Override
       public void write({toStructName(struct)} bean, TProtocol oprot) throws TException<block>
 
-      validate(bean);
       oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("{struct.name}"));
 
       {toFieldArrayBuffer(struct.fields).map{(field : Field) =>{
@@ -980,8 +1059,10 @@ class JavaCodecGenerator extends CodeGenerator {
             </block>
             </div>
           }else{<div>
-            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("{field.name}", {toThriftDateType(field.dataType)}, (short) {field.tag}));
             {toJavaDataType(field.dataType)} elem{index} = bean.get{field.name.charAt(0).toUpper + field.name.substring(1)}();
+            {if(checkIfNeedValidate(field.isOptional, field.dataType)) <div>if(elem{index} == null)
+              throw new SoaException(SoaCode.StructFieldNull, "{field.name}字段不允许为空");</div>}
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("{field.name}", {toThriftDateType(field.dataType)}, (short) {field.tag}));
             {toJavaWriteElement(field.dataType, index)}
             {index = index + 1}
             oprot.writeFieldEnd();
@@ -997,17 +1078,122 @@ class JavaCodecGenerator extends CodeGenerator {
     </div>
   }
 
+  /**
+    * 定长类型编码后的字节数上限, 非定长类型返回None
+    */
+  def toFixedSize(dataType: DataType): Option[String] = {
+    dataType.kind match {
+      case KIND.BOOLEAN => Some("com.github.dapeng.core.helper.SizeEstimator.BOOL")
+      case KIND.BYTE => Some("com.github.dapeng.core.helper.SizeEstimator.BYTE")
+      case KIND.SHORT => Some("com.github.dapeng.core.helper.SizeEstimator.I16")
+      case KIND.INTEGER | KIND.ENUM => Some("com.github.dapeng.core.helper.SizeEstimator.I32")
+      case KIND.LONG | KIND.DATE => Some("com.github.dapeng.core.helper.SizeEstimator.I64")
+      case KIND.DOUBLE => Some("com.github.dapeng.core.helper.SizeEstimator.DOUBLE")
+      case _ => None
+    }
+  }
+
+  def toJavaEstimateElement(dataType: DataType, index: Int): Elem = {
+    toFixedSize(dataType) match {
+      case Some(fixedSize) => return <div>size += {fixedSize};</div>
+      case None =>
+    }
+    dataType.kind match {
+      case KIND.STRING => <div>size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem{index});</div>
+      case KIND.BINARY => <div>size += com.github.dapeng.core.helper.SizeEstimator.binarySize(elem{index});</div>
+      case KIND.BIGDECIMAL => <div>size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem{index});</div>
+      case KIND.STRUCT => <div>if(elem{index} != null) size += new {dataType.qualifiedName.substring(0,dataType.qualifiedName.lastIndexOf("."))+".serializer."+dataType.qualifiedName.substring(dataType.qualifiedName.lastIndexOf(".")+1)}Serializer().estimateSize(elem{index});</div>
+      case KIND.LIST | KIND.SET =>
+        <div>size += com.github.dapeng.core.helper.SizeEstimator.COLLECTION;
+          if(elem{index} != null)<block>{
+          toFixedSize(dataType.valueType) match {
+            case Some(fixedSize) => <div>size += elem{index}.size() * {fixedSize};</div>
+            case None =>
+              <div>for({toJavaDataType(dataType.valueType)} elem{index+1} : elem{index})<block>
+                {toJavaEstimateElement(dataType.valueType, index+1)}
+              </block></div>
+          }}
+        </block>
+        </div>
+      case KIND.MAP =>
+        <div>size += com.github.dapeng.core.helper.SizeEstimator.COLLECTION;
+          if(elem{index} != null)<block>{
+          (toFixedSize(dataType.keyType), toFixedSize(dataType.valueType)) match {
+            case (Some(keySize), Some(valueSize)) => <div>size += elem{index}.size() * ({keySize} + {valueSize});</div>
+            case _ =>
+              <div>for(java.util.Map.Entry{lt}{toJavaDataType(dataType.keyType)}, {toJavaDataType(dataType.valueType)}{gt} _it{index} : elem{index}.entrySet())<block>
+                {toJavaDataType(dataType.keyType)} elem{index+1} = _it{index}.getKey();
+                {toJavaDataType(dataType.valueType)} elem{index+2} = _it{index}.getValue();
+                {toJavaEstimateElement(dataType.keyType, index+1)}
+                {toJavaEstimateElement(dataType.valueType, index+2)}
+              </block></div>
+          }}
+        </block>
+        </div>
+      case _ => <div></div>
+    }
+  }
+
+  /**
+    * 估算序列化后的字节数(TBinaryProtocol/TCompactProtocol的上限), 不做校验, 空值按不写出计算
+    */
+  def getEstimateSizeMethod(struct: Struct): Elem = {
+    var index = 0
+    <div>
+      @Override
+      public int estimateSize({toStructName(struct)} bean)<block>
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {toFieldArrayBuffer(struct.fields).filter(_.dataType.getKind != DataType.KIND.VOID).map{(field : Field) =>{
+        val getter = "get" + field.name.charAt(0).toUpper + field.name.substring(1)
+        val elem =
+          if(field.isOptional){
+            <div>if(bean.{getter}().isPresent())<block>
+              {toJavaDataType(field.dataType)} elem{index} = bean.{getter}().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              {toJavaEstimateElement(field.dataType, index)}
+            </block>
+            </div>
+          } else if (toFixedSize(field.dataType).isDefined) {
+            <div>size += com.github.dapeng.core.helper.SizeEstimator.FIELD + {toFixedSize(field.dataType).get};</div>
+          } else {
+            <div><block>
+              {toJavaDataType(field.dataType)} elem{index} = bean.{getter}();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              {toJavaEstimateElement(field.dataType, index)}
+            </block>
+            </div>
+          }
+        index = index + 1
+        elem
+      }
+      }
+      }
+      return size;
+    </block>
+    </div>
+  }
+
+  /**
+    * 当前结构体必填字段的非空检查(不递归). 嵌套结构体在各自的read中已经检查过
+    */
+  def getRequiredFieldChecks(struct: Struct) : Elem = {
+    <div>{
+      toFieldArrayBuffer(struct.fields).map{(field : Field) =>{
+        if(!field.isOptional && field.dataType.kind != DataType.KIND.VOID && checkIfNeedValidate(field.isOptional, field.dataType)){
+          <div>
+            if(bean.get{field.name.charAt(0).toUpper + field.name.substring(1)}() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "{field.name}字段不允许为空");
+          </div>}}
+      }
+    }</div>
+  }
+
   def getValidateMethod(struct: Struct) : Elem = {
     <div>
       public void validate({toStructName(struct)} bean) throws TException<block>
+      {getRequiredFieldChecks(struct)}
       {
       toFieldArrayBuffer(struct.fields).map{(field : Field) =>{
-        <div>{
-          if(!field.isOptional && field.dataType.kind != DataType.KIND.VOID && checkIfNeedValidate(field.isOptional, field.dataType)){
-            <div>
-              if(bean.get{field.name.charAt(0).toUpper + field.name.substring(1)}() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "{field.name}字段不允许为空");
-            </div>}}</div>
           <div>{
             if(!field.isOptional && field.dataType.kind == KIND.STRUCT && field.dataType.kind != DataType.KIND.VOID){
               <div>
@@ -1057,3 +1243,65 @@ class JavaCodecGenerator extends CodeGenerator {
   }
 
 }
+
+object JavaCodecGenerator {
+  /**
+    * binary字段解码为只读的ByteBuffer视图, 直接引用请求帧的内存(不拷贝).
+    * 视图只在请求处理期间有效, 服务实现如需在响应返回后继续使用, 需自行拷贝.
+    */
+  val ZeroCopyBinary = "zeroCopyBinary"
+
+  /**
+    * 为每个结构体额外生成延迟解码视图XxxView, 客户端为返回结构体的方法额外生成xxxView方法.
+    * 视图只在读取时做一次浅扫描, 字段在第一次访问时才解码.
+    */
+  val LazyView = "lazyView"
+
+  /**
+    * list<i32/i64/double>, set<i32/i64>, map<i32/i64, i32/i64> 生成为
+    * com.github.dapeng.core.collections下不装箱的集合类型, 序列化代码使用原生类型读写.
+    * 其他集合类型不受影响.
+    */
+  val PrimitiveCollections = "primitiveCollections"
+
+  /**
+    * @param name 集合方法名中的类型名, 如addInt/getLong
+    * @param wire 协议读写方法中的类型名, 如readI32/writeI64
+    */
+  case class PrimitiveElement(name: String, wire: String)
+
+  case class PrimitiveCollection(kind: KIND, className: String, key: Option[PrimitiveElement], element: PrimitiveElement)
+
+  private def toPrimitiveElement(dataType: DataType): Option[PrimitiveElement] = {
+    dataType.kind match {
+      case KIND.INTEGER => Some(PrimitiveElement("Int", "I32"))
+      case KIND.LONG => Some(PrimitiveElement("Long", "I64"))
+      case KIND.DOUBLE => Some(PrimitiveElement("Double", "Double"))
+      case _ => None
+    }
+  }
+
+  /**
+    * 集合类型对应的原生类型集合, 未开启primitiveCollections选项或者没有对应的实现时返回None
+    */
+  def toPrimitiveCollection(options: Set[String], dataType: DataType): Option[PrimitiveCollection] = {
+    if (!options.contains(PrimitiveCollections)) return None
+
+    val pkg = "com.github.dapeng.core.collections."
+    dataType.kind match {
+      case KIND.LIST =>
+        toPrimitiveElement(dataType.valueType)
+          .map(element => PrimitiveCollection(KIND.LIST, pkg + element.name + "ArrayList", None, element))
+      case KIND.SET =>
+        toPrimitiveElement(dataType.valueType).filter(_.name != "Double")
+          .map(element => PrimitiveCollection(KIND.SET, pkg + element.name + "HashSet", None, element))
+      case KIND.MAP =>
+        (toPrimitiveElement(dataType.keyType), toPrimitiveElement(dataType.valueType)) match {
+          case (Some(key), Some(value)) if key.name != "Double" && value.name != "Double" =>
+            Some(PrimitiveCollection(KIND.MAP, pkg + key.name + value.name + "HashMap", Some(key), value))
+          case _ => None
+        }
+      case _ => None
+    }
+  }
+}
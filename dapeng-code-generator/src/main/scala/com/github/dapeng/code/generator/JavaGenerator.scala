@@ -32,8 +32,9 @@ import scala.xml.Elem
   * JAVA生成器
   *
   * @author tangliu
+  * @param options 生成选项, 见JavaCodecGenerator
   */
-class JavaGenerator extends CodeGenerator {
+class JavaGenerator(options: Set[String] = Set.empty) extends CodeGenerator {
 
   override def generate(services: util.List[Service], outDir: String): Unit = {}
 
@@ -95,10 +96,12 @@ class JavaGenerator extends CodeGenerator {
         println(s"生成struct:${struct.name}.java 完成")
 
 
-        val structSerializerTemplate = new StringTemplate(new JavaCodecGenerator().toStructSerializerTemplate(struct,structNamespaces))
+        val structSerializerTemplate = new StringTemplate(new JavaCodecGenerator(options).toStructSerializerTemplate(struct,structNamespaces))
         val structSerializerWriter = new PrintWriter(new File(rootDir(outDir, struct.namespace+".serializer."),s"${struct.name}Serializer.java"), "UTF-8")
         structSerializerWriter.write(structSerializerTemplate.toString)
         structSerializerWriter.close()
+
+        if (options.contains(JavaCodecGenerator.LazyView)) generateStructView(struct, outDir)
       }
       }
 
@@ -183,22 +186,24 @@ class JavaGenerator extends CodeGenerator {
       println(s"生成serializer")
       toStructArrayBuffer(service.structDefinitions).map{(struct:Struct)=>{
         println(s" 生成Serializer: ${struct.name}Serializer..")
-        val structSerializerTemplate = new StringTemplate(new JavaCodecGenerator().toStructSerializerTemplate(struct,structNamespaces))
+        val structSerializerTemplate = new StringTemplate(new JavaCodecGenerator(options).toStructSerializerTemplate(struct,structNamespaces))
         val structSerializerWriter = new PrintWriter(new File(rootDir(outDir, struct.namespace+".serializer."),s"${struct.name}Serializer.java"), "UTF-8")
         structSerializerWriter.write(structSerializerTemplate.toString)
         structSerializerWriter.close()
         println(s" 生成Serializer: ${struct.name}Serializer..完成")
+
+        if (options.contains(JavaCodecGenerator.LazyView)) generateStructView(struct, outDir)
       }}
 
       println(s"生成SuperCodec:${service.name}SuperCodec.java")
-      val superCodecTemplate = new StringTemplate(new JavaCodecGenerator().toSuperCodecTemplate(service, namespaces,structNamespaces))
+      val superCodecTemplate = new StringTemplate(new JavaCodecGenerator(options).toSuperCodecTemplate(service, namespaces,structNamespaces))
       val superCodecWriter = new PrintWriter(new File(rootDir(outDir, service.namespace.substring(0, service.namespace.lastIndexOf("."))), s"${service.name}SuperCodec.java"), "UTF-8")
       superCodecWriter.write(superCodecTemplate.toString())
       superCodecWriter.close()
       println(s"生成SupperCodec:${service.name}SuperCodec.java 完成")
 
       println(s"生成Codec:${service.name}Codec.java")
-      val codecTemplate = new StringTemplate(new JavaCodecGenerator().toCodecTemplate(service, namespaces,structNamespaces))
+      val codecTemplate = new StringTemplate(new JavaCodecGenerator(options).toCodecTemplate(service, namespaces,structNamespaces))
       val codecWriter = new PrintWriter(new File(rootDir(outDir, service.namespace.substring(0, service.namespace.lastIndexOf("."))), s"${service.name}Codec.java"), "UTF-8")
       codecWriter.write(codecTemplate.toString())
       codecWriter.close()
@@ -206,7 +211,7 @@ class JavaGenerator extends CodeGenerator {
 
 
       println(s"生成AsyncCodec:${service.name}AsyncCodec.java")
-      val asyncCodecTemplate = new StringTemplate(new JavaCodecGenerator().toAsyncCodecTemplate(service, namespaces,structNamespaces))
+      val asyncCodecTemplate = new StringTemplate(new JavaCodecGenerator(options).toAsyncCodecTemplate(service, namespaces,structNamespaces))
       val asyncCodecWriter = new PrintWriter(new File(rootDir(outDir, service.namespace.substring(0, service.namespace.lastIndexOf("."))), s"${service.name}AsyncCodec.java"), "UTF-8")
       asyncCodecWriter.write(asyncCodecTemplate.toString())
       asyncCodecWriter.close()
@@ -306,6 +311,31 @@ class JavaGenerator extends CodeGenerator {
               }
             </block>
             </div>
+            {
+            val successType = method.getResponse.getFields().get(0).getDataType
+            if (options.contains(JavaCodecGenerator.LazyView) && successType.getKind == DataType.KIND.STRUCT) {
+              <div>
+                /**
+                * {method.name}的延迟解码版本, 返回值的字段在第一次访问时才解码
+                **/
+                public {successType.getQualifiedName}View {method.name}View({toFieldArrayBuffer(method.getRequest.getFields).map{ (field: Field) =>{
+                <div>{toDataTypeTemplate(field.getDataType())} {field.name}{if(field != method.getRequest.fields.get(method.getRequest.fields.size() - 1)) <span>,</span>}</div>}}}) throws SoaException<block>
+
+                {method.getRequest.name} {method.getRequest.name} = new {method.getRequest.name}();
+                {
+                toFieldArrayBuffer(method.getRequest.getFields).map{(field: Field)=>{
+                  <div>{method.getRequest.name}.set{field.name.charAt(0).toUpper + field.name.substring(1)}({field.name});
+                  </div>
+                }
+                }
+                }
+
+                return pool.send(serviceName,version,"{method.name}",{method.request.name}, new {method.request.name.charAt(0).toUpper + method.request.name.substring(1)}Serializer(),
+                  new LazyResultSerializer{lt}{successType.getQualifiedName}View{gt}("{method.response.name}", new LazyViewSerializer{lt}{successType.getQualifiedName}View{gt}({successType.getQualifiedName}View::new)));
+              </block>
+              </div>
+            } else <div></div>
+            }
           </div>
 
         </div>
@@ -516,6 +546,92 @@ class JavaGenerator extends CodeGenerator {
     }
   }
 
+  private def generateStructView(struct: Struct, outDir: String): Unit = {
+    println(s" 生成View: ${struct.name}View..")
+    val viewTemplate = new StringTemplate(toStructViewTemplate(struct))
+    val viewWriter = new PrintWriter(new File(rootDir(outDir, struct.getNamespace), s"${struct.name}View.java"), "UTF-8")
+    viewWriter.write(viewTemplate.toString)
+    viewWriter.close()
+    println(s" 生成View: ${struct.name}View..完成")
+  }
+
+  /**
+    * 结构体的延迟解码视图, 字段在第一次访问时才解码
+    */
+  private def toStructViewTemplate(struct: Struct): Elem = {
+    val codec = new JavaCodecGenerator(options)
+    <div>package {struct.namespace};
+
+      import java.util.Optional;
+      import com.github.dapeng.core.*;
+      import com.github.dapeng.org.apache.thrift.TException;
+      import com.github.dapeng.org.apache.thrift.protocol.TProtocol;
+
+      /**
+      {notice}
+      * {struct.name}的延迟解码视图, 字段在第一次访问时才解码, materialize()返回完整的{struct.name}
+      **/
+      public class {struct.name}View extends LazyStructView{lt}{struct.name}{gt}<block>
+
+      private static final BeanSerializer{lt}{struct.name}{gt} SERIALIZER = new {struct.namespace}.serializer.{struct.name}Serializer();
+
+      @Override
+      protected BeanSerializer{lt}{struct.name}{gt} serializer()<block> return SERIALIZER; </block>
+      {toFieldArrayBuffer(struct.getFields).filter(_.dataType.kind != KIND.VOID).map{(field : Field) =>{
+        val fieldType = <div>{if(field.isOptional) <div>Optional{lt}</div>}{toDataTypeTemplate(field.isOptional, field.getDataType)}{if(field.isOptional) <div>{gt}</div>}</div>
+        val getter = "get" + field.name.charAt(0).toUpper + field.name.substring(1)
+        <div>
+          private {fieldType} {field.name} {if(field.isOptional) <div>= Optional.empty()</div> else toCollectionInit(field.dataType)};
+          private boolean {field.name}Decoded;
+
+          /**
+          *{field.doc}
+          **/
+          public {fieldType} {getter}() throws SoaException<block>
+          if (bean() != null) <block> return bean().{getter}(); </block>
+          if (!{field.name}Decoded) <block>
+          {if (field.dataType.kind == KIND.BOOLEAN) {
+            <div>Boolean elem0 = fieldBool((short){field.tag});
+              if (elem0 != null) <block> this.{field.name} = {if(field.optional) <div>Optional.of(</div>}elem0{if(field.optional) <div>)</div>}; </block></div>
+          } else {
+            <div>TProtocol iprot = fieldProtocol((short){field.tag}, {codec.toThriftDateType(field.dataType)});
+              if (iprot != null) <block>
+              try <block>
+              {codec.getJavaReadElement(field.dataType, 0)}
+              this.{field.name} = {if(field.optional) <div>Optional.of(</div>}elem0{if(field.optional) <div>)</div>};
+            </block> catch (SoaException e) <block>
+              throw e;
+            </block> catch (TException e) <block>
+              throw decodeError(e);
+            </block>
+            </block></div>
+          }}
+          {field.name}Decoded = true;
+        </block>
+          return this.{field.name};
+        </block>
+        </div>
+      }}}
+    </block>
+    </div>
+  }
+
+  /**
+    * 必填集合字段的初始值
+    */
+  private def toCollectionInit(dataType: DataType): Elem = {
+    JavaCodecGenerator.toPrimitiveCollection(options, dataType) match {
+      case Some(collection) => return <div>= new {collection.className}()</div>
+      case None =>
+    }
+    dataType.kind match {
+      case KIND.LIST => <div>= new java.util.ArrayList()</div>
+      case KIND.SET => <div>= new java.util.HashSet{lt}{gt}()</div>
+      case KIND.MAP => <div>= new java.util.HashMap{lt}{gt}()</div>
+      case _ => <div></div>
+    }
+  }
+
   private def toDomainTemplate(struct: Struct): Elem = {
     {
       <div>package {struct.namespace};
@@ -535,14 +651,7 @@ class JavaGenerator extends CodeGenerator {
             /**
             *{field.doc}
             **/
-            {if(field.isPrivacy)  <div>private</div> else <div>public</div>} {if(field.isOptional) <div>Optional{lt}</div>}{toDataTypeTemplate(field.isOptional, field.getDataType)}{if(field.isOptional) <div>{gt}</div>} {field.name} {if(field.isOptional) <div>= Optional.empty()</div> else {
-            field.dataType.kind match {
-              case KIND.LIST => <div>= new java.util.ArrayList()</div>
-              case KIND.SET => <div>= new java.util.HashSet{lt}{gt}()</div>
-              case KIND.MAP => <div>= new java.util.HashMap{lt}{gt}()</div>
-              case _ => <div></div>
-            }
-          }};
+            {if(field.isPrivacy)  <div>private</div> else <div>public</div>} {if(field.isOptional) <div>Optional{lt}</div>}{toDataTypeTemplate(field.isOptional, field.getDataType)}{if(field.isOptional) <div>{gt}</div>} {field.name} {if(field.isOptional) <div>= Optional.empty()</div> else toCollectionInit(field.dataType)};
             public {if(field.isOptional) <div>Optional{lt}</div>}{toDataTypeTemplate(field.isOptional, field.getDataType)}{if(field.isOptional) <div>{gt}</div>} get{field.name.charAt(0).toUpper + field.name.substring(1)}()<block> return this.{field.name}; </block>
             public void set{field.name.charAt(0).toUpper + field.name.substring(1)}({if(field.isOptional) <div>Optional{lt}</div>}{toDataTypeTemplate(field.isOptional, field.getDataType)}{if(field.isOptional) <div>{gt}</div>} {field.name})<block> this.{field.name} = {field.name}; </block>
 
@@ -734,6 +843,10 @@ class JavaGenerator extends CodeGenerator {
   }
 
   def toDataTypeTemplate(dataType:DataType): Elem = {
+    JavaCodecGenerator.toPrimitiveCollection(options, dataType) match {
+      case Some(collection) => return <div>{collection.className}</div>
+      case None =>
+    }
     dataType.kind match {
       case KIND.VOID => <div>void</div>
       case KIND.BOOLEAN => <div>Boolean</div>
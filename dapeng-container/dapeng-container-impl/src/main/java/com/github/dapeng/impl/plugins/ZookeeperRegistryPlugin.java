@@ -26,7 +26,7 @@ import com.github.dapeng.core.ServiceInfo;
 import com.github.dapeng.core.helper.SoaSystemEnvProperties;
 import com.github.dapeng.impl.container.DapengApplication;
 import com.github.dapeng.registry.RegistryAgent;
-import com.github.dapeng.registry.zookeeper.ServerZkAgentImpl;
+import com.github.dapeng.registry.RegistryAgentFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,7 +36,7 @@ public class ZookeeperRegistryPlugin implements AppListener, Plugin {
     private static final Logger LOGGER = LoggerFactory.getLogger(ZookeeperRegistryPlugin.class);
 
     private final Container container;
-    private final RegistryAgent registryAgent = ServerZkAgentImpl.getInstance();
+    private final RegistryAgent registryAgent = RegistryAgentFactory.getServerAgent();
 
     public ZookeeperRegistryPlugin(Container container) {
         this.container = container;
@@ -20,12 +20,14 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.LoggerContext;
 import com.github.dapeng.api.Container;
 import com.github.dapeng.core.Application;
+import com.github.dapeng.core.helper.SkippedFieldsCounter;
 import com.github.dapeng.impl.plugins.monitor.ServerCounterContainer;
 import com.github.dapeng.impl.plugins.monitor.config.MonitorFilterProperties;
 import com.github.dapeng.util.DumpUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -204,6 +206,22 @@ public class ContainerRuntimeInfo implements ContainerRuntimeInfoMBean {
         return sb.toString();
     }
 
+    @Override
+    public String getSkippedFields() {
+        Map<String, Long> skippedMessages = SkippedFieldsCounter.skippedMessages();
+        Map<String, Long> skippedBytes = SkippedFieldsCounter.skippedBytes();
+        StringBuilder sb = new StringBuilder();
+        sb.append("[Dapeng Mbean] Dapeng Skipped Fields == [ Messages/Bytes ] == [ ");
+        skippedBytes.forEach((method, bytes) -> sb.append("\n")
+                .append(method)
+                .append(" == ")
+                .append(skippedMessages.getOrDefault(method, 0L))
+                .append("/")
+                .append(bytes));
+        sb.append("\n ]");
+        return sb.toString();
+    }
+
     private String getContainerVersion() {
         return CONTAINER_VERSION;
     }
@@ -87,4 +87,10 @@ public interface ContainerRuntimeInfoMBean {
      */
     String getNettyConnections();
 
+    /**
+     * 获取各方法解码时跳过的未知字段统计(消息数/字节数)
+     * @return
+     */
+    String getSkippedFields();
+
 }
@@ -19,7 +19,7 @@ package com.github.dapeng.impl.plugins.netty;
 import com.github.dapeng.core.*;
 import com.github.dapeng.impl.filters.freq.ShmManager;
 import com.github.dapeng.registry.RegistryAgent;
-import com.github.dapeng.registry.zookeeper.ServerZkAgentImpl;
+import com.github.dapeng.registry.RegistryAgentFactory;
 import com.github.dapeng.registry.zookeeper.ZkServiceInfo;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -37,7 +37,7 @@ import org.slf4j.LoggerFactory;
 public class SoaFreqHandler extends ChannelInboundHandlerAdapter {
     private static final Logger LOGGER = LoggerFactory.getLogger(SoaFreqHandler.class.getName());
     private static ShmManager manager = ShmManager.getInstance();
-    private static RegistryAgent serverZkAgent = ServerZkAgentImpl.getInstance();
+    private static RegistryAgent serverZkAgent = RegistryAgentFactory.getServerAgent();
 
 
     @Override
@@ -75,6 +75,25 @@ public class SoaMessageProcessor {
     }
 
     public void writeHeader(TransactionContext context) throws TException {
+        writeHeaderPrefix(context);
+
+        new SoaHeaderSerializer().write(context.getHeader(), headerProtocol);
+    }
+
+    /**
+     * 使用预编码的响应头模板写入SoaHeader
+     *
+     * @param context  服务上下文
+     * @param template 当前方法的响应头模板
+     * @throws TException
+     */
+    void writeHeader(TransactionContext context, SoaResponseHeaderTemplate template) throws TException {
+        writeHeaderPrefix(context);
+
+        template.write(context.getHeader(), headerProtocol);
+    }
+
+    private void writeHeaderPrefix(TransactionContext context) throws TException {
 
         headerProtocol = new TBinaryProtocol(transport);
 
@@ -99,8 +118,6 @@ public class SoaMessageProcessor {
             default:
                 LOGGER.error("Unknow Protocol", new Throwable());
         }
-
-        new SoaHeaderSerializer().write(context.getHeader(), headerProtocol);
     }
 
     public <RESP>void writeBody(BeanSerializer<RESP> respSerializer, RESP result ) throws TException {
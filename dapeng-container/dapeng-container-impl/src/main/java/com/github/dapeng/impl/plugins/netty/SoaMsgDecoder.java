@@ -24,6 +24,7 @@ import com.github.dapeng.core.definition.SoaFunctionDefinition;
 import com.github.dapeng.core.definition.SoaServiceDefinition;
 import com.github.dapeng.core.helper.DapengUtil;
 import com.github.dapeng.core.helper.IPUtils;
+import com.github.dapeng.core.helper.SkippedFieldsCounter;
 import com.github.dapeng.core.helper.SoaSystemEnvProperties;
 import com.github.dapeng.org.apache.thrift.TException;
 import com.github.dapeng.org.apache.thrift.protocol.TProtocol;
@@ -51,6 +52,10 @@ import static io.netty.channel.ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE;
 @ChannelHandler.Sharable
 public class SoaMsgDecoder extends MessageToMessageDecoder<ByteBuf> {
     private static final Logger LOGGER = LoggerFactory.getLogger(SoaMsgDecoder.class);
+    /**
+     * 零拷贝解码时保留的请求帧, 由SoaMsgEncoder释放
+     */
+    static final String REQUEST_FRAME_ATTR = "dapeng_request_frame";
     private final Gson gson = new Gson();
     private final Container container;
 
@@ -117,6 +122,8 @@ public class SoaMsgDecoder extends MessageToMessageDecoder<ByteBuf> {
 
     private <I, REQ, RESP> REQ parseSoaMsg(ByteBuf msg) throws TException {
         TSoaTransport inputSoaTransport = new TSoaTransport(msg);
+        // binary字段直接引用请求帧的内存(仅当生成代码使用readBinaryView时生效)
+        inputSoaTransport.enableZeroCopy();
         SoaMessageProcessor parser = new SoaMessageProcessor(inputSoaTransport);
 
         final TransactionContext context = TransactionContext.Factory.createNewInstance();
@@ -144,6 +151,7 @@ public class SoaMsgDecoder extends MessageToMessageDecoder<ByteBuf> {
         }
 
         TProtocol contentProtocol = parser.getContentProtocol();
+        long skippedBytesOfHeader = inputSoaTransport.getSkippedBytes();
         REQ args;
         try {
             args = soaFunction.reqSerializer.read(contentProtocol);
@@ -161,6 +169,12 @@ public class SoaMsgDecoder extends MessageToMessageDecoder<ByteBuf> {
             throw new SoaException(SoaCode.ReqDecodeError.getCode(), SoaCode.ReqDecodeError.getMsg(), e);
         }
         contentProtocol.readMessageEnd();
+        if (inputSoaTransport.hasSlices()) {
+            // 请求对象引用了请求帧的内存, 保留到响应编码完成后(SoaMsgEncoder)再释放
+            context.setAttribute(REQUEST_FRAME_ATTR, msg.retain());
+        }
+        SkippedFieldsCounter.record(soaHeader.getServiceName(), soaHeader.getMethodName(), soaHeader.getVersionName(),
+                inputSoaTransport.getSkippedBytes() - skippedBytesOfHeader);
 
         if (LOGGER.isDebugEnabled()) {
             String debugLog = "request[seqId:" + context.seqId() + "]:"
@@ -20,11 +20,9 @@ import com.github.dapeng.api.Container;
 import com.github.dapeng.client.netty.TSoaTransport;
 import com.github.dapeng.core.*;
 import com.github.dapeng.core.helper.DapengUtil;
-import com.github.dapeng.core.helper.IPUtils;
 import com.github.dapeng.core.helper.SoaSystemEnvProperties;
 import com.github.dapeng.util.DumpUtil;
 import com.github.dapeng.util.ExceptionUtil;
-import com.google.common.base.Joiner;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -48,6 +46,13 @@ import static com.github.dapeng.core.helper.SoaSystemEnvProperties.SOA_NORMAL_RE
 public class SoaMsgEncoder extends MessageToByteEncoder<SoaResponseWrapper> {
     private static final Logger LOGGER = LoggerFactory.getLogger(SoaMsgEncoder.class);
 
+    private static final int DEFAULT_BUFFER_SIZE = 5120;
+    /**
+     * 帧长度(4) + STX + VERSION + protocol + seqid(4) + ETX
+     */
+    private static final int FRAME_OVERHEAD = Integer.BYTES + 3 + Integer.BYTES + 1;
+    private static final SoaHeaderSerializer HEADER_SERIALIZER = new SoaHeaderSerializer();
+
     private final Container container;
 
     SoaMsgEncoder(Container container) {
@@ -67,11 +72,13 @@ public class SoaMsgEncoder extends MessageToByteEncoder<SoaResponseWrapper> {
         }
 
         SoaHeader soaHeader = transactionContext.getHeader();
-        Application application = container.getApplication(new ProcessorKey(soaHeader.getServiceName(), soaHeader.getVersionName()));
+        ProcessorKey processorKey = new ProcessorKey(soaHeader.getServiceName(), soaHeader.getVersionName());
+        Application application = container.getApplication(processorKey);
 
         //容器不是运行状态或者将要关闭状态
         if (application == null) {
             LOGGER.error(getClass() + "::encode application is null, container status:" + container.status());
+            releaseRequestFrame(transactionContext);
             writeErrorResponse(transactionContext, out);
             return;
         }
@@ -90,9 +97,11 @@ public class SoaMsgEncoder extends MessageToByteEncoder<SoaResponseWrapper> {
                     TSoaTransport transport = new TSoaTransport(out);
                     SoaMessageProcessor messageProcessor = new SoaMessageProcessor(transport);
 
-                    updateSoaHeader(soaHeader, transactionContext);
+                    SoaResponseHeaderTemplate headerTemplate = SoaResponseHeaderTemplate.of(processorKey,
+                            container.getServiceProcessors().get(processorKey), soaHeader.getMethodName());
+                    updateSoaHeader(soaHeader, transactionContext, headerTemplate);
 
-                    messageProcessor.writeHeader(transactionContext);
+                    messageProcessor.writeHeader(transactionContext, headerTemplate);
 
                     if (serializer.isPresent() && result.isPresent()) {
                         try {
@@ -132,24 +141,37 @@ public class SoaMsgEncoder extends MessageToByteEncoder<SoaResponseWrapper> {
                 }
             }
         } finally {
+            releaseRequestFrame(transactionContext);
             MDC.remove(SoaSystemEnvProperties.KEY_LOGGER_SESSION_TID);
         }
     }
 
-    private void updateSoaHeader(SoaHeader soaHeader, TransactionContext transactionContext) {
+    /**
+     * 释放解码时为零拷贝binary字段保留的请求帧(见SoaMsgDecoder)
+     */
+    private void releaseRequestFrame(TransactionContext transactionContext) {
+        ByteBuf requestFrame = (ByteBuf) transactionContext.getAttribute(SoaMsgDecoder.REQUEST_FRAME_ATTR);
+        if (requestFrame != null) {
+            transactionContext.setAttribute(SoaMsgDecoder.REQUEST_FRAME_ATTR, null);
+            requestFrame.release();
+        }
+    }
+
+    private void updateSoaHeader(SoaHeader soaHeader, TransactionContext transactionContext,
+                                 SoaResponseHeaderTemplate headerTemplate) {
         Long requestTimestamp = (Long) transactionContext.getAttribute("dapeng_request_timestamp");
 
         Long cost = System.currentTimeMillis() - requestTimestamp;
         soaHeader.setCalleeTime2(cost.intValue());
-        soaHeader.setCalleeIp(Optional.of(IPUtils.transferIp(SoaSystemEnvProperties.HOST_IP)));
-        soaHeader.setCalleePort(Optional.of(SoaSystemEnvProperties.SOA_CONTAINER_PORT));
-        Joiner joiner = Joiner.on(":");
-        soaHeader.setCalleeMid(joiner.join(soaHeader.getServiceName(), soaHeader.getMethodName(), soaHeader.getVersionName()));
+        // calleeIp/calleePort/calleeMid 由模板预先计算好, 序列化时直接拼接模板里的字节
+        soaHeader.setCalleeIp(Optional.of(headerTemplate.calleeIp()));
+        soaHeader.setCalleePort(Optional.of(headerTemplate.calleePort()));
+        soaHeader.setCalleeMid(headerTemplate.calleeMid);
         soaHeader.setCalleeTid(transactionContext.calleeTid());
     }
 
     /**
-     * override the initialCapacity to 1024
+     * 按响应的估算大小分配ByteBuf, 无法估算时初始容量为5120
      *
      * @param ctx
      * @param msg
@@ -158,13 +180,26 @@ public class SoaMsgEncoder extends MessageToByteEncoder<SoaResponseWrapper> {
      * @throws Exception
      */
     @Override
-    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, @SuppressWarnings("unused") SoaResponseWrapper msg,
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, SoaResponseWrapper msg,
                                      boolean preferDirect) throws Exception {
+        int capacity = estimateSize(msg);
         if (preferDirect) {
-            return ctx.alloc().ioBuffer(5120);
+            return ctx.alloc().ioBuffer(capacity);
         } else {
-            return ctx.alloc().heapBuffer(5120);
+            return ctx.alloc().heapBuffer(capacity);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int estimateSize(SoaResponseWrapper wrapper) {
+        int bodySize = 0;
+        if (wrapper.serializer.isPresent() && wrapper.result.isPresent()) {
+            bodySize = wrapper.serializer.get().estimateSize(wrapper.result.get());
+            if (bodySize < 0) {
+                return DEFAULT_BUFFER_SIZE;
+            }
         }
+        return FRAME_OVERHEAD + HEADER_SERIALIZER.estimateSize(wrapper.transactionContext.getHeader()) + bodySize;
     }
 
     private void writeErrorResponse(TransactionContext transactionContext,
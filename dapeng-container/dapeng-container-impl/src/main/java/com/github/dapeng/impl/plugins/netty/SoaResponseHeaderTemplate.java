@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.impl.plugins.netty;
+
+import com.github.dapeng.core.ProcessorKey;
+import com.github.dapeng.core.SoaHeader;
+import com.github.dapeng.core.definition.SoaServiceDefinition;
+import com.github.dapeng.core.helper.IPUtils;
+import com.github.dapeng.core.helper.SoaSystemEnvProperties;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.*;
+import com.github.dapeng.org.apache.thrift.transport.TIOStreamTransport;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 响应头模板
+ * <p>
+ * 对于同一个容器上的某个(service, version, method), SoaHeader里的
+ * serviceName/methodName/versionName/calleeIp/calleePort/calleeMid 都是固定的,
+ * 这里预先把这些字段按TBinaryProtocol序列化成字节片段, 编码时直接拼接,
+ * 只有其它随请求变化的字段(seqId, respCode, calleeTid, calleeTime1/2等)才逐个序列化.
+ * <p>
+ * 输出的字节流与{@link com.github.dapeng.core.SoaHeaderSerializer#write}完全一致(字段顺序相同).
+ */
+class SoaResponseHeaderTemplate {
+
+    private static final TStruct SOA_HEADER_STRUCT = new TStruct("soaheader");
+    private static final TField CALLER_MID_FIELD = new TField("callerMid", TType.STRING, (short) 4);
+    private static final TField CALLER_IP_FIELD = new TField("callerIp", TType.I32, (short) 5);
+    private static final TField CALLER_PORT_FIELD = new TField("callerPort", TType.I32, (short) 6);
+    private static final TField SESSION_TID_FIELD = new TField("sessionTid", TType.I64, (short) 7);
+    private static final TField USER_IP_FIELD = new TField("userIp", TType.I32, (short) 8);
+    private static final TField CALLER_TID_FIELD = new TField("callerTid", TType.I64, (short) 9);
+    private static final TField TIMEOUT_FIELD = new TField("timeout", TType.I32, (short) 10);
+    private static final TField RESP_CODE_FIELD = new TField("respCode", TType.STRING, (short) 11);
+    private static final TField RESP_MESSAGE_FIELD = new TField("respMessage", TType.STRING, (short) 12);
+    private static final TField CALLEE_TID_FIELD = new TField("calleeTid", TType.I64, (short) 13);
+    private static final TField OPERATOR_ID_FIELD = new TField("operatorId", TType.I64, (short) 15);
+    private static final TField USER_ID_FIELD = new TField("userId", TType.I64, (short) 17);
+    private static final TField TRANSACTION_ID_FIELD = new TField("transactionId", TType.I32, (short) 19);
+    private static final TField TRANSACTION_SEQUENCE_FIELD = new TField("transactionSequence", TType.I32, (short) 20);
+    private static final TField CALLEE_TIME1_FIELD = new TField("calleeTime1", TType.I32, (short) 21);
+    private static final TField CALLEE_TIME2_FIELD = new TField("calleeTime2", TType.I32, (short) 22);
+    private static final TField COOKIES_FIELD = new TField("cookies", TType.MAP, (short) 23);
+    private static final TField MAX_PROCESS_TIME_FIELD = new TField("maxProcessTime", TType.I64, (short) 24);
+
+    /**
+     * 容器级别的常量, 所有方法共享
+     */
+    private static final int CALLEE_IP = IPUtils.transferIp(SoaSystemEnvProperties.HOST_IP);
+    private static final int CALLEE_PORT = SoaSystemEnvProperties.SOA_CONTAINER_PORT;
+    private static final byte[] CALLEE_IP_BYTES = encode(oprot -> {
+        oprot.writeFieldBegin(new TField("calleeIp", TType.I32, (short) 14));
+        oprot.writeI32(CALLEE_IP);
+        oprot.writeFieldEnd();
+    });
+    private static final byte[] CALLEE_PORT_BYTES = encode(oprot -> {
+        oprot.writeFieldBegin(new TField("calleePort", TType.I32, (short) 16));
+        oprot.writeI32(CALLEE_PORT);
+        oprot.writeFieldEnd();
+    });
+
+    private static final Map<ProcessorKey, Map<String, SoaResponseHeaderTemplate>> TEMPLATES = new ConcurrentHashMap<>(16);
+
+    /**
+     * serviceName:methodName:versionName
+     */
+    final String calleeMid;
+    /**
+     * 字段1,2,3: serviceName, methodName, versionName
+     */
+    private final byte[] identityBytes;
+    /**
+     * 字段18: calleeMid
+     */
+    private final byte[] calleeMidBytes;
+
+    private SoaResponseHeaderTemplate(String serviceName, String methodName, String versionName) {
+        this.calleeMid = serviceName + ":" + methodName + ":" + versionName;
+        this.identityBytes = encode(oprot -> {
+            oprot.writeFieldBegin(new TField("serviceName", TType.STRING, (short) 1));
+            oprot.writeString(serviceName);
+            oprot.writeFieldEnd();
+            oprot.writeFieldBegin(new TField("methodName", TType.STRING, (short) 2));
+            oprot.writeString(methodName);
+            oprot.writeFieldEnd();
+            oprot.writeFieldBegin(new TField("versionName", TType.STRING, (short) 3));
+            oprot.writeString(versionName);
+            oprot.writeFieldEnd();
+        });
+        this.calleeMidBytes = encode(oprot -> {
+            oprot.writeFieldBegin(new TField("calleeMid", TType.STRING, (short) 18));
+            oprot.writeString(calleeMid);
+            oprot.writeFieldEnd();
+        });
+    }
+
+    /**
+     * 获取(或者创建)某个方法的响应头模板.
+     * <p>
+     * 方法名来自客户端的请求头, 只有服务里确实存在的方法才缓存模板, 避免缓存被任意方法名撑大;
+     * 其它情况(一般是METHOD_NOT_FOUND之类的错误响应)每次新建一个临时模板.
+     *
+     * @param processorKey service + version
+     * @param processor    服务定义, 可以为null
+     * @param methodName   方法名
+     * @return 响应头模板
+     */
+    static SoaResponseHeaderTemplate of(ProcessorKey processorKey, SoaServiceDefinition<?> processor, String methodName) {
+        if (processor == null || methodName == null || !processor.functions.containsKey(methodName)) {
+            return new SoaResponseHeaderTemplate(processorKey.serviceName, methodName, processorKey.versionName);
+        }
+        return TEMPLATES.computeIfAbsent(processorKey, key -> new ConcurrentHashMap<>(16))
+                .computeIfAbsent(methodName,
+                        method -> new SoaResponseHeaderTemplate(processorKey.serviceName, method, processorKey.versionName));
+    }
+
+    int calleeIp() {
+        return CALLEE_IP;
+    }
+
+    int calleePort() {
+        return CALLEE_PORT;
+    }
+
+    /**
+     * 序列化响应头. 调用方需保证soaHeader的service/method/version与模板一致,
+     * 并且calleeIp/calleePort/calleeMid已经按模板设置好.
+     *
+     * @param bean  响应头
+     * @param oprot 必须是TBinaryProtocol
+     * @throws TException
+     */
+    void write(SoaHeader bean, TProtocol oprot) throws TException {
+        oprot.writeStructBegin(SOA_HEADER_STRUCT);
+        oprot.getTransport().write(identityBytes);
+
+        if (bean.getCallerMid().isPresent()) {
+            oprot.writeFieldBegin(CALLER_MID_FIELD);
+            oprot.writeString(bean.getCallerMid().get());
+            oprot.writeFieldEnd();
+        }
+        if (bean.getCallerIp().isPresent()) {
+            oprot.writeFieldBegin(CALLER_IP_FIELD);
+            oprot.writeI32(bean.getCallerIp().get());
+            oprot.writeFieldEnd();
+        }
+        if (bean.getCallerPort().isPresent()) {
+            oprot.writeFieldBegin(CALLER_PORT_FIELD);
+            oprot.writeI32(bean.getCallerPort().get());
+            oprot.writeFieldEnd();
+        }
+        if (bean.getSessionTid().isPresent()) {
+            oprot.writeFieldBegin(SESSION_TID_FIELD);
+            oprot.writeI64(bean.getSessionTid().get());
+            oprot.writeFieldEnd();
+        }
+        if (bean.getUserIp().isPresent()) {
+            oprot.writeFieldBegin(USER_IP_FIELD);
+            oprot.writeI32(bean.getUserIp().get());
+            oprot.writeFieldEnd();
+        }
+        if (bean.getCallerTid().isPresent()) {
+            oprot.writeFieldBegin(CALLER_TID_FIELD);
+            oprot.writeI64(bean.getCallerTid().get());
+            oprot.writeFieldEnd();
+        }
+        if (bean.getTimeout().isPresent()) {
+            oprot.writeFieldBegin(TIMEOUT_FIELD);
+            oprot.writeI32(bean.getTimeout().get());
+            oprot.writeFieldEnd();
+        }
+        if (bean.getRespCode().isPresent()) {
+            oprot.writeFieldBegin(RESP_CODE_FIELD);
+            oprot.writeString(bean.getRespCode().get());
+            oprot.writeFieldEnd();
+        }
+        if (bean.getRespMessage().isPresent()) {
+            oprot.writeFieldBegin(RESP_MESSAGE_FIELD);
+            oprot.writeString(bean.getRespMessage().get());
+            oprot.writeFieldEnd();
+        }
+        if (bean.getCalleeTid().isPresent()) {
+            oprot.writeFieldBegin(CALLEE_TID_FIELD);
+            oprot.writeI64(bean.getCalleeTid().get());
+            oprot.writeFieldEnd();
+        }
+
+        oprot.getTransport().write(CALLEE_IP_BYTES);
+
+        if (bean.getOperatorId().isPresent()) {
+            oprot.writeFieldBegin(OPERATOR_ID_FIELD);
+            oprot.writeI64(bean.getOperatorId().get());
+            oprot.writeFieldEnd();
+        }
+
+        oprot.getTransport().write(CALLEE_PORT_BYTES);
+
+        if (bean.getUserId().isPresent()) {
+            oprot.writeFieldBegin(USER_ID_FIELD);
+            oprot.writeI64(bean.getUserId().get());
+            oprot.writeFieldEnd();
+        }
+
+        oprot.getTransport().write(calleeMidBytes);
+
+        if (bean.getTransactionId().isPresent()) {
+            oprot.writeFieldBegin(TRANSACTION_ID_FIELD);
+            oprot.writeI32(bean.getTransactionId().get());
+            oprot.writeFieldEnd();
+        }
+        if (bean.getTransactionSequence().isPresent()) {
+            oprot.writeFieldBegin(TRANSACTION_SEQUENCE_FIELD);
+            oprot.writeI32(bean.getTransactionSequence().get());
+            oprot.writeFieldEnd();
+        }
+        if (bean.getCalleeTime1().isPresent()) {
+            oprot.writeFieldBegin(CALLEE_TIME1_FIELD);
+            oprot.writeI32(bean.getCalleeTime1().get());
+            oprot.writeFieldEnd();
+        }
+        if (bean.getCalleeTime2().isPresent()) {
+            oprot.writeFieldBegin(CALLEE_TIME2_FIELD);
+            oprot.writeI32(bean.getCalleeTime2().get());
+            oprot.writeFieldEnd();
+        }
+
+        Map<String, String> cookies = bean.getCookies();
+        oprot.writeFieldBegin(COOKIES_FIELD);
+        oprot.writeMapBegin(new TMap(TType.STRING, TType.STRING, cookies.size()));
+        for (Map.Entry<String, String> cookie : cookies.entrySet()) {
+            oprot.writeString(cookie.getKey());
+            oprot.writeString(cookie.getValue());
+        }
+        oprot.writeMapEnd();
+        oprot.writeFieldEnd();
+
+        if (bean.getMaxProcessTime().isPresent()) {
+            oprot.writeFieldBegin(MAX_PROCESS_TIME_FIELD);
+            oprot.writeI64(bean.getMaxProcessTime().get());
+            oprot.writeFieldEnd();
+        }
+
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+    }
+
+    @FunctionalInterface
+    private interface FragmentWriter {
+        void write(TProtocol oprot) throws TException;
+    }
+
+    private static byte[] encode(FragmentWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try {
+            writer.write(new TBinaryProtocol(new TIOStreamTransport(bytes)));
+        } catch (TException e) {
+            throw new IllegalStateException("failed to pre-encode soaHeader fragment", e);
+        }
+        return bytes.toByteArray();
+    }
+}
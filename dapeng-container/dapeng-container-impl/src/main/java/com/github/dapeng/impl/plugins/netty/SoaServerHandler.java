@@ -26,8 +26,7 @@ import com.github.dapeng.core.helper.SoaSystemEnvProperties;
 import com.github.dapeng.impl.filters.HeadFilter;
 import com.github.dapeng.org.apache.thrift.TException;
 import com.github.dapeng.registry.ConfigKey;
-
-import com.github.dapeng.registry.zookeeper.ServerZkAgentImpl;
+import com.github.dapeng.registry.RegistryAgentFactory;
 import com.github.dapeng.registry.zookeeper.ZkServiceInfo;
 import com.github.dapeng.util.DumpUtil;
 import com.github.dapeng.util.ExceptionUtil;
@@ -270,7 +269,7 @@ public class SoaServerHandler extends ChannelInboundHandlerAdapter {
         long envTimeout = SoaSystemEnvProperties.SOA_SERVICE_TIMEOUT;
 
 
-        ZkServiceInfo configInfo = ServerZkAgentImpl.getInstance().getZkServiceInfo(false, serviceKey);
+        ZkServiceInfo configInfo = RegistryAgentFactory.getServerAgent().getZkServiceInfo(false, serviceKey);
 
         if (null != configInfo) {
             //方法级别
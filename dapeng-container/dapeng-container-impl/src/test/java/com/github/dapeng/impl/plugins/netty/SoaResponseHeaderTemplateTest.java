@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.impl.plugins.netty;
+
+import com.github.dapeng.core.ProcessorKey;
+import com.github.dapeng.core.SoaCode;
+import com.github.dapeng.core.SoaHeader;
+import com.github.dapeng.core.SoaHeaderSerializer;
+import com.github.dapeng.core.definition.SoaFunctionDefinition;
+import com.github.dapeng.core.definition.SoaServiceDefinition;
+import com.github.dapeng.core.helper.SoaSystemEnvProperties;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.TBinaryProtocol;
+import com.github.dapeng.org.apache.thrift.transport.TIOStreamTransport;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * 响应头模板的输出必须与SoaHeaderSerializer逐字节一致
+ */
+public class SoaResponseHeaderTemplateTest {
+
+    private static final ProcessorKey KEY = new ProcessorKey("com.github.dapeng.hello.service.HelloService", "1.0.0");
+
+    /**
+     * 模板不覆盖的可选字段个数(cookies算一个)
+     */
+    private static final int OPTIONAL_FIELDS = 18;
+
+    @Test
+    public void sameBytesForEveryOptionalFieldCombination() throws TException {
+        SoaResponseHeaderTemplate template = SoaResponseHeaderTemplate.of(KEY, processor("sayHello"), "sayHello");
+        for (int mask = 0; mask < (1 << OPTIONAL_FIELDS); mask++) {
+            SoaHeader header = header(template, mask, SoaSystemEnvProperties.SOA_NORMAL_RESP_CODE, "ok");
+            assertArrayEquals("mask=" + Integer.toBinaryString(mask), serializer(header), template(template, header));
+        }
+    }
+
+    @Test
+    public void sameBytesForEveryRespCode() throws TException {
+        SoaResponseHeaderTemplate template = SoaResponseHeaderTemplate.of(KEY, processor("sayHello"), "sayHello");
+        int all = (1 << OPTIONAL_FIELDS) - 1;
+        for (SoaCode code : SoaCode.values()) {
+            SoaHeader header = header(template, all, code.getCode(), code.getMsg());
+            assertArrayEquals(code.name(), serializer(header), template(template, header));
+
+            header = header(template, 0, code.getCode(), code.getMsg());
+            assertArrayEquals(code.name(), serializer(header), template(template, header));
+        }
+    }
+
+    @Test
+    public void cacheOnlyKnownMethods() {
+        SoaServiceDefinition<?> processor = processor("sayHello");
+
+        assertSame(SoaResponseHeaderTemplate.of(KEY, processor, "sayHello"),
+                SoaResponseHeaderTemplate.of(KEY, processor, "sayHello"));
+
+        SoaResponseHeaderTemplate unknown = SoaResponseHeaderTemplate.of(KEY, processor, "noSuchMethod");
+        assertEquals(KEY.serviceName + ":noSuchMethod:" + KEY.versionName, unknown.calleeMid);
+        assertNotSame(unknown, SoaResponseHeaderTemplate.of(KEY, processor, "noSuchMethod"));
+        assertNotSame(SoaResponseHeaderTemplate.of(KEY, null, "sayHello"),
+                SoaResponseHeaderTemplate.of(KEY, null, "sayHello"));
+    }
+
+    private static SoaServiceDefinition<Object> processor(String method) {
+        Map<String, SoaFunctionDefinition<Object, ?, ?>> functions = Collections.singletonMap(method, null);
+        return new SoaServiceDefinition<>(new Object(), Object.class, functions);
+    }
+
+    /**
+     * 按SoaMsgEncoder的方式准备响应头, mask的每一位对应一个可选字段是否出现
+     */
+    private static SoaHeader header(SoaResponseHeaderTemplate template, int mask, String respCode, String respMessage) {
+        SoaHeader header = new SoaHeader();
+        header.setServiceName(KEY.serviceName);
+        header.setMethodName("sayHello");
+        header.setVersionName(KEY.versionName);
+        header.setCalleeIp(Optional.of(template.calleeIp()));
+        header.setCalleePort(Optional.of(template.calleePort()));
+        header.setCalleeMid(template.calleeMid);
+
+        int bit = 0;
+        if ((mask & (1 << bit++)) != 0) header.setCallerMid(Optional.of("com.github.dapeng.caller:call:1.0.0"));
+        if ((mask & (1 << bit++)) != 0) header.setCallerIp(0x0a000001);
+        if ((mask & (1 << bit++)) != 0) header.setCallerPort(Optional.of(9095));
+        if ((mask & (1 << bit++)) != 0) header.setSessionTid(Optional.of(0x1234567890abcdefL));
+        if ((mask & (1 << bit++)) != 0) header.setUserIp(Optional.of(-1062731519));
+        if ((mask & (1 << bit++)) != 0) header.setCallerTid(Optional.of(-2L));
+        if ((mask & (1 << bit++)) != 0) header.setTimeout(Optional.of(3000));
+        if ((mask & (1 << bit++)) != 0) header.setRespCode(respCode);
+        if ((mask & (1 << bit++)) != 0) header.setRespMessage(respMessage);
+        if ((mask & (1 << bit++)) != 0) header.setCalleeTid(Long.MAX_VALUE);
+        if ((mask & (1 << bit++)) != 0) header.setOperatorId(Optional.of(10086L));
+        if ((mask & (1 << bit++)) != 0) header.setUserId(Optional.of(Long.MIN_VALUE));
+        if ((mask & (1 << bit++)) != 0) header.setTransactionId(7);
+        if ((mask & (1 << bit++)) != 0) header.setTransactionSequence(2);
+        if ((mask & (1 << bit++)) != 0) header.setCalleeTime1(15);
+        if ((mask & (1 << bit++)) != 0) header.setCalleeTime2(120);
+        if ((mask & (1 << bit++)) != 0) header.setMaxProcessTime(Optional.of(5000L));
+        if ((mask & (1 << bit++)) != 0) {
+            header.addCookie("storeId", "10001");
+            header.addCookie("中文", "值");
+        }
+        assertEquals(OPTIONAL_FIELDS, bit);
+        return header;
+    }
+
+    private static byte[] serializer(SoaHeader header) throws TException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        new SoaHeaderSerializer().write(header, new TBinaryProtocol(new TIOStreamTransport(bytes)));
+        return bytes.toByteArray();
+    }
+
+    private static byte[] template(SoaResponseHeaderTemplate template, SoaHeader header) throws TException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        template.write(header, new TBinaryProtocol(new TIOStreamTransport(bytes)));
+        return bytes.toByteArray();
+    }
+}
@@ -49,6 +49,15 @@ public interface BeanSerializer<T> {
      */
     void validate(T bean) throws TException;
 
+    /**
+     * 估算序列化后的字节数(TBinaryProtocol/TCompactProtocol的上限), 用于一次性分配足够的ByteBuf
+     * @param bean
+     * @return 估算的字节数, -1表示无法估算
+     */
+    default int estimateSize(T bean) {
+        return -1;
+    }
+
     /**
      * 输出对人友好的信息
      * @param bean
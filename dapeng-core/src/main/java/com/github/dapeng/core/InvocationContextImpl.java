@@ -326,6 +326,32 @@ public class InvocationContextImpl implements InvocationContext {
         return this;
     }
 
+    /**
+     * 复制调用方设置的上下文, 用于把同一次调用再发往其它实例(对冲请求, 重试).
+     * 不复制本次调用的结果(lastInvocationInfo, seqId)以及指定的服务实例(calleeIp, calleePort)
+     */
+    public InvocationContextImpl copy() {
+        InvocationContextImpl copy = new InvocationContextImpl();
+        copy.serviceName = serviceName;
+        copy.methodName = methodName;
+        copy.versionName = versionName;
+        copy.sessionTid = sessionTid;
+        copy.callerTid = callerTid;
+        copy.userId = userId;
+        copy.userIp = userIp;
+        copy.timeout = timeout;
+        copy.maxProcessTime = maxProcessTime;
+        copy.loadBalanceStrategy = loadBalanceStrategy;
+        copy.codecProtocol = codecProtocol;
+        copy.callerIp = callerIp;
+        copy.callerMid = callerMid;
+        copy.operatorId = operatorId;
+        copy.transactionId = transactionId;
+        copy.transactionSequence = transactionSequence;
+        copy.cookies.putAll(cookies);
+        return copy;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("{");
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.core;
+
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.*;
+
+/**
+ * 方法返回结果(xxx_result)的序列化器, 返回值(success字段)交给指定的序列化器处理.
+ * 配合{@link LazyViewSerializer}直接返回延迟解码的视图
+ *
+ * @param <V> 返回值类型
+ */
+public class LazyResultSerializer<V> implements BeanSerializer<V> {
+
+    private static final TField SUCCESS_FIELD = new TField("success", TType.STRUCT, (short) 0);
+
+    private final String resultName;
+    private final BeanSerializer<V> successSerializer;
+
+    /**
+     * @param resultName        结果结构体名, 如 getXxx_result
+     * @param successSerializer 返回值的序列化器
+     */
+    public LazyResultSerializer(String resultName, BeanSerializer<V> successSerializer) {
+        this.resultName = resultName;
+        this.successSerializer = successSerializer;
+    }
+
+    @Override
+    public V read(TProtocol iprot) throws TException {
+        V success = null;
+        iprot.readStructBegin();
+        while (true) {
+            TField schemeField = iprot.readFieldBegin();
+            if (schemeField.type == TType.STOP) {
+                break;
+            }
+            if (schemeField.id == 0 && schemeField.type == TType.STRUCT) {
+                success = successSerializer.read(iprot);
+            } else {
+                TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        validate(success);
+        return success;
+    }
+
+    @Override
+    public void write(V success, TProtocol oprot) throws TException {
+        validate(success);
+
+        oprot.writeStructBegin(new TStruct(resultName));
+        oprot.writeFieldBegin(SUCCESS_FIELD);
+        successSerializer.write(success, oprot);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+    }
+
+    @Override
+    public void validate(V success) throws TException {
+        if (success == null) {
+            throw new SoaException(SoaCode.StructFieldNull, "success字段不允许为空");
+        }
+        successSerializer.validate(success);
+    }
+
+    @Override
+    public String toString(V success) {
+        return successSerializer.toString(success);
+    }
+}
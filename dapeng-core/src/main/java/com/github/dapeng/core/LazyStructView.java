@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.core;
+
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.*;
+import com.github.dapeng.org.apache.thrift.transport.TMemoryInputTransport;
+import com.github.dapeng.org.apache.thrift.transport.TTransport;
+
+import java.util.Arrays;
+
+/**
+ * 结构体的延迟解码视图(由代码生成器的lazyView选项生成子类)
+ * <p>
+ * 读取时只做一次浅扫描: 拷贝结构体的原始字节, 并记录每个字段值的偏移量, 不创建任何字段对象.
+ * 字段在第一次访问时才解码, {@link #materialize()} 解码出完整的bean(包括校验).
+ * <p>
+ * 仅支持TBinaryProtocol/TCompactProtocol, 并且传输层需要支持{@link TTransport#getReadPosition()},
+ * 否则退化为直接解码完整的bean.
+ * <p>
+ * 视图不是线程安全的, 需要跨线程共享时请先调用{@link #materialize()}.
+ *
+ * @param <T> 对应的bean类型
+ */
+public abstract class LazyStructView<T> {
+
+    /**
+     * 结构体的原始字节(从readStructBegin到STOP)
+     */
+    private byte[] data;
+    private boolean compact;
+
+    private int fieldCount;
+    private short[] fieldIds = new short[8];
+    private byte[] fieldTypes = new byte[8];
+    /**
+     * 字段值在data中的偏移量. bool字段(compact协议中值保存在字段头里)在扫描时直接解码, 这里保存0/1
+     */
+    private int[] fieldPositions = new int[8];
+
+    private TMemoryInputTransport fieldTransport;
+    private TProtocol fieldProtocol;
+
+    private T bean;
+
+    /**
+     * @return 对应bean的序列化器
+     */
+    protected abstract BeanSerializer<T> serializer();
+
+    /**
+     * 浅扫描iprot上的一个结构体
+     */
+    void index(TProtocol iprot) throws TException {
+        TTransport trans = iprot.getTransport();
+        int start = trans.getReadPosition();
+        if (start < 0 || !(iprot instanceof TBinaryProtocol || iprot instanceof TCompactProtocol)) {
+            bean = serializer().read(iprot);
+            return;
+        }
+        compact = iprot instanceof TCompactProtocol;
+
+        iprot.readStructBegin();
+        while (true) {
+            TField field = iprot.readFieldBegin();
+            if (field.type == TType.STOP) {
+                break;
+            }
+            int position;
+            if (field.type == TType.BOOL) {
+                position = iprot.readBool() ? 1 : 0;
+            } else {
+                position = trans.getReadPosition() - start;
+                TProtocolUtil.skip(iprot, field.type);
+            }
+            addField(field.id, field.type, position);
+            iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        data = trans.copyRange(start, trans.getReadPosition());
+    }
+
+    private void addField(short id, byte type, int position) {
+        if (fieldCount == fieldIds.length) {
+            fieldIds = Arrays.copyOf(fieldIds, fieldCount * 2);
+            fieldTypes = Arrays.copyOf(fieldTypes, fieldCount * 2);
+            fieldPositions = Arrays.copyOf(fieldPositions, fieldCount * 2);
+        }
+        fieldIds[fieldCount] = id;
+        fieldTypes[fieldCount] = type;
+        fieldPositions[fieldCount] = position;
+        fieldCount++;
+    }
+
+    private int find(short id, byte type) {
+        // 同一个字段出现多次时, 与完整解码一样以最后一次为准
+        for (int i = fieldCount - 1; i >= 0; i--) {
+            if (fieldIds[i] == id) {
+                return fieldTypes[i] == type ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    private TProtocol protocolAt(int position) {
+        if (fieldProtocol == null) {
+            fieldTransport = new TMemoryInputTransport();
+            fieldProtocol = compact ? new TCompactProtocol(fieldTransport) : new TBinaryProtocol(fieldTransport);
+        }
+        fieldTransport.reset(data, position, data.length - position);
+        return fieldProtocol;
+    }
+
+    /**
+     * 定位到字段值的开始位置
+     *
+     * @param id   字段id
+     * @param type 字段期望的类型
+     * @return 字段值所在的协议, 字段不存在或者类型不一致时返回null
+     */
+    protected TProtocol fieldProtocol(short id, byte type) {
+        int i = find(id, type);
+        return i < 0 ? null : protocolAt(fieldPositions[i]);
+    }
+
+    /**
+     * bool字段的值
+     *
+     * @return 字段不存在时返回null
+     */
+    protected Boolean fieldBool(short id) {
+        int i = find(id, TType.BOOL);
+        return i < 0 ? null : fieldPositions[i] == 1;
+    }
+
+    /**
+     * @return 已经解码的完整bean, 未解码时返回null
+     */
+    protected T bean() {
+        return bean;
+    }
+
+    /**
+     * 字段解码失败
+     */
+    protected SoaException decodeError(TException e) {
+        return new SoaException(SoaCode.RespDecodeError.getCode(), SoaCode.RespDecodeError.getMsg(), e);
+    }
+
+    /**
+     * 解码出完整的bean, 结果会被缓存
+     */
+    public T materialize() throws SoaException {
+        if (bean == null) {
+            try {
+                bean = serializer().read(protocolAt(0));
+            } catch (SoaException e) {
+                throw e;
+            } catch (TException e) {
+                throw decodeError(e);
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * 把视图原样写出. 未解码且协议相同时直接拷贝原始字节, 否则先解码再序列化
+     */
+    void write(TProtocol oprot) throws TException {
+        boolean sameProtocol = compact ? oprot instanceof TCompactProtocol : oprot instanceof TBinaryProtocol;
+        if (bean == null && sameProtocol) {
+            oprot.getTransport().write(data, 0, data.length);
+        } else {
+            serializer().write(materialize(), oprot);
+        }
+    }
+
+    /**
+     * @return 视图的原始字节数, 已经是完整bean时返回-1
+     */
+    public int rawSize() {
+        return data == null ? -1 : data.length;
+    }
+
+    @Override
+    public String toString() {
+        return bean != null ? bean.toString()
+                : getClass().getSimpleName() + "[fields:" + fieldCount + ", bytes:" + data.length + "]";
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.core;
+
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.TProtocol;
+
+import java.util.function.Supplier;
+
+/**
+ * 延迟解码视图的序列化器
+ *
+ * @param <V> 视图类型
+ */
+public class LazyViewSerializer<V extends LazyStructView<?>> implements BeanSerializer<V> {
+
+    private final Supplier<V> factory;
+
+    public LazyViewSerializer(Supplier<V> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public V read(TProtocol iproto) throws TException {
+        V view = factory.get();
+        view.index(iproto);
+        return view;
+    }
+
+    @Override
+    public void write(V view, TProtocol oproto) throws TException {
+        view.write(oproto);
+    }
+
+    /**
+     * 视图的校验延迟到materialize时进行
+     */
+    @Override
+    public void validate(V view) throws TException {
+    }
+
+    @Override
+    public String toString(V view) {
+        return view == null ? "null" : view.toString();
+    }
+}
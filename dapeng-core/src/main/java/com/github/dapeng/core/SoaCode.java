@@ -29,6 +29,7 @@ public enum SoaCode implements SoaBaseCodeInterface {
     NoMatchedMethod("Err-Core-405", "没有对应的方法"),
     NotConnected("Err-Core-406", "连接失败"),
     ReqTimeOut("Err-Core-407", "请求超时"),
+    ReqCancelled("Err-Core-408", "请求已取消"),
     ReqFieldNull("Err-Core-411", "请求对象字段不允许为空"),
     RespFieldNull("Err-Core-412", "响应对象字段不允许为空"),
     RespDecodeError("Err-Core-413", "响应通讯包解析出错"),
@@ -17,6 +17,7 @@
 package com.github.dapeng.core;
 
 import com.github.dapeng.core.helper.IPUtils;
+import com.github.dapeng.core.helper.SizeEstimator;
 import com.github.dapeng.org.apache.thrift.TException;
 import com.github.dapeng.org.apache.thrift.protocol.*;
 
@@ -377,6 +378,41 @@ public class SoaHeaderSerializer implements BeanSerializer<SoaHeader> {
         //oprot.getTransport().flush();
     }
 
+    /**
+     * 数值字段(callerIp, callerPort, sessionTid...)无论是否存在都计算在内,
+     * 因为服务端在分配ByteBuf之后才设置calleeTid/calleeIp/calleeTime等字段
+     */
+    private static final int NUMERIC_FIELDS_SIZE = 10 * (SizeEstimator.FIELD + SizeEstimator.I32)
+            + 6 * (SizeEstimator.FIELD + SizeEstimator.I64);
+
+    /**
+     * 估算header序列化后的字节数(上限)
+     */
+    @Override
+    public int estimateSize(SoaHeader bean) {
+        int size = NUMERIC_FIELDS_SIZE + SizeEstimator.STOP;
+
+        size += SizeEstimator.FIELD + SizeEstimator.stringSize(bean.getServiceName());
+        size += SizeEstimator.FIELD + SizeEstimator.stringSize(bean.getMethodName());
+        size += SizeEstimator.FIELD + SizeEstimator.stringSize(bean.getVersionName());
+        size += SizeEstimator.FIELD + SizeEstimator.stringSize(bean.getCallerMid().orElse(null));
+        size += SizeEstimator.FIELD + SizeEstimator.stringSize(bean.getRespCode().orElse(null));
+        size += SizeEstimator.FIELD + SizeEstimator.stringSize(bean.getRespMessage().orElse(null));
+        if (bean.getCalleeMid().isPresent()) {
+            size += SizeEstimator.FIELD + SizeEstimator.stringSize(bean.getCalleeMid().get());
+        } else {
+            // 服务端按 service:method:version 填充calleeMid, 三个字符串各自的长度前缀足够容纳两个分隔符
+            size += SizeEstimator.FIELD + SizeEstimator.stringSize(bean.getServiceName())
+                    + SizeEstimator.stringSize(bean.getMethodName()) + SizeEstimator.stringSize(bean.getVersionName());
+        }
+
+        size += SizeEstimator.FIELD + SizeEstimator.COLLECTION;
+        for (java.util.Map.Entry<String, String> cookie : bean.getCookies().entrySet()) {
+            size += SizeEstimator.stringSize(cookie.getKey()) + SizeEstimator.stringSize(cookie.getValue());
+        }
+        return size;
+    }
+
     /**
      * SoaHeader验证
      */
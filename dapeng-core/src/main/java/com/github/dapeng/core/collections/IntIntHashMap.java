@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.core.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 开放寻址(线性探测)的map<i32,i32>实现, 键值不装箱.
+ * 代码生成器primitiveCollections选项下map<i32,i32>字段的类型.
+ * <p>
+ * 生成的序列化代码通过nextSlot/keyAt/valueAt遍历, 不产生迭代器和Entry对象.
+ * 迭代器不支持remove.
+ */
+public class IntIntHashMap extends AbstractMap<Integer, Integer> {
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private int[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    public IntIntHashMap() {
+        this(8);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public void put(int key, int value) {
+        int slot = slot(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        int slot = find(key);
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    public boolean removeKey(int key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        shiftDown(slot);
+        size--;
+        return true;
+    }
+
+    /**
+     * @param from 开始的槽位(包含)
+     * @return 第一个有元素的槽位, 没有时返回-1
+     */
+    public int nextSlot(int from) {
+        for (int i = from; i < used.length; i++) {
+            if (used[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    public int valueAt(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    @Override
+    public Integer get(Object key) {
+        int slot = key instanceof Integer ? find((Integer) key) : -1;
+        return slot < 0 ? null : values[slot];
+    }
+
+    @Override
+    public Integer put(Integer key, Integer value) {
+        int slot = find(key);
+        Integer old = slot < 0 ? null : values[slot];
+        put((int) key, (int) value);
+        return old;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && find((Integer) key) >= 0;
+    }
+
+    @Override
+    public Integer remove(Object key) {
+        int slot = key instanceof Integer ? find((Integer) key) : -1;
+        if (slot < 0) {
+            return null;
+        }
+        int old = values[slot];
+        shiftDown(slot);
+        size--;
+        return old;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Integer>> entrySet() {
+        return new AbstractSet<Map.Entry<Integer, Integer>>() {
+            @Override
+            public Iterator<Map.Entry<Integer, Integer>> iterator() {
+                return new SlotIterator<Map.Entry<Integer, Integer>>() {
+                    @Override
+                    Map.Entry<Integer, Integer> at(int slot) {
+                        return new SimpleImmutableEntry<>(keys[slot], values[slot]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        private int slot = nextSlot(0);
+
+        abstract E at(int slot);
+
+        @Override
+        public boolean hasNext() {
+            return slot >= 0;
+        }
+
+        @Override
+        public E next() {
+            if (slot < 0) {
+                throw new NoSuchElementException();
+            }
+            E e = at(slot);
+            slot = nextSlot(slot + 1);
+            return e;
+        }
+    }
+
+    private int find(int key) {
+        int slot = slot(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * 删除后把后续探测链上的元素前移, 保证查找不会在空槽位提前结束
+     */
+    private void shiftDown(int slot) {
+        int gap = slot;
+        int i = (gap + 1) & mask;
+        while (used[i]) {
+            int ideal = slot(keys[i]);
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        used[gap] = false;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(newCapacity);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slot(oldKeys[i]);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        resizeAt = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 8;
+        while (capacity * LOAD_FACTOR < expectedSize && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.core.helper;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+/**
+ * 序列化后字节数的估算(生成代码的estimateSize使用)
+ * <p>
+ * 每种类型取TBinaryProtocol与TCompactProtocol中较大的编码长度, 因此估算结果是这两种协议的上限.
+ * TJSONProtocol的编码长度可能超过估算值, 此时ByteBuf仍会自动扩容.
+ */
+public class SizeEstimator {
+    /**
+     * 字段头: binary 1(type) + 2(id); compact 与上一个字段id的差值超过15时为 1(type) + 最多3(zigzag varint i16)
+     */
+    public static final int FIELD = 4;
+    /**
+     * 结构体结尾的STOP
+     */
+    public static final int STOP = 1;
+    /**
+     * list/set/map头: binary 最多 1 + 1 + 4, compact 最多 5(varint size) + 1
+     */
+    public static final int COLLECTION = 6;
+
+    public static final int BOOL = 1;
+    public static final int BYTE = 1;
+    public static final int I16 = 3;
+    public static final int I32 = 5;
+    public static final int I64 = 10;
+    public static final int DOUBLE = 8;
+
+    /**
+     * 字符串: 长度(binary 4, compact 最多5) + UTF-8字节数
+     */
+    public static int stringSize(String value) {
+        return value == null ? 0 : 5 + utf8Length(value);
+    }
+
+    public static int binarySize(ByteBuffer value) {
+        return value == null ? 0 : 5 + value.remaining();
+    }
+
+    /**
+     * BigDecimal按toString()编码, toString()的结果会被BigDecimal缓存
+     */
+    public static int decimalSize(BigDecimal value) {
+        return value == null ? 0 : 5 + value.toString().length();
+    }
+
+    /**
+     * UTF-8编码后的字节数, 不产生临时对象
+     */
+    public static int utf8Length(CharSequence value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                // 代理对的两个char各算2个字节, 合计4个字节
+                bytes += c < 0x800 || Character.isSurrogate(c) ? 1 : 2;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.core.helper;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 未知字段跳过统计
+ * <p>
+ * 老版本的调用方(或服务方)解码新版本的消息时, 会通过TProtocolUtil.skip跳过不认识的字段.
+ * 这里按方法统计被跳过的消息数以及字节数, 用于发现接口版本不一致导致的额外解码开销.
+ * 客户端解析响应以及服务端解析请求时都会记录.
+ */
+public class SkippedFieldsCounter {
+
+    static class Node {
+        final LongAdder messages = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+    }
+
+    private static final Map<String, Node> COUNTERS = new ConcurrentHashMap<>(64);
+
+    /**
+     * 记录一次消息解码中跳过的字节数
+     *
+     * @param serviceName  服务名
+     * @param methodName   方法名
+     * @param versionName  版本号
+     * @param skippedBytes 跳过的字节数, 为0时忽略
+     */
+    public static void record(String serviceName, String methodName, String versionName, long skippedBytes) {
+        if (skippedBytes <= 0) {
+            return;
+        }
+        Node node = COUNTERS.computeIfAbsent(serviceName + ":" + methodName + ":" + versionName, key -> new Node());
+        node.messages.increment();
+        node.bytes.add(skippedBytes);
+    }
+
+    /**
+     * 被跳过的字节数
+     *
+     * @return serviceName:methodName:versionName -> 累计跳过的字节数
+     */
+    public static Map<String, Long> skippedBytes() {
+        Map<String, Long> result = new TreeMap<>();
+        COUNTERS.forEach((key, node) -> result.put(key, node.bytes.sum()));
+        return result;
+    }
+
+    /**
+     * 包含未知字段的消息数
+     *
+     * @return serviceName:methodName:versionName -> 累计消息数
+     */
+    public static Map<String, Long> skippedMessages() {
+        Map<String, Long> result = new TreeMap<>();
+        COUNTERS.forEach((key, node) -> result.put(key, node.messages.sum()));
+        return result;
+    }
+
+    /**
+     * 清空统计
+     */
+    public static void reset() {
+        COUNTERS.clear();
+    }
+}
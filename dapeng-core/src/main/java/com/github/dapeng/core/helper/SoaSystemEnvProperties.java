@@ -112,6 +112,14 @@ public class SoaSystemEnvProperties {
      * subPool 连接数， 单个客户端跟单个服务节点之间的连接数， 默认是1
      */
     private static final String KEY_SOA_SUBPOOL_SIZE = "soa.subPool.size";
+    /**
+     * subPool 最多的连接数, 平均每个连接的在途请求数持续超过soa.subPool.grow.threshold时增加连接, 持续较低时减回soa.subPool.size, 默认是4
+     */
+    private static final String KEY_SOA_SUBPOOL_MAX_SIZE = "soa.subPool.max.size";
+    /**
+     * subPool 增加连接的阈值(平均每个连接的在途请求数), 默认是64
+     */
+    private static final String KEY_SOA_SUBPOOL_GROW_THRESHOLD = "soa.subPool.grow.threshold";
 
 
     /**
@@ -143,6 +151,80 @@ public class SoaSystemEnvProperties {
       */
     private static final String KEY_SOA_SHUTDOWN_TIMEOUT = "soa.shutdown.timeout";
 
+    /**
+     * json与thrift互转时使用预编译的元数据(默认true)
+     */
+    private static final String KEY_SOA_JSON_COMPILED = "soa.json.compiled";
+
+    /**
+     * 客户端每个连接的在途请求槽位数(取2的幂), 槽位冲突时使用溢出表, 默认1024
+     */
+    private static final String KEY_SOA_CLIENT_INFLIGHT_SLOTS = "soa.client.inflight.slots";
+    /**
+     * 客户端请求超时时间轮的刻度(毫秒), 默认10
+     */
+    private static final String KEY_SOA_CLIENT_TIMER_TICK = "soa.client.timer.tick";
+    /**
+     * 客户端IO线程(事件循环)数, 连接轮流分配到各个事件循环上, 默认为1(与原来相同), 见ClientEventLoopBenchmark
+     */
+    private static final String KEY_SOA_CLIENT_IO_THREADS = "soa.client.io.threads";
+    /**
+     * 客户端按调用线程选择subPool中的连接(同一个线程总是使用同一个连接), 默认false(轮询)
+     */
+    private static final String KEY_SOA_CLIENT_CONNECTION_AFFINITY = "soa.client.connection.affinity";
+    /**
+     * 客户端合并写出时每次flush最多包含的请求数, 请求在事件循环下一次执行时一起写出; 1表示每个请求单独writeAndFlush. 默认64
+     */
+    private static final String KEY_SOA_CLIENT_WRITE_BATCH = "soa.client.write.batch";
+    /**
+     * 客户端建立连接的超时时间(毫秒), 默认3000
+     */
+    private static final String KEY_SOA_CLIENT_CONNECT_TIMEOUT = "soa.client.connect.timeout";
+    /**
+     * 客户端连接失败后重连的最大退避时间(毫秒), 从100ms开始按指数增长并加随机抖动, 默认10000
+     */
+    private static final String KEY_SOA_CLIENT_RECONNECT_MAX_BACKOFF = "soa.client.reconnect.max.backoff";
+    /**
+     * 连接正在建立时, 请求是否等待连接完成(在请求超时时间内); false时直接失败. 默认true
+     */
+    private static final String KEY_SOA_CLIENT_CONNECTING_QUEUE = "soa.client.connecting.queue";
+    /**
+     * 对冲请求(hedge)占正常请求的最大百分比, 超过时不再发送对冲请求, 默认10
+     */
+    private static final String KEY_SOA_CLIENT_HEDGE_BUDGET = "soa.client.hedge.budget";
+    /**
+     * 重试请求占正常请求的最大百分比, 超过时不再重试, 默认20
+     */
+    private static final String KEY_SOA_CLIENT_RETRY_BUDGET = "soa.client.retry.budget";
+    /**
+     * 剩余时间(毫秒)少于这个值时不再重试, 默认50
+     */
+    private static final String KEY_SOA_CLIENT_RETRY_MIN_TIME = "soa.client.retry.min.time";
+    /**
+     * 是否按实例的失败情况熔断(摘除异常实例), 默认true
+     */
+    private static final String KEY_SOA_CLIENT_BREAKER_ENABLE = "soa.client.breaker.enable";
+    /**
+     * 实例连续失败(连接失败, 超时)多少次后摘除, 默认5
+     */
+    private static final String KEY_SOA_CLIENT_BREAKER_FAILURES = "soa.client.breaker.failures";
+    /**
+     * 实例最近的错误率(百分比)达到多少时摘除, 默认50
+     */
+    private static final String KEY_SOA_CLIENT_BREAKER_ERROR_RATE = "soa.client.breaker.error.rate";
+    /**
+     * 实例最近的响应时间超过其它实例平均值的多少倍时摘除, 0表示不按响应时间摘除, 默认5
+     */
+    private static final String KEY_SOA_CLIENT_BREAKER_LATENCY_FACTOR = "soa.client.breaker.latency.factor";
+    /**
+     * 实例第一次摘除的时间(毫秒), 之后每次重新摘除加倍(最多16倍), 默认5000
+     */
+    private static final String KEY_SOA_CLIENT_BREAKER_BACKOFF = "soa.client.breaker.backoff";
+    /**
+     * 客户端缓存(zk上配置cache的方法)最多缓存的结果数, 默认10000
+     */
+    private static final String KEY_SOA_CLIENT_CACHE_MAX_ENTRIES = "soa.client.cache.max.entries";
+
 
     public static final String SOA_ZOOKEEPER_HOST = get(KEY_SOA_ZOOKEEPER_HOST, "127.0.0.1:2181");
     public static final boolean SOA_POOLED_BYTEBUF = get(KEY_SOA_BYTEBUF_ALLOCATOR, "pooled").equals("pooled");
@@ -173,6 +255,8 @@ public class SoaSystemEnvProperties {
     public static final String SOA_FILTER_INCLUDES = get(KEY_SOA_FILTER_INCLUDES, "");
 
     public static final int SOA_SUBPOOL_SIZE = Integer.valueOf(get(KEY_SOA_SUBPOOL_SIZE, "1"));
+    public static final int SOA_SUBPOOL_MAX_SIZE = Integer.valueOf(get(KEY_SOA_SUBPOOL_MAX_SIZE, "4"));
+    public static final int SOA_SUBPOOL_GROW_THRESHOLD = Integer.valueOf(get(KEY_SOA_SUBPOOL_GROW_THRESHOLD, "64"));
     /**
      * 默认服务处理最大时间为10s, 超过即认为是慢服务
      */
@@ -198,6 +282,26 @@ public class SoaSystemEnvProperties {
 
     public static final long SOA_SHUTDOWN_TIMEOUT = Long.valueOf(get(KEY_SOA_SHUTDOWN_TIMEOUT, "100000"));
 
+    public static final boolean SOA_JSON_COMPILED = Boolean.valueOf(get(KEY_SOA_JSON_COMPILED, "true"));
+
+    public static final int SOA_CLIENT_INFLIGHT_SLOTS = Integer.valueOf(get(KEY_SOA_CLIENT_INFLIGHT_SLOTS, "1024"));
+    public static final long SOA_CLIENT_TIMER_TICK = Long.valueOf(get(KEY_SOA_CLIENT_TIMER_TICK, "10"));
+    public static final int SOA_CLIENT_IO_THREADS = Integer.valueOf(get(KEY_SOA_CLIENT_IO_THREADS, "1"));
+    public static final boolean SOA_CLIENT_CONNECTION_AFFINITY = Boolean.valueOf(get(KEY_SOA_CLIENT_CONNECTION_AFFINITY, "false"));
+    public static final int SOA_CLIENT_WRITE_BATCH = Integer.valueOf(get(KEY_SOA_CLIENT_WRITE_BATCH, "64"));
+    public static final int SOA_CLIENT_CONNECT_TIMEOUT = Integer.valueOf(get(KEY_SOA_CLIENT_CONNECT_TIMEOUT, "3000"));
+    public static final long SOA_CLIENT_RECONNECT_MAX_BACKOFF = Long.valueOf(get(KEY_SOA_CLIENT_RECONNECT_MAX_BACKOFF, "10000"));
+    public static final boolean SOA_CLIENT_CONNECTING_QUEUE = Boolean.valueOf(get(KEY_SOA_CLIENT_CONNECTING_QUEUE, "true"));
+    public static final int SOA_CLIENT_HEDGE_BUDGET = Integer.valueOf(get(KEY_SOA_CLIENT_HEDGE_BUDGET, "10"));
+    public static final int SOA_CLIENT_RETRY_BUDGET = Integer.valueOf(get(KEY_SOA_CLIENT_RETRY_BUDGET, "20"));
+    public static final long SOA_CLIENT_RETRY_MIN_TIME = Long.valueOf(get(KEY_SOA_CLIENT_RETRY_MIN_TIME, "50"));
+    public static final boolean SOA_CLIENT_BREAKER_ENABLE = Boolean.valueOf(get(KEY_SOA_CLIENT_BREAKER_ENABLE, "true"));
+    public static final int SOA_CLIENT_BREAKER_FAILURES = Integer.valueOf(get(KEY_SOA_CLIENT_BREAKER_FAILURES, "5"));
+    public static final int SOA_CLIENT_BREAKER_ERROR_RATE = Integer.valueOf(get(KEY_SOA_CLIENT_BREAKER_ERROR_RATE, "50"));
+    public static final int SOA_CLIENT_BREAKER_LATENCY_FACTOR = Integer.valueOf(get(KEY_SOA_CLIENT_BREAKER_LATENCY_FACTOR, "5"));
+    public static final long SOA_CLIENT_BREAKER_BACKOFF = Long.valueOf(get(KEY_SOA_CLIENT_BREAKER_BACKOFF, "5000"));
+    public static final int SOA_CLIENT_CACHE_MAX_ENTRIES = Integer.valueOf(get(KEY_SOA_CLIENT_CACHE_MAX_ENTRIES, "10000"));
+
     public static String get(String key) {
         return get(key, null);
     }
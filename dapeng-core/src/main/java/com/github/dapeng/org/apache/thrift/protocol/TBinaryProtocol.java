@@ -208,7 +208,7 @@ public class TBinaryProtocol extends TProtocol {
   public void writeBinary(ByteBuffer bin) throws TException {
     int length = bin.limit() - bin.position();
     writeI32(length);
-    trans_.write(bin.array(), bin.position() + bin.arrayOffset(), length);
+    trans_.write(bin);
   }
 
   /**
@@ -403,6 +403,59 @@ public class TBinaryProtocol extends TProtocol {
     return ByteBuffer.wrap(buf);
   }
 
+  @Override
+  public int fixedWidthOf(byte type) {
+    switch (type) {
+      case TType.BOOL:
+      case TType.BYTE:
+        return 1;
+      case TType.I16:
+        return 2;
+      case TType.I32:
+        return 4;
+      case TType.I64:
+      case TType.DOUBLE:
+        return 8;
+      default:
+        return -1;
+    }
+  }
+
+  @Override
+  public void skipBinary() throws TException {
+    int size = readI32();
+    checkStringReadLength(size);
+
+    if (trans_.skipBytes(size)) {
+      return;
+    }
+    if (trans_.getBytesRemainingInBuffer() >= size) {
+      trans_.consumeBuffer(size);
+      return;
+    }
+    trans_.readAll(new byte[size], 0, size);
+  }
+
+  @Override
+  public ByteBuffer readBinaryView() throws TException {
+    int size = readI32();
+    checkStringReadLength(size);
+
+    ByteBuffer view = trans_.readSlice(size);
+    if (view != null) {
+      return view;
+    }
+    if (trans_.getBytesRemainingInBuffer() >= size) {
+      ByteBuffer bb = ByteBuffer.wrap(trans_.getBuffer(), trans_.getBufferPosition(), size);
+      trans_.consumeBuffer(size);
+      return bb;
+    }
+
+    byte[] buf = new byte[size];
+    trans_.readAll(buf, 0, size);
+    return ByteBuffer.wrap(buf);
+  }
+
   private void checkStringReadLength(int length) throws TProtocolException {
     if (length < 0) {
       throw new TProtocolException(TProtocolException.NEGATIVE_SIZE,
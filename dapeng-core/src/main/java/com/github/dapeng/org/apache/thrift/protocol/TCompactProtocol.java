@@ -383,8 +383,8 @@ public class TCompactProtocol extends TProtocol {
    * Write a byte array, using a varint for the size.
    */
   public void writeBinary(ByteBuffer bin) throws TException {
-    int length = bin.limit() - bin.position();
-    writeBinary(bin.array(), bin.position() + bin.arrayOffset(), length);
+    writeVarint32(bin.remaining());
+    trans_.write(bin);
   }
 
   private void writeBinary(byte[] buf, int offset, int length) throws TException {
@@ -729,6 +729,59 @@ public class TCompactProtocol extends TProtocol {
     return ByteBuffer.wrap(buf);
   }
 
+  /**
+   * Only bool, byte and double elements have a fixed width, integers are varints.
+   */
+  @Override
+  public int fixedWidthOf(byte type) {
+    switch (type) {
+      case TType.BOOL:
+      case TType.BYTE:
+        return 1;
+      case TType.DOUBLE:
+        return 8;
+      default:
+        return -1;
+    }
+  }
+
+  @Override
+  public void skipBinary() throws TException {
+    int length = readVarint32();
+    checkStringReadLength(length);
+    if (length == 0) return;
+
+    if (trans_.skipBytes(length)) {
+      return;
+    }
+    if (trans_.getBytesRemainingInBuffer() >= length) {
+      trans_.consumeBuffer(length);
+      return;
+    }
+    trans_.readAll(new byte[length], 0, length);
+  }
+
+  @Override
+  public ByteBuffer readBinaryView() throws TException {
+    int length = readVarint32();
+    checkStringReadLength(length);
+    if (length == 0) return ByteBuffer.wrap(new byte[0]);
+
+    ByteBuffer view = trans_.readSlice(length);
+    if (view != null) {
+      return view;
+    }
+    if (trans_.getBytesRemainingInBuffer() >= length) {
+      ByteBuffer bb = ByteBuffer.wrap(trans_.getBuffer(), trans_.getBufferPosition(), length);
+      trans_.consumeBuffer(length);
+      return bb;
+    }
+
+    byte[] buf = new byte[length];
+    trans_.readAll(buf, 0, length);
+    return ByteBuffer.wrap(buf);
+  }
+
   /**
    * Read a byte[] of a known length from the wire.
    */
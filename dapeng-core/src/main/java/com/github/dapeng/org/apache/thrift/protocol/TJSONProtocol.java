@@ -628,6 +628,13 @@ public class TJSONProtocol extends TProtocol {
 
   @Override
   public void writeBinary(ByteBuffer bin) throws TException {
+    if (!bin.hasArray()) {
+      // read-only or direct buffer, e.g. a view returned by readBinaryView
+      byte[] bytes = new byte[bin.remaining()];
+      bin.duplicate().get(bytes);
+      writeJSONBase64(bytes, 0, bytes.length);
+      return;
+    }
     writeJSONBase64(bin.array(), bin.position() + bin.arrayOffset(), bin.limit() - bin.position() - bin.arrayOffset());
   }
 
@@ -147,6 +147,34 @@ public abstract class TProtocol {
 
   public abstract ByteBuffer readBinary() throws TException;
 
+  /**
+   * Reads a binary value as a read-only view over the transport's buffer when
+   * the transport supports it (see {@link TTransport#readSlice(int)}), otherwise
+   * the same as {@link #readBinary()}.
+   */
+  public ByteBuffer readBinaryView() throws TException {
+    return readBinary();
+  }
+
+  /**
+   * Returns the encoded width in bytes of a list/set/map element of the given
+   * type, if this protocol encodes it with a fixed width. Otherwise -1.
+   *
+   * @param type the element type
+   * @return the fixed width in bytes, or -1
+   */
+  public int fixedWidthOf(byte type) {
+    return -1;
+  }
+
+  /**
+   * Skips a string/binary value. Protocols that know the encoded length should
+   * override this to jump over the payload instead of materializing it.
+   */
+  public void skipBinary() throws TException {
+    readBinary();
+  }
+
   /**
    * Reset any internal state back to a blank slate. This method only needs to
    * be implemented for stateful protocols.
@@ -20,6 +20,7 @@
 package com.github.dapeng.org.apache.thrift.protocol;
 
 import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.transport.TTransport;
 
 /**
  * Utility class with static methods for interacting with protocol data
@@ -57,7 +58,14 @@ public class TProtocolUtil {
    */
   public static void skip(TProtocol prot, byte type)
     throws TException {
+    TTransport trans = prot.getTransport();
+    int begin = trans.getReadPosition();
+
     skip(prot, type, maxSkipDepth);
+
+    if (begin >= 0) {
+      trans.addSkippedBytes(trans.getReadPosition() - begin);
+    }
   }
 
   /**
@@ -99,7 +107,7 @@ public class TProtocolUtil {
         break;
 
       case TType.STRING:
-        prot.readBinary();
+        prot.skipBinary();
         break;
 
       case TType.STRUCT:
@@ -117,25 +125,31 @@ public class TProtocolUtil {
 
       case TType.MAP:
         TMap map = prot.readMapBegin();
-        for (int i = 0; i < map.size; i++) {
-          skip(prot, map.keyType, maxDepth - 1);
-          skip(prot, map.valueType, maxDepth - 1);
+        if (!skipFixedWidth(prot, map.keyType, map.valueType, map.size)) {
+          for (int i = 0; i < map.size; i++) {
+            skip(prot, map.keyType, maxDepth - 1);
+            skip(prot, map.valueType, maxDepth - 1);
+          }
         }
         prot.readMapEnd();
         break;
 
       case TType.SET:
         TSet set = prot.readSetBegin();
-        for (int i = 0; i < set.size; i++) {
-          skip(prot, set.elemType, maxDepth - 1);
+        if (!skipFixedWidth(prot, set.elemType, set.size)) {
+          for (int i = 0; i < set.size; i++) {
+            skip(prot, set.elemType, maxDepth - 1);
+          }
         }
         prot.readSetEnd();
         break;
 
       case TType.LIST:
         TList list = prot.readListBegin();
-        for (int i = 0; i < list.size; i++) {
-          skip(prot, list.elemType, maxDepth - 1);
+        if (!skipFixedWidth(prot, list.elemType, list.size)) {
+          for (int i = 0; i < list.size; i++) {
+            skip(prot, list.elemType, maxDepth - 1);
+          }
         }
         prot.readListEnd();
         break;
@@ -145,6 +159,34 @@ public class TProtocolUtil {
     }
   }
 
+  /**
+   * Skips a list/set of fixed-width elements in one step (count * width),
+   * if both the protocol and the transport support it.
+   *
+   * @return true if skipped, false if the caller has to skip element by element
+   */
+  private static boolean skipFixedWidth(TProtocol prot, byte elemType, int size)
+    throws TException {
+    int width = prot.fixedWidthOf(elemType);
+    return width > 0 && skipBytes(prot, (long) width * size);
+  }
+
+  /**
+   * Skips a map whose keys and values are both fixed-width in one step.
+   *
+   * @return true if skipped, false if the caller has to skip entry by entry
+   */
+  private static boolean skipFixedWidth(TProtocol prot, byte keyType, byte valueType, int size)
+    throws TException {
+    int keyWidth = prot.fixedWidthOf(keyType);
+    int valueWidth = prot.fixedWidthOf(valueType);
+    return keyWidth > 0 && valueWidth > 0 && skipBytes(prot, (long) (keyWidth + valueWidth) * size);
+  }
+
+  private static boolean skipBytes(TProtocol prot, long len) throws TException {
+    return len <= Integer.MAX_VALUE && prot.getTransport().skipBytes((int) len);
+  }
+
   /**
    * Attempt to determine the protocol used to serialize some data.
    *
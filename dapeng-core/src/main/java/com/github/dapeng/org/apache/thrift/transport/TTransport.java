@@ -17,6 +17,7 @@
 package com.github.dapeng.org.apache.thrift.transport;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
 
 /**
  * Generic class that encapsulates the I/O layer. This is basically a thin
@@ -115,6 +116,23 @@ public abstract class TTransport implements Closeable {
   public abstract void write(byte[] buf, int off, int len)
     throws TTransportException;
 
+  /**
+   * Writes the remaining bytes of buf, without changing its position. Works
+   * for read-only and direct buffers as well as heap buffers.
+   *
+   * @param buf The output data buffer
+   * @throws TTransportException if an error occurs writing data
+   */
+  public void write(ByteBuffer buf) throws TTransportException {
+    if (buf.hasArray()) {
+      write(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+    } else {
+      byte[] bytes = new byte[buf.remaining()];
+      buf.duplicate().get(bytes);
+      write(bytes, 0, bytes.length);
+    }
+  }
+
   /**
    * Flush any pending data out of a transport buffer.
    *
@@ -157,4 +175,74 @@ public abstract class TTransport implements Closeable {
    * @param len
    */
   public void consumeBuffer(int len) {}
+
+  /**
+   * Skip len bytes of input without copying them out. Transports backed by
+   * a random access buffer (e.g. a netty ByteBuf) should override this.
+   *
+   * @param len number of bytes to skip
+   * @return true if the bytes were skipped, false if this transport can not
+   * skip and the caller has to read the bytes instead
+   * @throws TTransportException if there are less than len bytes left
+   */
+  public boolean skipBytes(int len) throws TTransportException {
+    return false;
+  }
+
+  /**
+   * Return a read-only view over the next len bytes of input and advance past
+   * them, without copying. The view is only valid as long as the transport's
+   * underlying buffer is, so transports only hand out views when the owner of
+   * the buffer keeps it alive (see the implementations).
+   *
+   * @param len number of bytes
+   * @return a read-only view, or null if this transport can not provide one
+   * and the caller has to copy the bytes instead
+   * @throws TTransportException if there are less than len bytes left
+   */
+  public ByteBuffer readSlice(int len) throws TTransportException {
+    return null;
+  }
+
+  /**
+   * Copy the input bytes between two read positions (as returned by
+   * {@link #getReadPosition()}). Transports that report a read position
+   * must support this.
+   *
+   * @param fromPosition inclusive
+   * @param toPosition exclusive
+   * @return a copy of the bytes
+   * @throws TTransportException if the range is not available
+   */
+  public byte[] copyRange(int fromPosition, int toPosition) throws TTransportException {
+    throw new TTransportException("copyRange is not supported by " + getClass().getName());
+  }
+
+  /**
+   * Return the absolute read position of this transport, used to measure how
+   * many bytes were skipped. Returns -1 if the position is not tracked.
+   * @return the current read position, or -1 if not tracked
+   */
+  public int getReadPosition() {
+    return -1;
+  }
+
+  private long skippedBytes_ = 0;
+
+  /**
+   * Record bytes consumed by {@link com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil#skip}
+   * on this transport, i.e. bytes of fields unknown to the reader.
+   * @param len number of bytes skipped
+   */
+  public void addSkippedBytes(int len) {
+    skippedBytes_ += len;
+  }
+
+  /**
+   * @return total bytes of unknown fields skipped on this transport, only
+   * available when {@link #getReadPosition()} is tracked
+   */
+  public long getSkippedBytes() {
+    return skippedBytes_;
+  }
 }
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.core.collections;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * IntArrayList, LongArrayList, DoubleArrayList: 扩容, 与java.util.ArrayList的equals/hashCode, 迭代器, 以及装箱的List接口
+ */
+public class PrimitiveArrayListTest {
+
+    @Test
+    public void intArrayList() {
+        IntArrayList list = new IntArrayList();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.addInt(i * 7 - 500);
+            expected.add(i * 7 - 500);
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals((int) expected.get(i), list.getInt(i));
+        }
+        assertEquals(-500, list.setInt(0, Integer.MIN_VALUE));
+        expected.set(0, Integer.MIN_VALUE);
+        assertEqualLists(expected, list);
+
+        int[] array = list.toIntArray();
+        assertEquals(expected.size(), array.length);
+        assertEquals(Integer.MIN_VALUE, array[0]);
+        assertEquals(IntArrayList.of(1, 2, 3), Arrays.asList(1, 2, 3));
+        assertArrayEquals(new int[0], new IntArrayList(0).toIntArray());
+
+        checkBoxedView(new IntArrayList(), i -> i);
+    }
+
+    @Test
+    public void longArrayList() {
+        LongArrayList list = new LongArrayList(2);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            long value = (long) i << 40 | i;
+            list.addLong(value);
+            expected.add(value);
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals((long) expected.get(i), list.getLong(i));
+        }
+        assertEquals(0L, list.setLong(0, Long.MAX_VALUE));
+        expected.set(0, Long.MAX_VALUE);
+        assertEqualLists(expected, list);
+
+        assertEquals(Long.MAX_VALUE, list.toLongArray()[0]);
+        assertEquals(LongArrayList.of(1L, 2L, 3L), Arrays.asList(1L, 2L, 3L));
+
+        checkBoxedView(new LongArrayList(), i -> (long) i << 33);
+    }
+
+    @Test
+    public void doubleArrayList() {
+        DoubleArrayList list = new DoubleArrayList();
+        List<Double> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.addDouble(i / 3.0);
+            expected.add(i / 3.0);
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.getDouble(i), 0);
+        }
+        assertEqualLists(expected, list);
+
+        // 与java.util一致, 按Double.equals比较: NaN等于NaN, 0.0不等于-0.0
+        assertEquals(Arrays.asList(Double.NaN), DoubleArrayList.of(Double.NaN));
+        assertNotEquals(Arrays.asList(-0.0), DoubleArrayList.of(0.0));
+        assertEquals(Arrays.asList(-0.0).hashCode(), DoubleArrayList.of(-0.0).hashCode());
+        assertEquals(2.5, DoubleArrayList.of(1.5, 2.5).toDoubleArray()[1], 0);
+
+        checkBoxedView(new DoubleArrayList(), i -> i + 0.5);
+    }
+
+    /**
+     * 通过装箱的List接口操作, 每一步都与ArrayList比较
+     */
+    private static <T> void checkBoxedView(List<T> list, IntFunction<T> value) {
+        List<T> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            assertTrue(list.add(value.apply(i)));
+            expected.add(value.apply(i));
+        }
+        list.add(0, value.apply(100));
+        expected.add(0, value.apply(100));
+        list.add(list.size(), value.apply(101));
+        expected.add(expected.size(), value.apply(101));
+        list.add(5, value.apply(102));
+        expected.add(5, value.apply(102));
+        assertEqualLists(expected, list);
+
+        assertEquals(expected.remove(5), list.remove(5));
+        assertEquals(expected.remove(0), list.remove(0));
+        assertEquals(expected.remove(expected.size() - 1), list.remove(list.size() - 1));
+        assertEquals(expected.set(3, value.apply(103)), list.set(3, value.apply(103)));
+        assertEqualLists(expected, list);
+
+        assertEquals(expected.indexOf(value.apply(103)), list.indexOf(value.apply(103)));
+        assertTrue(list.contains(value.apply(7)));
+        assertFalse(list.contains(value.apply(1000)));
+        assertFalse(list.contains("7"));
+        assertEquals(expected.subList(2, 6), list.subList(2, 6));
+        assertArrayEquals(expected.toArray(), list.toArray());
+
+        assertTrue(list.remove(value.apply(7)));
+        assertTrue(expected.remove(value.apply(7)));
+        assertTrue(list.removeIf(e -> e.equals(value.apply(8))));
+        expected.removeIf(e -> e.equals(value.apply(8)));
+        assertEqualLists(expected, list);
+
+        Iterator<T> iterator = list.iterator();
+        iterator.next();
+        iterator.remove();
+        expected.remove(0);
+        assertEqualLists(expected, list);
+
+        // 原生类型的add同样使迭代器失效
+        iterator = list.iterator();
+        iterator.next();
+        list.add(value.apply(104));
+        try {
+            iterator.next();
+            fail();
+        } catch (ConcurrentModificationException expectedException) {
+        }
+
+        try {
+            list.add(null);
+            fail();
+        } catch (NullPointerException expectedException) {
+        }
+        try {
+            list.get(list.size());
+            fail();
+        } catch (IndexOutOfBoundsException expectedException) {
+        }
+        try {
+            list.add(list.size() + 1, value.apply(0));
+            fail();
+        } catch (IndexOutOfBoundsException expectedException) {
+        }
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(new ArrayList<T>(), list);
+    }
+
+    private static <T> void assertEqualLists(List<T> expected, List<T> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.toString(), actual.toString());
+        Iterator<T> iterator = actual.iterator();
+        for (T e : expected) {
+            assertTrue(iterator.hasNext());
+            assertEquals(e, iterator.next());
+        }
+        assertFalse(iterator.hasNext());
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.core.collections;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * IntIntHashMap, IntLongHashMap, LongIntHashMap, LongLongHashMap: 随机增删改(含扩容和删除后探测链的前移)的结果
+ * 与java.util.HashMap一致, equals/hashCode, entrySet迭代以及按槽位遍历
+ */
+public class PrimitiveHashMapTest {
+
+    @Test
+    public void intIntHashMap() {
+        checkAgainstHashMap(new IntIntHashMap(), i -> i * 1024, i -> i);
+        checkAgainstHashMap(new IntIntHashMap(1000), i -> i, i -> -i);
+
+        IntIntHashMap map = new IntIntHashMap();
+        map.put(Integer.MIN_VALUE, 1);
+        map.put(0, 2);
+        map.put(0, 3);
+        assertEquals(2, map.size());
+        assertEquals(3, map.getOrDefault(0, -1));
+        assertEquals(-1, map.getOrDefault(1, -1));
+        assertTrue(map.containsKey(Integer.MIN_VALUE));
+        assertTrue(map.removeKey(Integer.MIN_VALUE));
+        assertFalse(map.removeKey(Integer.MIN_VALUE));
+
+        Map<Integer, Integer> slots = new HashMap<>();
+        for (int s = map.nextSlot(0); s >= 0; s = map.nextSlot(s + 1)) {
+            slots.put(map.keyAt(s), map.valueAt(s));
+        }
+        assertEquals(map, slots);
+        assertNull(map.get(0L));
+    }
+
+    @Test
+    public void intLongHashMap() {
+        checkAgainstHashMap(new IntLongHashMap(), i -> i * 1024, i -> (long) i << 32);
+        checkAgainstHashMap(new IntLongHashMap(1000), i -> i, i -> (long) -i);
+
+        IntLongHashMap map = new IntLongHashMap();
+        map.put(Integer.MAX_VALUE, Long.MIN_VALUE);
+        map.put(0, 2L);
+        map.put(0, 3L);
+        assertEquals(2, map.size());
+        assertEquals(3L, map.getOrDefault(0, -1L));
+        assertEquals(-1L, map.getOrDefault(1, -1L));
+        assertTrue(map.containsKey(Integer.MAX_VALUE));
+        assertTrue(map.removeKey(Integer.MAX_VALUE));
+        assertFalse(map.removeKey(Integer.MAX_VALUE));
+
+        Map<Integer, Long> slots = new HashMap<>();
+        for (int s = map.nextSlot(0); s >= 0; s = map.nextSlot(s + 1)) {
+            slots.put(map.keyAt(s), map.valueAt(s));
+        }
+        assertEquals(map, slots);
+        assertNull(map.get(0L));
+    }
+
+    @Test
+    public void longIntHashMap() {
+        checkAgainstHashMap(new LongIntHashMap(), i -> (long) i << 32, i -> i);
+        checkAgainstHashMap(new LongIntHashMap(1000), i -> (long) i, i -> -i);
+
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(Long.MIN_VALUE, Integer.MAX_VALUE);
+        map.put(0L, 2);
+        map.put(0L, 3);
+        assertEquals(2, map.size());
+        assertEquals(3, map.getOrDefault(0L, -1));
+        assertEquals(-1, map.getOrDefault(1L, -1));
+        assertTrue(map.containsKey(Long.MIN_VALUE));
+        assertTrue(map.removeKey(Long.MIN_VALUE));
+        assertFalse(map.removeKey(Long.MIN_VALUE));
+
+        Map<Long, Integer> slots = new HashMap<>();
+        for (int s = map.nextSlot(0); s >= 0; s = map.nextSlot(s + 1)) {
+            slots.put(map.keyAt(s), map.valueAt(s));
+        }
+        assertEquals(map, slots);
+        assertNull(map.get(0));
+    }
+
+    @Test
+    public void longLongHashMap() {
+        checkAgainstHashMap(new LongLongHashMap(), i -> (long) i << 32, i -> (long) i);
+        checkAgainstHashMap(new LongLongHashMap(1000), i -> (long) i, i -> (long) i << 40);
+
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(Long.MAX_VALUE, Long.MIN_VALUE);
+        map.put(0L, 2L);
+        map.put(0L, 3L);
+        assertEquals(2, map.size());
+        assertEquals(3L, map.getOrDefault(0L, -1L));
+        assertEquals(-1L, map.getOrDefault(1L, -1L));
+        assertTrue(map.containsKey(Long.MAX_VALUE));
+        assertTrue(map.removeKey(Long.MAX_VALUE));
+        assertFalse(map.removeKey(Long.MAX_VALUE));
+
+        Map<Long, Long> slots = new HashMap<>();
+        for (int s = map.nextSlot(0); s >= 0; s = map.nextSlot(s + 1)) {
+            slots.put(map.keyAt(s), map.valueAt(s));
+        }
+        assertEquals(map, slots);
+        assertNull(map.get(0));
+    }
+
+    /**
+     * 通过装箱的Map接口随机操作, 与HashMap比较
+     */
+    private static <K, V> void checkAgainstHashMap(Map<K, V> map, IntFunction<K> key, IntFunction<V> value) {
+        Map<K, V> expected = new HashMap<>();
+        Random random = new Random(20180101);
+        for (int i = 0; i < 20000; i++) {
+            K k = key.apply(random.nextInt(2000) - 1000);
+            V v = value.apply(random.nextInt());
+            int op = random.nextInt(10);
+            if (op < 6) {
+                assertEquals(expected.put(k, v), map.put(k, v));
+            } else if (op < 9) {
+                assertEquals(expected.remove(k), map.remove(k));
+            } else {
+                assertEquals(expected.get(k), map.get(k));
+                assertEquals(expected.containsKey(k), map.containsKey(k));
+            }
+            if (i % 1000 == 0) {
+                assertEqualMaps(expected, map);
+            }
+        }
+        assertEqualMaps(expected, map);
+
+        // 扩容
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(expected.put(key.apply(i), value.apply(i)), map.put(key.apply(i), value.apply(i)));
+        }
+        assertEqualMaps(expected, map);
+
+        assertNull(map.get(null));
+        assertFalse(map.containsKey(null));
+        assertNull(map.remove(null));
+        try {
+            map.put(key.apply(1), null);
+            fail();
+        } catch (NullPointerException expectedException) {
+        }
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(new HashMap<K, V>(), map);
+        assertNull(map.put(key.apply(1), value.apply(1)));
+        assertEquals(value.apply(1), map.get(key.apply(1)));
+    }
+
+    private static <K, V> void assertEqualMaps(Map<K, V> expected, Map<K, V> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.keySet(), actual.keySet());
+
+        Map<K, V> iterated = new HashMap<>();
+        for (Map.Entry<K, V> entry : actual.entrySet()) {
+            assertNull(iterated.put(entry.getKey(), entry.getValue()));
+        }
+        assertEquals(expected, iterated);
+        try {
+            Iterator<Map.Entry<K, V>> iterator = actual.entrySet().iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+            }
+            iterator.next();
+            fail();
+        } catch (NoSuchElementException expectedException) {
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.core.collections;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * IntHashSet, LongHashSet: 随机增删(含扩容和删除后探测链的前移)的结果与java.util.HashSet一致,
+ * equals/hashCode, 迭代器以及按槽位遍历
+ */
+public class PrimitiveHashSetTest {
+
+    @Test
+    public void intHashSet() {
+        // 键集中在较小的范围内, 制造探测冲突
+        checkAgainstHashSet(new IntHashSet(), i -> i * 1024);
+        checkAgainstHashSet(new IntHashSet(1000), i -> i);
+
+        IntHashSet set = new IntHashSet();
+        Set<Integer> expected = new HashSet<>();
+        for (int key : new int[]{0, -1, 1, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            assertTrue(set.addInt(key));
+            assertFalse(set.addInt(key));
+            expected.add(key);
+        }
+        assertTrue(set.containsInt(Integer.MIN_VALUE));
+        assertFalse(set.containsInt(2));
+        assertTrue(set.removeInt(-1));
+        assertFalse(set.removeInt(-1));
+        expected.remove(-1);
+
+        Set<Integer> slots = new HashSet<>();
+        for (int s = set.nextSlot(0); s >= 0; s = set.nextSlot(s + 1)) {
+            assertTrue(slots.add(set.keyAt(s)));
+        }
+        assertEquals(expected, slots);
+        assertEqualSets(expected, set);
+
+        // 不同的装箱类型不相等
+        assertFalse(set.contains(0L));
+        assertFalse(set.remove(0L));
+    }
+
+    @Test
+    public void longHashSet() {
+        // 只有高32位不同的键
+        checkAgainstHashSet(new LongHashSet(), i -> (long) i << 32);
+        checkAgainstHashSet(new LongHashSet(1000), i -> (long) i);
+
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        for (long key : new long[]{0, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            assertTrue(set.addLong(key));
+            assertFalse(set.addLong(key));
+            expected.add(key);
+        }
+        assertTrue(set.containsLong(Long.MIN_VALUE));
+        assertFalse(set.containsLong(2));
+        assertTrue(set.removeLong(-1));
+        assertFalse(set.removeLong(-1));
+        expected.remove(-1L);
+
+        Set<Long> slots = new HashSet<>();
+        for (int s = set.nextSlot(0); s >= 0; s = set.nextSlot(s + 1)) {
+            assertTrue(slots.add(set.keyAt(s)));
+        }
+        assertEquals(expected, slots);
+        assertEqualSets(expected, set);
+
+        assertFalse(set.contains(0));
+        assertFalse(set.remove(0));
+    }
+
+    private static <T> void checkAgainstHashSet(Set<T> set, IntFunction<T> key) {
+        Set<T> expected = new HashSet<>();
+        Random random = new Random(20180101);
+        for (int i = 0; i < 20000; i++) {
+            T k = key.apply(random.nextInt(2000) - 1000);
+            int op = random.nextInt(10);
+            if (op < 6) {
+                assertEquals(expected.add(k), set.add(k));
+            } else if (op < 9) {
+                assertEquals(expected.remove(k), set.remove(k));
+            } else {
+                assertEquals(expected.contains(k), set.contains(k));
+            }
+            if (i % 1000 == 0) {
+                assertEqualSets(expected, set);
+            }
+        }
+        assertEqualSets(expected, set);
+
+        // 扩容
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(expected.add(key.apply(i)), set.add(key.apply(i)));
+        }
+        assertEqualSets(expected, set);
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals(new HashSet<T>(), set);
+        assertTrue(set.add(key.apply(1)));
+        assertEquals(1, set.size());
+    }
+
+    private static <T> void assertEqualSets(Set<T> expected, Set<T> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+
+        Set<T> iterated = new HashSet<>();
+        Iterator<T> iterator = actual.iterator();
+        while (iterator.hasNext()) {
+            assertTrue(iterated.add(iterator.next()));
+        }
+        assertEquals(expected, iterated);
+        try {
+            iterator.next();
+            fail();
+        } catch (NoSuchElementException expectedException) {
+        }
+        if (!actual.isEmpty()) {
+            try {
+                actual.iterator().remove();
+                fail();
+            } catch (UnsupportedOperationException expectedException) {
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.core.helper;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SkippedFieldsCounterTest {
+
+    private static final String SERVICE = "com.github.dapeng.hello.service.HelloService";
+
+    @After
+    public void reset() {
+        SkippedFieldsCounter.reset();
+    }
+
+    @Test
+    public void recordPerMethod() {
+        SkippedFieldsCounter.record(SERVICE, "sayHello", "1.0.0", 10);
+        SkippedFieldsCounter.record(SERVICE, "sayHello", "1.0.0", 5);
+        SkippedFieldsCounter.record(SERVICE, "sayHello", "1.0.1", 7);
+        SkippedFieldsCounter.record(SERVICE, "echo", "1.0.0", 1);
+
+        Map<String, Long> bytes = SkippedFieldsCounter.skippedBytes();
+        Map<String, Long> messages = SkippedFieldsCounter.skippedMessages();
+        assertEquals(3, bytes.size());
+        assertEquals(Long.valueOf(15), bytes.get(SERVICE + ":sayHello:1.0.0"));
+        assertEquals(Long.valueOf(2), messages.get(SERVICE + ":sayHello:1.0.0"));
+        assertEquals(Long.valueOf(7), bytes.get(SERVICE + ":sayHello:1.0.1"));
+        assertEquals(Long.valueOf(1), messages.get(SERVICE + ":echo:1.0.0"));
+        assertEquals(bytes.keySet(), messages.keySet());
+    }
+
+    /**
+     * 没有跳过任何字节的消息不计数
+     */
+    @Test
+    public void ignoreZero() {
+        SkippedFieldsCounter.record(SERVICE, "sayHello", "1.0.0", 0);
+        assertTrue(SkippedFieldsCounter.skippedBytes().isEmpty());
+        assertTrue(SkippedFieldsCounter.skippedMessages().isEmpty());
+    }
+
+    @Test
+    public void resetClearsAll() {
+        SkippedFieldsCounter.record(SERVICE, "sayHello", "1.0.0", 10);
+        SkippedFieldsCounter.reset();
+        assertTrue(SkippedFieldsCounter.skippedBytes().isEmpty());
+    }
+
+    @Test
+    public void concurrentRecord() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    SkippedFieldsCounter.record(SERVICE, "sayHello", "1.0.0", 3);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(Long.valueOf(80000), SkippedFieldsCounter.skippedMessages().get(SERVICE + ":sayHello:1.0.0"));
+        assertEquals(Long.valueOf(240000), SkippedFieldsCounter.skippedBytes().get(SERVICE + ":sayHello:1.0.0"));
+    }
+}
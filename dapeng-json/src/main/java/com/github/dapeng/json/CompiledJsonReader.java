@@ -0,0 +1,670 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.json;
+
+import com.github.dapeng.core.SoaCode;
+import com.github.dapeng.core.SoaException;
+import com.github.dapeng.core.metadata.DataType;
+import com.github.dapeng.json.CompiledMetadata.CompiledField;
+import com.github.dapeng.json.CompiledMetadata.CompiledStruct;
+import com.github.dapeng.json.CompiledMetadata.CompiledType;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.WrappedTException;
+import com.github.dapeng.org.apache.thrift.protocol.TCompactProtocol;
+import com.github.dapeng.org.apache.thrift.protocol.TProtocol;
+import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static com.github.dapeng.json.JsonUtils.isMultiElementKind;
+
+/**
+ * Json -> Thrift, 使用预编译元数据(CompiledStruct)的JsonReader.
+ * <p>
+ * 事件流的处理方式与JsonReader完全一致(见JsonReader的说明), 区别在于:
+ * <ul>
+ * <li>节点直接持有CompiledType/CompiledField, 子结构体, 枚举值, TField等都不再按名字查找</li>
+ * <li>按oproto的类型区分二进制/压缩二进制协议, 而不是每次读取InvocationContext</li>
+ * <li>二进制协议下集合长度在固定偏移, 直接回填, 不需要移动writerIndex</li>
+ * <li>配合Utf8JsonParser时, 结构体字段名按UTF-8字节匹配, 字符串值直接写入字节</li>
+ * </ul>
+ */
+final class CompiledJsonReader implements Utf8JsonCallback {
+    private static final Logger logger = LoggerFactory.getLogger(CompiledJsonReader.class);
+
+    private static final byte[] BODY = "body".getBytes(StandardCharsets.UTF_8);
+
+    private final CompiledStruct rootStruct;
+    private final ByteBuf requestByteBuf;
+    private final TProtocol oproto;
+    private final boolean compact;
+    private final TJsonCompressProtocolCodec jsonCompressProtocolCodec;
+
+    /**
+     * 节点栈, 节点会被复用, 数量等于json的深度
+     */
+    private StackNode[] history = new StackNode[16];
+    private int depth = 0;
+
+    /**
+     * 当前处理数据节点
+     */
+    StackNode current;
+
+    /**
+     * incr: startObject/startArray
+     * decr: endObject/endArray
+     */
+    private int level = -1;
+
+    /**
+     * 未知字段整体跳过, 见JsonReader
+     */
+    private boolean skip = false;
+    private int skipDepth = 0;
+
+    CompiledJsonReader(CompiledStruct rootStruct, ByteBuf requestByteBuf, TProtocol oproto) {
+        this.rootStruct = rootStruct;
+        this.requestByteBuf = requestByteBuf;
+        this.oproto = oproto;
+        this.compact = oproto instanceof TCompactProtocol;
+        this.jsonCompressProtocolCodec = compact ? new TJsonCompressProtocolCodec() : null;
+    }
+
+    /**
+     * 出错时用于定位的字段名
+     */
+    String currentFieldName() {
+        return current == null ? null : current.fieldName;
+    }
+
+    @Override
+    public void onStartObject() {
+        try {
+            level++;
+
+            if (level == 0) return;  // it's the outside { body: ... } object
+
+            if (skip) {
+                skipDepth++;
+                return;
+            }
+
+            incrParentElementSize();
+
+            CompiledType type = current.type;
+            switch (type.kind) {
+                case STRUCT:
+                    if (type.struct == null) {
+                        logAndThrowTException("struct " + type.dataType.qualifiedName + " not found");
+                    }
+                    oproto.writeStructBegin(type.struct.tStruct);
+                    break;
+                case MAP:
+                    writeMapBegin(type);
+                    break;
+                default:
+                    logAndThrowTException();
+            }
+        } catch (TException ex) {
+            throw new WrappedTException(ex);
+        }
+    }
+
+    @Override
+    public void onEndObject() {
+        try {
+            level--;
+            if (level == -1) return; // the outer body
+
+            if (skip) {
+                skipDepth--;
+                return;
+            }
+
+            switch (current.type.kind) {
+                case STRUCT:
+                    validateStruct(current);
+                    oproto.writeFieldStop();
+                    oproto.writeStructEnd();
+                    break;
+                case MAP:
+                    oproto.writeMapEnd();
+                    reWriteByteBuf();
+                    break;
+                default:
+                    logAndThrowTException();
+            }
+        } catch (TException ex) {
+            throw new WrappedTException(ex);
+        }
+    }
+
+    @Override
+    public void onStartArray() {
+        try {
+            level++;
+            if (skip) {
+                skipDepth++;
+                return;
+            }
+
+            incrParentElementSize();
+
+            switch (current.type.kind) {
+                case LIST:
+                case SET:
+                    writeCollectionBegin(current.type);
+                    break;
+                default:
+                    logAndThrowTException();
+            }
+        } catch (TException ex) {
+            throw new WrappedTException(ex);
+        }
+    }
+
+    @Override
+    public void onEndArray() {
+        try {
+            level--;
+            if (skip) {
+                skipDepth--;
+                return;
+            }
+
+            switch (current.type.kind) {
+                case LIST:
+                    oproto.writeListEnd();
+                    reWriteByteBuf();
+                    break;
+                case SET:
+                    oproto.writeSetEnd();
+                    reWriteByteBuf();
+                    break;
+                default:
+                    //do nothing
+            }
+        } catch (TException ex) {
+            throw new WrappedTException(ex);
+        }
+    }
+
+    @Override
+    public void onStartField(String name) {
+        try {
+            if (skip) {
+                return;
+            }
+            if (level == 0) { // expect only the "body"
+                startBody("body".equals(name));
+                return;
+            }
+
+            CompiledType type = current.type;
+            if (type.kind == DataType.KIND.MAP) {
+                int tFieldPos = requestByteBuf.writerIndex();
+                if (type.keyType.kind == DataType.KIND.STRING) {
+                    oproto.writeString(name);
+                } else {
+                    writeIntField(name, type.keyType.kind);
+                }
+                push(type.valueType, null, tFieldPos, requestByteBuf.writerIndex(), name);
+            } else if (type.kind == DataType.KIND.STRUCT) {
+                CompiledField field = type.struct.get(name);
+                if (field == null) {
+                    skipUnknownField(name);
+                    return;
+                }
+                startStructField(field);
+            } else {
+                logAndThrowTException("field " + name + " type " + type.kind + " not compatible with json object");
+            }
+        } catch (TException ex) {
+            throw new WrappedTException(ex);
+        }
+    }
+
+    /**
+     * 结构体字段按UTF-8字节匹配, map的key等其余情况交给onStartField(String)
+     */
+    @Override
+    public boolean onStartField(byte[] utf8, int offset, int length) {
+        try {
+            if (skip) {
+                return true;
+            }
+            if (level == 0) {
+                startBody(length == BODY.length && equalsBody(utf8, offset));
+                return true;
+            }
+
+            CompiledType type = current.type;
+            if (type.kind != DataType.KIND.STRUCT) {
+                return false;
+            }
+            CompiledField field = type.struct.get(utf8, offset, length);
+            if (field == null) {
+                skipUnknownField(logger.isDebugEnabled() ? new String(utf8, offset, length, StandardCharsets.UTF_8) : null);
+                return true;
+            }
+            startStructField(field);
+            return true;
+        } catch (TException ex) {
+            throw new WrappedTException(ex);
+        }
+    }
+
+    private static boolean equalsBody(byte[] utf8, int offset) {
+        for (int i = 0; i < BODY.length; i++) {
+            if (utf8[offset + i] != BODY[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void startBody(boolean isBody) {
+        if (isBody) {
+            push(rootStruct.type, null, -1, requestByteBuf.writerIndex(), "body");
+        } else { // others, just skip now
+            skip = true;
+            skipDepth = 0;
+        }
+    }
+
+    private void startStructField(CompiledField field) throws TException {
+        int tFieldPos = requestByteBuf.writerIndex();
+        oproto.writeFieldBegin(field.tField);
+        push(field.type, field, tFieldPos, requestByteBuf.writerIndex(), field.name);
+    }
+
+    private void skipUnknownField(String name) {
+        skip = true;
+        skipDepth = 0;
+        logger.debug("field(" + name + ") not found. just skip");
+    }
+
+    @Override
+    public void onStartField(int index) {
+        if (skip) {
+            return;
+        }
+        push(current.type.valueType, null, -1, requestByteBuf.writerIndex(), null);
+    }
+
+    @Override
+    public void onEndField() {
+        try {
+            if (skip) {
+                if (skipDepth == 0) { // reset skipFlag
+                    skip = false;
+                }
+                return;
+            }
+
+            if (level > 0) { // level = 0 will having no current dataType
+                StackNode parent = peek();
+
+                switch (parent.type.kind) {
+                    case SET:
+                    case LIST:
+                        if (current.isNull) {
+                            logAndThrowTException("SET/LIST can't support null value");
+                        }
+                        break;
+                    case MAP:
+                        if (current.isNull) {
+                            requestByteBuf.writerIndex(current.tFieldPosition);
+                        }
+                        break;
+                    case STRUCT:
+                        if (current.isNull) {
+                            requestByteBuf.writerIndex(current.tFieldPosition);
+                            if (compact) {
+                                ((TCompactProtocol) oproto).resetLastFieldId();
+                            }
+                        } else {
+                            parent.fields4Struct.set(current.field.index);
+                            oproto.writeFieldEnd();
+                        }
+                        break;
+                    default:
+                }
+
+                pop();
+            }
+        } catch (TException ex) {
+            throw new WrappedTException(ex);
+        }
+    }
+
+    @Override
+    public void onBoolean(boolean value) {
+        try {
+            if (skip) {
+                return;
+            }
+
+            if (current.type.kind != DataType.KIND.BOOLEAN) {
+                logAndThrowTException();
+            }
+
+            incrParentElementSize();
+            oproto.writeBool(value);
+        } catch (TException ex) {
+            throw new WrappedTException(ex);
+        }
+    }
+
+    @Override
+    public void onNumber(double value) {
+        try {
+            if (skip) {
+                return;
+            }
+
+            incrParentElementSize();
+
+            switch (current.type.kind) {
+                case SHORT:
+                    oproto.writeI16((short) value);
+                    break;
+                case INTEGER:
+                case ENUM:
+                    oproto.writeI32((int) value);
+                    break;
+                case LONG:
+                case DATE:
+                    oproto.writeI64((long) value);
+                    break;
+                case DOUBLE:
+                    oproto.writeDouble(value);
+                    break;
+                case BIGDECIMAL:
+                    oproto.writeString(String.valueOf(value));
+                    break;
+                case BYTE:
+                    oproto.writeByte((byte) value);
+                    break;
+                default:
+                    throw new TException("Field:" + current.fieldName + ", DataType(" + current.type.kind
+                            + ") for " + current.type.dataType.qualifiedName + " is not a Number");
+            }
+        } catch (TException ex) {
+            throw new WrappedTException(ex);
+        }
+    }
+
+    @Override
+    public void onNumber(long value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void onNull() {
+        if (skip) {
+            return;
+        }
+        current.isNull = true;
+    }
+
+    @Override
+    public void onString(String value) {
+        try {
+            if (skip) {
+                return;
+            }
+
+            incrParentElementSize();
+
+            CompiledType type = current.type;
+            switch (type.kind) {
+                case ENUM:
+                    Integer tValue = type.optimizedEnum.findValue(value);
+                    if (tValue == null) {
+                        logger.error("Enum(" + type.dataType.qualifiedName + ") not found for value:" + value);
+                        logAndThrowTException();
+                    }
+                    oproto.writeI32(tValue);
+                    break;
+                case BOOLEAN:
+                    oproto.writeBool(Boolean.parseBoolean(value));
+                    break;
+                case DOUBLE:
+                    oproto.writeDouble(Double.parseDouble(value));
+                    break;
+                case BIGDECIMAL:
+                    oproto.writeString(value);
+                    break;
+                case INTEGER:
+                    oproto.writeI32(Integer.parseInt(value));
+                    break;
+                case LONG:
+                    oproto.writeI64(Long.parseLong(value));
+                    break;
+                case SHORT:
+                    oproto.writeI16(Short.parseShort(value));
+                    break;
+                default:
+                    if (type.kind != DataType.KIND.STRING) {
+                        throw new TException("Field:" + current.fieldName + ", Not a real String!");
+                    }
+                    oproto.writeString(value);
+            }
+        } catch (TException ex) {
+            throw new WrappedTException(ex);
+        }
+    }
+
+    /**
+     * 字符串类型直接写入UTF-8字节, 枚举按字节查找; 找不到的枚举以及字符串形式的数字等交给onString(String)
+     */
+    @Override
+    public boolean onString(byte[] utf8, int offset, int length) {
+        try {
+            if (skip) {
+                return true;
+            }
+
+            DataType.KIND kind = current.type.kind;
+            if (kind == DataType.KIND.ENUM) {
+                // 找不到时交给onString(String)报错
+                Integer tValue = current.type.optimizedEnum.findValue(utf8, offset, length);
+                if (tValue == null) {
+                    return false;
+                }
+                incrParentElementSize();
+                oproto.writeI32(tValue);
+                return true;
+            }
+            if (kind != DataType.KIND.STRING && kind != DataType.KIND.BIGDECIMAL) {
+                return false;
+            }
+
+            incrParentElementSize();
+            oproto.writeBinary(ByteBuffer.wrap(utf8, offset, length));
+            return true;
+        } catch (TException ex) {
+            throw new WrappedTException(ex);
+        }
+    }
+
+    private void push(CompiledType type, CompiledField field, int tFieldPos, int valuePos, String fieldName) {
+        if (depth == history.length) {
+            history = Arrays.copyOf(history, depth * 2);
+        }
+        StackNode node = history[depth];
+        if (node == null) {
+            node = history[depth] = new StackNode();
+        }
+        depth++;
+
+        node.init(type, field, valuePos, tFieldPos, fieldName);
+        this.current = node;
+    }
+
+    private void pop() {
+        depth--;
+        this.current = depth > 0 ? history[depth - 1] : null;
+    }
+
+    private StackNode peek() {
+        return depth <= 1 ? null : history[depth - 2];
+    }
+
+    private void incrParentElementSize() {
+        StackNode parent = peek();
+        if (parent != null && isMultiElementKind(parent.type.kind)) {
+            parent.elCount++;
+        }
+    }
+
+    private void validateStruct(StackNode node) throws TException {
+        CompiledStruct struct = node.type.struct;
+        for (CompiledField field : struct.requiredFields) {
+            if (!node.fields4Struct.get(field.index)) {
+                SoaException ex = new SoaException(SoaCode.ReqFieldNull.getCode(), "JsonError, please check:"
+                        + struct.name + "." + node.fieldName
+                        + ", optimizedStruct mandatory fields missing:"
+                        + field.name);
+                logger.error(ex.getMessage());
+                throw ex;
+            }
+        }
+    }
+
+    private void writeIntField(String value, DataType.KIND kind) throws TException {
+        switch (kind) {
+            case SHORT:
+                oproto.writeI16(Short.parseShort(value));
+                break;
+            case INTEGER:
+                oproto.writeI32(Integer.parseInt(value));
+                break;
+            case LONG:
+                oproto.writeI64(Long.parseLong(value));
+                break;
+            default:
+                logAndThrowTException();
+        }
+    }
+
+    private void writeMapBegin(CompiledType type) throws TException {
+        if (compact) {
+            jsonCompressProtocolCodec.writeMapBegin(type.keyType.ttype, type.valueType.ttype, requestByteBuf);
+        } else {
+            oproto.writeMapBegin(type.mapHeader);
+        }
+    }
+
+    /**
+     * TList just the same as TSet
+     */
+    private void writeCollectionBegin(CompiledType type) throws TException {
+        if (compact) {
+            jsonCompressProtocolCodec.writeCollectionBegin(type.valueType.ttype, requestByteBuf);
+        } else {
+            oproto.writeListBegin(type.collectionHeader);
+        }
+    }
+
+    /**
+     * 根据current节点回填集合元素个数
+     */
+    private void reWriteByteBuf() throws TException {
+        int beginPosition = current.valuePosition;
+        int elCount = current.elCount;
+        boolean isMap = current.type.kind == DataType.KIND.MAP;
+
+        if (!compact) {
+            // 二进制协议: map为 keyType(1) valueType(1) size(4), list/set为 elemType(1) size(4)
+            requestByteBuf.setInt(beginPosition + (isMap ? 2 : 1), elCount);
+            return;
+        }
+
+        int currentIndex = requestByteBuf.writerIndex();
+        requestByteBuf.writerIndex(beginPosition);
+        if (isMap) {
+            jsonCompressProtocolCodec.reWriteMapBegin(elCount, requestByteBuf);
+            // 空map只保留一个字节的0
+            requestByteBuf.writerIndex(elCount == 0 ? beginPosition + 1 : currentIndex);
+        } else {
+            jsonCompressProtocolCodec.reWriteCollectionBegin(elCount, requestByteBuf);
+            requestByteBuf.writerIndex(currentIndex);
+        }
+    }
+
+    private void logAndThrowTException() throws TException {
+        String fieldName = current == null ? "" : current.fieldName;
+
+        String struct = "";
+        if (current != null) {
+            if (current.type.struct != null) {
+                struct = current.type.struct.name;
+            } else {
+                StackNode peek = peek();
+                if (peek != null && peek.type.struct != null) {
+                    struct = peek.type.struct.name;
+                }
+            }
+        }
+        TException ex = new TException("JsonError, please check:" + struct + "." + fieldName);
+        logger.error(ex.getMessage(), ex);
+        throw ex;
+    }
+
+    private void logAndThrowTException(String msg) throws TException {
+        TException ex = new TException("JsonError:" + msg);
+        logger.error(ex.getMessage(), ex);
+        throw ex;
+    }
+
+    /**
+     * 当前处理节点的信息, 含义与JsonReader.StackNode相同
+     */
+    static final class StackNode {
+        private CompiledType type;
+        /**
+         * 结构体字段对应的元数据, 其余情况为null
+         */
+        private CompiledField field;
+        private int tFieldPosition;
+        private int valuePosition;
+        private String fieldName;
+        private final BitSet fields4Struct = new BitSet(64);
+        private int elCount;
+        private boolean isNull;
+
+        void init(CompiledType type, CompiledField field, int valuePosition, int tFieldPosition, String fieldName) {
+            this.type = type;
+            this.field = field;
+            this.valuePosition = valuePosition;
+            this.tFieldPosition = tFieldPosition;
+            this.fieldName = fieldName;
+
+            this.fields4Struct.clear();
+            this.elCount = 0;
+            this.isNull = false;
+        }
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.json;
+
+import com.github.dapeng.core.metadata.DataType;
+import com.github.dapeng.core.metadata.Field;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static com.github.dapeng.util.MetaDataUtil.dataType2Byte;
+
+/**
+ * 预编译的json/thrift转换元数据.
+ * <p>
+ * OptimizedService加载时把每个OptimizedStruct编译成CompiledStruct: 字段的TField, thrift类型,
+ * 嵌套的结构体, 枚举的label/value映射以及thrift -> json的读取逻辑都事先解析好, 转换时不再按名字
+ * 查找元数据, 也不再对DataType.KIND做分支判断. 编译结果保存在OptimizedService里, 每个服务版本一份.
+ * <p>
+ * 通过soa.json.compiled(默认true)开关, 关闭时JsonSerializer按原来的方式逐字段解释元数据
+ */
+final class CompiledMetadata {
+
+    /**
+     * Json能处理的最大long
+     * https://github.com/dapeng-soa/dapeng-soa/issues/5
+     */
+    private final static long MAX_JSON_LONG = 1L << 53;
+    private final static long MIN_JSON_LONG = -1L << 53;
+
+    private CompiledMetadata() {
+    }
+
+    /**
+     * thrift -> json, 读取一个值并回调writer
+     */
+    interface ValueReader {
+        void read(TProtocol iproto, JsonCallback writer) throws TException;
+    }
+
+    static final class CompiledType {
+        final DataType dataType;
+        final DataType.KIND kind;
+        final byte ttype;
+
+        /**
+         * MAP的key
+         */
+        CompiledType keyType;
+        /**
+         * MAP的value以及LIST/SET的元素
+         */
+        CompiledType valueType;
+        /**
+         * STRUCT, 找不到元数据时为null
+         */
+        CompiledStruct struct;
+        /**
+         * ENUM, 找不到元数据时为空的枚举
+         */
+        OptimizedMetadata.OptimizedEnum optimizedEnum;
+
+        /**
+         * 二进制协议下集合的头部, 长度先写0, 集合结束后再回填
+         */
+        TMap mapHeader;
+        TList collectionHeader;
+
+        ValueReader reader;
+
+        CompiledType(DataType dataType) {
+            this.dataType = dataType;
+            this.kind = dataType.kind;
+            this.ttype = dataType2Byte(dataType);
+        }
+    }
+
+    static final class CompiledField {
+        final String name;
+        /**
+         * 字段名的UTF-8编码, 用于Utf8JsonWriter直接写出字段名
+         */
+        final byte[] utf8Name;
+        final boolean optional;
+        final TField tField;
+        final CompiledType type;
+        /**
+         * tag - tagBase, 用于记录结构体中已经写入的字段
+         */
+        final int index;
+
+        CompiledField(Field field, CompiledType type, int tagBase) {
+            this.name = field.name;
+            this.utf8Name = field.name == null ? null : field.name.getBytes(StandardCharsets.UTF_8);
+            this.optional = field.isOptional();
+            this.tField = new TField(field.name, type.ttype, (short) field.tag);
+            this.type = type;
+            this.index = field.tag - tagBase;
+        }
+    }
+
+    static final class CompiledStruct {
+        final OptimizedMetadata.OptimizedStruct optimizedStruct;
+        final String name;
+        final TStruct tStruct;
+        final int tagBase;
+        /**
+         * 以该结构体为值的类型, 作为请求体的根节点
+         */
+        final CompiledType type;
+
+        private final Map<String, CompiledField> fieldMap;
+        private final CompiledField[] fieldArrayByTag;
+        private final Map<Short, CompiledField> fieldMapByTag;
+        /**
+         * 按字段名UTF-8字节查找, 所有字段编译完成后构建
+         */
+        private Utf8NameIndex<CompiledField> fieldIndex;
+        CompiledField[] requiredFields;
+
+        CompiledStruct(OptimizedMetadata.OptimizedStruct optimizedStruct) {
+            this.optimizedStruct = optimizedStruct;
+            this.name = optimizedStruct.struct.name;
+            this.tStruct = new TStruct(name);
+            this.tagBase = optimizedStruct.tagBase;
+
+            DataType dataType = new DataType();
+            dataType.setKind(DataType.KIND.STRUCT);
+            dataType.qualifiedName = name;
+            this.type = new CompiledType(dataType);
+            this.type.struct = this;
+            this.type.reader = this::read;
+
+            int fields = optimizedStruct.struct.fields.size();
+            this.fieldMap = new HashMap<>(fields * 2);
+            int maxTag = 0;
+            for (Field f : optimizedStruct.struct.fields) {
+                if (f.tag > maxTag) maxTag = f.tag;
+            }
+            if (maxTag - tagBase + 1 <= 256) {
+                this.fieldArrayByTag = new CompiledField[maxTag - tagBase + 1];
+                this.fieldMapByTag = null;
+            } else {
+                this.fieldArrayByTag = null;
+                this.fieldMapByTag = new HashMap<>(fields * 2);
+            }
+        }
+
+        private void addField(Field field, CompiledField compiled) {
+            fieldMap.put(field.name, compiled);
+            if (fieldArrayByTag != null) {
+                fieldArrayByTag[field.tag - tagBase] = compiled;
+            } else {
+                fieldMapByTag.put((short) field.tag, compiled);
+            }
+        }
+
+        CompiledField get(String name) {
+            return fieldMap.get(name);
+        }
+
+        /**
+         * 按字段名的UTF-8字节查找, 不需要先解码成String
+         */
+        CompiledField get(byte[] utf8, int offset, int length) {
+            return fieldIndex.get(utf8, offset, length);
+        }
+
+        CompiledField get(short tag) {
+            if (fieldArrayByTag != null) {
+                return tag >= tagBase && tag - tagBase < fieldArrayByTag.length ? fieldArrayByTag[tag - tagBase] : null;
+            }
+            return fieldMapByTag.get(tag);
+        }
+
+        /**
+         * thrift -> json. 未知字段以及thrift类型与元数据不一致的字段直接跳过
+         */
+        void read(TProtocol iproto, JsonCallback writer) throws TException {
+            Utf8JsonWriter utf8Writer = writer instanceof Utf8JsonWriter ? (Utf8JsonWriter) writer : null;
+            iproto.readStructBegin();
+            writer.onStartObject();
+
+            while (true) {
+                TField field = iproto.readFieldBegin();
+                if (field.type == TType.STOP) break;
+
+                CompiledField fld = get(field.id);
+                if (fld != null && fld.type.ttype == field.type) {
+                    if (utf8Writer != null) {
+                        utf8Writer.onStartField(fld.utf8Name);
+                    } else {
+                        writer.onStartField(fld.name);
+                    }
+                    fld.type.reader.read(iproto, writer);
+                    writer.onEndField();
+                } else {
+                    TProtocolUtil.skip(iproto, field.type);
+                }
+
+                iproto.readFieldEnd();
+            }
+
+            iproto.readStructEnd();
+            writer.onEndObject();
+        }
+    }
+
+    /**
+     * 编译服务中的全部结构体
+     *
+     * @return OptimizedStruct(按引用比较) -> CompiledStruct
+     */
+    static Map<OptimizedMetadata.OptimizedStruct, CompiledStruct> compile(OptimizedMetadata.OptimizedService service) {
+        Compiler compiler = new Compiler(service, new IdentityHashMap<>(service.optimizedStructs.size() * 2));
+        for (OptimizedMetadata.OptimizedStruct struct : service.optimizedStructs.values()) {
+            compiler.struct(struct);
+        }
+        return compiler.compiled;
+    }
+
+    /**
+     * 编译不在服务元数据中的结构体(例如调用方自行构造的OptimizedStruct), 嵌套的结构体复用服务已编译的结果, 不缓存
+     */
+    static CompiledStruct compile(OptimizedMetadata.OptimizedService service, OptimizedMetadata.OptimizedStruct struct) {
+        Compiler compiler = new Compiler(service, new IdentityHashMap<>(service.compiledStructs));
+        return compiler.struct(struct);
+    }
+
+    private static final class Compiler {
+        private final OptimizedMetadata.OptimizedService service;
+        private final Map<OptimizedMetadata.OptimizedStruct, CompiledStruct> compiled;
+
+        Compiler(OptimizedMetadata.OptimizedService service, Map<OptimizedMetadata.OptimizedStruct, CompiledStruct> compiled) {
+            this.service = service;
+            this.compiled = compiled;
+        }
+
+        CompiledStruct struct(OptimizedMetadata.OptimizedStruct optimizedStruct) {
+            CompiledStruct struct = compiled.get(optimizedStruct);
+            if (struct != null) {
+                return struct;
+            }
+
+            // 先登记再编译字段, 结构体之间相互(或者自身)引用时直接使用这个引用
+            struct = new CompiledStruct(optimizedStruct);
+            compiled.put(optimizedStruct, struct);
+
+            List<CompiledField> required = new ArrayList<>();
+            for (Field field : optimizedStruct.struct.fields) {
+                CompiledField compiledField = new CompiledField(field, type(field.dataType), struct.tagBase);
+                struct.addField(field, compiledField);
+                if (!compiledField.optional) {
+                    required.add(compiledField);
+                }
+            }
+            struct.requiredFields = required.toArray(new CompiledField[0]);
+            struct.fieldIndex = Utf8NameIndex.build(struct.fieldMap);
+            return struct;
+        }
+
+        CompiledType type(DataType dataType) {
+            CompiledType type = new CompiledType(dataType);
+            switch (type.kind) {
+                case STRUCT:
+                    OptimizedMetadata.OptimizedStruct optimizedStruct = service.optimizedStructs.get(dataType.qualifiedName);
+                    type.struct = optimizedStruct == null ? null : struct(optimizedStruct);
+                    break;
+                case ENUM:
+                    OptimizedMetadata.OptimizedEnum optimizedEnum = service.optimizedEnums.get(dataType.qualifiedName);
+                    type.optimizedEnum = optimizedEnum != null ? optimizedEnum : OptimizedMetadata.OptimizedEnum.EMPTY;
+                    break;
+                case MAP:
+                    type.keyType = type(dataType.keyType);
+                    type.valueType = type(dataType.valueType);
+                    type.mapHeader = new TMap(type.keyType.ttype, type.valueType.ttype, 0);
+                    break;
+                case LIST:
+                case SET:
+                    type.valueType = type(dataType.valueType);
+                    type.collectionHeader = new TList(type.valueType.ttype, 0);
+                    break;
+                default:
+            }
+            type.reader = reader(type);
+            return type;
+        }
+
+        private ValueReader reader(CompiledType type) {
+            switch (type.kind) {
+                case BOOLEAN:
+                    return (iproto, writer) -> writer.onBoolean(iproto.readBool());
+                case BYTE:
+                    return (iproto, writer) -> writer.onNumber(iproto.readByte());
+                case SHORT:
+                    return (iproto, writer) -> writer.onNumber(iproto.readI16());
+                case INTEGER:
+                    return (iproto, writer) -> writer.onNumber(iproto.readI32());
+                case DOUBLE:
+                    return (iproto, writer) -> writer.onNumber(iproto.readDouble());
+                case LONG:
+                case DATE:
+                    return CompiledMetadata::readLong;
+                case STRING:
+                case BIGDECIMAL:
+                case BINARY:
+                    return (iproto, writer) -> writer.onString(iproto.readString());
+                case ENUM:
+                    OptimizedMetadata.OptimizedEnum optimizedEnum = type.optimizedEnum;
+                    return (iproto, writer) -> writer.onString(optimizedEnum.findLabel(iproto.readI32()));
+                case STRUCT:
+                    CompiledStruct struct = type.struct;
+                    if (struct == null) {
+                        String qualifiedName = type.dataType.qualifiedName;
+                        return (iproto, writer) -> {
+                            throw new TException("struct " + qualifiedName + " not found");
+                        };
+                    }
+                    return struct::read;
+                case MAP:
+                    return (iproto, writer) -> readMap(iproto, writer, type);
+                case LIST:
+                case SET:
+                    return (iproto, writer) -> readCollection(iproto, writer, type);
+                default:
+                    return (iproto, writer) -> {
+                    };
+            }
+        }
+    }
+
+    private static void readLong(TProtocol iproto, JsonCallback writer) throws TException {
+        long lValue = iproto.readI64();
+        if (lValue <= MAX_JSON_LONG && lValue >= MIN_JSON_LONG) {
+            writer.onNumber(lValue);
+        } else {
+            writer.onString(String.valueOf(lValue));
+        }
+    }
+
+    private static void readMap(TProtocol iproto, JsonCallback writer, CompiledType type) throws TException {
+        TMap map = iproto.readMapBegin();
+        writer.onStartObject();
+
+        if (map.size > 0 && (map.keyType != type.keyType.ttype || map.valueType != type.valueType.ttype)) {
+            for (int index = 0; index < map.size; index++) {
+                TProtocolUtil.skip(iproto, map.keyType);
+                TProtocolUtil.skip(iproto, map.valueType);
+            }
+        } else {
+            ValueReader valueReader = type.valueType.reader;
+            for (int index = 0; index < map.size; index++) {
+                switch (map.keyType) {
+                    case TType.STRING:
+                        writer.onStartField(iproto.readString());
+                        break;
+                    case TType.I16:
+                        writer.onStartField(String.valueOf(iproto.readI16()));
+                        break;
+                    case TType.I32:
+                        writer.onStartField(String.valueOf(iproto.readI32()));
+                        break;
+                    case TType.I64:
+                        writer.onStartField(String.valueOf(iproto.readI64()));
+                        break;
+                    default:
+                        throw new TException("unsupported map key type:" + map.keyType);
+                }
+                valueReader.read(iproto, writer);
+                writer.onEndField();
+            }
+        }
+
+        iproto.readMapEnd();
+        writer.onEndObject();
+    }
+
+    /**
+     * LIST与SET的编码方式相同
+     */
+    private static void readCollection(TProtocol iproto, JsonCallback writer, CompiledType type) throws TException {
+        TList list = iproto.readListBegin();
+        writer.onStartArray();
+
+        if (list.size > 0 && list.elemType != type.valueType.ttype) {
+            for (int index = 0; index < list.size; index++) {
+                TProtocolUtil.skip(iproto, list.elemType);
+            }
+        } else {
+            ValueReader elemReader = type.valueType.reader;
+            for (int index = 0; index < list.size; index++) {
+                elemReader.read(iproto, writer);
+                writer.onEndField();
+            }
+        }
+
+        iproto.readListEnd();
+        writer.onEndArray();
+    }
+}
@@ -24,7 +24,6 @@ import com.github.dapeng.core.SoaException;
 import com.github.dapeng.core.metadata.DataType;
 import com.github.dapeng.core.metadata.Field;
 import com.github.dapeng.core.metadata.Struct;
-import com.github.dapeng.core.metadata.TEnum;
 import com.github.dapeng.org.apache.thrift.TException;
 import com.github.dapeng.org.apache.thrift.WrappedTException;
 import com.github.dapeng.org.apache.thrift.protocol.*;
@@ -33,6 +32,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import sun.reflect.generics.reflectiveObjects.NotImplementedException;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
@@ -41,7 +41,6 @@ import java.util.Stack;
 import static com.github.dapeng.core.enums.CodecProtocol.CompressedBinary;
 import static com.github.dapeng.json.JsonUtils.*;
 import static com.github.dapeng.util.MetaDataUtil.dataType2Byte;
-import static com.github.dapeng.util.MetaDataUtil.findEnumItemValue;
 
 /**
  * Json -> Thrift
@@ -56,7 +55,7 @@ import static com.github.dapeng.util.MetaDataUtil.findEnumItemValue;
  * }
  * </pre>
  */
-class JsonReader implements JsonCallback {
+class JsonReader implements Utf8JsonCallback {
     private final Logger logger = LoggerFactory.getLogger(JsonReader.class);
 
     private final OptimizedMetadata.OptimizedStruct optimizedStruct;
@@ -378,24 +377,12 @@ class JsonReader implements JsonCallback {
                             optimizedService.optimizedStructs.get(current.dataType.valueType.qualifiedName),
                             name);
                 } else if (current.dataType.kind == DataType.KIND.STRUCT) {
-
                     Field field = current.optimizedStruct.fieldMap.get(name);
                     if (field == null) {
-                        skip = true;
-                        skipDepth = 0;
-                        logger.debug("field(" + name + ") not found. just skip");
-                        return;
+                        skipUnknownField(name);
                     } else {
-                        skip = false;
+                        startStructField(field);
                     }
-
-                    int tFieldPos = requestByteBuf.writerIndex();
-                    oproto.writeFieldBegin(new TField(field.name, dataType2Byte(field.dataType), (short) field.getTag()));
-                    push(field.dataType,
-                            tFieldPos,
-                            requestByteBuf.writerIndex(),
-                            optimizedService.optimizedStructs.get(field.dataType.qualifiedName),
-                            name);
                 } else {
                     logAndThrowTException("field " + name + " type " + toString(current.dataType) + " not compatible with json object");
                 }
@@ -406,6 +393,48 @@ class JsonReader implements JsonCallback {
         }
     }
 
+    /**
+     * 结构体的字段名直接按UTF-8字节查找, 其余情况交给onStartField(String)
+     */
+    @Override
+    public boolean onStartField(byte[] utf8, int offset, int length) {
+        if (skip) {
+            return true;
+        }
+        if (level == 0 || current.dataType.kind != DataType.KIND.STRUCT) {
+            return false;
+        }
+        Field field = current.optimizedStruct.get(utf8, offset, length);
+        if (field == null) {
+            skipUnknownField(logger.isDebugEnabled() ? new String(utf8, offset, length, StandardCharsets.UTF_8) : null);
+        } else {
+            try {
+                startStructField(field);
+            } catch (TException ex) {
+                throw new WrappedTException(ex);
+            }
+        }
+        return true;
+    }
+
+    private void startStructField(Field field) throws TException {
+        skip = false;
+
+        int tFieldPos = requestByteBuf.writerIndex();
+        oproto.writeFieldBegin(new TField(field.name, dataType2Byte(field.dataType), (short) field.getTag()));
+        push(field.dataType,
+                tFieldPos,
+                requestByteBuf.writerIndex(),
+                optimizedService.optimizedStructs.get(field.dataType.qualifiedName),
+                field.name);
+    }
+
+    private void skipUnknownField(String name) {
+        skip = true;
+        skipDepth = 0;
+        logger.debug("field(" + name + ") not found. just skip");
+    }
+
     @Override
     public void onStartField(int index) {
         if (skip) {
@@ -558,6 +587,14 @@ class JsonReader implements JsonCallback {
         current.isNull = true;
     }
 
+    /**
+     * 跳过的字段不需要解码, 其余交给onString(String)
+     */
+    @Override
+    public boolean onString(byte[] utf8, int offset, int length) {
+        return skip;
+    }
+
     @Override
     public void onString(String value) {
         try {
@@ -572,8 +609,8 @@ class JsonReader implements JsonCallback {
 
             switch (current.dataType.kind) {
                 case ENUM:
-                    TEnum tEnum = optimizedService.enumMap.get(current.dataType.qualifiedName);
-                    Integer tValue = findEnumItemValue(tEnum, value);
+                    OptimizedMetadata.OptimizedEnum optimizedEnum = optimizedService.optimizedEnums.get(current.dataType.qualifiedName);
+                    Integer tValue = optimizedEnum != null ? optimizedEnum.findValue(value) : null;
                     if (tValue == null) {
                         logger.error("Enum(" + current.dataType.qualifiedName + ") not found for value:" + value);
                         logAndThrowTException();
@@ -17,6 +17,7 @@
 package com.github.dapeng.json;
 
 import com.github.dapeng.core.BeanSerializer;
+import com.github.dapeng.core.helper.SoaSystemEnvProperties;
 import com.github.dapeng.core.metadata.DataType;
 import com.github.dapeng.core.metadata.Field;
 import com.github.dapeng.core.metadata.Method;
@@ -27,11 +28,19 @@ import io.netty.buffer.ByteBuf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
 import static com.github.dapeng.json.JsonUtils.isCollectionKind;
 import static com.github.dapeng.json.JsonUtils.isComplexKind;
-import static com.github.dapeng.util.MetaDataUtil.findEnumItemLabel;
 
 /**
+ * json与thrift之间的转换.
+ * <p>
+ * 构造之后不再修改状态(rootField返回新的实例), 可以在多个线程之间共享,
+ * 见OptimizedMetadata.OptimizedMethod. json -> thrift时请求的ByteBuf需要通过write(input, oproto, requestByteBuf)传入.
+ * 旧的setRequestByteBuf + write(input, oproto)只能用于调用方自己新建的实例, 共享的实例不支持
+ *
  * @author ever
  */
 public class JsonSerializer implements BeanSerializer<String> {
@@ -48,8 +57,24 @@ public class JsonSerializer implements BeanSerializer<String> {
     private final OptimizedMetadata.OptimizedService optimizedService;
     private final Method method;
     private final String version;
+    /**
+     * 追加在响应最外层对象末尾的字段(json片段), 见rootField
+     */
+    private final String rootFields;
+    /**
+     * 是否为OptimizedMethod中共享的实例, 见shared()
+     */
+    private final boolean shared;
+    /**
+     * 兼容旧的用法(每次调用新建JsonSerializer并setRequestByteBuf), 共享的实例始终为null
+     */
     private ByteBuf requestByteBuf;
 
+    /**
+     * 预编译的结构体, soa.json.compiled关闭时为null
+     */
+    private final CompiledMetadata.CompiledStruct compiledStruct;
+
     public JsonSerializer(OptimizedMetadata.OptimizedService optimizedService,
                           Method method, String version,
                           OptimizedMetadata.OptimizedStruct optimizedStruct) {
@@ -57,6 +82,22 @@ public class JsonSerializer implements BeanSerializer<String> {
         this.optimizedService = optimizedService;
         this.method = method;
         this.version = version;
+        this.compiledStruct = SoaSystemEnvProperties.SOA_JSON_COMPILED ?
+                optimizedService.compiledStruct(optimizedStruct) : null;
+        this.rootFields = null;
+        this.shared = false;
+    }
+
+    private JsonSerializer(JsonSerializer origin, String rootFields,
+                           CompiledMetadata.CompiledStruct compiledStruct, boolean shared) {
+        this.optimizedStruct = origin.optimizedStruct;
+        this.optimizedService = origin.optimizedService;
+        this.method = origin.method;
+        this.version = origin.version;
+        this.compiledStruct = compiledStruct;
+        this.rootFields = rootFields;
+        this.shared = shared;
+        this.requestByteBuf = shared ? null : origin.requestByteBuf;
     }
 
     /**
@@ -69,23 +110,137 @@ public class JsonSerializer implements BeanSerializer<String> {
     public String read(TProtocol iproto) throws TException {
 
         JsonWriter writer = new JsonWriter();
+        if (rootFields != null) {
+            writer.appendToRoot(rootFields);
+        }
         read(iproto, writer);
         return writer.toString();
     }
 
+    /**
+     * thrift -> json, 以UTF-8直接写入out, 不生成String
+     * @param iproto
+     * @param out
+     * @throws TException
+     */
+    public void read(TProtocol iproto, ByteBuf out) throws TException {
+        readUtf8(iproto, new Utf8JsonWriter(out));
+    }
+
+    /**
+     * thrift -> json, 以UTF-8直接写入out, 不生成String
+     * @param iproto
+     * @param out
+     * @throws TException
+     */
+    public void read(TProtocol iproto, OutputStream out) throws TException {
+        readUtf8(iproto, new Utf8JsonWriter(out));
+    }
+
+    private void readUtf8(TProtocol iproto, Utf8JsonWriter writer) throws TException {
+        if (rootFields != null) {
+            writer.appendToRoot(rootFields);
+        }
+        read(iproto, writer);
+        writer.flush();
+    }
+
+    /**
+     * thrift -> json时在最外层对象末尾追加一个字段, 例如JsonPost返回的"status":1
+     * @param name
+     * @param value
+     * @return 追加了该字段的新实例, 当前实例不变
+     */
+    public JsonSerializer rootField(String name, long value) {
+        String field = "\"" + name + "\":" + value;
+        return new JsonSerializer(this, rootFields == null ? field : rootFields + "," + field, compiledStruct, shared);
+    }
+
+    /**
+     * 逐字段解释元数据的实例(不使用预编译的结构体), 用于校验预编译的结果与原来一致
+     * @return 新实例, 当前实例不变
+     */
+    JsonSerializer interpreted() {
+        return new JsonSerializer(this, rootFields, null, shared);
+    }
+
+    /**
+     * 使用预编译结构体的实例, 不受soa.json.compiled开关影响
+     * @return 新实例, 当前实例不变
+     */
+    JsonSerializer compiled() {
+        return new JsonSerializer(this, rootFields, optimizedService.compiledStruct(optimizedStruct), shared);
+    }
+
+    /**
+     * 供多个线程共享的实例, 不能再setRequestByteBuf, 见OptimizedMetadata.OptimizedMethod
+     * @return 新实例, 当前实例不变
+     */
+    JsonSerializer shared() {
+        return new JsonSerializer(this, rootFields, compiledStruct, true);
+    }
+
 
     /**
-     *
-     * json -> thrift
+     * json -> thrift, 使用setRequestByteBuf设置的ByteBuf. 共享的实例没有该ByteBuf, 直接失败,
+     * 请使用write(String, TProtocol, ByteBuf)
      * @param input
      * @param oproto
      * @throws TException
      */
     @Override
     public void write(String input, TProtocol oproto) throws TException {
+        write(input, oproto, requestByteBuf);
+    }
+
+    /**
+     * json -> thrift, requestByteBuf为oproto最终写入的ByteBuf(用于回填集合的长度等)
+     * @param input
+     * @param oproto
+     * @param requestByteBuf
+     * @throws TException
+     */
+    public void write(String input, TProtocol oproto, ByteBuf requestByteBuf) throws TException {
+        write(callback -> new JsonParser(input, callback).parseJsValue(), oproto, requestByteBuf);
+    }
+
+    /**
+     * json(UTF-8字节) -> thrift, 不需要先解码成String. 不改变input的readerIndex.
+     * requestByteBuf见write(String, TProtocol, ByteBuf)
+     * @param input
+     * @param oproto
+     * @param requestByteBuf
+     * @throws TException
+     */
+    public void write(ByteBuf input, TProtocol oproto, ByteBuf requestByteBuf) throws TException {
+        write(callback -> new Utf8JsonParser(input, callback).parseJsValue(), oproto, requestByteBuf);
+    }
+
+    /**
+     * json(UTF-8字节) -> thrift
+     * @param input
+     * @param offset
+     * @param length
+     * @param oproto
+     * @param requestByteBuf 见write(String, TProtocol, ByteBuf)
+     * @throws TException
+     */
+    public void write(byte[] input, int offset, int length, TProtocol oproto, ByteBuf requestByteBuf) throws TException {
+        write(callback -> new Utf8JsonParser(input, offset, length, callback).parseJsValue(), oproto, requestByteBuf);
+    }
+
+    private void write(Consumer<JsonCallback> parser, TProtocol oproto, ByteBuf requestByteBuf) throws TException {
+        if (requestByteBuf == null) {
+            throw requestByteBufRequired();
+        }
+        if (compiledStruct != null) {
+            writeCompiled(parser, oproto, requestByteBuf);
+            return;
+        }
+
         JsonReader jsonReader = new JsonReader(optimizedStruct, optimizedService, requestByteBuf, oproto);
         try {
-            new JsonParser(input, jsonReader).parseJsValue();
+            parser.accept(jsonReader);
         }
         catch(WrappedTException e){
             throw e.getCause();
@@ -100,6 +255,24 @@ public class JsonSerializer implements BeanSerializer<String> {
         }
     }
 
+    private void writeCompiled(Consumer<JsonCallback> parser, TProtocol oproto, ByteBuf requestByteBuf) throws TException {
+        CompiledJsonReader jsonReader = new CompiledJsonReader(compiledStruct, requestByteBuf, oproto);
+        try {
+            parser.accept(jsonReader);
+        }
+        catch(WrappedTException e){
+            throw e.getCause();
+        }
+        catch (RuntimeException e) {
+            if (jsonReader.current != null) {
+                String errorMsg = "Please check field:" + jsonReader.currentFieldName();
+                logger.error(errorMsg + "\n" + e.getMessage(), e);
+                throw new TException(errorMsg);
+            }
+            throw e;
+        }
+    }
+
     @Override
     public void validate(String s) throws TException {
 
@@ -110,11 +283,40 @@ public class JsonSerializer implements BeanSerializer<String> {
         return s;
     }
 
+    /**
+     * 兼容旧的用法, 只能用于调用方自己新建的实例
+     * @param requestByteBuf 见write(String, TProtocol, ByteBuf)
+     * @throws IllegalStateException 共享的实例(OptimizedMethod.getRequestSerializer等)
+     * @deprecated 请使用write(String, TProtocol, ByteBuf)
+     */
+    @Deprecated
     public void setRequestByteBuf(ByteBuf requestByteBuf) {
+        if (shared) {
+            throw new IllegalStateException("shared JsonSerializer can not hold requestByteBuf, use write(String, TProtocol, ByteBuf). method:"
+                    + optimizedService.service.name + "." + method.name);
+        }
         this.requestByteBuf = requestByteBuf;
     }
 
+    private TException requestByteBufRequired() {
+        return new TException("requestByteBuf is required, use write(String, TProtocol, ByteBuf)"
+                + (shared ? "" : " or setRequestByteBuf") + ". method:"
+                + optimizedService.service.name + "." + method.name);
+    }
+
     private void read(TProtocol iproto, JsonCallback writer) throws TException {
+        if (compiledStruct != null) {
+            compiledStruct.read(iproto, writer);
+            return;
+        }
+        readStruct(optimizedStruct, iproto, writer);
+    }
+
+    /**
+     * 嵌套的结构体直接递归读取, 不再为每个结构体新建JsonSerializer
+     */
+    private void readStruct(OptimizedMetadata.OptimizedStruct optimizedStruct, TProtocol iproto,
+                            JsonCallback writer) throws TException {
         iproto.readStructBegin();
         writer.onStartObject();
 
@@ -166,7 +368,8 @@ public class JsonSerializer implements BeanSerializer<String> {
             case TType.I32:
                 int iValue = iproto.readI32();
                 if (fieldDataType != null && fieldDataType.kind == DataType.KIND.ENUM) {
-                    String enumLabel = findEnumItemLabel(optimizedService.enumMap.get(fieldDataType.qualifiedName), iValue);
+                    OptimizedMetadata.OptimizedEnum optimizedEnum = optimizedService.optimizedEnums.get(fieldDataType.qualifiedName);
+                    String enumLabel = optimizedEnum != null ? optimizedEnum.findLabel(iValue) : null;
                     writer.onString(enumLabel);
                 } else {
                     writer.onNumber(iValue);
@@ -187,7 +390,7 @@ public class JsonSerializer implements BeanSerializer<String> {
             case TType.STRUCT:
                 String subStructName = fieldDataType.qualifiedName;
                 OptimizedMetadata.OptimizedStruct subStruct = optimizedService.optimizedStructs.get(subStructName);
-                new JsonSerializer(optimizedService, method, version, subStruct).read(iproto, writer);
+                readStruct(subStruct, iproto, writer);
 
                 break;
             case TType.MAP:
@@ -255,7 +458,7 @@ public class JsonSerializer implements BeanSerializer<String> {
                 readField(iproto, metadataType, elemType, writer);
             } else {
                 if (struct != null) {
-                    new JsonSerializer(optimizedService, method, version, struct).read(iproto, writer);
+                    readStruct(struct, iproto, writer);
                 } else if (isCollectionKind(metadataType.kind)) {
                     //处理List<list<>>
                     TList list = iproto.readListBegin();
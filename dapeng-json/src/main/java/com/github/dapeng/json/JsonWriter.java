@@ -23,24 +23,45 @@ public class JsonWriter implements JsonCallback {
 
     private StringBuilder builder = new StringBuilder(64);
 
+    private int depth = 0;
+    private String rootFields;
+
+    /**
+     * 在最外层对象结束前追加的json片段, 例如: "status":1
+     */
+    public JsonWriter appendToRoot(String jsonFragment) {
+        this.rootFields = jsonFragment;
+        return this;
+    }
+
     @Override
     public void onStartObject() {
+        depth++;
         builder.append('{');
     }
 
     @Override
     public void onEndObject() {
+        depth--;
         removeTailSplitor();
+        if (depth == 0 && rootFields != null) {
+            if (builder.charAt(builder.length() - 1) != '{') {
+                builder.append(',');
+            }
+            builder.append(rootFields);
+        }
         builder.append('}');
     }
 
     @Override
     public void onStartArray() {
+        depth++;
         builder.append('[');
     }
 
     @Override
     public void onEndArray() {
+        depth--;
         removeTailSplitor();
         builder.append(']');
     }
@@ -16,11 +16,13 @@
  */
 package com.github.dapeng.json;
 
+import com.github.dapeng.core.helper.SoaSystemEnvProperties;
 import com.github.dapeng.core.metadata.*;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -37,6 +39,23 @@ public class OptimizedMetadata {
 
         final Map<String, OptimizedStruct> optimizedStructs = new HashMap<>(1024);
         final Map<String, TEnum> enumMap = new HashMap<>(128);
+        final Map<String, OptimizedEnum> optimizedEnums = new HashMap<>(128);
+
+        /**
+         * 按全限定名的UTF-8字节查找结构体/枚举
+         */
+        final Utf8NameIndex<OptimizedStruct> structIndex;
+        final Utf8NameIndex<OptimizedEnum> enumIndex;
+
+        /**
+         * 预编译的结构体, key为optimizedStructs中的OptimizedStruct(按引用比较)
+         */
+        final Map<OptimizedStruct, CompiledMetadata.CompiledStruct> compiledStructs;
+
+        /**
+         * 按方法名预先准备好的请求/响应转换器
+         */
+        final Map<String, OptimizedMethod> optimizedMethods = new HashMap<>(128);
 
         public OptimizedService(Service service) {
             this.service = service;
@@ -45,6 +64,7 @@ public class OptimizedMetadata {
             }
             for (TEnum tEnum : service.enumDefinitions) {
                 enumMap.put(tEnum.namespace + "." + tEnum.name, tEnum);
+                optimizedEnums.put(tEnum.namespace + "." + tEnum.name, new OptimizedEnum(tEnum));
             }
             for (Method method: service.methods) {
                 methodMap.put(method.name, method);
@@ -53,6 +73,16 @@ public class OptimizedMetadata {
                 optimizedStructs.put(method.request.name + ".body", wrapperReq(method));
                 optimizedStructs.put(method.response.namespace + "." + method.response.name, new OptimizedStruct(method.response));
             }
+
+            this.structIndex = Utf8NameIndex.build(optimizedStructs);
+            this.enumIndex = Utf8NameIndex.build(optimizedEnums);
+
+            this.compiledStructs = SoaSystemEnvProperties.SOA_JSON_COMPILED ?
+                    CompiledMetadata.compile(this) : Collections.emptyMap();
+
+            for (Method method: service.methods) {
+                optimizedMethods.put(method.name, new OptimizedMethod(this, method));
+            }
         }
 
         public Service getService() {
@@ -71,6 +101,42 @@ public class OptimizedMetadata {
             return Collections.unmodifiableMap(enumMap);
         }
 
+        /**
+         * 按全限定名查找枚举, 不存在时返回null
+         */
+        public OptimizedEnum getOptimizedEnum(String qualifiedName) {
+            return optimizedEnums.get(qualifiedName);
+        }
+
+        /**
+         * 按全限定名的UTF-8字节查找结构体, 不需要先生成String
+         */
+        public OptimizedStruct getOptimizedStruct(byte[] utf8, int offset, int length) {
+            return structIndex.get(utf8, offset, length);
+        }
+
+        /**
+         * 按全限定名的UTF-8字节查找枚举, 不需要先生成String
+         */
+        public OptimizedEnum getOptimizedEnum(byte[] utf8, int offset, int length) {
+            return enumIndex.get(utf8, offset, length);
+        }
+
+        /**
+         * 方法的请求/响应转换器, 方法不存在时返回null
+         */
+        public OptimizedMethod getOptimizedMethod(String methodName) {
+            return optimizedMethods.get(methodName);
+        }
+
+        /**
+         * 结构体的预编译结果, 不属于本服务元数据的结构体临时编译
+         */
+        CompiledMetadata.CompiledStruct compiledStruct(OptimizedStruct struct) {
+            CompiledMetadata.CompiledStruct compiled = compiledStructs.get(struct);
+            return compiled != null ? compiled : CompiledMetadata.compile(this, struct);
+        }
+
         private OptimizedStruct wrapperReq(Method method) {
             Struct reqWrapperStruct = new Struct();
             reqWrapperStruct.name = "body";
@@ -88,6 +154,176 @@ public class OptimizedMetadata {
         }
     }
 
+    /**
+     * 一个方法预先准备好的请求/响应结构体以及JsonSerializer, 调用时只需要按方法名查找一次.
+     * 其中的JsonSerializer构造后不再修改, 可以被所有调用共享
+     */
+    public static class OptimizedMethod {
+        final Method method;
+        final OptimizedStruct request;
+        final OptimizedStruct response;
+
+        final JsonSerializer requestSerializer;
+        final JsonSerializer responseSerializer;
+        /**
+         * 响应带上"status":1, 用于JsonPost的同步调用
+         */
+        final JsonSerializer statusResponseSerializer;
+
+        final Utf8JsonSerializer utf8RequestSerializer;
+        final Utf8JsonSerializer utf8ResponseSerializer;
+        final Utf8JsonSerializer utf8StatusResponseSerializer;
+
+        OptimizedMethod(OptimizedService service, Method method) {
+            String version = service.service.meta != null ? service.service.meta.version : null;
+            this.method = method;
+            this.request = service.optimizedStructs.get(method.request.namespace + "." + method.request.name);
+            this.response = service.optimizedStructs.get(method.response.namespace + "." + method.response.name);
+
+            this.requestSerializer = new JsonSerializer(service, method, version, request).shared();
+            this.responseSerializer = new JsonSerializer(service, method, version, response).shared();
+            this.statusResponseSerializer = responseSerializer.rootField("status", 1);
+
+            this.utf8RequestSerializer = new Utf8JsonSerializer(requestSerializer);
+            this.utf8ResponseSerializer = new Utf8JsonSerializer(responseSerializer);
+            this.utf8StatusResponseSerializer = new Utf8JsonSerializer(statusResponseSerializer);
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public OptimizedStruct getRequest() {
+            return request;
+        }
+
+        public OptimizedStruct getResponse() {
+            return response;
+        }
+
+        public JsonSerializer getRequestSerializer() {
+            return requestSerializer;
+        }
+
+        public JsonSerializer getResponseSerializer() {
+            return responseSerializer;
+        }
+
+        public JsonSerializer getStatusResponseSerializer() {
+            return statusResponseSerializer;
+        }
+
+        public Utf8JsonSerializer getUtf8RequestSerializer() {
+            return utf8RequestSerializer;
+        }
+
+        public Utf8JsonSerializer getUtf8ResponseSerializer() {
+            return utf8ResponseSerializer;
+        }
+
+        public Utf8JsonSerializer getUtf8StatusResponseSerializer() {
+            return utf8StatusResponseSerializer;
+        }
+    }
+
+    /**
+     * 枚举的label与value互查表, 代替MetaDataUtil.findEnumItemLabel/findEnumItemValue的逐项比较
+     */
+    public static class OptimizedEnum {
+        /**
+         * 找不到枚举元数据时使用, 查找结果都为null
+         */
+        static final OptimizedEnum EMPTY = new OptimizedEnum(null);
+
+        final TEnum tEnum;
+
+        /**
+         * value -> label. 取值范围不超过256时使用数组, 否则使用Map
+         */
+        private final int valueBase;
+        private final String[] labelArrayByValue;
+        private final Map<Integer, String> labelMapByValue;
+
+        /**
+         * label或者value的字符串形式 -> value, 同名时label优先(与MetaDataUtil.findEnumItemValue一致)
+         */
+        private final Map<String, Integer> valueMap;
+        private final Utf8NameIndex<Integer> valueIndex;
+
+        OptimizedEnum(TEnum tEnum) {
+            this.tEnum = tEnum;
+            List<TEnum.EnumItem> items = tEnum == null || tEnum.enumItems == null ?
+                    Collections.emptyList() : tEnum.enumItems;
+
+            int minValue = items.isEmpty() ? 0 : Integer.MAX_VALUE;
+            int maxValue = items.isEmpty() ? -1 : Integer.MIN_VALUE;
+            for (TEnum.EnumItem item : items) {
+                minValue = Math.min(minValue, item.value);
+                maxValue = Math.max(maxValue, item.value);
+            }
+
+            // 倒序放入, 重复时与逐项比较一样取第一个
+            this.valueMap = new HashMap<>(items.size() * 4);
+            for (int i = items.size() - 1; i >= 0; i--) {
+                TEnum.EnumItem item = items.get(i);
+                valueMap.put(String.valueOf(item.value), item.value);
+            }
+            for (int i = items.size() - 1; i >= 0; i--) {
+                TEnum.EnumItem item = items.get(i);
+                if (item.label != null) {
+                    valueMap.put(item.label, item.value);
+                }
+            }
+            this.valueIndex = Utf8NameIndex.build(valueMap);
+
+            this.valueBase = minValue;
+            if ((long) maxValue - minValue + 1 <= 256) {
+                this.labelArrayByValue = new String[maxValue - minValue + 1];
+                this.labelMapByValue = null;
+                for (int i = items.size() - 1; i >= 0; i--) {
+                    TEnum.EnumItem item = items.get(i);
+                    labelArrayByValue[item.value - minValue] = item.label;
+                }
+            } else {
+                this.labelArrayByValue = null;
+                this.labelMapByValue = new HashMap<>(items.size() * 2);
+                for (int i = items.size() - 1; i >= 0; i--) {
+                    TEnum.EnumItem item = items.get(i);
+                    labelMapByValue.put(item.value, item.label);
+                }
+            }
+        }
+
+        public TEnum getTEnum() {
+            return tEnum;
+        }
+
+        /**
+         * value对应的label, 不存在时返回null
+         */
+        public String findLabel(int value) {
+            if (labelArrayByValue != null) {
+                return value >= valueBase && value - valueBase < labelArrayByValue.length ?
+                        labelArrayByValue[value - valueBase] : null;
+            }
+            return labelMapByValue.get(value);
+        }
+
+        /**
+         * label(或者value的字符串形式)对应的value, 不存在时返回null
+         */
+        public Integer findValue(String label) {
+            return valueMap.get(label);
+        }
+
+        /**
+         * 按label的UTF-8字节查找, 不需要先生成String
+         */
+        public Integer findValue(byte[] utf8, int offset, int length) {
+            return valueIndex.get(utf8, offset, length);
+        }
+    }
+
     public static class OptimizedStruct {
         final Struct struct;
 
@@ -108,6 +344,11 @@ public class OptimizedMetadata {
         private final Map<Short, Field> fieldMapByTag;
         private final Field[] fieldArrayByTag;
 
+        /**
+         * 按字段名的UTF-8字节查找, 见Utf8NameIndex
+         */
+        private final Utf8NameIndex<Field> fieldIndex;
+
         public Struct getStruct() {
             return struct;
         }
@@ -141,6 +382,14 @@ public class OptimizedMetadata {
             }
             this.fieldArrayByTag = array;
             this.fieldMapByTag = map;
+            this.fieldIndex = Utf8NameIndex.build(fieldMap);
+        }
+
+        /**
+         * 按字段名的UTF-8字节查找, 不需要先生成String
+         */
+        public Field get(byte[] utf8, int offset, int length) {
+            return fieldIndex.get(utf8, offset, length);
         }
 
         public Field get(short tag) {
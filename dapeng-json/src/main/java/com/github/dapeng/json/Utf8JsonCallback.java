@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.json;
+
+/**
+ * 可以直接处理UTF-8字节的JsonCallback, 由Utf8JsonParser使用.
+ * <p>
+ * 传入的字节已经去掉引号并完成转义, 只在本次回调内有效(解析器会复用转义缓冲区).
+ * 返回false表示不能按字节处理, 解析器会解码成String, 再回调对应的String方法
+ */
+public interface Utf8JsonCallback extends JsonCallback {
+
+    /**
+     * Called at start of Json field, with the UTF-8 bytes of the field name
+     *
+     * @return false if the name should be delivered by onStartField(String)
+     */
+    boolean onStartField(byte[] utf8, int offset, int length);
+
+    /**
+     * Called when a String value is met, with its UTF-8 bytes
+     *
+     * @return false if the value should be delivered by onString(String)
+     */
+    boolean onString(byte[] utf8, int offset, int length);
+}
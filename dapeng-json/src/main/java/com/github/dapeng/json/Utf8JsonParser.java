@@ -0,0 +1,475 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.json;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 直接解析UTF-8字节的JsonParser, 语法及回调事件与JsonParser一致.
+ * <ul>
+ * <li>输入不需要先解码成String, 堆内ByteBuf直接读取其底层数组</li>
+ * <li>字符串在原数组中定位, 只有含转义时才解码到内部(复用的)缓冲区</li>
+ * <li>callback实现Utf8JsonCallback时, 字段名和字符串值以字节回调, 否则解码成String</li>
+ * <li>不超过18位的整数直接按字节计算, 不经过Double.parseDouble</li>
+ * </ul>
+ * 解析过程中不会修改ByteBuf的readerIndex
+ */
+public final class Utf8JsonParser {
+
+    private static final int EOI = -1;
+
+    private final JsonCallback callback;
+    private final Utf8JsonCallback utf8Callback;
+
+    private final byte[] bytes;
+    private final int begin;
+    private final int end;
+    private int cursor;
+    private int cursorChar;
+
+    /**
+     * 转义后的字符串(UTF-8)
+     */
+    private byte[] buffer = new byte[256];
+    private int bufferLength = 0;
+
+    /**
+     * 最近解析的字符串, 位于bytes或者buffer中
+     */
+    private byte[] stringBytes;
+    private int stringOffset;
+    private int stringLength;
+
+    public Utf8JsonParser(ByteBuf json, JsonCallback callback) {
+        this(json.hasArray() ? json.array() : ByteBufUtil.getBytes(json, json.readerIndex(), json.readableBytes(), false),
+                json.hasArray() ? json.arrayOffset() + json.readerIndex() : 0,
+                json.readableBytes(), callback);
+    }
+
+    public Utf8JsonParser(byte[] json, JsonCallback callback) {
+        this(json, 0, json.length, callback);
+    }
+
+    public Utf8JsonParser(byte[] json, int offset, int length, JsonCallback callback) {
+        this.callback = callback;
+        this.utf8Callback = callback instanceof Utf8JsonCallback ? (Utf8JsonCallback) callback : null;
+
+        this.bytes = json;
+        this.begin = offset;
+        this.end = offset + length;
+        this.cursor = offset - 1;
+
+        cursorChar = nextChar();
+    }
+
+    private int nextChar() {
+        cursor += 1;
+        if (cursor < end)
+            return bytes[cursor] & 0xff;
+        else return EOI;
+    }
+
+    private boolean advance() {
+        cursorChar = nextChar();
+        return true;
+    }
+
+    JsonParser.ParsingException fail(String target) {
+        return fail(target, cursor);
+    }
+
+    JsonParser.ParsingException fail(String target, int index) {
+        int errorChar = index < end ? bytes[index] & 0xff : EOI;
+
+        int lineNr = 1;
+        int lineStart = begin;
+        for (int i = begin; i < index && i < end; i++) {
+            if (bytes[i] == '\n') {
+                lineNr++;
+                lineStart = i + 1;
+            }
+        }
+        int lineEnd = lineStart;
+        while (lineEnd < end && bytes[lineEnd] != '\n') {
+            lineEnd++;
+        }
+        JsonParser.Line line = new JsonParser.Line(lineNr, index - lineStart + 1,
+                new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8));
+
+        String unexpected;
+        if (errorChar == EOI) unexpected = "end-of-input";
+        else if (errorChar < 0x20 || errorChar == 0x7f) unexpected = String.format("\\u%04x", errorChar);
+        else if (errorChar >= 0x80) unexpected = String.format("byte 0x%02x", errorChar);
+        else unexpected = "" + (char) errorChar;
+
+        String summary = "Unexpected " + unexpected + " at input index:" +
+                (index - begin) + "(line:" + line.lineNr + ",position:" + line.column +
+                "), expected: " + target;
+
+        return new JsonParser.ParsingException(summary, line.text);
+    }
+
+    public void parseJsValue() {
+        ws();
+        value();
+        if (cursorChar != EOI)
+            throw fail("end-of-input");
+    }
+
+    private void ws() {
+        while (((1L << cursorChar) & ((cursorChar - 64) >> 31) & 0x100002600L) != 0L) {
+            cursorChar = nextChar();
+        }
+    }
+
+    public void value() {
+        int mark = cursor;
+
+        switch (cursorChar) {
+            case 'f':
+                if (!_false()) throw fail("JSON Value", mark);
+                callback.onBoolean(false);
+                break;
+            case 'n':
+                if (!_null()) throw fail("JSON Value", mark);
+                callback.onNull();
+                break;
+            case 't':
+                if (!_true()) throw fail("JSON Value", mark);
+                callback.onBoolean(true);
+                break;
+            case '{':
+                advance();
+                callback.onStartObject();
+                object();
+                callback.onEndObject();
+                break;
+            case '[':
+                advance();
+                callback.onStartArray();
+                array();
+                callback.onEndArray();
+                break;
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+            case '-':
+                number();
+                break;
+            case '\"':
+                string();
+                if (utf8Callback == null || !utf8Callback.onString(stringBytes, stringOffset, stringLength)) {
+                    callback.onString(stringValue());
+                }
+                break;
+            default:
+                throw fail("JSON Value");
+        }
+    }
+
+    private boolean _false() {
+        advance();
+        return ch('a') && ch('l') && ch('s') && ws('e');
+    }
+
+    private boolean _null() {
+        advance();
+        return ch('u') && ch('l') && ws('l');
+    }
+
+    private boolean _true() {
+        advance();
+        return ch('r') && ch('u') && ws('e');
+    }
+
+    private boolean ch(char c) {
+        if (cursorChar == c) {
+            advance();
+            return true;
+        } else return false;
+    }
+
+    private void require(char c) {
+        if (!ch(c))
+            throw fail("'" + c + "'");
+    }
+
+    private boolean ws(char c) {
+        if (ch(c)) {
+            ws();
+            return true;
+        } else return false;
+    }
+
+    private int hexValue(int pos) {
+        int c = bytes[pos];
+        if ('0' <= c && c <= '9') return c - '0';
+        else if ('a' <= c && c <= 'f') return c - 87;
+        else if ('A' <= c && c <= 'F') return c - 55;
+        else throw fail("hex digit", pos);
+    }
+
+    private void object() {
+        ws();
+        if (cursorChar != '}') {
+            members();
+        }
+        require('}');
+        ws();
+    }
+
+    private void members() {
+        do {
+            string();
+            require(':');
+            ws();
+
+            if (utf8Callback == null || !utf8Callback.onStartField(stringBytes, stringOffset, stringLength)) {
+                callback.onStartField(stringValue());
+            }
+
+            value();
+
+            callback.onEndField();
+            ws();
+
+        } while (ws(','));
+    }
+
+    private String stringValue() {
+        return new String(stringBytes, stringOffset, stringLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 定位当前字符串. 没有转义时直接指向输入数组, 否则把转义后的内容写到buffer
+     */
+    private void string() {
+        if (cursorChar != '\"')
+            throw fail("expect '\"'");
+
+        final byte[] bytes = this.bytes;
+        final int start = this.cursor + 1;
+        int pos = start;
+        while (pos < end) {
+            byte b = bytes[pos];
+            if (b == '\"') {
+                stringBytes = bytes;
+                stringOffset = start;
+                stringLength = pos - start;
+                this.cursor = pos;
+                advance();
+                return;
+            }
+            if (b == '\\') {
+                escapedString(start, pos);
+                return;
+            }
+            pos++;
+        }
+        throw fail("expect end '\"'", end);
+    }
+
+    /**
+     * @param start 字符串内容的起始位置
+     * @param pos   第一个'\\'的位置
+     */
+    private void escapedString(int start, int pos) {
+        final byte[] bytes = this.bytes;
+        bufferLength = 0;
+        ensureBuffer(pos - start);
+        System.arraycopy(bytes, start, buffer, 0, pos - start);
+        bufferLength = pos - start;
+
+        while (pos < end) {
+            byte b = bytes[pos];
+            if (b == '\"') {
+                stringBytes = buffer;
+                stringOffset = 0;
+                stringLength = bufferLength;
+                this.cursor = pos;
+                advance();
+                return;
+            }
+            if (b != '\\') {
+                appendBuffer(b);
+                pos++;
+                continue;
+            }
+
+            pos++;
+            if (pos >= end) throw fail("escape", pos);
+            byte esc0 = bytes[pos];
+            switch (esc0) {
+                case '"':
+                case '/':
+                case '\\':
+                case '\'':
+                    appendBuffer(esc0);
+                    break;
+                case 'b':
+                    appendBuffer((byte) '\b');
+                    break;
+                case 'f':
+                    appendBuffer((byte) '\f');
+                    break;
+                case 'n':
+                    appendBuffer((byte) '\n');
+                    break;
+                case 'r':
+                    appendBuffer((byte) '\r');
+                    break;
+                case 't':
+                    appendBuffer((byte) '\t');
+                    break;
+                case 'u':
+                    int value = unicode(pos + 1);
+                    pos += 4;
+                    // 代理对合并成一个码点
+                    if (Character.isHighSurrogate((char) value) && pos + 6 < end
+                            && bytes[pos + 1] == '\\' && bytes[pos + 2] == 'u') {
+                        int low = unicode(pos + 3);
+                        if (Character.isLowSurrogate((char) low)) {
+                            value = Character.toCodePoint((char) value, (char) low);
+                            pos += 6;
+                        }
+                    }
+                    appendCodePoint(value);
+                    break;
+                default:
+                    throw fail("escape", pos);
+            }
+            pos++;
+        }
+        throw fail("expect end '\"'", end);
+    }
+
+    private int unicode(int pos) {
+        if (pos + 3 >= end) throw fail("escape", pos);
+        return (hexValue(pos) << 12) | (hexValue(pos + 1) << 8) | (hexValue(pos + 2) << 4) | hexValue(pos + 3);
+    }
+
+    private void appendCodePoint(int cp) {
+        ensureBuffer(4);
+        if (cp < 0x80) {
+            buffer[bufferLength++] = (byte) cp;
+        } else if (cp < 0x800) {
+            buffer[bufferLength++] = (byte) (0xc0 | (cp >> 6));
+            buffer[bufferLength++] = (byte) (0x80 | (cp & 0x3f));
+        } else if (cp < 0x10000) {
+            buffer[bufferLength++] = (byte) (0xe0 | (cp >> 12));
+            buffer[bufferLength++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+            buffer[bufferLength++] = (byte) (0x80 | (cp & 0x3f));
+        } else {
+            buffer[bufferLength++] = (byte) (0xf0 | (cp >> 18));
+            buffer[bufferLength++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+            buffer[bufferLength++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+            buffer[bufferLength++] = (byte) (0x80 | (cp & 0x3f));
+        }
+    }
+
+    private void appendBuffer(byte b) {
+        if (bufferLength == buffer.length) {
+            ensureBuffer(1);
+        }
+        buffer[bufferLength++] = b;
+    }
+
+    private void ensureBuffer(int more) {
+        if (bufferLength + more > buffer.length) {
+            byte[] newBuffer = new byte[Math.max(buffer.length * 2, bufferLength + more)];
+            System.arraycopy(buffer, 0, newBuffer, 0, bufferLength);
+            this.buffer = newBuffer;
+        }
+    }
+
+    private void array() {
+        ws();
+        int index = 0;
+        if (cursorChar != ']') {
+            do {
+                callback.onStartField(index);
+                value();
+                callback.onEndField();
+                ws();
+                index++;
+            } while (ws(','));
+        }
+        require(']');
+        ws();
+    }
+
+    private void number() {
+        int start = cursor;
+
+        boolean negative = ch('-');
+        int intStart = cursor;
+        _int();
+        int intDigits = cursor - intStart;
+        boolean integral = true;
+        if (ch('.')) {
+            oneOrMoreDigits();
+            integral = false;
+        }
+        if (ch('e') || ch('E')) {
+            if (!ch('-')) ch('+');
+            oneOrMoreDigits();
+            integral = false;
+        }
+
+        double value;
+        if (integral && intDigits <= 18) {
+            // 18位以内的整数可以精确表示为long, 转换成double的舍入与Double.parseDouble一致
+            long l = 0;
+            for (int i = intStart; i < cursor; i++) {
+                l = l * 10 + (bytes[i] - '0');
+            }
+            value = negative ? (l == 0 ? -0.0 : -l) : l;
+        } else {
+            value = Double.parseDouble(new String(bytes, start, cursor - start, StandardCharsets.ISO_8859_1));
+        }
+        callback.onNumber(value);
+        ws();
+    }
+
+    private void _int() {
+        if (!ch('0')) oneOrMoreDigits();
+    }
+
+    private void oneOrMoreDigits() {
+        if (digit()) zeroOrMoreDigits();
+        else throw fail("DIGIT");
+    }
+
+    private void zeroOrMoreDigits() {
+        while (digit()) {
+        }
+    }
+
+    private boolean digit() {
+        return cursorChar >= '0' && cursorChar <= '9' && advance();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.json;
+
+import com.github.dapeng.core.BeanSerializer;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.TProtocol;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 以UTF-8字节(ByteBuf)作为json输入输出的JsonSerializer, 例如网关直接转发收到的http body.
+ * <p>
+ * 写入时由Utf8JsonParser解析, 不改变ByteBuf的readerIndex, ByteBuf由调用方释放;
+ * 读取时由Utf8JsonWriter写入池化的ByteBuf
+ */
+public class Utf8JsonSerializer implements BeanSerializer<ByteBuf> {
+
+    private final JsonSerializer jsonSerializer;
+
+    public Utf8JsonSerializer(JsonSerializer jsonSerializer) {
+        this.jsonSerializer = jsonSerializer;
+    }
+
+    /**
+     * thrift -> json(UTF-8), 写入池化的ByteBuf, 由调用方释放
+     * @param iproto
+     * @return
+     * @throws TException
+     */
+    @Override
+    public ByteBuf read(TProtocol iproto) throws TException {
+        ByteBuf out = PooledByteBufAllocator.DEFAULT.buffer();
+        try {
+            jsonSerializer.read(iproto, out);
+            return out;
+        } catch (TException | RuntimeException e) {
+            out.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 不支持, 请使用write(ByteBuf, TProtocol, ByteBuf)
+     * @param input
+     * @param oproto
+     * @throws TException
+     */
+    @Override
+    public void write(ByteBuf input, TProtocol oproto) throws TException {
+        jsonSerializer.write(input, oproto, null);
+    }
+
+    /**
+     * json(UTF-8) -> thrift, 见JsonSerializer.write(ByteBuf, TProtocol, ByteBuf)
+     * @param input
+     * @param oproto
+     * @param requestByteBuf
+     * @throws TException
+     */
+    public void write(ByteBuf input, TProtocol oproto, ByteBuf requestByteBuf) throws TException {
+        jsonSerializer.write(input, oproto, requestByteBuf);
+    }
+
+    @Override
+    public void validate(ByteBuf input) throws TException {
+
+    }
+
+    @Override
+    public String toString(ByteBuf input) {
+        return input.toString(input.readerIndex(), input.readableBytes(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.json;
+
+import io.netty.buffer.ByteBuf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * thrift -> json, 直接以UTF-8写入ByteBuf或者OutputStream, 不经过StringBuilder/String.
+ * <ul>
+ * <li>先写入内部的小缓冲区, 满了或者flush时再整体写到目标</li>
+ * <li>分隔符在写下一个元素前补上, 不需要回退删除末尾的','</li>
+ * <li>整数按位写出; 常见范围内的double按最短小数写出, 与Double.toString结果一致</li>
+ * <li>可以在最外层对象结束前追加字段(例如JsonPost的"status":1)</li>
+ * </ul>
+ * 写完后必须调用flush
+ */
+public final class Utf8JsonWriter implements JsonCallback {
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * ASCII字符的转义方式: 0不转义, 'u'为\\u00XX, 其余为\\加该字符
+     */
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int i = 0; i < 0x20; i++) {
+            ESCAPES[i] = 'u';
+        }
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\t'] = 't';
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+    }
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L
+    };
+
+    private final ByteBuf byteBuf;
+    private final OutputStream out;
+
+    private final byte[] chunk = new byte[512];
+    private int position = 0;
+
+    /**
+     * 下一个元素(字段或者数组元素)前需要先写','
+     */
+    private boolean needComma = false;
+    private int depth = 0;
+    private byte[] rootFields;
+
+    public Utf8JsonWriter(ByteBuf out) {
+        this.byteBuf = out;
+        this.out = null;
+    }
+
+    public Utf8JsonWriter(OutputStream out) {
+        this.byteBuf = null;
+        this.out = out;
+    }
+
+    /**
+     * 在最外层对象结束前追加的json片段, 例如: "status":1
+     */
+    public Utf8JsonWriter appendToRoot(String jsonFragment) {
+        this.rootFields = jsonFragment.getBytes(StandardCharsets.UTF_8);
+        return this;
+    }
+
+    /**
+     * 把缓冲区的内容写到目标ByteBuf/OutputStream
+     */
+    public void flush() {
+        flushChunk();
+        if (out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void onStartObject() {
+        beforeValue();
+        depth++;
+        writeByte('{');
+    }
+
+    @Override
+    public void onEndObject() {
+        depth--;
+        if (depth == 0 && rootFields != null) {
+            if (needComma) {
+                writeByte(',');
+            }
+            writeBytes(rootFields, 0, rootFields.length);
+        }
+        writeByte('}');
+        needComma = true;
+    }
+
+    @Override
+    public void onStartArray() {
+        beforeValue();
+        depth++;
+        writeByte('[');
+    }
+
+    @Override
+    public void onEndArray() {
+        depth--;
+        writeByte(']');
+        needComma = true;
+    }
+
+    @Override
+    public void onStartField(String name) {
+        if (needComma) {
+            writeByte(',');
+        }
+        writeByte('"');
+        writeEscaped(name);
+        writeByte('"');
+        writeByte(':');
+        needComma = false;
+    }
+
+    /**
+     * 结构体字段名已经预先编码(见CompiledField.utf8Name), 不需要转义
+     */
+    void onStartField(byte[] utf8Name) {
+        if (needComma) {
+            writeByte(',');
+        }
+        writeByte('"');
+        writeBytes(utf8Name, 0, utf8Name.length);
+        writeByte('"');
+        writeByte(':');
+        needComma = false;
+    }
+
+    @Override
+    public void onStartField(int index) {
+    }
+
+    @Override
+    public void onEndField() {
+        needComma = true;
+    }
+
+    @Override
+    public void onBoolean(boolean value) {
+        beforeValue();
+        byte[] bytes = value ? TRUE : FALSE;
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void onNumber(double value) {
+        beforeValue();
+        writeDouble(value);
+    }
+
+    @Override
+    public void onNumber(long value) {
+        beforeValue();
+        writeLong(value);
+    }
+
+    @Override
+    public void onNull() {
+        beforeValue();
+        writeBytes(NULL, 0, NULL.length);
+    }
+
+    @Override
+    public void onString(String value) {
+        beforeValue();
+        writeByte('"');
+        if (value != null) {
+            writeEscaped(value);
+        }
+        writeByte('"');
+    }
+
+    /**
+     * 数组元素之间的','. 字段值前needComma已经在onStartField中清除
+     */
+    private void beforeValue() {
+        if (needComma) {
+            writeByte(',');
+            needComma = false;
+        }
+    }
+
+    private void writeEscaped(String value) {
+        final byte[] chunk = this.chunk;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (position + 6 > chunk.length) {
+                flushChunk();
+            }
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                byte escape = ESCAPES[ch];
+                if (escape == 0) {
+                    chunk[position++] = (byte) ch;
+                } else if (escape == 'u') {
+                    chunk[position++] = '\\';
+                    chunk[position++] = 'u';
+                    chunk[position++] = '0';
+                    chunk[position++] = '0';
+                    chunk[position++] = HEX[ch >> 4];
+                    chunk[position++] = HEX[ch & 0xf];
+                } else {
+                    chunk[position++] = '\\';
+                    chunk[position++] = escape;
+                }
+            } else if (ch < 0x800) {
+                chunk[position++] = (byte) (0xc0 | (ch >> 6));
+                chunk[position++] = (byte) (0x80 | (ch & 0x3f));
+            } else if (Character.isSurrogate(ch)) {
+                if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(ch, value.charAt(++i));
+                    chunk[position++] = (byte) (0xf0 | (cp >> 18));
+                    chunk[position++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    chunk[position++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    chunk[position++] = (byte) (0x80 | (cp & 0x3f));
+                } else {
+                    // 与String.getBytes(UTF_8)一致, 不成对的代理字符替换为'?'
+                    chunk[position++] = '?';
+                }
+            } else {
+                chunk[position++] = (byte) (0xe0 | (ch >> 12));
+                chunk[position++] = (byte) (0x80 | ((ch >> 6) & 0x3f));
+                chunk[position++] = (byte) (0x80 | (ch & 0x3f));
+            }
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            chunk[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            chunk[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    /**
+     * 1e-3 <= |value| < 1e7时Double.toString不使用科学计数法, 此时找出能精确还原value的最少小数位直接写出,
+     * 其余情况(包括NaN/Infinity以及超过15位有效数字的值)仍使用Double.toString
+     */
+    private void writeDouble(double value) {
+        double abs = Math.abs(value);
+        if (abs >= 1e-3 && abs < 1e7) {
+            for (int scale = 1; scale < POWERS_OF_TEN.length; scale++) {
+                long power = POWERS_OF_TEN[scale];
+                // 不超过15位有效数字时, 能还原value的小数是唯一的, 与Double.toString一致
+                if (abs * power >= 1e15) {
+                    break;
+                }
+                long unscaled = Math.round(abs * power);
+                if (unscaled / (double) power == abs) {
+                    writeDecimal(value < 0, unscaled, scale);
+                    return;
+                }
+            }
+        } else if (value == 0) {
+            writeAscii(1 / value < 0 ? "-0.0" : "0.0");
+            return;
+        }
+        writeAscii(Double.toString(value));
+    }
+
+    private void writeDecimal(boolean negative, long unscaled, int scale) {
+        long power = POWERS_OF_TEN[scale];
+        ensure(32);
+        if (negative) {
+            chunk[position++] = '-';
+        }
+        writeLong(unscaled / power);
+        chunk[position++] = '.';
+        long fraction = unscaled % power;
+        for (int i = scale - 1; i >= 0; i--) {
+            chunk[position + i] = (byte) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        position += scale;
+    }
+
+    private void writeAscii(String value) {
+        ensure(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            chunk[position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeByte(char b) {
+        if (position == chunk.length) {
+            flushChunk();
+        }
+        chunk[position++] = (byte) b;
+    }
+
+    private void writeBytes(byte[] bytes, int offset, int length) {
+        if (length > chunk.length - position) {
+            flushChunk();
+            if (length > chunk.length) {
+                writeTarget(bytes, offset, length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, offset, chunk, position, length);
+        position += length;
+    }
+
+    /**
+     * 确保缓冲区还有n个字节的空间(n不超过缓冲区大小)
+     */
+    private void ensure(int n) {
+        if (position + n > chunk.length) {
+            flushChunk();
+        }
+    }
+
+    private void flushChunk() {
+        if (position > 0) {
+            writeTarget(chunk, 0, position);
+            position = 0;
+        }
+    }
+
+    private void writeTarget(byte[] bytes, int offset, int length) {
+        if (byteBuf != null) {
+            byteBuf.writeBytes(bytes, offset, length);
+        } else {
+            try {
+                out.write(bytes, offset, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按名字的UTF-8字节查找的只读索引(最小完美散列), 在加载元数据时构建, 解析json时直接用输入缓冲区中的字节查找, 不需要先生成String.
+ * <p>
+ * 构建方式(hash and displace): 名字先按种子0散列到n个桶, 再从大到小为每个桶找一个种子,
+ * 使桶内的名字散列到n个槽位中互不冲突的空槽; 只有一个名字的桶直接记录空槽的位置.
+ * 查找时最多计算两次散列, 最后逐字节比较确认
+ *
+ * @param <T>
+ */
+final class Utf8NameIndex<T> {
+
+    private static final int MAX_SEED = 1 << 20;
+
+    private static final Utf8NameIndex<?> EMPTY = new Utf8NameIndex<>(new int[0], new byte[0][], new Object[0]);
+
+    /**
+     * 每个桶的种子; 小于0时为-(槽位 + 1)
+     */
+    private final int[] seeds;
+    private final byte[][] keys;
+    private final Object[] values;
+
+    private Utf8NameIndex(int[] seeds, byte[][] keys, Object[] values) {
+        this.seeds = seeds;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * 名字为null的项被忽略; 同名时取后面的值(与HashMap.put一致)
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Utf8NameIndex<T> build(Map<String, T> entries) {
+        // 按UTF-8字节去重(不成对的代理字符编码后可能与其它名字相同)
+        Map<String, T> distinct = new LinkedHashMap<>(entries.size() * 2);
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            if (entry.getKey() != null) {
+                distinct.put(new String(entry.getKey().getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8), entry.getValue());
+            }
+        }
+        List<byte[]> names = new ArrayList<>(distinct.size());
+        List<T> items = new ArrayList<>(distinct.size());
+        for (Map.Entry<String, T> entry : distinct.entrySet()) {
+            names.add(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            items.add(entry.getValue());
+        }
+        int n = names.size();
+        if (n == 0) {
+            return (Utf8NameIndex<T>) EMPTY;
+        }
+
+        List<List<Integer>> buckets = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            buckets.add(new ArrayList<>(2));
+        }
+        for (int i = 0; i < n; i++) {
+            byte[] name = names.get(i);
+            buckets.get(slot(hash(0, name, 0, name.length), n)).add(i);
+        }
+        List<Integer> order = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            order.add(i);
+        }
+        order.sort((a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+        int[] seeds = new int[n];
+        byte[][] keys = new byte[n][];
+        Object[] values = new Object[n];
+        boolean[] used = new boolean[n];
+        int[] slots = new int[n];
+        int free = 0;
+        for (int bucketIndex : order) {
+            List<Integer> bucket = buckets.get(bucketIndex);
+            if (bucket.isEmpty()) {
+                break;
+            }
+            if (bucket.size() == 1) {
+                while (used[free]) {
+                    free++;
+                }
+                used[free] = true;
+                seeds[bucketIndex] = -(free + 1);
+                keys[free] = names.get(bucket.get(0));
+                values[free] = items.get(bucket.get(0));
+                continue;
+            }
+            for (int seed = 1; ; seed++) {
+                if (seed == MAX_SEED) {
+                    throw new IllegalStateException("can't build name index for " + entries.keySet());
+                }
+                if (place(seed, bucket, names, used, slots, n)) {
+                    seeds[bucketIndex] = seed;
+                    for (int i = 0; i < bucket.size(); i++) {
+                        keys[slots[i]] = names.get(bucket.get(i));
+                        values[slots[i]] = items.get(bucket.get(i));
+                    }
+                    break;
+                }
+            }
+        }
+        return new Utf8NameIndex<>(seeds, keys, values);
+    }
+
+    /**
+     * 用seed把桶内的名字放到互不冲突的空槽
+     */
+    private static boolean place(int seed, List<Integer> bucket, List<byte[]> names,
+                                 boolean[] used, int[] slots, int n) {
+        for (int i = 0; i < bucket.size(); i++) {
+            byte[] name = names.get(bucket.get(i));
+            int slot = slot(hash(seed, name, 0, name.length), n);
+            if (used[slot]) {
+                clear(used, slots, i);
+                return false;
+            }
+            used[slot] = true;
+            slots[i] = slot;
+        }
+        return true;
+    }
+
+    private static void clear(boolean[] used, int[] slots, int count) {
+        for (int i = 0; i < count; i++) {
+            used[slots[i]] = false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(byte[] utf8, int offset, int length) {
+        int n = seeds.length;
+        if (n == 0) {
+            return null;
+        }
+        int seed = seeds[slot(hash(0, utf8, offset, length), n)];
+        int slot = seed < 0 ? -seed - 1 : slot(hash(seed, utf8, offset, length), n);
+        byte[] key = keys[slot];
+        if (key.length != length) {
+            return null;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != utf8[offset + i]) {
+                return null;
+            }
+        }
+        return (T) values[slot];
+    }
+
+    T get(byte[] utf8) {
+        return get(utf8, 0, utf8.length);
+    }
+
+    private static int slot(int hash, int n) {
+        return (hash & 0x7fffffff) % n;
+    }
+
+    /**
+     * 带种子的FNV-1a, 最后再混合一次高低位
+     */
+    private static int hash(int seed, byte[] utf8, int offset, int length) {
+        int h = 0x811c9dc5 ^ (seed * 0x9e3779b9);
+        for (int i = offset, end = offset + length; i < end; i++) {
+            h = (h ^ utf8[i]) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        return h ^ (h >>> 13);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.json;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Utf8JsonParser与JsonParser产生相同的回调事件, 出错的json同样被拒绝
+ */
+public class Utf8JsonParserTest {
+
+    private static final List<String> JSONS = Arrays.asList(
+            "{ \"a\": 10, \"b\": true, \n\"c\": [1,2,3], \"d\":10.2," +
+                    "\"user\": { \"name\": \"wangzx\", \"age\": 10 }, \n\"emptyArray\":[],\"emptyObject\":{} }",
+            "{\"body\":{\"name\":\"中文名字\",\"remark\":\"a\\\"b\\\\c\\/d\\n\\t\\r\\b\\f\",\"u\":\"\\u4e2d\\u6587\\u00e9\"}}",
+            "{\"emoji\":\"\uD83D\uDE00\\ud83d\\ude00\",\"esc\\u0041key\":\"x\",\"tail\":\"\\u0041\"}",
+            "{\"n\":[0,-0,1,-1,123456789012345678,1234567890123456789,-9007199254740993,0.5,-1.25e3,1E-2,2e+2]}",
+            "[null,false,true,\"\",{},[]]",
+            "  12345  ");
+
+    private static final List<String> ERROR_JSONS = Arrays.asList(
+            "{ a\": 10 }",
+            "{ \"a\": 10d }",
+            "{ \"a\": [1,2,3 }",
+            "{ \"a\": \"unterminated }",
+            "{ \"a\": \"bad escape \\x\" }",
+            "{ \"a\": \"bad unicode \\u12G4\" }",
+            "{ \"a\": 1, }",
+            "{ \"a\": 1 } x");
+
+    @Test
+    public void sameEventsAsJsonParser() {
+        for (String json : JSONS) {
+            List<String> expected = parse(json, false);
+            assertEquals(json, expected, parse(json, true));
+            assertEquals(json, expected, parseUtf8Callback(json));
+        }
+    }
+
+    @Test
+    public void rejectErrorJson() {
+        for (String json : ERROR_JSONS) {
+            try {
+                parse(json, true);
+                fail("should be rejected: " + json);
+            } catch (JsonParser.ParsingException expected) {
+            }
+        }
+    }
+
+    /**
+     * 只解析ByteBuf的可读部分, 并且不改变readerIndex
+     */
+    @Test
+    public void readableBytesOnly() {
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeBytes("xx{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+        buf.readerIndex(2);
+        List<String> events = new ArrayList<>();
+        new Utf8JsonParser(buf, new Recorder(events)).parseJsValue();
+        assertEquals(2, buf.readerIndex());
+        assertEquals(parse("{\"a\":1}", false), events);
+    }
+
+    private static List<String> parse(String json, boolean utf8) {
+        List<String> events = new ArrayList<>();
+        if (utf8) {
+            new Utf8JsonParser(json.getBytes(StandardCharsets.UTF_8), new Recorder(events)).parseJsValue();
+        } else {
+            new JsonParser(json, new Recorder(events)).parseJsValue();
+        }
+        return events;
+    }
+
+    /**
+     * 字段名和字符串值通过字节回调
+     */
+    private static List<String> parseUtf8Callback(String json) {
+        List<String> events = new ArrayList<>();
+        Utf8JsonCallback callback = new Utf8Recorder(events);
+        ByteBuf buf = Unpooled.directBuffer();
+        buf.writeBytes(json.getBytes(StandardCharsets.UTF_8));
+        new Utf8JsonParser(buf, callback).parseJsValue();
+        return events;
+    }
+
+    static class Recorder implements JsonCallback {
+        final List<String> events;
+
+        Recorder(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void onStartObject() {
+            events.add("{");
+        }
+
+        @Override
+        public void onEndObject() {
+            events.add("}");
+        }
+
+        @Override
+        public void onStartArray() {
+            events.add("[");
+        }
+
+        @Override
+        public void onEndArray() {
+            events.add("]");
+        }
+
+        @Override
+        public void onStartField(String name) {
+            events.add("field:" + name);
+        }
+
+        @Override
+        public void onStartField(int index) {
+            events.add("index:" + index);
+        }
+
+        @Override
+        public void onEndField() {
+            events.add("endField");
+        }
+
+        @Override
+        public void onBoolean(boolean value) {
+            events.add("boolean:" + value);
+        }
+
+        @Override
+        public void onNumber(double value) {
+            events.add("double:" + Double.doubleToRawLongBits(value) + "(" + value + ")");
+        }
+
+        @Override
+        public void onNumber(long value) {
+            events.add("long:" + value);
+        }
+
+        @Override
+        public void onNull() {
+            events.add("null");
+        }
+
+        @Override
+        public void onString(String value) {
+            events.add("string:" + value);
+        }
+    }
+
+    static class Utf8Recorder extends Recorder implements Utf8JsonCallback {
+
+        Utf8Recorder(List<String> events) {
+            super(events);
+        }
+
+        @Override
+        public boolean onStartField(byte[] utf8, int offset, int length) {
+            onStartField(new String(utf8, offset, length, StandardCharsets.UTF_8));
+            return true;
+        }
+
+        @Override
+        public boolean onString(byte[] utf8, int offset, int length) {
+            onString(new String(utf8, offset, length, StandardCharsets.UTF_8));
+            return true;
+        }
+    }
+}
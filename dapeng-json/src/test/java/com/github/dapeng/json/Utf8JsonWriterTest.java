@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.json;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Utf8JsonWriter与JsonWriter的输出一致(数字格式与Double.toString一致), 以及转义和追加根字段
+ */
+public class Utf8JsonWriterTest {
+
+    private static final Consumer<JsonCallback> EVENTS = w -> {
+        w.onStartObject();
+        w.onStartField("name");
+        w.onString("中文\"引号\"\\反斜杠\n换行\t\u0001\uD83D\uDE00");
+        w.onEndField();
+        w.onStartField("list");
+        w.onStartArray();
+        for (int i = 0; i < 3; i++) {
+            w.onStartObject();
+            w.onStartField("id");
+            w.onNumber((long) i);
+            w.onEndField();
+            w.onStartField("ok");
+            w.onBoolean(i % 2 == 0);
+            w.onEndField();
+            w.onEndObject();
+            w.onEndField();
+        }
+        w.onEndArray();
+        w.onEndField();
+        w.onStartField("empty");
+        w.onStartObject();
+        w.onEndObject();
+        w.onEndField();
+        w.onStartField("nothing");
+        w.onNull();
+        w.onEndField();
+        w.onEndObject();
+    };
+    private static final String EXPECTED = "{\"name\":\"中文\\\"引号\\\"\\\\反斜杠\\n换行\\t\\u0001\uD83D\uDE00\",\"list\":[{\"id\":0,\"ok\":true},"
+            + "{\"id\":1,\"ok\":false},{\"id\":2,\"ok\":true}],\"empty\":{},\"nothing\":null}";
+
+    /**
+     * 常见的金额/比例等小数, 以及整数和极端值
+     */
+    @Test
+    public void numbers() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            double value;
+            switch (i % 5) {
+                case 0:
+                    value = Math.round(random.nextDouble() * 1_000_000) / 100.0;
+                    break;
+                case 1:
+                    value = -random.nextInt(10_000_000) / 1000.0;
+                    break;
+                case 2:
+                    value = random.nextDouble();
+                    break;
+                case 3:
+                    value = random.nextInt(100_000_000);
+                    break;
+                default:
+                    value = Double.longBitsToDouble(random.nextLong());
+            }
+            checkNumber(value);
+        }
+        for (double value : new double[]{0.0, -0.0, 1e-3, 9.99e-4, 1e7, 9999999.999, 0.1, 0.2, 0.3, 22.2, 9.9, 1.0E-5,
+                Double.MAX_VALUE, Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            checkNumber(value);
+        }
+        for (long value : new long[]{0, 1, -1, 9, 10, 99, 100, Long.MAX_VALUE, Long.MIN_VALUE, 1L << 53, -(1L << 53)}) {
+            assertEquals(Long.toString(value), write(w -> w.onNumber(value)));
+        }
+    }
+
+    @Test
+    public void events() {
+        assertEquals(EXPECTED, write(EVENTS));
+    }
+
+    @Test
+    public void appendToRoot() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        Utf8JsonWriter streamWriter = new Utf8JsonWriter(stream).appendToRoot("\"status\":1");
+        EVENTS.accept(streamWriter);
+        streamWriter.flush();
+        assertEquals(EXPECTED.substring(0, EXPECTED.length() - 1) + ",\"status\":1}", new String(stream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 空对象追加根字段, 与JsonWriter一致
+     */
+    @Test
+    public void appendToEmptyRoot() {
+        Consumer<JsonCallback> empty = w -> {
+            w.onStartObject();
+            w.onEndObject();
+        };
+        JsonWriter jsonWriter = new JsonWriter().appendToRoot("\"status\":1");
+        empty.accept(jsonWriter);
+        assertEquals("{\"status\":1}", jsonWriter.toString());
+        ByteBuf buf = Unpooled.buffer();
+        Utf8JsonWriter utf8Writer = new Utf8JsonWriter(buf).appendToRoot("\"status\":1");
+        empty.accept(utf8Writer);
+        utf8Writer.flush();
+        assertEquals("{\"status\":1}", buf.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 超过内部缓冲区的长字符串
+     */
+    @Test
+    public void longString() {
+        StringBuilder longString = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            longString.append(i % 10 == 0 ? "中" : "a");
+        }
+        assertEquals("\"" + longString + "\"", write(w -> w.onString(longString.toString())));
+    }
+
+    private static void checkNumber(double value) {
+        assertEquals(Double.toString(value), write(w -> w.onNumber(value)));
+    }
+
+    private static String write(Consumer<JsonCallback> events) {
+        ByteBuf buf = Unpooled.buffer();
+        Utf8JsonWriter writer = new Utf8JsonWriter(buf);
+        events.accept(writer);
+        writer.flush();
+        return buf.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.json;
+
+import com.github.dapeng.core.metadata.TEnum;
+import com.github.dapeng.util.MetaDataUtil;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Utf8NameIndex对所有名字都能找到, 其余名字都找不到; OptimizedEnum与MetaDataUtil逐项比较的结果一致
+ */
+public class Utf8NameIndexTest {
+
+    @Test
+    public void randomNames() {
+        Random random = new Random(7);
+        for (int size = 0; size <= 300; size++) {
+            Map<String, Integer> names = new LinkedHashMap<>();
+            while (names.size() < size) {
+                names.put(randomName(random), names.size());
+            }
+            Utf8NameIndex<Integer> index = Utf8NameIndex.build(names);
+            for (Map.Entry<String, Integer> entry : names.entrySet()) {
+                // 在更大的缓冲区中间查找
+                byte[] utf8 = ("xx" + entry.getKey() + "yy").getBytes(StandardCharsets.UTF_8);
+                assertEquals(entry.getKey(), entry.getValue(), index.get(utf8, 2, utf8.length - 4));
+            }
+            for (int i = 0; i < 100; i++) {
+                String name = randomName(random);
+                if (!names.containsKey(name)) {
+                    assertNull(name, index.get(name.getBytes(StandardCharsets.UTF_8)));
+                }
+            }
+        }
+    }
+
+    /**
+     * 字段名常见的前缀相同, 只差一个字符
+     */
+    @Test
+    public void similarNames() {
+        Map<String, String> similar = new HashMap<>();
+        for (int i = 0; i < 64; i++) {
+            similar.put("field" + i, "field" + i);
+            similar.put("field_" + i, "field_" + i);
+        }
+        Utf8NameIndex<String> similarIndex = Utf8NameIndex.build(similar);
+        for (String name : similar.keySet()) {
+            assertEquals(name, similarIndex.get(name.getBytes(StandardCharsets.UTF_8)));
+        }
+        assertNull(similarIndex.get("field64".getBytes(StandardCharsets.UTF_8)));
+        assertNull(similarIndex.get(new byte[0]));
+    }
+
+    /**
+     * OptimizedEnum与MetaDataUtil逐项比较的结果一致
+     */
+    @Test
+    public void enums() {
+        TEnum tEnum = new TEnum();
+        tEnum.enumItems = new ArrayList<>();
+        addItem(tEnum, "NEW", 1);
+        addItem(tEnum, "PAID", 2);
+        addItem(tEnum, "中文", 3);
+        addItem(tEnum, "3", 4);
+        addItem(tEnum, "DUPLICATE", 2);
+        addItem(tEnum, "NEGATIVE", -5);
+        checkEnum(tEnum, Arrays.asList("NEW", "PAID", "中文", "3", "4", "1", "DUPLICATE", "NEGATIVE", "-5", "x", ""),
+                Arrays.asList(-5, -1, 0, 1, 2, 3, 4, 5, 1000));
+
+        TEnum sparse = new TEnum();
+        sparse.enumItems = new ArrayList<>();
+        addItem(sparse, "SMALL", -100000);
+        addItem(sparse, "LARGE", 100000);
+        checkEnum(sparse, Arrays.asList("SMALL", "LARGE", "100000", "0"), Arrays.asList(-100000, 0, 100000, 1));
+    }
+
+    private static void checkEnum(TEnum tEnum, List<String> labels, List<Integer> values) {
+        OptimizedMetadata.OptimizedEnum optimizedEnum = new OptimizedMetadata.OptimizedEnum(tEnum);
+        for (String label : labels) {
+            Integer expected = MetaDataUtil.findEnumItemValue(tEnum, label);
+            assertEquals(expected, optimizedEnum.findValue(label));
+            byte[] utf8 = label.getBytes(StandardCharsets.UTF_8);
+            assertEquals(expected, optimizedEnum.findValue(utf8, 0, utf8.length));
+        }
+        for (Integer value : values) {
+            assertEquals(MetaDataUtil.findEnumItemLabel(tEnum, value), optimizedEnum.findLabel(value));
+        }
+    }
+
+    private static void addItem(TEnum tEnum, String label, int value) {
+        TEnum.EnumItem item = new TEnum.EnumItem();
+        item.label = label;
+        item.value = value;
+        tEnum.enumItems.add(item);
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int length = 1 + random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            sb.append(random.nextInt(10) == 0 ? (char) ('中' + random.nextInt(50)) : (char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+}
@@ -47,6 +47,12 @@ public class GenerateFilePlugin extends AbstractMojo {
     @Parameter(property = "thriftGenerator.language", defaultValue = "both")
     private String language;
 
+    /**
+     * java代码生成选项, 逗号分隔, 如: zeroCopyBinary
+     */
+    @Parameter(property = "thriftGenerator.options")
+    private String options;
+
 
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
@@ -60,7 +66,8 @@ public class GenerateFilePlugin extends AbstractMojo {
         System.out.println(" targetFilePath: " + targetFilePath);
 
         if ("both".equals(language) || "java".equals(language)) {
-            Scrooge.main(new String[]{"-gen", "java", "-all",
+            String javaGen = (options == null || options.trim().isEmpty()) ? "java" : "java[" + options.trim() + "]";
+            Scrooge.main(new String[]{"-gen", javaGen, "-all",
                     "-in", sourceFilePath,
                     "-out", targetFilePath});
 //            File commonFile = new File(projectPath + "src/main/java/com/github/dapeng/soa/common");
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.registry;
+
+import com.github.dapeng.registry.zookeeper.ZkServiceInfo;
+
+/**
+ * 客户端的注册中心代理, 负责同步服务的运行实例、路由以及配置信息
+ */
+public interface ClientRegistryAgent {
+
+    /**
+     * 开始同步服务信息, 同步结果直接更新到serviceInfo中
+     *
+     * @param serviceInfo
+     */
+    void sync(ZkServiceInfo serviceInfo);
+
+    /**
+     * 取消服务信息的同步
+     *
+     * @param serviceInfo
+     */
+    void cancel(ZkServiceInfo serviceInfo);
+
+    /**
+     * 获取已同步的服务信息, 没有同步过返回null
+     *
+     * @param serviceName
+     * @return
+     */
+    ZkServiceInfo serviceInfo(String serviceName);
+}
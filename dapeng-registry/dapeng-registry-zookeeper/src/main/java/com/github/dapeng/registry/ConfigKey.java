@@ -39,7 +39,13 @@ public enum ConfigKey {
 
     ProcessTime("processTime"),
 
-    Weight("weight");
+    Weight("weight"),
+
+    Idempotent("idempotent"),
+
+    Hedge("hedge"),
+
+    Cache("cache");
 
     private final String value;
 
@@ -69,6 +75,12 @@ public enum ConfigKey {
                 return Compatible;
             case "processTime":
                 return ProcessTime;
+            case "idempotent":
+                return Idempotent;
+            case "hedge":
+                return Hedge;
+            case "cache":
+                return Cache;
             default:
                 return null;
         }
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.registry;
+
+import com.github.dapeng.registry.zookeeper.ClientZkAgent;
+import com.github.dapeng.registry.zookeeper.ServerZkAgentImpl;
+
+/**
+ * 注册中心代理的获取入口, 默认使用zookeeper的实现.
+ * 压测或者本地调试时可以在容器和客户端初始化之前替换成其他实现(例如内存实现)
+ */
+public class RegistryAgentFactory {
+
+    private static volatile RegistryAgent serverAgent;
+
+    private static volatile ClientRegistryAgent clientAgent;
+
+    private RegistryAgentFactory() {
+    }
+
+    public static RegistryAgent getServerAgent() {
+        RegistryAgent agent = serverAgent;
+        return agent != null ? agent : ServerZkAgentImpl.getInstance();
+    }
+
+    public static ClientRegistryAgent getClientAgent() {
+        ClientRegistryAgent agent = clientAgent;
+        return agent != null ? agent : ClientZkAgent.getInstance();
+    }
+
+    /**
+     * 替换服务端的注册中心代理, 需在容器插件启动之前调用
+     *
+     * @param agent
+     */
+    public static void setServerAgent(RegistryAgent agent) {
+        serverAgent = agent;
+    }
+
+    /**
+     * 替换客户端的注册中心代理, 需在第一个客户端创建之前调用
+     *
+     * @param agent
+     */
+    public static void setClientAgent(ClientRegistryAgent agent) {
+        clientAgent = agent;
+    }
+}
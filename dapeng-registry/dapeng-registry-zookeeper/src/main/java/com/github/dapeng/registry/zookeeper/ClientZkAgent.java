@@ -20,6 +20,7 @@ import com.github.dapeng.cookie.CookieExecutor;
 import com.github.dapeng.core.RuntimeInstance;
 import com.github.dapeng.core.helper.SoaSystemEnvProperties;
 import com.github.dapeng.cookie.CookieRule;
+import com.github.dapeng.registry.ClientRegistryAgent;
 import com.github.dapeng.router.Route;
 import com.github.dapeng.router.RoutesExecutor;
 import org.apache.zookeeper.KeeperException;
@@ -37,13 +38,14 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static com.github.dapeng.registry.zookeeper.ZkUtils.*;
 
 /**
  * @author ever maple
  */
-public class ClientZkAgent implements Watcher {
+public class ClientZkAgent implements ClientRegistryAgent, Watcher {
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientZkAgent.class);
 
     private static final ClientZkAgent instance = new ClientZkAgent();
@@ -73,6 +75,7 @@ public class ClientZkAgent implements Watcher {
      *
      * @param serviceInfo
      */
+    @Override
     public void sync(ZkServiceInfo serviceInfo) {
         synchronized (serviceInfoByName) {
             serviceInfoByName.put(serviceInfo.serviceName(), serviceInfo);
@@ -85,6 +88,7 @@ public class ClientZkAgent implements Watcher {
      *
      * @param serviceInfo
      */
+    @Override
     public void cancel(ZkServiceInfo serviceInfo) {
         LOGGER.info("ClientZkAgent::cancel, serviceName:" + serviceInfo.serviceName());
         synchronized (serviceInfoByName) {
@@ -101,6 +105,7 @@ public class ClientZkAgent implements Watcher {
         }
     }
 
+    @Override
     public ZkServiceInfo serviceInfo(String serviceName) {
         return serviceInfoByName.get(serviceName);
     }
@@ -271,6 +276,7 @@ public class ClientZkAgent implements Watcher {
 
                     LOGGER.info("ClientZk::syncZkRuntimeInfo 触发服务实例同步，目前服务实例列表: "
                             + serviceInfo.serviceName() + " -> " + serviceInfo.runtimeInstances());
+                    notifyRuntimeInstances(serviceInfo);
                     return;
                 } catch (KeeperException | InterruptedException e) {
                     LOGGER.error(getClass() + "::syncZkRuntimeInfo serviceName: " + serviceInfo.serviceName() + " 出现异常, zkStatus:" + zk.getState(), e);
@@ -280,6 +286,17 @@ public class ClientZkAgent implements Watcher {
         } while (--retry > 0);
     }
 
+    private void notifyRuntimeInstances(ZkServiceInfo serviceInfo) {
+        Consumer<List<RuntimeInstance>> listener = serviceInfo.runtimeInstancesListener();
+        if (listener != null) {
+            try {
+                listener.accept(serviceInfo.runtimeInstances());
+            } catch (Throwable e) {
+                LOGGER.error(getClass().getSimpleName() + "::notifyRuntimeInstances[" + serviceInfo.serviceName() + "] failed", e);
+            }
+        }
+    }
+
     private List<RuntimeInstance> getRuntimeInstances(List<String> children, String serviceName) {
         List<RuntimeInstance> runtimeInstances = new ArrayList<>(8);
         //child = 10.168.13.96:9085:1.0.0:0000000300
@@ -46,6 +46,10 @@ public class ZkDataProcessor {
      * weight/192.168.4.107/9095/700  service weight config1
      * weight/192.168.4.107/500       service weight config2
      * weight/600                    global weight config
+     * idempotent/false,getSku:true,listSku:true
+     * hedge/p95,getSku:20ms
+     * failover/1,getSku:2
+     * cache/getDict:60s,listArea:5m
      *
      * @param data
      * @param zkInfo
@@ -112,6 +116,70 @@ public class ZkDataProcessor {
                                 zkInfo.loadbalanceConfig.serviceConfigs.put(props[0], LoadBalanceStrategy.findByValue(props[1]));
                             }
                         }
+                    } else if (typeValue.equals(ConfigKey.Idempotent.getValue())) { //幂等 Idempotent
+                        if (isGlobal) {
+                            String value = property.split("/")[1];
+                            zkInfo.idempotentConfig.globalConfig = Boolean.valueOf(value.trim());
+                        } else {
+                            String[] keyValues = property.split(",");
+                            for (String keyValue : keyValues) {
+                                String[] props;
+                                if (keyValue.contains("/")) {
+                                    props = keyValue.split("/");
+                                } else {
+                                    props = keyValue.split(":");
+                                }
+                                zkInfo.idempotentConfig.serviceConfigs.put(props[0], Boolean.valueOf(props[1].trim()));
+                            }
+                        }
+                    } else if (typeValue.equals(ConfigKey.Hedge.getValue())) { //对冲请求 Hedge
+                        if (isGlobal) {
+                            String value = property.split("/")[1];
+                            zkInfo.hedgeConfig.globalConfig = hedgeHelper(value);
+                        } else {
+                            String[] keyValues = property.split(",");
+                            for (String keyValue : keyValues) {
+                                String[] props;
+                                if (keyValue.contains("/")) {
+                                    props = keyValue.split("/");
+                                } else {
+                                    props = keyValue.split(":");
+                                }
+                                zkInfo.hedgeConfig.serviceConfigs.put(props[0], hedgeHelper(props[1]));
+                            }
+                        }
+                    } else if (typeValue.equals(ConfigKey.FailOver.getValue())) { //失败重试 FailOver
+                        if (isGlobal) {
+                            String value = property.split("/")[1];
+                            zkInfo.failoverConfig.globalConfig = Integer.valueOf(value.trim());
+                        } else {
+                            String[] keyValues = property.split(",");
+                            for (String keyValue : keyValues) {
+                                String[] props;
+                                if (keyValue.contains("/")) {
+                                    props = keyValue.split("/");
+                                } else {
+                                    props = keyValue.split(":");
+                                }
+                                zkInfo.failoverConfig.serviceConfigs.put(props[0], Integer.valueOf(props[1].trim()));
+                            }
+                        }
+                    } else if (typeValue.equals(ConfigKey.Cache.getValue())) { //客户端缓存 Cache
+                        if (isGlobal) {
+                            String value = property.split("/")[1];
+                            zkInfo.cacheConfig.globalConfig = durationHelper(value);
+                        } else {
+                            String[] keyValues = property.split(",");
+                            for (String keyValue : keyValues) {
+                                String[] props;
+                                if (keyValue.contains("/")) {
+                                    props = keyValue.split("/");
+                                } else {
+                                    props = keyValue.split(":");
+                                }
+                                zkInfo.cacheConfig.serviceConfigs.put(props[0], durationHelper(props[1]));
+                            }
+                        }
                     } else if (typeValue.equals(ConfigKey.Weight.getValue())) {//权重 Weight
                         if (isGlobal) {
                             zkInfo.weightGlobalConfig = doParseWeightData(property);
@@ -234,6 +302,33 @@ public class ZkDataProcessor {
         return Long.valueOf(number);
     }
 
+    /**
+     * 对冲请求延迟: 20ms 为固定延迟, p95 为方法最近响应时间的第95百分位(保存为-95)
+     */
+    public static Long hedgeHelper(String value) {
+        value = value.trim();
+        if (value.startsWith("p")) {
+            return -timeHelper(value);
+        }
+        return timeHelper(value);
+    }
+
+    /**
+     * 带单位的时间转换为毫秒: 500ms -> 500, 60s -> 60000, 5m -> 300000, 没有单位时为毫秒
+     */
+    public static Long durationHelper(String value) {
+        value = value.trim();
+        long number = timeHelper(value);
+        if (value.endsWith("ms")) {
+            return number;
+        } else if (value.endsWith("s")) {
+            return number * 1000;
+        } else if (value.endsWith("m")) {
+            return number * 60_000;
+        }
+        return number;
+    }
+
 
     /**
      * process zk data freqControl 限流规则信息
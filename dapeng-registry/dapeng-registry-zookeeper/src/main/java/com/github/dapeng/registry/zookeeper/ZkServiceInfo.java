@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * service information of ZK, including runtime and config
@@ -51,6 +52,11 @@ public class ZkServiceInfo {
 
     private List<CookieRule> cookieRules = new ArrayList<>(8);
 
+    /**
+     * 服务实例列表同步后的回调, 例如客户端提前建立到新实例的连接
+     */
+    private volatile Consumer<List<RuntimeInstance>> runtimeInstancesListener;
+
     public ZkServiceInfo(String serviceName, List<RuntimeInstance> runtimeInstances) {
         this.ServiceName = serviceName;
         this.runtimeInstances = runtimeInstances;
@@ -60,6 +66,14 @@ public class ZkServiceInfo {
         return runtimeInstances;
     }
 
+    public void runtimeInstancesListener(Consumer<List<RuntimeInstance>> listener) {
+        this.runtimeInstancesListener = listener;
+    }
+
+    public Consumer<List<RuntimeInstance>> runtimeInstancesListener() {
+        return runtimeInstancesListener;
+    }
+
     /**
      * 根据节点ip以及端口， 找到对应的服务节点
      * @param ip
@@ -122,6 +136,26 @@ public class ZkServiceInfo {
      */
     public Config<LoadBalanceStrategy> loadbalanceConfig = new Config<>();
 
+    /**
+     * idempotent zk config, 幂等的方法才会发送对冲请求
+     */
+    public Config<Boolean> idempotentConfig = new Config<>();
+
+    /**
+     * hedge zk config, 对冲请求的延迟: 正数为固定的毫秒数, 负数-N表示方法最近响应时间的第N百分位(p95为-95), 0表示不对冲
+     */
+    public Config<Long> hedgeConfig = new Config<>();
+
+    /**
+     * failover zk config, 幂等的方法失败后换一个实例重试的最大次数
+     */
+    public Config<Integer> failoverConfig = new Config<>();
+
+    /**
+     * cache zk config, 客户端缓存方法返回结果的时间(毫秒), 0表示不缓存
+     */
+    public Config<Long> cacheConfig = new Config<>();
+
     /**
      * weight zk config
      */
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.core;
+
+import com.github.dapeng.client.netty.TSoaTransport;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.TBinaryProtocol;
+import com.github.dapeng.org.apache.thrift.protocol.TCompactProtocol;
+import com.github.dapeng.org.apache.thrift.protocol.TProtocol;
+import com.today.api.common.PageResponse;
+import com.today.api.purchase.response.ListSkuStockByStoreCodeResponse;
+import com.today.api.purchase.response.SkuStockItem;
+import com.today.api.purchase.response.serializer.ListSkuStockByStoreCodeResponseSerializer;
+import com.today.api.purchase.response.serializer.SkuStockItemSerializer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 序列化写路径的耗时: 一个包含大列表的响应, 新旧两种写路径对比.
+ * <p>
+ * 重新生成的序列化器在write中随字段检查必填项; 旧版本在write之前先调用validate,
+ * 嵌套结构体在自己的write中还会再validate一次. 旧路径这里按 validate(响应本身以及列表中每个元素各一次) + write 计算,
+ * 两者的差即是write路径上省掉的遍历开销.
+ * <p>
+ * 参数: [列表长度, 默认1000] [迭代次数, 默认20000]
+ */
+public class SerializerWriteBenchmark {
+
+    public static void main(String[] args) throws TException {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+
+        ListSkuStockByStoreCodeResponse response = buildResponse(items);
+        ListSkuStockByStoreCodeResponseSerializer serializer = new ListSkuStockByStoreCodeResponseSerializer();
+
+        // 非池化的堆内存, 不启动Netty的清理线程, main结束后进程即退出
+        ByteBuf buf = Unpooled.buffer(items * 256);
+        try {
+            for (boolean compact : new boolean[]{false, true}) {
+                TSoaTransport transport = new TSoaTransport(buf);
+                TProtocol protocol = compact ? new TCompactProtocol(transport) : new TBinaryProtocol(transport);
+                String name = compact ? "compact" : "binary";
+
+                // 预热
+                runWrite(serializer, response, protocol, buf, iterations);
+                runValidateAndWrite(serializer, response, protocol, buf, iterations);
+
+                long writeNanos = runWrite(serializer, response, protocol, buf, iterations);
+                long oldNanos = runValidateAndWrite(serializer, response, protocol, buf, iterations);
+                System.out.println(name + ": items=" + items + ", bytes=" + buf.writerIndex()
+                        + ", write=" + writeNanos / iterations + "ns/op"
+                        + ", validate+write(old)=" + oldNanos / iterations + "ns/op");
+            }
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static long runWrite(ListSkuStockByStoreCodeResponseSerializer serializer,
+                                 ListSkuStockByStoreCodeResponse response,
+                                 TProtocol protocol, ByteBuf buf, int iterations) throws TException {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            buf.clear();
+            serializer.write(response, protocol);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * 旧的写路径: 响应的validate会遍历列表中的每个元素, 每个元素在自己的write之前又validate一次
+     */
+    private static long runValidateAndWrite(ListSkuStockByStoreCodeResponseSerializer serializer,
+                                            ListSkuStockByStoreCodeResponse response,
+                                            TProtocol protocol, ByteBuf buf, int iterations) throws TException {
+        SkuStockItemSerializer itemSerializer = new SkuStockItemSerializer();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            buf.clear();
+            serializer.validate(response);
+            for (SkuStockItem item : response.getSkuStockItemList()) {
+                itemSerializer.validate(item);
+            }
+            serializer.write(response, protocol);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static ListSkuStockByStoreCodeResponse buildResponse(int items) {
+        List<SkuStockItem> list = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            SkuStockItem item = new SkuStockItem();
+            item.setId(i);
+            item.setStoreId("store-" + (i % 50));
+            item.setOwnerName("owner");
+            item.setSkuName("sku name " + i);
+            item.setSkuNo("SKU" + i);
+            item.setMasterBarcode("69" + (1000000000L + i));
+            item.setSpec("500g");
+            item.setStockNum(Optional.of(BigDecimal.valueOf(i, 2)));
+            item.setFfStockWeight(Optional.of(i * 0.5));
+            item.setUseUnit(Optional.of("kg"));
+            item.setLastBalanceStock(Optional.of((long) i));
+            item.setSaleUnitName("袋");
+            item.setSaleUnitValue("1");
+            item.setShippingMethodValue("1");
+            item.setShippingMethodName("配送");
+            item.setSkuTypeName("普通");
+            item.setSkuTypeValue("1");
+            item.setCategoryCodeA("A01");
+            item.setCategoryCodeC("C0101");
+            item.setSellingPrice(9.9);
+            item.setTotalSellingPrice(i * 9.9);
+            list.add(item);
+        }
+
+        PageResponse page = new PageResponse();
+        page.setStart(0);
+        page.setLimit(items);
+        page.setResults(items);
+
+        ListSkuStockByStoreCodeResponse response = new ListSkuStockByStoreCodeResponse();
+        response.setSkuStockItemList(list);
+        response.setTotalStockNum(BigDecimal.valueOf(items));
+        response.setTotalStockSellingPrice(items * 1.5);
+        response.setPageResponse(Optional.of(page));
+        return response;
+    }
+}
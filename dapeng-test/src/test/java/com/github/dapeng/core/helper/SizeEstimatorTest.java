@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.core.helper;
+
+import com.github.dapeng.core.BeanSerializer;
+import com.github.dapeng.core.SoaHeader;
+import com.github.dapeng.core.SoaHeaderSerializer;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.TBinaryProtocol;
+import com.github.dapeng.org.apache.thrift.protocol.TCompactProtocol;
+import com.github.dapeng.org.apache.thrift.protocol.TField;
+import com.github.dapeng.org.apache.thrift.protocol.TProtocol;
+import com.github.dapeng.org.apache.thrift.protocol.TStruct;
+import com.github.dapeng.org.apache.thrift.protocol.TType;
+import com.github.dapeng.org.apache.thrift.transport.TIOStreamTransport;
+import com.today.api.common.serializer.PageRequestSerializer;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * estimateSize是TBinaryProtocol和TCompactProtocol编码长度的上限:
+ * SizeEstimator的各项宽度, SoaHeaderSerializer, 以及dapeng-test中生成的全部序列化器(字段取各类型编码最长的值)
+ */
+public class SizeEstimatorTest {
+
+    /**
+     * 超过127个字节(长度前缀需要多个字节), 包含2/3/4字节的UTF-8字符
+     */
+    private static final String LONG_TEXT = repeat("库存é𠀀a", 40);
+
+    @Test
+    public void utf8Length() {
+        for (String s : new String[]{"", "abc", "é", "库存", "𠀀", LONG_TEXT}) {
+            assertEquals(s, s.getBytes(StandardCharsets.UTF_8).length, SizeEstimator.utf8Length(s));
+        }
+        // 单独的代理字符编码为'?', 估算值偏大
+        assertTrue(SizeEstimator.utf8Length("\uD800") >= "\uD800".getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    /**
+     * compact的字段头在id与上一个字段相差超过15时是1 + zigzag varint, 最多4个字节
+     */
+    @Test
+    public void fieldHeader() throws TException {
+        for (short id : new short[]{1, 16, 1000, Short.MAX_VALUE, -1, Short.MIN_VALUE}) {
+            for (boolean compact : new boolean[]{false, true}) {
+                int size = measure(compact, p -> {
+                    p.writeStructBegin(new TStruct("s"));
+                    p.writeFieldBegin(new TField("f", TType.I32, id));
+                });
+                assertTrue(id + ": " + size, size <= SizeEstimator.FIELD);
+            }
+        }
+        assertEquals(SizeEstimator.FIELD, measure(true, p -> {
+            p.writeStructBegin(new TStruct("s"));
+            p.writeFieldBegin(new TField("f", TType.I32, Short.MIN_VALUE));
+        }));
+    }
+
+    @Test
+    public void fixedWidths() throws TException {
+        assertFixedWidth(SizeEstimator.I16, p -> p.writeI16(Short.MIN_VALUE));
+        assertFixedWidth(SizeEstimator.I32, p -> p.writeI32(Integer.MIN_VALUE));
+        assertFixedWidth(SizeEstimator.I64, p -> p.writeI64(Long.MIN_VALUE));
+        assertFixedWidth(SizeEstimator.DOUBLE, p -> p.writeDouble(Double.MIN_VALUE));
+        assertFixedWidth(SizeEstimator.BOOL, p -> p.writeBool(true));
+        assertFixedWidth(SizeEstimator.BYTE, p -> p.writeByte(Byte.MIN_VALUE));
+        assertFixedWidth(SizeEstimator.STOP, TProtocol::writeFieldStop);
+        assertFixedWidth(SizeEstimator.stringSize(LONG_TEXT), p -> p.writeString(LONG_TEXT));
+        assertFixedWidth(SizeEstimator.COLLECTION, p -> p.writeListBegin(
+                new com.github.dapeng.org.apache.thrift.protocol.TList(TType.STRING, Integer.MAX_VALUE)));
+        assertFixedWidth(SizeEstimator.COLLECTION, p -> p.writeMapBegin(
+                new com.github.dapeng.org.apache.thrift.protocol.TMap(TType.STRING, TType.STRING, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void soaHeader() throws TException {
+        SoaHeader header = new SoaHeader();
+        header.setServiceName("com.today.api.stock.service.StockService");
+        header.setMethodName("listSkuStockByStoreCode");
+        header.setVersionName("1.0.0");
+        header.setSessionTid(Optional.of(Long.MIN_VALUE));
+        header.setUserId(Optional.of(Long.MIN_VALUE));
+        header.setUserIp(Optional.of(Integer.MIN_VALUE));
+        header.setOperatorId(Optional.of(Long.MIN_VALUE));
+        header.setCallerTid(Optional.of(Long.MIN_VALUE));
+        header.setTimeout(Optional.of(Integer.MIN_VALUE));
+        header.setMaxProcessTime(Optional.of(Long.MIN_VALUE));
+        header.setCallerMid(Optional.of(LONG_TEXT));
+        header.setCallerIp(Integer.MIN_VALUE);
+        header.setCallerPort(Optional.of(Integer.MIN_VALUE));
+        header.setTransactionId(Integer.MIN_VALUE);
+        header.setTransactionSequence(Integer.MIN_VALUE);
+        header.setRespCode("Err-Core-" + LONG_TEXT);
+        header.setRespMessage(LONG_TEXT);
+        for (int i = 0; i < 20; i++) {
+            header.addCookie("cookie" + i + LONG_TEXT, LONG_TEXT);
+        }
+        SoaHeaderSerializer serializer = new SoaHeaderSerializer();
+        int estimate = serializer.estimateSize(header);
+
+        // 服务端在分配缓冲区之后才填充这些字段, 估算值需要预留
+        header.setCalleeMid(header.getServiceName() + ":" + header.getMethodName() + ":" + header.getVersionName());
+        header.setCalleeTid(Long.MIN_VALUE);
+        header.setCalleeIp(Optional.of(Integer.MIN_VALUE));
+        header.setCalleePort(Optional.of(Integer.MIN_VALUE));
+        header.setCalleeTime1(Integer.MIN_VALUE);
+        header.setCalleeTime2(Integer.MIN_VALUE);
+        assertWithinEstimate("SoaHeader", estimate, serializer, header);
+    }
+
+    /**
+     * 所有生成的序列化器: 可选字段全部为空以及全部有值(取编码最长的值, 集合超过15个元素)两种情况
+     */
+    @Test
+    public void generatedSerializers() throws Exception {
+        List<Class<?>> serializers = fixtureSerializers();
+        assertTrue(serializers.size() > 50);
+        for (Class<?> serializerClass : serializers) {
+            @SuppressWarnings("unchecked")
+            BeanSerializer<Object> serializer = (BeanSerializer<Object>) serializerClass.newInstance();
+            String name = serializerClass.getName();
+            Class<?> beanClass = Class.forName(name.replace(".serializer.", ".").replaceAll("Serializer$", ""));
+            for (boolean full : new boolean[]{false, true}) {
+                Object bean = newBean(beanClass, full, 0);
+                int estimate = serializer.estimateSize(bean);
+                assertTrue(name, estimate > 0);
+                assertWithinEstimate(name + (full ? "(full)" : "(empty)"), estimate, serializer, bean);
+            }
+        }
+    }
+
+    private static List<Class<?>> fixtureSerializers() throws Exception {
+        Path root = Paths.get(PageRequestSerializer.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (Stream<Path> files = Files.walk(root.resolve("com/today/api"))) {
+            List<String> names = files
+                    .map(path -> root.relativize(path).toString().replace('\\', '/'))
+                    .filter(path -> path.matches(".*/serializer/\\w+Serializer\\.class"))
+                    .map(path -> path.substring(0, path.length() - ".class".length()).replace('/', '.'))
+                    .sorted()
+                    .collect(Collectors.toList());
+            List<Class<?>> classes = new ArrayList<>();
+            for (String name : names) {
+                classes.add(Class.forName(name));
+            }
+            return classes;
+        }
+    }
+
+    private static Object newBean(Class<?> beanClass, boolean full, int depth) throws Exception {
+        Object bean = beanClass.newInstance();
+        for (Field field : beanClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            Type type = field.getGenericType();
+            if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == Optional.class) {
+                Type valueType = ((ParameterizedType) type).getActualTypeArguments()[0];
+                field.set(bean, full ? Optional.of(value(valueType, true, 0, depth)) : Optional.empty());
+            } else {
+                field.set(bean, value(type, full, 0, depth));
+            }
+        }
+        return bean;
+    }
+
+    private static Object value(Type type, boolean full, int i, int depth) throws Exception {
+        if (type instanceof ParameterizedType) {
+            Class<?> raw = (Class<?>) ((ParameterizedType) type).getRawType();
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            int n = full && depth < 2 ? 20 : 0;
+            if (Map.class.isAssignableFrom(raw)) {
+                Map<Object, Object> map = new HashMap<>();
+                for (int j = 0; j < n; j++) {
+                    map.put(value(arguments[0], true, j, depth + 1), value(arguments[1], true, j, depth + 1));
+                }
+                return map;
+            }
+            Collection<Object> collection = java.util.Set.class.isAssignableFrom(raw) ? new HashSet<>() : new ArrayList<>();
+            for (int j = 0; j < n; j++) {
+                collection.add(value(arguments[0], true, j, depth + 1));
+            }
+            return collection;
+        }
+        Class<?> c = (Class<?>) type;
+        if (c == String.class) {
+            return full ? i + LONG_TEXT : "";
+        } else if (c == int.class || c == Integer.class) {
+            return full ? Integer.MIN_VALUE + i : 0;
+        } else if (c == long.class || c == Long.class) {
+            return full ? Long.MIN_VALUE + i : 0L;
+        } else if (c == short.class || c == Short.class) {
+            return full ? (short) (Short.MIN_VALUE + i) : (short) 0;
+        } else if (c == byte.class || c == Byte.class) {
+            return full ? (byte) (Byte.MIN_VALUE + i) : (byte) 0;
+        } else if (c == double.class || c == Double.class) {
+            return full ? -Double.MAX_VALUE + i : 0.0;
+        } else if (c == boolean.class || c == Boolean.class) {
+            return full;
+        } else if (c == BigDecimal.class) {
+            return full ? new BigDecimal("-1234567890123456789012345678901234567890.0123456789").add(BigDecimal.valueOf(i))
+                    : BigDecimal.ZERO;
+        } else if (c == ByteBuffer.class) {
+            return ByteBuffer.wrap(full ? LONG_TEXT.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+        } else if (c.isEnum()) {
+            Object[] constants = c.getEnumConstants();
+            return constants[full ? constants.length - 1 : 0];
+        }
+        return newBean(c, full, depth + 1);
+    }
+
+    private static <T> void assertWithinEstimate(String name, int estimate, BeanSerializer<T> serializer, T bean)
+            throws TException {
+        for (boolean compact : new boolean[]{false, true}) {
+            int size = measure(compact, p -> serializer.write(bean, p));
+            assertTrue(name + (compact ? " compact: " : " binary: ") + size + " > " + estimate, size <= estimate);
+        }
+    }
+
+    private static void assertFixedWidth(int width, ProtocolWriter writer) throws TException {
+        assertTrue(measure(false, writer) <= width);
+        assertTrue(measure(true, writer) <= width);
+    }
+
+    private interface ProtocolWriter {
+        void write(TProtocol protocol) throws TException;
+    }
+
+    private static int measure(boolean compact, ProtocolWriter writer) throws TException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TIOStreamTransport transport = new TIOStreamTransport(out);
+        TProtocol protocol = compact ? new TCompactProtocol(transport) : new TBinaryProtocol(transport);
+        writer.write(protocol);
+        transport.flush();
+        return out.size();
+    }
+
+    private static String repeat(String s, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(s);
+        }
+        return builder.toString();
+    }
+}
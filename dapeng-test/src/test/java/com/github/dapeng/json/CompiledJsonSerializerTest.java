@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dapeng.json;
+
+import com.github.dapeng.client.netty.TSoaTransport;
+import com.github.dapeng.core.InvocationContextImpl;
+import com.github.dapeng.core.enums.CodecProtocol;
+import com.github.dapeng.core.metadata.Method;
+import com.github.dapeng.core.metadata.Service;
+import com.github.dapeng.core.metadata.Struct;
+import com.github.dapeng.org.apache.thrift.TException;
+import com.github.dapeng.org.apache.thrift.protocol.TBinaryProtocol;
+import com.github.dapeng.org.apache.thrift.protocol.TCompactProtocol;
+import com.github.dapeng.org.apache.thrift.protocol.TProtocol;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.xml.bind.JAXB;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * 预编译转换器(CompiledJsonReader/CompiledStruct)与逐字段解释元数据的JsonReader结果一致,
+ * 直接解析UTF-8字节(Utf8JsonParser)与解析String的结果一致, 直接写出UTF-8(Utf8JsonWriter)与JsonWriter的结果一致,
+ * OptimizedMethod中共享的JsonSerializer被多个线程同时使用时结果不变, rootField不改变原来的实例,
+ * 没有传入请求ByteBuf的编码直接失败.
+ * <p>
+ * 编码结果逐字节比较, 解码结果与逐字段解释元数据的结果比较, 与soa.json.compiled开关无关
+ */
+public class CompiledJsonSerializerTest {
+
+    @After
+    public void removeContext() {
+        InvocationContextImpl.Factory.removeCurrentInstance();
+    }
+
+    @Test
+    public void createTransferOrder() throws Exception {
+        check("/com.today.api.purchase.service.PurchaseService.xml", "createTransferOrder", true, "/createTransferOrder.json");
+    }
+
+    @Test
+    public void listUnClearedOrderResponse() throws Exception {
+        check("/com.today.api.purchase.query.service.PurchaseQueryService.xml", "listUnClearedOrder", false, "/listUnClearedOrder-resp.json");
+    }
+
+    /**
+     * 枚举值不存在, 所有转换器都拒绝
+     */
+    @Test
+    public void queryExportReportRejected() throws Exception {
+        checkRejected("/com.today.api.financereport.service.ExportReportService.xml", "queryExportReport", "/queryExportReport.json");
+    }
+
+    @Test
+    public void memberCouponQueryListService() throws Exception {
+        check("/com.today.api.memberAdmin.service.MemberAdminService.xml", "memberCouponQueryListService", true, "/memberCouponQueryListService.json");
+    }
+
+    @Test
+    public void orderDailySumQuery() throws Exception {
+        check("/com.today.api.dailyorder.service.DailyOrderService2.xml", "orderDailySumQuery", true, "/orderDailySumQuery.json");
+    }
+
+    @Test
+    public void createCategoryAttribute() throws Exception {
+        check("/com.today.api.category.service.CategoryService.xml", "createCategoryAttribute", true, "/categoryService_createCategoryAttribute.json");
+    }
+
+    @Test
+    public void listCategoryDetailBySkuNos() throws Exception {
+        check("/com.today.api.category.service.OpenCategoryService.xml", "listCategoryDetailBySkuNos", true, "/listCategoryDetailBySkuNos.json");
+    }
+
+    @Test
+    public void listSkuDetailBySkuNos() throws Exception {
+        check("/com.today.api.goods.service.OpenGoodsService.xml", "listSkuDetailBySkuNos", true, "/listSkuDetailBySkuNos.json");
+    }
+
+    @Test
+    public void optionalBooleanStruct() throws Exception {
+        check("/com.today.api.supplier.service.SupplierService.xml", "createSupplierToGoods", true, "/supplierService_optionalBooleanStruct.json");
+    }
+
+    @Test
+    public void optionalBooleanStruct1() throws Exception {
+        check("/com.today.api.supplier.service.SupplierService.xml", "createSupplierToGoods", true, "/supplierService_optionalBooleanStruct1.json");
+    }
+
+    @Test
+    public void complexStruct() throws Exception {
+        check("/com.github.dapeng.json.demo.service.OrderService.xml", "createAppointmentForAvailable", true, "/orderService_createAppointmentForAvailable-complexStruct.json");
+    }
+
+    @Test
+    public void complexStruct1() throws Exception {
+        check("/com.github.dapeng.json.demo.service.OrderService.xml", "createAppointmentForAvailable1", true, "/complexStruct.json");
+    }
+
+    @Test
+    public void payNotify() throws Exception {
+        check("/com.github.dapeng.json.demo.service.OrderService.xml", "payNotify", true, "/orderService_payNotify.json");
+    }
+
+    @Test
+    public void payNotifyForAlipayMap() throws Exception {
+        check("/com.github.dapeng.json.demo.service.OrderService.xml", "payNotifyForAlipay", true, "/orderService_payNotifyForAlipay-map.json");
+    }
+
+    @Test
+    public void listDoctorsNameByIdMapResponse() throws Exception {
+        check("/crm.xml", "listDoctorsNameById", false, "/crmService_listDoctorsNameById-map.json");
+    }
+
+    @Test
+    public void listDoctorsNameByIdList() throws Exception {
+        check("/crm.xml", "listDoctorsNameById", true, "/crmService_listDoctorsNameById-list.json");
+    }
+
+    @Test
+    public void modifyDoctorTypeEnum() throws Exception {
+        check("/crm.xml", "modifyDoctorType", true, "/crmService_modifyDoctorType-enum.json");
+    }
+
+    @Test
+    public void saveFocusDoctorStructWithEnum() throws Exception {
+        check("/crm.xml", "saveFocusDoctor", true, "/crmService_saveFocusDoctor-structWithEnum.json");
+    }
+
+    @Test
+    public void getPatientOption() throws Exception {
+        check("/crm.xml", "getPatient", true, "/crmService_getPatient-option.json");
+    }
+
+    /**
+     * 必填字段unionId为null, 所有转换器都拒绝
+     */
+    @Test
+    public void memberRegisterByUnionIdAndOpenIdServiceRejected() throws Exception {
+        checkRejected("/com.today.api.member.service.MemberService.xml", "memberRegisterByUnionIdAndOpenIdService", "/memberRegisterByUnionIdAndOpenIdService.json");
+    }
+
+    private static void check(String xml, String methodName, boolean request, String jsonPath) throws Exception {
+        assertEquals(jsonPath + " rejected", 0, convert(xml, methodName, request, jsonPath));
+    }
+
+    /**
+     * 按Binary和CompressedBinary分别转换并比较
+     *
+     * @return 被拒绝的协议个数, 拒绝时所有转换器都必须拒绝
+     */
+    private static int convert(String xml, String methodName, boolean request, String jsonPath) throws Exception {
+        OptimizedMetadata.OptimizedService service = new OptimizedMetadata.OptimizedService(getService(xml));
+        Method method = service.getMethodMap().get(methodName);
+        Struct struct = request ? method.request : method.response;
+        OptimizedMetadata.OptimizedStruct optimizedStruct = service.getOptimizedStructs().get(struct.namespace + "." + struct.name);
+        String json = loadJson(jsonPath);
+        byte[] utf8Json = json.getBytes(StandardCharsets.UTF_8);
+        int rejected = 0;
+
+        for (CodecProtocol protocol : new CodecProtocol[]{CodecProtocol.Binary, CodecProtocol.CompressedBinary}) {
+            InvocationContextImpl.Factory.currentInstance().codecProtocol(protocol);
+
+            ByteBuf expected = Unpooled.buffer(8192);
+            ByteBuf actual = Unpooled.buffer(8192);
+            ByteBuf actualUtf8 = Unpooled.buffer(8192);
+            ByteBuf expectedUtf8 = Unpooled.buffer(8192);
+            boolean expectedFailed = false;
+            try {
+                TProtocol oproto = protocol(protocol, expected);
+                new JsonParser(json, new JsonReader(optimizedStruct, service, expected, oproto)).parseJsValue();
+                oproto.getTransport().flush();
+            } catch (RuntimeException e) {
+                expectedFailed = true;
+            }
+            // JsonReader按字节查找字段
+            try {
+                TProtocol oproto = protocol(protocol, expectedUtf8);
+                new Utf8JsonParser(utf8Json, new JsonReader(optimizedStruct, service, expectedUtf8, oproto)).parseJsValue();
+                oproto.getTransport().flush();
+                assertFalse(jsonPath + "(" + protocol + ") should be rejected by JsonReader", expectedFailed);
+                assertEquals(jsonPath + "(" + protocol + ") JsonReader encoded differently from utf8 bytes", ByteBufUtil.hexDump(expected), ByteBufUtil.hexDump(expectedUtf8));
+            } catch (RuntimeException e) {
+                if (!expectedFailed) {
+                    throw e;
+                }
+            }
+            try {
+                TProtocol oproto = protocol(protocol, actual);
+                new JsonParser(json, new CompiledJsonReader(service.compiledStruct(optimizedStruct), actual, oproto)).parseJsValue();
+                oproto.getTransport().flush();
+                assertFalse(jsonPath + "(" + protocol + ") should be rejected", expectedFailed);
+            } catch (RuntimeException e) {
+                if (!expectedFailed) {
+                    throw e;
+                }
+            }
+            try {
+                TProtocol oproto = protocol(protocol, actualUtf8);
+                new Utf8JsonParser(utf8Json, new CompiledJsonReader(service.compiledStruct(optimizedStruct), actualUtf8, oproto)).parseJsValue();
+                oproto.getTransport().flush();
+                assertFalse(jsonPath + "(" + protocol + ") should be rejected", expectedFailed);
+            } catch (RuntimeException e) {
+                if (!expectedFailed) {
+                    throw e;
+                }
+                rejected++;
+                continue;
+            }
+
+            assertEquals(jsonPath + "(" + protocol + ") encoded differently", ByteBufUtil.hexDump(expected), ByteBufUtil.hexDump(actual));
+            assertEquals(jsonPath + "(" + protocol + ") encoded differently from utf8 bytes", ByteBufUtil.hexDump(expected), ByteBufUtil.hexDump(actualUtf8));
+            if (request) {
+                checkShared(service.getOptimizedMethod(methodName).getRequestSerializer(), json, protocol, expected, jsonPath);
+
+                // 调用方自己新建的实例仍然可以使用旧的setRequestByteBuf + write(input, oproto)
+                ByteBuf legacy = Unpooled.buffer(8192);
+                TProtocol legacyProto = protocol(protocol, legacy);
+                JsonSerializer own = new JsonSerializer(service, method, "1.0.0", optimizedStruct);
+                own.setRequestByteBuf(legacy);
+                own.write(json, legacyProto);
+                legacyProto.getTransport().flush();
+                assertEquals(jsonPath + "(" + protocol + ") setRequestByteBuf encoded differently", ByteBufUtil.hexDump(expected), ByteBufUtil.hexDump(legacy));
+            }
+
+            // 预编译的解码结果与逐字段解释元数据的结果一致
+            JsonSerializer serializer = new JsonSerializer(service, method, "1.0.0", optimizedStruct);
+            String decoded = serializer.compiled().read(protocol(protocol, actual));
+            actual.readerIndex(0);
+            assertEquals(jsonPath + "(" + protocol + ")", serializer.interpreted().read(protocol(protocol, actual)), decoded);
+            assertNotEquals("{}", decoded);
+
+            // 直接以UTF-8写出的结果与String一致, 追加的status与原来JsonPost拼接的结果一致
+            actual.readerIndex(0);
+            ByteBuf utf8Decoded = Unpooled.buffer();
+            JsonSerializer statusSerializer = request ? new JsonSerializer(service, method, "1.0.0", optimizedStruct).rootField("status", 1)
+                    : service.getOptimizedMethod(methodName).getStatusResponseSerializer();
+            statusSerializer.read(protocol(protocol, actual), utf8Decoded);
+            String withStatus = decoded.equals("{}") ? "{\"status\":1}" : decoded.substring(0, decoded.lastIndexOf('}')) + ",\"status\":1}";
+            assertEquals(jsonPath + "(" + protocol + ") decoded differently", withStatus, utf8Decoded.toString(StandardCharsets.UTF_8));
+            if (!request) {
+                actual.readerIndex(0);
+                String shared = service.getOptimizedMethod(methodName).getResponseSerializer().read(protocol(protocol, actual));
+                assertEquals(jsonPath + "(" + protocol + ") rootField modified the shared serializer", decoded, shared);
+            }
+        }
+        return rejected;
+    }
+
+    private static void checkRejected(String xml, String methodName, String jsonPath) throws Exception {
+        assertEquals(jsonPath, 2, convert(xml, methodName, true, jsonPath));
+    }
+
+    /**
+     * 多个线程同时使用同一个JsonSerializer编码, 每次的结果都与expected一致
+     */
+    private static void checkShared(JsonSerializer shared, String json, CodecProtocol protocol,
+                                    ByteBuf expected, String jsonPath) throws Exception {
+        try {
+            shared.write(json, protocol(protocol, Unpooled.buffer()));
+            fail(jsonPath + "(" + protocol + ") write without requestByteBuf should fail");
+        } catch (TException e) {
+            // 共享的实例不保存请求的ByteBuf
+        }
+        try {
+            shared.setRequestByteBuf(Unpooled.buffer());
+            fail(jsonPath + "(" + protocol + ") shared serializer should not hold requestByteBuf");
+        } catch (IllegalStateException e) {
+            // 同上
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    // JsonReader按当前线程的InvocationContext选择集合头的编码方式
+                    InvocationContextImpl.Factory.currentInstance().codecProtocol(protocol);
+                    for (int n = 0; n < 200; n++) {
+                        ByteBuf buf = Unpooled.buffer(8192);
+                        TProtocol oproto = protocol(protocol, buf);
+                        shared.write(json, oproto, buf);
+                        oproto.getTransport().flush();
+                        assertTrue(jsonPath + "(" + protocol + ") shared serializer encoded differently",
+                                ByteBufUtil.equals(expected, buf));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static TProtocol protocol(CodecProtocol protocol, ByteBuf buf) {
+        TSoaTransport transport = new TSoaTransport(buf);
+        return protocol == CodecProtocol.Binary ? new TBinaryProtocol(transport) : new TCompactProtocol(transport);
+    }
+
+    private static Service getService(final String xmlFilePath) throws IOException {
+        String xmlContent = IOUtils.toString(CompiledJsonSerializerTest.class.getResource(xmlFilePath), "UTF-8");
+        return JAXB.unmarshal(new StringReader(xmlContent), Service.class);
+    }
+
+    private static String loadJson(final String jsonPath) throws IOException {
+        return IOUtils.toString(CompiledJsonSerializerTest.class.getResource(jsonPath), "UTF-8");
+    }
+}
@@ -26,7 +26,7 @@ package com.today.api.common.serializer;
         import java.util.concurrent.Future;
 
         /**
-        * Autogenerated by Dapeng-Code-Generator (2.1.1)
+        * Autogenerated by Dapeng-Code-Generator (2.2.0)
         *
         * DO NOT EDIT UNLESS YOU ARE SURE THAT YOU KNOW WHAT YOU ARE DOING
         *
@@ -37,75 +37,76 @@ package com.today.api.common.serializer;
       public com.today.api.common.PageRequest read(TProtocol iprot) throws TException{
 
       com.today.api.common.PageRequest bean = new com.today.api.common.PageRequest();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setStart(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setLimit(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSortFields(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
       return bean;
     }
     
       @Override
       public void write(com.today.api.common.PageRequest bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("PageRequest"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("PageRequest"));
 
       
-            oprot.writeFieldBegin(new TField("start", TType.I32, (short) 1));
             Integer elem0 = bean.getStart();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("start", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 1));
             oprot.writeI32(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("limit", TType.I32, (short) 2));
             Integer elem1 = bean.getLimit();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("limit", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 2));
             oprot.writeI32(elem1);
             
             oprot.writeFieldEnd();
           if(bean.getSortFields().isPresent()){
-              oprot.writeFieldBegin(new TField("sortFields", TType.STRING, (short) 3));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sortFields", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 3));
               String elem2 = bean.getSortFields().get();
               oprot.writeString(elem2);
               
@@ -115,8 +116,21 @@ package com.today.api.common.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.common.PageRequest bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;if(bean.getSortFields().isPresent()){
+              String elem2 = bean.getSortFields().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem2);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.common.PageRequest bean) throws TException{
       
+      
     }
     
         @Override
@@ -37,90 +37,89 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.AutoCalculateStockSummaryRequest read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.AutoCalculateStockSummaryRequest bean = new com.today.api.purchase.request.AutoCalculateStockSummaryRequest();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setDateTime(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.BOOL){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.BOOL){
               boolean elem0 = iprot.readBool();
        bean.setRunInverntory(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setStoreId(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 4:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setInventoryNo(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.AutoCalculateStockSummaryRequest bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("AutoCalculateStockSummaryRequest"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("AutoCalculateStockSummaryRequest"));
 
       if(bean.getDateTime().isPresent()){
-              oprot.writeFieldBegin(new TField("dateTime", TType.STRING, (short) 1));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("dateTime", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
               String elem0 = bean.getDateTime().get();
               oprot.writeString(elem0);
               
             }
             if(bean.getRunInverntory().isPresent()){
-              oprot.writeFieldBegin(new TField("runInverntory", TType.BOOL, (short) 2));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("runInverntory", com.github.dapeng.org.apache.thrift.protocol.TType.BOOL, (short) 2));
               Boolean elem1 = bean.getRunInverntory().get();
               oprot.writeBool(elem1);
               
             }
             if(bean.getStoreId().isPresent()){
-              oprot.writeFieldBegin(new TField("storeId", TType.STRING, (short) 3));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("storeId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 3));
               String elem2 = bean.getStoreId().get();
               oprot.writeString(elem2);
               
             }
             if(bean.getInventoryNo().isPresent()){
-              oprot.writeFieldBegin(new TField("inventoryNo", TType.STRING, (short) 4));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("inventoryNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 4));
               String elem3 = bean.getInventoryNo().get();
               oprot.writeString(elem3);
               
@@ -130,8 +129,36 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.AutoCalculateStockSummaryRequest bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      if(bean.getDateTime().isPresent()){
+              String elem0 = bean.getDateTime().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            if(bean.getRunInverntory().isPresent()){
+              Boolean elem1 = bean.getRunInverntory().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.BOOL;
+            }
+            if(bean.getStoreId().isPresent()){
+              String elem2 = bean.getStoreId().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem2);
+            }
+            if(bean.getInventoryNo().isPresent()){
+              String elem3 = bean.getInventoryNo().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem3);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.AutoCalculateStockSummaryRequest bean) throws TException{
       
+      
     }
     
         @Override
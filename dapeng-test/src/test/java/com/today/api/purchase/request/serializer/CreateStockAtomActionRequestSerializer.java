@@ -37,107 +37,123 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.CreateStockAtomActionRequest read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.CreateStockAtomActionRequest bean = new com.today.api.purchase.request.CreateStockAtomActionRequest();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRUCT){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT){
               com.today.api.stock.vo.TStock elem0 = new com.today.api.stock.vo.TStock();
-        elem0=new TStockSerializer().read(iprot);
+        elem0=new com.today.api.stock.vo.serializer.TStockSerializer().read(iprot);
        bean.setStock(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.StockJournalHandleTypeEnum elem0 = com.today.api.stock.enums.StockJournalHandleTypeEnum.findByValue(iprot.readI32());
        bean.setHandleType(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.StockJournalSourceTypeEnum elem0 = com.today.api.stock.enums.StockJournalSourceTypeEnum.findByValue(iprot.readI32());
        bean.setSourceType(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 4:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setSourceId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 5:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setSourceTime(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStock() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stock字段不允许为空");
+          
+            if(bean.getHandleType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "handleType字段不允许为空");
+          
+            if(bean.getSourceType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.CreateStockAtomActionRequest bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("CreateStockAtomActionRequest"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("CreateStockAtomActionRequest"));
 
       
-            oprot.writeFieldBegin(new TField("stock", TType.STRUCT, (short) 1));
             com.today.api.stock.vo.TStock elem0 = bean.getStock();
-             new TStockSerializer().write(elem0, oprot);
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "stock字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stock", com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, (short) 1));
+             new com.today.api.stock.vo.serializer.TStockSerializer().write(elem0, oprot);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("handleType", TType.I32, (short) 2));
             com.today.api.stock.enums.StockJournalHandleTypeEnum elem1 = bean.getHandleType();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "handleType字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("handleType", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 2));
             oprot.writeI32(elem1.getValue());
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("sourceType", TType.I32, (short) 3));
             com.today.api.stock.enums.StockJournalSourceTypeEnum elem2 = bean.getSourceType();
+            if(elem2 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceType", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 3));
             oprot.writeI32(elem2.getValue());
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("sourceId", TType.I64, (short) 4));
             Long elem3 = bean.getSourceId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceId", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 4));
             oprot.writeI64(elem3);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("sourceTime", TType.I64, (short) 5));
             Long elem4 = bean.getSourceTime();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceTime", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 5));
             oprot.writeI64(elem4);
             
             oprot.writeFieldEnd();
@@ -146,20 +162,33 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.CreateStockAtomActionRequest bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              com.today.api.stock.vo.TStock elem0 = bean.getStock();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              if(elem0 != null) size += new com.today.api.stock.vo.serializer.TStockSerializer().estimateSize(elem0);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.CreateStockAtomActionRequest bean) throws TException{
       
-              if(bean.getStock() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "stock字段不允许为空");
-            
+            if(bean.getStock() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stock字段不允许为空");
+          
+            if(bean.getHandleType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "handleType字段不允许为空");
+          
+            if(bean.getSourceType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+          
+      
                 if(bean.getStock() != null)
-                new TStockSerializer().validate(bean.getStock());
+                new com.today.api.stock.vo.serializer.TStockSerializer().validate(bean.getStock());
               
-              if(bean.getHandleType() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "handleType字段不允许为空");
-            
-              if(bean.getSourceType() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
-            
     }
     
         @Override
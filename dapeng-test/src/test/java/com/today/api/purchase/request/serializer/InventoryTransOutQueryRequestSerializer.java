@@ -37,75 +37,84 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.InventoryTransOutQueryRequest read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.InventoryTransOutQueryRequest bean = new com.today.api.purchase.request.InventoryTransOutQueryRequest();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setStartDate(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setEndDate(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.InventoryResultInventoryTypeEnum elem0 = com.today.api.stock.enums.InventoryResultInventoryTypeEnum.findByValue(iprot.readI32());
        bean.setInventoryResultInventoryTypeEnum(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStartDate() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "startDate字段不允许为空");
+          
+            if(bean.getEndDate() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "endDate字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.InventoryTransOutQueryRequest bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("InventoryTransOutQueryRequest"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("InventoryTransOutQueryRequest"));
 
       
-            oprot.writeFieldBegin(new TField("startDate", TType.STRING, (short) 1));
             String elem0 = bean.getStartDate();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "startDate字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("startDate", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
             oprot.writeString(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("endDate", TType.STRING, (short) 2));
             String elem1 = bean.getEndDate();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "endDate字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("endDate", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 2));
             oprot.writeString(elem1);
             
             oprot.writeFieldEnd();
           if(bean.getInventoryResultInventoryTypeEnum().isPresent()){
-              oprot.writeFieldBegin(new TField("inventoryResultInventoryTypeEnum", TType.I32, (short) 3));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("inventoryResultInventoryTypeEnum", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 3));
               com.today.api.stock.enums.InventoryResultInventoryTypeEnum elem2 = bean.getInventoryResultInventoryTypeEnum().get();
               oprot.writeI32(elem2.getValue());
               
@@ -115,14 +124,37 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.InventoryTransOutQueryRequest bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              String elem0 = bean.getStartDate();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            {
+              String elem1 = bean.getEndDate();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem1);
+            }
+            if(bean.getInventoryResultInventoryTypeEnum().isPresent()){
+              com.today.api.stock.enums.InventoryResultInventoryTypeEnum elem2 = bean.getInventoryResultInventoryTypeEnum().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I32;
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.InventoryTransOutQueryRequest bean) throws TException{
       
-              if(bean.getStartDate() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "startDate字段不允许为空");
-            
-              if(bean.getEndDate() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "endDate字段不允许为空");
-            
+            if(bean.getStartDate() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "startDate字段不允许为空");
+          
+            if(bean.getEndDate() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "endDate字段不允许为空");
+          
+      
     }
     
         @Override
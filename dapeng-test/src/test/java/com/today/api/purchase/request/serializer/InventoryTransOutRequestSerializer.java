@@ -37,61 +37,70 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.InventoryTransOutRequest read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.InventoryTransOutRequest bean = new com.today.api.purchase.request.InventoryTransOutRequest();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setTargetStoreId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setInventoryNo(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getTargetStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "targetStoreId字段不允许为空");
+          
+            if(bean.getInventoryNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "inventoryNo字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.InventoryTransOutRequest bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("InventoryTransOutRequest"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("InventoryTransOutRequest"));
 
       
-            oprot.writeFieldBegin(new TField("targetStoreId", TType.STRING, (short) 1));
             String elem0 = bean.getTargetStoreId();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "targetStoreId字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("targetStoreId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
             oprot.writeString(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("inventoryNo", TType.STRING, (short) 2));
             String elem1 = bean.getInventoryNo();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "inventoryNo字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("inventoryNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 2));
             oprot.writeString(elem1);
             
             oprot.writeFieldEnd();
@@ -100,14 +109,32 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.InventoryTransOutRequest bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              String elem0 = bean.getTargetStoreId();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            {
+              String elem1 = bean.getInventoryNo();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem1);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.InventoryTransOutRequest bean) throws TException{
       
-              if(bean.getTargetStoreId() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "targetStoreId字段不允许为空");
-            
-              if(bean.getInventoryNo() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "inventoryNo字段不允许为空");
-            
+            if(bean.getTargetStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "targetStoreId字段不允许为空");
+          
+            if(bean.getInventoryNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "inventoryNo字段不允许为空");
+          
+      
     }
     
         @Override
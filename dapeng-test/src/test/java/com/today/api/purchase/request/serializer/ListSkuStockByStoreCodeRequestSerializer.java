@@ -26,7 +26,7 @@ package com.today.api.purchase.request.serializer;
         import java.util.concurrent.Future;
 
         /**
-        * Autogenerated by Dapeng-Code-Generator (2.1.1)
+        * Autogenerated by Dapeng-Code-Generator (2.2.0)
         *
         * DO NOT EDIT UNLESS YOU ARE SURE THAT YOU KNOW WHAT YOU ARE DOING
         *
@@ -37,166 +37,170 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.ListSkuStockByStoreCodeRequest read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.ListSkuStockByStoreCodeRequest bean = new com.today.api.purchase.request.ListSkuStockByStoreCodeRequest();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setStoreId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 5:
-              if(schemeField.type == TType.STRUCT){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT){
               com.today.api.common.PageRequest elem0 = new com.today.api.common.PageRequest();
-        elem0=new PageRequestSerializer().read(iprot);
+        elem0=new com.today.api.common.serializer.PageRequestSerializer().read(iprot);
        bean.setPageRequest(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 6:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setCategoryCode(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 7:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuType(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 8:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setMinSellingPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 9:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setMaxSellingPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 10:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuName(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 11:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuNo(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 12:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuMasterBarcode(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.ListSkuStockByStoreCodeRequest bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("ListSkuStockByStoreCodeRequest"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("ListSkuStockByStoreCodeRequest"));
 
       
-            oprot.writeFieldBegin(new TField("storeId", TType.STRING, (short) 1));
             String elem0 = bean.getStoreId();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("storeId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
             oprot.writeString(elem0);
             
             oprot.writeFieldEnd();
           if(bean.getPageRequest().isPresent()){
-              oprot.writeFieldBegin(new TField("pageRequest", TType.STRUCT, (short) 5));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("pageRequest", com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, (short) 5));
               com.today.api.common.PageRequest elem1 = bean.getPageRequest().get();
-               new PageRequestSerializer().write(elem1, oprot);
+               new com.today.api.common.serializer.PageRequestSerializer().write(elem1, oprot);
               
             }
             if(bean.getCategoryCode().isPresent()){
-              oprot.writeFieldBegin(new TField("categoryCode", TType.STRING, (short) 6));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("categoryCode", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 6));
               String elem2 = bean.getCategoryCode().get();
               oprot.writeString(elem2);
               
             }
             if(bean.getSkuType().isPresent()){
-              oprot.writeFieldBegin(new TField("skuType", TType.STRING, (short) 7));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuType", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 7));
               String elem3 = bean.getSkuType().get();
               oprot.writeString(elem3);
               
             }
             if(bean.getMinSellingPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("minSellingPrice", TType.DOUBLE, (short) 8));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("minSellingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 8));
               Double elem4 = bean.getMinSellingPrice().get();
               oprot.writeDouble(elem4);
               
             }
             if(bean.getMaxSellingPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("maxSellingPrice", TType.DOUBLE, (short) 9));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("maxSellingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 9));
               Double elem5 = bean.getMaxSellingPrice().get();
               oprot.writeDouble(elem5);
               
             }
             if(bean.getSkuName().isPresent()){
-              oprot.writeFieldBegin(new TField("skuName", TType.STRING, (short) 10));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 10));
               String elem6 = bean.getSkuName().get();
               oprot.writeString(elem6);
               
             }
             if(bean.getSkuNo().isPresent()){
-              oprot.writeFieldBegin(new TField("skuNo", TType.STRING, (short) 11));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 11));
               String elem7 = bean.getSkuNo().get();
               oprot.writeString(elem7);
               
             }
             if(bean.getSkuMasterBarcode().isPresent()){
-              oprot.writeFieldBegin(new TField("skuMasterBarcode", TType.STRING, (short) 12));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuMasterBarcode", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 12));
               String elem8 = bean.getSkuMasterBarcode().get();
               oprot.writeString(elem8);
               
@@ -206,13 +210,66 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.ListSkuStockByStoreCodeRequest bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              String elem0 = bean.getStoreId();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            if(bean.getPageRequest().isPresent()){
+              com.today.api.common.PageRequest elem1 = bean.getPageRequest().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              if(elem1 != null) size += new com.today.api.common.serializer.PageRequestSerializer().estimateSize(elem1);
+            }
+            if(bean.getCategoryCode().isPresent()){
+              String elem2 = bean.getCategoryCode().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem2);
+            }
+            if(bean.getSkuType().isPresent()){
+              String elem3 = bean.getSkuType().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem3);
+            }
+            if(bean.getMinSellingPrice().isPresent()){
+              Double elem4 = bean.getMinSellingPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getMaxSellingPrice().isPresent()){
+              Double elem5 = bean.getMaxSellingPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getSkuName().isPresent()){
+              String elem6 = bean.getSkuName().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem6);
+            }
+            if(bean.getSkuNo().isPresent()){
+              String elem7 = bean.getSkuNo().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem7);
+            }
+            if(bean.getSkuMasterBarcode().isPresent()){
+              String elem8 = bean.getSkuMasterBarcode().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem8);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.ListSkuStockByStoreCodeRequest bean) throws TException{
       
-              if(bean.getStoreId() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
-            
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
+      
                 if(bean.getPageRequest().isPresent())
-                new PageRequestSerializer().validate(bean.getPageRequest().get());
+                new com.today.api.common.serializer.PageRequestSerializer().validate(bean.getPageRequest().get());
               
     }
     
@@ -37,27 +37,27 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.NoStoreInfoRequest read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.NoStoreInfoRequest bean = new com.today.api.purchase.request.NoStoreInfoRequest();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setStoreId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.LIST){
-               TList _list0 = iprot.readListBegin();
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.LIST){
+               com.github.dapeng.org.apache.thrift.protocol.TList _list0 = iprot.readListBegin();
         java.util.List<String> elem0 = new java.util.ArrayList<>(_list0.size);
         for(int _i0 = 0; _i0 < _list0.size; ++ _i0){
           String elem1 = iprot.readString();
@@ -66,49 +66,58 @@ package com.today.api.purchase.request.serializer;
         iprot.readListEnd();
        bean.setSkuNoList(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setStartTime(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
+            if(bean.getSkuNoList() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuNoList字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.NoStoreInfoRequest bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("NoStoreInfoRequest"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("NoStoreInfoRequest"));
 
       
-            oprot.writeFieldBegin(new TField("storeId", TType.STRING, (short) 1));
             String elem0 = bean.getStoreId();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("storeId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
             oprot.writeString(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("skuNoList", TType.LIST, (short) 2));
             java.util.List<String> elem1 = bean.getSkuNoList();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuNoList字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuNoList", com.github.dapeng.org.apache.thrift.protocol.TType.LIST, (short) 2));
             
-          oprot.writeListBegin(new TList(TType.STRING, elem1.size()));
+          oprot.writeListBegin(new com.github.dapeng.org.apache.thrift.protocol.TList(com.github.dapeng.org.apache.thrift.protocol.TType.STRING, elem1.size()));
           for(String elem2 : elem1){
           oprot.writeString(elem2);
         }
@@ -117,8 +126,9 @@ package com.today.api.purchase.request.serializer;
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("startTime", TType.I64, (short) 3));
             Long elem2 = bean.getStartTime();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("startTime", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 3));
             oprot.writeI64(elem2);
             
             oprot.writeFieldEnd();
@@ -127,14 +137,37 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.NoStoreInfoRequest bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              String elem0 = bean.getStoreId();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            {
+              java.util.List<String> elem1 = bean.getSkuNoList();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.COLLECTION;
+          if(elem1 != null){for(String elem2 : elem1){
+                size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem2);
+              }
+        }
+        
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.NoStoreInfoRequest bean) throws TException{
       
-              if(bean.getStoreId() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
-            
-              if(bean.getSkuNoList() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuNoList字段不允许为空");
-            
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
+            if(bean.getSkuNoList() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuNoList字段不允许为空");
+          
+      
     }
     
         @Override
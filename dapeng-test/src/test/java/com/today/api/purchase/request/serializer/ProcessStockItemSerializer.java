@@ -37,256 +37,283 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.ProcessStockItem read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.ProcessStockItem bean = new com.today.api.purchase.request.ProcessStockItem();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setOwnerId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.StockOwnerTypeEnum elem0 = com.today.api.stock.enums.StockOwnerTypeEnum.findByValue(iprot.readI32());
        bean.setOwnerType(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuNo(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 4:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.StockJournalSourceTypeEnum2 elem0 = com.today.api.stock.enums.StockJournalSourceTypeEnum2.findByValue(iprot.readI32());
        bean.setSourceType(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 5:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setSourceId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 6:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setStockNum(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 7:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setKafkaId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 8:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setLogisticsPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 9:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setLogisticsOutputTax(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 10:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setBuyingPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 11:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setSupplierInputTax(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 12:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setSellingPirce(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 13:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setOutputTax(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 14:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setRemark(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 15:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setSourceTime(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getOwnerId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerId字段不允许为空");
+          
+            if(bean.getOwnerType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerType字段不允许为空");
+          
+            if(bean.getSkuNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+          
+            if(bean.getSourceType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+          
+            if(bean.getStockNum() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stockNum字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.ProcessStockItem bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("ProcessStockItem"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("ProcessStockItem"));
 
       
-            oprot.writeFieldBegin(new TField("ownerId", TType.STRING, (short) 1));
             String elem0 = bean.getOwnerId();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "ownerId字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("ownerId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
             oprot.writeString(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("ownerType", TType.I32, (short) 2));
             com.today.api.stock.enums.StockOwnerTypeEnum elem1 = bean.getOwnerType();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "ownerType字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("ownerType", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 2));
             oprot.writeI32(elem1.getValue());
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("skuNo", TType.STRING, (short) 3));
             String elem2 = bean.getSkuNo();
+            if(elem2 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 3));
             oprot.writeString(elem2);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("sourceType", TType.I32, (short) 4));
             com.today.api.stock.enums.StockJournalSourceTypeEnum2 elem3 = bean.getSourceType();
+            if(elem3 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceType", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 4));
             oprot.writeI32(elem3.getValue());
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("sourceId", TType.I64, (short) 5));
             Long elem4 = bean.getSourceId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceId", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 5));
             oprot.writeI64(elem4);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("stockNum", TType.STRING, (short) 6));
             java.math.BigDecimal elem5 = bean.getStockNum();
+            if(elem5 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "stockNum字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stockNum", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 6));
             oprot.writeString(elem5.toString());
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("kafkaId", TType.I64, (short) 7));
             Long elem6 = bean.getKafkaId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("kafkaId", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 7));
             oprot.writeI64(elem6);
             
             oprot.writeFieldEnd();
           if(bean.getLogisticsPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("logisticsPrice", TType.STRING, (short) 8));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("logisticsPrice", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 8));
               java.math.BigDecimal elem7 = bean.getLogisticsPrice().get();
               oprot.writeString(elem7.toString());
               
             }
             if(bean.getLogisticsOutputTax().isPresent()){
-              oprot.writeFieldBegin(new TField("logisticsOutputTax", TType.STRING, (short) 9));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("logisticsOutputTax", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 9));
               java.math.BigDecimal elem8 = bean.getLogisticsOutputTax().get();
               oprot.writeString(elem8.toString());
               
             }
             if(bean.getBuyingPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("buyingPrice", TType.STRING, (short) 10));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("buyingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 10));
               java.math.BigDecimal elem9 = bean.getBuyingPrice().get();
               oprot.writeString(elem9.toString());
               
             }
             if(bean.getSupplierInputTax().isPresent()){
-              oprot.writeFieldBegin(new TField("supplierInputTax", TType.STRING, (short) 11));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("supplierInputTax", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 11));
               java.math.BigDecimal elem10 = bean.getSupplierInputTax().get();
               oprot.writeString(elem10.toString());
               
             }
             if(bean.getSellingPirce().isPresent()){
-              oprot.writeFieldBegin(new TField("sellingPirce", TType.STRING, (short) 12));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sellingPirce", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 12));
               java.math.BigDecimal elem11 = bean.getSellingPirce().get();
               oprot.writeString(elem11.toString());
               
             }
             if(bean.getOutputTax().isPresent()){
-              oprot.writeFieldBegin(new TField("outputTax", TType.STRING, (short) 13));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("outputTax", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 13));
               java.math.BigDecimal elem12 = bean.getOutputTax().get();
               oprot.writeString(elem12.toString());
               
             }
             if(bean.getRemark().isPresent()){
-              oprot.writeFieldBegin(new TField("remark", TType.STRING, (short) 14));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("remark", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 14));
               String elem13 = bean.getRemark().get();
               oprot.writeString(elem13);
               
             }
             
-            oprot.writeFieldBegin(new TField("sourceTime", TType.I64, (short) 15));
             Long elem14 = bean.getSourceTime();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceTime", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 15));
             oprot.writeI64(elem14);
             
             oprot.writeFieldEnd();
@@ -295,23 +322,81 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.ProcessStockItem bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              String elem0 = bean.getOwnerId();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;{
+              String elem2 = bean.getSkuNo();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem2);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;{
+              java.math.BigDecimal elem5 = bean.getStockNum();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem5);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;if(bean.getLogisticsPrice().isPresent()){
+              java.math.BigDecimal elem7 = bean.getLogisticsPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem7);
+            }
+            if(bean.getLogisticsOutputTax().isPresent()){
+              java.math.BigDecimal elem8 = bean.getLogisticsOutputTax().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem8);
+            }
+            if(bean.getBuyingPrice().isPresent()){
+              java.math.BigDecimal elem9 = bean.getBuyingPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem9);
+            }
+            if(bean.getSupplierInputTax().isPresent()){
+              java.math.BigDecimal elem10 = bean.getSupplierInputTax().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem10);
+            }
+            if(bean.getSellingPirce().isPresent()){
+              java.math.BigDecimal elem11 = bean.getSellingPirce().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem11);
+            }
+            if(bean.getOutputTax().isPresent()){
+              java.math.BigDecimal elem12 = bean.getOutputTax().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem12);
+            }
+            if(bean.getRemark().isPresent()){
+              String elem13 = bean.getRemark().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem13);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.ProcessStockItem bean) throws TException{
       
-              if(bean.getOwnerId() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "ownerId字段不允许为空");
-            
-              if(bean.getOwnerType() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "ownerType字段不允许为空");
-            
-              if(bean.getSkuNo() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
-            
-              if(bean.getSourceType() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
-            
-              if(bean.getStockNum() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "stockNum字段不允许为空");
-            
+            if(bean.getOwnerId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerId字段不允许为空");
+          
+            if(bean.getOwnerType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerType字段不允许为空");
+          
+            if(bean.getSkuNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+          
+            if(bean.getSourceType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+          
+            if(bean.getStockNum() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stockNum字段不允许为空");
+          
+      
     }
     
         @Override
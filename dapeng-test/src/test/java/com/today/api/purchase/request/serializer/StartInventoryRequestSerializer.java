@@ -37,46 +37,50 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.StartInventoryRequest read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.StartInventoryRequest bean = new com.today.api.purchase.request.StartInventoryRequest();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setStoreId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.StartInventoryRequest bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("StartInventoryRequest"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("StartInventoryRequest"));
 
       
-            oprot.writeFieldBegin(new TField("storeId", TType.STRING, (short) 1));
             String elem0 = bean.getStoreId();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("storeId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
             oprot.writeString(elem0);
             
             oprot.writeFieldEnd();
@@ -85,11 +89,24 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.StartInventoryRequest bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              String elem0 = bean.getStoreId();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.StartInventoryRequest bean) throws TException{
       
-              if(bean.getStoreId() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
-            
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
+      
     }
     
         @Override
@@ -37,211 +37,220 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.StockQueryRequest read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.StockQueryRequest bean = new com.today.api.purchase.request.StockQueryRequest();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setOwnerId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.StockOwnerTypeEnum elem0 = com.today.api.stock.enums.StockOwnerTypeEnum.findByValue(iprot.readI32());
        bean.setOwnerType(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setStartTime(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 4:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setEndTime(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 5:
-              if(schemeField.type == TType.STRUCT){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT){
               com.today.api.common.PageRequest elem0 = new com.today.api.common.PageRequest();
-        elem0=new PageRequestSerializer().read(iprot);
+        elem0=new com.today.api.common.serializer.PageRequestSerializer().read(iprot);
        bean.setPageRequest(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 6:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setCategoryCode(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 7:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.SkuTypeEnum elem0 = com.today.api.stock.enums.SkuTypeEnum.findByValue(iprot.readI32());
        bean.setSkuType(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 8:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setMinSellingPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 9:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setMaxSellingPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 10:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuName(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 11:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuNo(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 12:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuMasterBarcode(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getOwnerId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerId字段不允许为空");
+          
+            if(bean.getOwnerType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerType字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.StockQueryRequest bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("StockQueryRequest"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("StockQueryRequest"));
 
       
-            oprot.writeFieldBegin(new TField("ownerId", TType.STRING, (short) 1));
             String elem0 = bean.getOwnerId();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "ownerId字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("ownerId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
             oprot.writeString(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("ownerType", TType.I32, (short) 2));
             com.today.api.stock.enums.StockOwnerTypeEnum elem1 = bean.getOwnerType();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "ownerType字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("ownerType", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 2));
             oprot.writeI32(elem1.getValue());
             
             oprot.writeFieldEnd();
           if(bean.getStartTime().isPresent()){
-              oprot.writeFieldBegin(new TField("startTime", TType.I64, (short) 3));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("startTime", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 3));
               Long elem2 = bean.getStartTime().get();
               oprot.writeI64(elem2);
               
             }
             if(bean.getEndTime().isPresent()){
-              oprot.writeFieldBegin(new TField("endTime", TType.I64, (short) 4));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("endTime", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 4));
               Long elem3 = bean.getEndTime().get();
               oprot.writeI64(elem3);
               
             }
             if(bean.getPageRequest().isPresent()){
-              oprot.writeFieldBegin(new TField("pageRequest", TType.STRUCT, (short) 5));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("pageRequest", com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, (short) 5));
               com.today.api.common.PageRequest elem4 = bean.getPageRequest().get();
-               new PageRequestSerializer().write(elem4, oprot);
+               new com.today.api.common.serializer.PageRequestSerializer().write(elem4, oprot);
               
             }
             if(bean.getCategoryCode().isPresent()){
-              oprot.writeFieldBegin(new TField("categoryCode", TType.STRING, (short) 6));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("categoryCode", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 6));
               String elem5 = bean.getCategoryCode().get();
               oprot.writeString(elem5);
               
             }
             if(bean.getSkuType().isPresent()){
-              oprot.writeFieldBegin(new TField("skuType", TType.I32, (short) 7));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuType", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 7));
               com.today.api.stock.enums.SkuTypeEnum elem6 = bean.getSkuType().get();
               oprot.writeI32(elem6.getValue());
               
             }
             if(bean.getMinSellingPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("minSellingPrice", TType.DOUBLE, (short) 8));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("minSellingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 8));
               Double elem7 = bean.getMinSellingPrice().get();
               oprot.writeDouble(elem7);
               
             }
             if(bean.getMaxSellingPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("maxSellingPrice", TType.DOUBLE, (short) 9));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("maxSellingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 9));
               Double elem8 = bean.getMaxSellingPrice().get();
               oprot.writeDouble(elem8);
               
             }
             if(bean.getSkuName().isPresent()){
-              oprot.writeFieldBegin(new TField("skuName", TType.STRING, (short) 10));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 10));
               String elem9 = bean.getSkuName().get();
               oprot.writeString(elem9);
               
             }
             if(bean.getSkuNo().isPresent()){
-              oprot.writeFieldBegin(new TField("skuNo", TType.STRING, (short) 11));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 11));
               String elem10 = bean.getSkuNo().get();
               oprot.writeString(elem10);
               
             }
             if(bean.getSkuMasterBarcode().isPresent()){
-              oprot.writeFieldBegin(new TField("skuMasterBarcode", TType.STRING, (short) 12));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuMasterBarcode", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 12));
               String elem11 = bean.getSkuMasterBarcode().get();
               oprot.writeString(elem11);
               
@@ -251,16 +260,79 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.StockQueryRequest bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              String elem0 = bean.getOwnerId();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;if(bean.getStartTime().isPresent()){
+              Long elem2 = bean.getStartTime().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I64;
+            }
+            if(bean.getEndTime().isPresent()){
+              Long elem3 = bean.getEndTime().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I64;
+            }
+            if(bean.getPageRequest().isPresent()){
+              com.today.api.common.PageRequest elem4 = bean.getPageRequest().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              if(elem4 != null) size += new com.today.api.common.serializer.PageRequestSerializer().estimateSize(elem4);
+            }
+            if(bean.getCategoryCode().isPresent()){
+              String elem5 = bean.getCategoryCode().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem5);
+            }
+            if(bean.getSkuType().isPresent()){
+              com.today.api.stock.enums.SkuTypeEnum elem6 = bean.getSkuType().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I32;
+            }
+            if(bean.getMinSellingPrice().isPresent()){
+              Double elem7 = bean.getMinSellingPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getMaxSellingPrice().isPresent()){
+              Double elem8 = bean.getMaxSellingPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getSkuName().isPresent()){
+              String elem9 = bean.getSkuName().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem9);
+            }
+            if(bean.getSkuNo().isPresent()){
+              String elem10 = bean.getSkuNo().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem10);
+            }
+            if(bean.getSkuMasterBarcode().isPresent()){
+              String elem11 = bean.getSkuMasterBarcode().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem11);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.StockQueryRequest bean) throws TException{
       
-              if(bean.getOwnerId() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "ownerId字段不允许为空");
-            
-              if(bean.getOwnerType() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "ownerType字段不允许为空");
-            
+            if(bean.getOwnerId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerId字段不允许为空");
+          
+            if(bean.getOwnerType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerType字段不允许为空");
+          
+      
                 if(bean.getPageRequest().isPresent())
-                new PageRequestSerializer().validate(bean.getPageRequest().get());
+                new com.today.api.common.serializer.PageRequestSerializer().validate(bean.getPageRequest().get());
               
     }
     
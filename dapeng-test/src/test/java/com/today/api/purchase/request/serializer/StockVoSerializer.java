@@ -37,285 +37,326 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.StockVo read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.StockVo bean = new com.today.api.purchase.request.StockVo();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setOwnerId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.StockOwnerTypeEnum elem0 = com.today.api.stock.enums.StockOwnerTypeEnum.findByValue(iprot.readI32());
        bean.setOwnerType(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuNo(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 5:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setOwnerName(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 6:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuName(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 7:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setStockNum(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 8:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.StockJournalSourceTypeEnum elem0 = com.today.api.stock.enums.StockJournalSourceTypeEnum.findByValue(iprot.readI32());
        bean.setSourceType(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 9:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setOrderId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 10:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setSourceTime(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 11:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSaleUnit(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 29:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setSellingPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 30:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setBuyingPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 31:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setLogisticsPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 32:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setLogisticsOutputTax(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 33:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setLogisticsPriceAmount(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 34:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setStoreSellingPriceAmount(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 35:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setKafkaId(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getOwnerId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerId字段不允许为空");
+          
+            if(bean.getOwnerType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerType字段不允许为空");
+          
+            if(bean.getSkuNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+          
+            if(bean.getOwnerName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerName字段不允许为空");
+          
+            if(bean.getSkuName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuName字段不允许为空");
+          
+            if(bean.getStockNum() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stockNum字段不允许为空");
+          
+            if(bean.getSourceType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+          
+            if(bean.getSaleUnit() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "saleUnit字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.StockVo bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("StockVo"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("StockVo"));
 
       
-            oprot.writeFieldBegin(new TField("ownerId", TType.STRING, (short) 1));
             String elem0 = bean.getOwnerId();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "ownerId字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("ownerId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
             oprot.writeString(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("ownerType", TType.I32, (short) 2));
             com.today.api.stock.enums.StockOwnerTypeEnum elem1 = bean.getOwnerType();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "ownerType字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("ownerType", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 2));
             oprot.writeI32(elem1.getValue());
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("skuNo", TType.STRING, (short) 3));
             String elem2 = bean.getSkuNo();
+            if(elem2 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 3));
             oprot.writeString(elem2);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("ownerName", TType.STRING, (short) 5));
             String elem3 = bean.getOwnerName();
+            if(elem3 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "ownerName字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("ownerName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 5));
             oprot.writeString(elem3);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("skuName", TType.STRING, (short) 6));
             String elem4 = bean.getSkuName();
+            if(elem4 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuName字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 6));
             oprot.writeString(elem4);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("stockNum", TType.STRING, (short) 7));
             java.math.BigDecimal elem5 = bean.getStockNum();
+            if(elem5 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "stockNum字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stockNum", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 7));
             oprot.writeString(elem5.toString());
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("sourceType", TType.I32, (short) 8));
             com.today.api.stock.enums.StockJournalSourceTypeEnum elem6 = bean.getSourceType();
+            if(elem6 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceType", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 8));
             oprot.writeI32(elem6.getValue());
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("orderId", TType.I64, (short) 9));
             Long elem7 = bean.getOrderId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("orderId", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 9));
             oprot.writeI64(elem7);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("sourceTime", TType.I64, (short) 10));
             Long elem8 = bean.getSourceTime();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceTime", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 10));
             oprot.writeI64(elem8);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("saleUnit", TType.STRING, (short) 11));
             String elem9 = bean.getSaleUnit();
+            if(elem9 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "saleUnit字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("saleUnit", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 11));
             oprot.writeString(elem9);
             
             oprot.writeFieldEnd();
           if(bean.getSellingPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("sellingPrice", TType.DOUBLE, (short) 29));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sellingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 29));
               Double elem10 = bean.getSellingPrice().get();
               oprot.writeDouble(elem10);
               
             }
             if(bean.getBuyingPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("buyingPrice", TType.DOUBLE, (short) 30));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("buyingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 30));
               Double elem11 = bean.getBuyingPrice().get();
               oprot.writeDouble(elem11);
               
             }
             if(bean.getLogisticsPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("logisticsPrice", TType.DOUBLE, (short) 31));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("logisticsPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 31));
               Double elem12 = bean.getLogisticsPrice().get();
               oprot.writeDouble(elem12);
               
             }
             if(bean.getLogisticsOutputTax().isPresent()){
-              oprot.writeFieldBegin(new TField("logisticsOutputTax", TType.DOUBLE, (short) 32));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("logisticsOutputTax", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 32));
               Double elem13 = bean.getLogisticsOutputTax().get();
               oprot.writeDouble(elem13);
               
             }
             if(bean.getLogisticsPriceAmount().isPresent()){
-              oprot.writeFieldBegin(new TField("logisticsPriceAmount", TType.STRING, (short) 33));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("logisticsPriceAmount", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 33));
               java.math.BigDecimal elem14 = bean.getLogisticsPriceAmount().get();
               oprot.writeString(elem14.toString());
               
             }
             if(bean.getStoreSellingPriceAmount().isPresent()){
-              oprot.writeFieldBegin(new TField("storeSellingPriceAmount", TType.STRING, (short) 34));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("storeSellingPriceAmount", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 34));
               java.math.BigDecimal elem15 = bean.getStoreSellingPriceAmount().get();
               oprot.writeString(elem15.toString());
               
             }
             if(bean.getKafkaId().isPresent()){
-              oprot.writeFieldBegin(new TField("kafkaId", TType.STRING, (short) 35));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("kafkaId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 35));
               String elem16 = bean.getKafkaId().get();
               oprot.writeString(elem16);
               
@@ -325,32 +366,105 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.StockVo bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              String elem0 = bean.getOwnerId();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;{
+              String elem2 = bean.getSkuNo();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem2);
+            }
+            {
+              String elem3 = bean.getOwnerName();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem3);
+            }
+            {
+              String elem4 = bean.getSkuName();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem4);
+            }
+            {
+              java.math.BigDecimal elem5 = bean.getStockNum();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem5);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;{
+              String elem9 = bean.getSaleUnit();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem9);
+            }
+            if(bean.getSellingPrice().isPresent()){
+              Double elem10 = bean.getSellingPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getBuyingPrice().isPresent()){
+              Double elem11 = bean.getBuyingPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getLogisticsPrice().isPresent()){
+              Double elem12 = bean.getLogisticsPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getLogisticsOutputTax().isPresent()){
+              Double elem13 = bean.getLogisticsOutputTax().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getLogisticsPriceAmount().isPresent()){
+              java.math.BigDecimal elem14 = bean.getLogisticsPriceAmount().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem14);
+            }
+            if(bean.getStoreSellingPriceAmount().isPresent()){
+              java.math.BigDecimal elem15 = bean.getStoreSellingPriceAmount().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem15);
+            }
+            if(bean.getKafkaId().isPresent()){
+              String elem16 = bean.getKafkaId().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem16);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.StockVo bean) throws TException{
       
-              if(bean.getOwnerId() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "ownerId字段不允许为空");
-            
-              if(bean.getOwnerType() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "ownerType字段不允许为空");
-            
-              if(bean.getSkuNo() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
-            
-              if(bean.getOwnerName() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "ownerName字段不允许为空");
-            
-              if(bean.getSkuName() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuName字段不允许为空");
-            
-              if(bean.getStockNum() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "stockNum字段不允许为空");
-            
-              if(bean.getSourceType() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
-            
-              if(bean.getSaleUnit() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "saleUnit字段不允许为空");
-            
+            if(bean.getOwnerId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerId字段不允许为空");
+          
+            if(bean.getOwnerType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerType字段不允许为空");
+          
+            if(bean.getSkuNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+          
+            if(bean.getOwnerName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerName字段不允许为空");
+          
+            if(bean.getSkuName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuName字段不允许为空");
+          
+            if(bean.getStockNum() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stockNum字段不允许为空");
+          
+            if(bean.getSourceType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+          
+            if(bean.getSaleUnit() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "saleUnit字段不允许为空");
+          
+      
     }
     
         @Override
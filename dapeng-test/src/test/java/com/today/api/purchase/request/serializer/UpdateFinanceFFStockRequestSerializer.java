@@ -37,57 +37,61 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.UpdateFinanceFFStockRequest read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.UpdateFinanceFFStockRequest bean = new com.today.api.purchase.request.UpdateFinanceFFStockRequest();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.LIST){
-               TList _list0 = iprot.readListBegin();
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.LIST){
+               com.github.dapeng.org.apache.thrift.protocol.TList _list0 = iprot.readListBegin();
         java.util.List<com.today.api.purchase.request.UpdateStockVO> elem0 = new java.util.ArrayList<>(_list0.size);
         for(int _i0 = 0; _i0 < _list0.size; ++ _i0){
           com.today.api.purchase.request.UpdateStockVO elem1 = new com.today.api.purchase.request.UpdateStockVO();
-        elem1=new UpdateStockVOSerializer().read(iprot);
+        elem1=new com.today.api.purchase.request.serializer.UpdateStockVOSerializer().read(iprot);
           elem0.add(elem1);
         }
         iprot.readListEnd();
        bean.setUpdateStockList(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getUpdateStockList() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "updateStockList字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.UpdateFinanceFFStockRequest bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("UpdateFinanceFFStockRequest"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("UpdateFinanceFFStockRequest"));
 
       
-            oprot.writeFieldBegin(new TField("updateStockList", TType.LIST, (short) 1));
             java.util.List<com.today.api.purchase.request.UpdateStockVO> elem0 = bean.getUpdateStockList();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "updateStockList字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("updateStockList", com.github.dapeng.org.apache.thrift.protocol.TType.LIST, (short) 1));
             
-          oprot.writeListBegin(new TList(TType.STRUCT, elem0.size()));
+          oprot.writeListBegin(new com.github.dapeng.org.apache.thrift.protocol.TList(com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, elem0.size()));
           for(com.today.api.purchase.request.UpdateStockVO elem1 : elem0){
-           new UpdateStockVOSerializer().write(elem1, oprot);
+           new com.today.api.purchase.request.serializer.UpdateStockVOSerializer().write(elem1, oprot);
         }
           oprot.writeListEnd();
         
@@ -98,11 +102,29 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.UpdateFinanceFFStockRequest bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              java.util.List<com.today.api.purchase.request.UpdateStockVO> elem0 = bean.getUpdateStockList();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.COLLECTION;
+          if(elem0 != null){for(com.today.api.purchase.request.UpdateStockVO elem1 : elem0){
+                if(elem1 != null) size += new com.today.api.purchase.request.serializer.UpdateStockVOSerializer().estimateSize(elem1);
+              }
+        }
+        
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.UpdateFinanceFFStockRequest bean) throws TException{
       
-              if(bean.getUpdateStockList() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "updateStockList字段不允许为空");
-            
+            if(bean.getUpdateStockList() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "updateStockList字段不允许为空");
+          
+      
     }
     
         @Override
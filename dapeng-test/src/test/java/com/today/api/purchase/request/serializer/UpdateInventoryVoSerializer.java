@@ -37,106 +37,121 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.UpdateInventoryVo read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.UpdateInventoryVo bean = new com.today.api.purchase.request.UpdateInventoryVo();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setStoreId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuNo(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 4:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setStockAmount(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 5:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setSourceId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 6:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.StockJournalSourceTypeEnum elem0 = com.today.api.stock.enums.StockJournalSourceTypeEnum.findByValue(iprot.readI32());
        bean.setSourceType(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
+            if(bean.getSkuNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+          
+            if(bean.getSourceType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.UpdateInventoryVo bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("UpdateInventoryVo"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("UpdateInventoryVo"));
 
       
-            oprot.writeFieldBegin(new TField("storeId", TType.STRING, (short) 1));
             String elem0 = bean.getStoreId();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("storeId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
             oprot.writeString(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("skuNo", TType.STRING, (short) 3));
             String elem1 = bean.getSkuNo();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 3));
             oprot.writeString(elem1);
             
             oprot.writeFieldEnd();
           if(bean.getStockAmount().isPresent()){
-              oprot.writeFieldBegin(new TField("stockAmount", TType.STRING, (short) 4));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stockAmount", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 4));
               java.math.BigDecimal elem2 = bean.getStockAmount().get();
               oprot.writeString(elem2.toString());
               
             }
             
-            oprot.writeFieldBegin(new TField("sourceId", TType.I64, (short) 5));
             Long elem3 = bean.getSourceId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceId", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 5));
             oprot.writeI64(elem3);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("sourceType", TType.I32, (short) 6));
             com.today.api.stock.enums.StockJournalSourceTypeEnum elem4 = bean.getSourceType();
+            if(elem4 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceType", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 6));
             oprot.writeI32(elem4.getValue());
             
             oprot.writeFieldEnd();
@@ -145,17 +160,40 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.UpdateInventoryVo bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              String elem0 = bean.getStoreId();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            {
+              String elem1 = bean.getSkuNo();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem1);
+            }
+            if(bean.getStockAmount().isPresent()){
+              java.math.BigDecimal elem2 = bean.getStockAmount().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem2);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.UpdateInventoryVo bean) throws TException{
       
-              if(bean.getStoreId() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
-            
-              if(bean.getSkuNo() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
-            
-              if(bean.getSourceType() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
-            
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
+            if(bean.getSkuNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+          
+            if(bean.getSourceType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+          
+      
     }
     
         @Override
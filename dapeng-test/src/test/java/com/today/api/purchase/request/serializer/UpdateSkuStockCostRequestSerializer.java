@@ -37,75 +37,74 @@ package com.today.api.purchase.request.serializer;
       public com.today.api.purchase.request.UpdateSkuStockCostRequest read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.request.UpdateSkuStockCostRequest bean = new com.today.api.purchase.request.UpdateSkuStockCostRequest();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setDateTime(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setStoreId(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuNo(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.request.UpdateSkuStockCostRequest bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("UpdateSkuStockCostRequest"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("UpdateSkuStockCostRequest"));
 
       if(bean.getDateTime().isPresent()){
-              oprot.writeFieldBegin(new TField("dateTime", TType.STRING, (short) 1));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("dateTime", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
               String elem0 = bean.getDateTime().get();
               oprot.writeString(elem0);
               
             }
             if(bean.getStoreId().isPresent()){
-              oprot.writeFieldBegin(new TField("storeId", TType.STRING, (short) 2));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("storeId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 2));
               String elem1 = bean.getStoreId().get();
               oprot.writeString(elem1);
               
             }
             if(bean.getSkuNo().isPresent()){
-              oprot.writeFieldBegin(new TField("skuNo", TType.STRING, (short) 3));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 3));
               String elem2 = bean.getSkuNo().get();
               oprot.writeString(elem2);
               
@@ -115,8 +114,31 @@ package com.today.api.purchase.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.request.UpdateSkuStockCostRequest bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      if(bean.getDateTime().isPresent()){
+              String elem0 = bean.getDateTime().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            if(bean.getStoreId().isPresent()){
+              String elem1 = bean.getStoreId().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem1);
+            }
+            if(bean.getSkuNo().isPresent()){
+              String elem2 = bean.getSkuNo().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem2);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.request.UpdateSkuStockCostRequest bean) throws TException{
       
+      
     }
     
         @Override
@@ -37,57 +37,61 @@ package com.today.api.purchase.response.serializer;
       public com.today.api.purchase.response.InventoryTransOutQueryResponse read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.response.InventoryTransOutQueryResponse bean = new com.today.api.purchase.response.InventoryTransOutQueryResponse();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.LIST){
-               TList _list0 = iprot.readListBegin();
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.LIST){
+               com.github.dapeng.org.apache.thrift.protocol.TList _list0 = iprot.readListBegin();
         java.util.List<com.today.api.purchase.response.StoreTransInfo> elem0 = new java.util.ArrayList<>(_list0.size);
         for(int _i0 = 0; _i0 < _list0.size; ++ _i0){
           com.today.api.purchase.response.StoreTransInfo elem1 = new com.today.api.purchase.response.StoreTransInfo();
-        elem1=new StoreTransInfoSerializer().read(iprot);
+        elem1=new com.today.api.purchase.response.serializer.StoreTransInfoSerializer().read(iprot);
           elem0.add(elem1);
         }
         iprot.readListEnd();
        bean.setStoreTransInfoList(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStoreTransInfoList() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeTransInfoList字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.response.InventoryTransOutQueryResponse bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("InventoryTransOutQueryResponse"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("InventoryTransOutQueryResponse"));
 
       
-            oprot.writeFieldBegin(new TField("storeTransInfoList", TType.LIST, (short) 1));
             java.util.List<com.today.api.purchase.response.StoreTransInfo> elem0 = bean.getStoreTransInfoList();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "storeTransInfoList字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("storeTransInfoList", com.github.dapeng.org.apache.thrift.protocol.TType.LIST, (short) 1));
             
-          oprot.writeListBegin(new TList(TType.STRUCT, elem0.size()));
+          oprot.writeListBegin(new com.github.dapeng.org.apache.thrift.protocol.TList(com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, elem0.size()));
           for(com.today.api.purchase.response.StoreTransInfo elem1 : elem0){
-           new StoreTransInfoSerializer().write(elem1, oprot);
+           new com.today.api.purchase.response.serializer.StoreTransInfoSerializer().write(elem1, oprot);
         }
           oprot.writeListEnd();
         
@@ -98,11 +102,29 @@ package com.today.api.purchase.response.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.response.InventoryTransOutQueryResponse bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              java.util.List<com.today.api.purchase.response.StoreTransInfo> elem0 = bean.getStoreTransInfoList();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.COLLECTION;
+          if(elem0 != null){for(com.today.api.purchase.response.StoreTransInfo elem1 : elem0){
+                if(elem1 != null) size += new com.today.api.purchase.response.serializer.StoreTransInfoSerializer().estimateSize(elem1);
+              }
+        }
+        
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.response.InventoryTransOutQueryResponse bean) throws TException{
       
-              if(bean.getStoreTransInfoList() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "storeTransInfoList字段不允许为空");
-            
+            if(bean.getStoreTransInfoList() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeTransInfoList字段不允许为空");
+          
+      
     }
     
         @Override
@@ -37,61 +37,66 @@ package com.today.api.purchase.response.serializer;
       public com.today.api.purchase.response.InventoryTransOutResponse read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.response.InventoryTransOutResponse bean = new com.today.api.purchase.response.InventoryTransOutResponse();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setResult(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setFailReason(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getFailReason() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "failReason字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.response.InventoryTransOutResponse bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("InventoryTransOutResponse"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("InventoryTransOutResponse"));
 
       
-            oprot.writeFieldBegin(new TField("result", TType.I32, (short) 1));
             Integer elem0 = bean.getResult();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("result", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 1));
             oprot.writeI32(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("failReason", TType.STRING, (short) 2));
             String elem1 = bean.getFailReason();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "failReason字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("failReason", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 2));
             oprot.writeString(elem1);
             
             oprot.writeFieldEnd();
@@ -100,11 +105,24 @@ package com.today.api.purchase.response.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.response.InventoryTransOutResponse bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;{
+              String elem1 = bean.getFailReason();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem1);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.response.InventoryTransOutResponse bean) throws TException{
       
-              if(bean.getFailReason() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "failReason字段不允许为空");
-            
+            if(bean.getFailReason() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "failReason字段不允许为空");
+          
+      
     }
     
         @Override
@@ -37,106 +37,116 @@ package com.today.api.purchase.response.serializer;
       public com.today.api.purchase.response.ListSkuStockByStoreCodeResponse read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.response.ListSkuStockByStoreCodeResponse bean = new com.today.api.purchase.response.ListSkuStockByStoreCodeResponse();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.LIST){
-               TList _list0 = iprot.readListBegin();
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.LIST){
+               com.github.dapeng.org.apache.thrift.protocol.TList _list0 = iprot.readListBegin();
         java.util.List<com.today.api.purchase.response.SkuStockItem> elem0 = new java.util.ArrayList<>(_list0.size);
         for(int _i0 = 0; _i0 < _list0.size; ++ _i0){
           com.today.api.purchase.response.SkuStockItem elem1 = new com.today.api.purchase.response.SkuStockItem();
-        elem1=new SkuStockItemSerializer().read(iprot);
+        elem1=new com.today.api.purchase.response.serializer.SkuStockItemSerializer().read(iprot);
           elem0.add(elem1);
         }
         iprot.readListEnd();
        bean.setSkuStockItemList(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setTotalStockNum(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setTotalStockSellingPrice(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 4:
-              if(schemeField.type == TType.STRUCT){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT){
               com.today.api.common.PageResponse elem0 = new com.today.api.common.PageResponse();
-        elem0=new PageResponseSerializer().read(iprot);
+        elem0=new com.today.api.common.serializer.PageResponseSerializer().read(iprot);
        bean.setPageResponse(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getSkuStockItemList() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuStockItemList字段不允许为空");
+          
+            if(bean.getTotalStockNum() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "totalStockNum字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.response.ListSkuStockByStoreCodeResponse bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("ListSkuStockByStoreCodeResponse"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("ListSkuStockByStoreCodeResponse"));
 
       
-            oprot.writeFieldBegin(new TField("skuStockItemList", TType.LIST, (short) 1));
             java.util.List<com.today.api.purchase.response.SkuStockItem> elem0 = bean.getSkuStockItemList();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuStockItemList字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuStockItemList", com.github.dapeng.org.apache.thrift.protocol.TType.LIST, (short) 1));
             
-          oprot.writeListBegin(new TList(TType.STRUCT, elem0.size()));
+          oprot.writeListBegin(new com.github.dapeng.org.apache.thrift.protocol.TList(com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, elem0.size()));
           for(com.today.api.purchase.response.SkuStockItem elem1 : elem0){
-           new SkuStockItemSerializer().write(elem1, oprot);
+           new com.today.api.purchase.response.serializer.SkuStockItemSerializer().write(elem1, oprot);
         }
           oprot.writeListEnd();
         
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("totalStockNum", TType.STRING, (short) 2));
             java.math.BigDecimal elem1 = bean.getTotalStockNum();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "totalStockNum字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("totalStockNum", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 2));
             oprot.writeString(elem1.toString());
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("totalStockSellingPrice", TType.DOUBLE, (short) 3));
             Double elem2 = bean.getTotalStockSellingPrice();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("totalStockSellingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 3));
             oprot.writeDouble(elem2);
             
             oprot.writeFieldEnd();
           if(bean.getPageResponse().isPresent()){
-              oprot.writeFieldBegin(new TField("pageResponse", TType.STRUCT, (short) 4));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("pageResponse", com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, (short) 4));
               com.today.api.common.PageResponse elem3 = bean.getPageResponse().get();
-               new PageResponseSerializer().write(elem3, oprot);
+               new com.today.api.common.serializer.PageResponseSerializer().write(elem3, oprot);
               
             }
             
@@ -144,16 +154,44 @@ package com.today.api.purchase.response.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.response.ListSkuStockByStoreCodeResponse bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              java.util.List<com.today.api.purchase.response.SkuStockItem> elem0 = bean.getSkuStockItemList();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.COLLECTION;
+          if(elem0 != null){for(com.today.api.purchase.response.SkuStockItem elem1 : elem0){
+                if(elem1 != null) size += new com.today.api.purchase.response.serializer.SkuStockItemSerializer().estimateSize(elem1);
+              }
+        }
+        
+            }
+            {
+              java.math.BigDecimal elem1 = bean.getTotalStockNum();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem1);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.DOUBLE;if(bean.getPageResponse().isPresent()){
+              com.today.api.common.PageResponse elem3 = bean.getPageResponse().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              if(elem3 != null) size += new com.today.api.common.serializer.PageResponseSerializer().estimateSize(elem3);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.response.ListSkuStockByStoreCodeResponse bean) throws TException{
       
-              if(bean.getSkuStockItemList() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuStockItemList字段不允许为空");
-            
-              if(bean.getTotalStockNum() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "totalStockNum字段不允许为空");
-            
+            if(bean.getSkuStockItemList() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuStockItemList字段不允许为空");
+          
+            if(bean.getTotalStockNum() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "totalStockNum字段不允许为空");
+          
+      
                 if(bean.getPageResponse().isPresent())
-                new PageResponseSerializer().validate(bean.getPageResponse().get());
+                new com.today.api.common.serializer.PageResponseSerializer().validate(bean.getPageResponse().get());
               
     }
     
@@ -37,76 +37,85 @@ package com.today.api.purchase.response.serializer;
       public com.today.api.purchase.response.ListStockByStoreIdResponse read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.response.ListStockByStoreIdResponse bean = new com.today.api.purchase.response.ListStockByStoreIdResponse();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.LIST){
-               TList _list0 = iprot.readListBegin();
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.LIST){
+               com.github.dapeng.org.apache.thrift.protocol.TList _list0 = iprot.readListBegin();
         java.util.List<com.today.api.stock.vo.TStock> elem0 = new java.util.ArrayList<>(_list0.size);
         for(int _i0 = 0; _i0 < _list0.size; ++ _i0){
           com.today.api.stock.vo.TStock elem1 = new com.today.api.stock.vo.TStock();
-        elem1=new TStockSerializer().read(iprot);
+        elem1=new com.today.api.stock.vo.serializer.TStockSerializer().read(iprot);
           elem0.add(elem1);
         }
         iprot.readListEnd();
        bean.setStockList(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.STRUCT){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT){
               com.today.api.common.PageResponse elem0 = new com.today.api.common.PageResponse();
-        elem0=new PageResponseSerializer().read(iprot);
+        elem0=new com.today.api.common.serializer.PageResponseSerializer().read(iprot);
        bean.setPageResponse(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStockList() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stockList字段不允许为空");
+          
+            if(bean.getPageResponse() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "pageResponse字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.response.ListStockByStoreIdResponse bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("ListStockByStoreIdResponse"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("ListStockByStoreIdResponse"));
 
       
-            oprot.writeFieldBegin(new TField("stockList", TType.LIST, (short) 1));
             java.util.List<com.today.api.stock.vo.TStock> elem0 = bean.getStockList();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "stockList字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stockList", com.github.dapeng.org.apache.thrift.protocol.TType.LIST, (short) 1));
             
-          oprot.writeListBegin(new TList(TType.STRUCT, elem0.size()));
+          oprot.writeListBegin(new com.github.dapeng.org.apache.thrift.protocol.TList(com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, elem0.size()));
           for(com.today.api.stock.vo.TStock elem1 : elem0){
-           new TStockSerializer().write(elem1, oprot);
+           new com.today.api.stock.vo.serializer.TStockSerializer().write(elem1, oprot);
         }
           oprot.writeListEnd();
         
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("pageResponse", TType.STRUCT, (short) 2));
             com.today.api.common.PageResponse elem1 = bean.getPageResponse();
-             new PageResponseSerializer().write(elem1, oprot);
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "pageResponse字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("pageResponse", com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, (short) 2));
+             new com.today.api.common.serializer.PageResponseSerializer().write(elem1, oprot);
             
             oprot.writeFieldEnd();
           
@@ -114,16 +123,39 @@ package com.today.api.purchase.response.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.response.ListStockByStoreIdResponse bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              java.util.List<com.today.api.stock.vo.TStock> elem0 = bean.getStockList();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.COLLECTION;
+          if(elem0 != null){for(com.today.api.stock.vo.TStock elem1 : elem0){
+                if(elem1 != null) size += new com.today.api.stock.vo.serializer.TStockSerializer().estimateSize(elem1);
+              }
+        }
+        
+            }
+            {
+              com.today.api.common.PageResponse elem1 = bean.getPageResponse();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              if(elem1 != null) size += new com.today.api.common.serializer.PageResponseSerializer().estimateSize(elem1);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.response.ListStockByStoreIdResponse bean) throws TException{
       
-              if(bean.getStockList() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "stockList字段不允许为空");
-            
-              if(bean.getPageResponse() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "pageResponse字段不允许为空");
-            
+            if(bean.getStockList() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stockList字段不允许为空");
+          
+            if(bean.getPageResponse() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "pageResponse字段不允许为空");
+          
+      
                 if(bean.getPageResponse() != null)
-                new PageResponseSerializer().validate(bean.getPageResponse());
+                new com.today.api.common.serializer.PageResponseSerializer().validate(bean.getPageResponse());
               
     }
     
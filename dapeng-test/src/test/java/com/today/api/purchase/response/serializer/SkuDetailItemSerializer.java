@@ -37,660 +37,734 @@ package com.today.api.purchase.response.serializer;
       public com.today.api.purchase.response.SkuDetailItem read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.response.SkuDetailItem bean = new com.today.api.purchase.response.SkuDetailItem();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setGoodsId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 6:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setInventoryAccountValue(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 7:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuNo(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 8:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuName(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 9:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuNameEn(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 10:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setPosname(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 11:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setBrand(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 12:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSpec(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 13:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSaleUnit(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 14:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setShelflife(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 17:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setCategoryId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 18:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setCategoryCode(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 20:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setMasterBarcode(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 21:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setHeadquarterEffectiveDate(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 22:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setStoreEffectiveDate(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 23:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setMinOrderNum(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 24:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setMinOrderTimes(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 25:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setMaxOrderTimes(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 26:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setBuyingPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 27:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setSellingPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 28:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setInputTax(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 29:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setOutputTax(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 30:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setLogisticsOutputTax(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 31:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setGrossMargin(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 32:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setSupplierId(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 33:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSupplierNo(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 35:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setShippingMethodValue(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 36:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setLength(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 37:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setWidth(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 38:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setHeight(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 39:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setWeight(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 40:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setFlag(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 41:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setCreatedAt(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 42:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setCreatedBy(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 43:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setUpdatedAt(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 44:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setUpdatedBy(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 45:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setRemark(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 46:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setMasterSupplierName(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 50:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setDeliveryTime(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 51:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setDistrictValue(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 52:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setLogisticsPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getInventoryAccountValue() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "inventoryAccountValue字段不允许为空");
+          
+            if(bean.getSkuNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+          
+            if(bean.getSkuName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuName字段不允许为空");
+          
+            if(bean.getPosname() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "posname字段不允许为空");
+          
+            if(bean.getBrand() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "brand字段不允许为空");
+          
+            if(bean.getSpec() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "spec字段不允许为空");
+          
+            if(bean.getSaleUnit() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "saleUnit字段不允许为空");
+          
+            if(bean.getCategoryCode() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "categoryCode字段不允许为空");
+          
+            if(bean.getMasterBarcode() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "masterBarcode字段不允许为空");
+          
+            if(bean.getShippingMethodValue() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "shippingMethodValue字段不允许为空");
+          
+            if(bean.getRemark() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "remark字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.response.SkuDetailItem bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("SkuDetailItem"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("SkuDetailItem"));
 
       
-            oprot.writeFieldBegin(new TField("id", TType.I64, (short) 1));
             Long elem0 = bean.getId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("id", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 1));
             oprot.writeI64(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("goodsId", TType.I64, (short) 3));
             Long elem1 = bean.getGoodsId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("goodsId", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 3));
             oprot.writeI64(elem1);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("inventoryAccountValue", TType.STRING, (short) 6));
             String elem2 = bean.getInventoryAccountValue();
+            if(elem2 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "inventoryAccountValue字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("inventoryAccountValue", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 6));
             oprot.writeString(elem2);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("skuNo", TType.STRING, (short) 7));
             String elem3 = bean.getSkuNo();
+            if(elem3 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 7));
             oprot.writeString(elem3);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("skuName", TType.STRING, (short) 8));
             String elem4 = bean.getSkuName();
+            if(elem4 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuName字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 8));
             oprot.writeString(elem4);
             
             oprot.writeFieldEnd();
           if(bean.getSkuNameEn().isPresent()){
-              oprot.writeFieldBegin(new TField("skuNameEn", TType.STRING, (short) 9));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuNameEn", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 9));
               String elem5 = bean.getSkuNameEn().get();
               oprot.writeString(elem5);
               
             }
             
-            oprot.writeFieldBegin(new TField("posname", TType.STRING, (short) 10));
             String elem6 = bean.getPosname();
+            if(elem6 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "posname字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("posname", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 10));
             oprot.writeString(elem6);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("brand", TType.STRING, (short) 11));
             String elem7 = bean.getBrand();
+            if(elem7 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "brand字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("brand", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 11));
             oprot.writeString(elem7);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("spec", TType.STRING, (short) 12));
             String elem8 = bean.getSpec();
+            if(elem8 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "spec字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("spec", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 12));
             oprot.writeString(elem8);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("saleUnit", TType.STRING, (short) 13));
             String elem9 = bean.getSaleUnit();
+            if(elem9 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "saleUnit字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("saleUnit", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 13));
             oprot.writeString(elem9);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("shelflife", TType.I32, (short) 14));
             Integer elem10 = bean.getShelflife();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("shelflife", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 14));
             oprot.writeI32(elem10);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("categoryId", TType.I64, (short) 17));
             Long elem11 = bean.getCategoryId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("categoryId", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 17));
             oprot.writeI64(elem11);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("categoryCode", TType.STRING, (short) 18));
             String elem12 = bean.getCategoryCode();
+            if(elem12 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "categoryCode字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("categoryCode", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 18));
             oprot.writeString(elem12);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("masterBarcode", TType.STRING, (short) 20));
             String elem13 = bean.getMasterBarcode();
+            if(elem13 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "masterBarcode字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("masterBarcode", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 20));
             oprot.writeString(elem13);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("headquarterEffectiveDate", TType.I64, (short) 21));
             Long elem14 = bean.getHeadquarterEffectiveDate();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("headquarterEffectiveDate", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 21));
             oprot.writeI64(elem14);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("storeEffectiveDate", TType.I64, (short) 22));
             Long elem15 = bean.getStoreEffectiveDate();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("storeEffectiveDate", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 22));
             oprot.writeI64(elem15);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("minOrderNum", TType.I32, (short) 23));
             Integer elem16 = bean.getMinOrderNum();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("minOrderNum", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 23));
             oprot.writeI32(elem16);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("minOrderTimes", TType.I32, (short) 24));
             Integer elem17 = bean.getMinOrderTimes();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("minOrderTimes", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 24));
             oprot.writeI32(elem17);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("maxOrderTimes", TType.I32, (short) 25));
             Integer elem18 = bean.getMaxOrderTimes();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("maxOrderTimes", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 25));
             oprot.writeI32(elem18);
             
             oprot.writeFieldEnd();
           if(bean.getBuyingPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("buyingPrice", TType.DOUBLE, (short) 26));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("buyingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 26));
               Double elem19 = bean.getBuyingPrice().get();
               oprot.writeDouble(elem19);
               
             }
             if(bean.getSellingPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("sellingPrice", TType.DOUBLE, (short) 27));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sellingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 27));
               Double elem20 = bean.getSellingPrice().get();
               oprot.writeDouble(elem20);
               
             }
             if(bean.getInputTax().isPresent()){
-              oprot.writeFieldBegin(new TField("inputTax", TType.DOUBLE, (short) 28));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("inputTax", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 28));
               Double elem21 = bean.getInputTax().get();
               oprot.writeDouble(elem21);
               
             }
             
-            oprot.writeFieldBegin(new TField("outputTax", TType.DOUBLE, (short) 29));
             Double elem22 = bean.getOutputTax();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("outputTax", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 29));
             oprot.writeDouble(elem22);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("logisticsOutputTax", TType.DOUBLE, (short) 30));
             Double elem23 = bean.getLogisticsOutputTax();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("logisticsOutputTax", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 30));
             oprot.writeDouble(elem23);
             
             oprot.writeFieldEnd();
           if(bean.getGrossMargin().isPresent()){
-              oprot.writeFieldBegin(new TField("grossMargin", TType.DOUBLE, (short) 31));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("grossMargin", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 31));
               Double elem24 = bean.getGrossMargin().get();
               oprot.writeDouble(elem24);
               
             }
             if(bean.getSupplierId().isPresent()){
-              oprot.writeFieldBegin(new TField("supplierId", TType.I64, (short) 32));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("supplierId", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 32));
               Long elem25 = bean.getSupplierId().get();
               oprot.writeI64(elem25);
               
             }
             if(bean.getSupplierNo().isPresent()){
-              oprot.writeFieldBegin(new TField("supplierNo", TType.STRING, (short) 33));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("supplierNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 33));
               String elem26 = bean.getSupplierNo().get();
               oprot.writeString(elem26);
               
             }
             
-            oprot.writeFieldBegin(new TField("shippingMethodValue", TType.STRING, (short) 35));
             String elem27 = bean.getShippingMethodValue();
+            if(elem27 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "shippingMethodValue字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("shippingMethodValue", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 35));
             oprot.writeString(elem27);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("length", TType.I32, (short) 36));
             Integer elem28 = bean.getLength();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("length", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 36));
             oprot.writeI32(elem28);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("width", TType.I32, (short) 37));
             Integer elem29 = bean.getWidth();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("width", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 37));
             oprot.writeI32(elem29);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("height", TType.I32, (short) 38));
             Integer elem30 = bean.getHeight();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("height", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 38));
             oprot.writeI32(elem30);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("weight", TType.I32, (short) 39));
             Integer elem31 = bean.getWeight();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("weight", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 39));
             oprot.writeI32(elem31);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("flag", TType.I32, (short) 40));
             Integer elem32 = bean.getFlag();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("flag", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 40));
             oprot.writeI32(elem32);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("createdAt", TType.I64, (short) 41));
             Long elem33 = bean.getCreatedAt();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("createdAt", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 41));
             oprot.writeI64(elem33);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("createdBy", TType.I32, (short) 42));
             Integer elem34 = bean.getCreatedBy();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("createdBy", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 42));
             oprot.writeI32(elem34);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("updatedAt", TType.I64, (short) 43));
             Long elem35 = bean.getUpdatedAt();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("updatedAt", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 43));
             oprot.writeI64(elem35);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("updatedBy", TType.I32, (short) 44));
             Integer elem36 = bean.getUpdatedBy();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("updatedBy", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 44));
             oprot.writeI32(elem36);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("remark", TType.STRING, (short) 45));
             String elem37 = bean.getRemark();
+            if(elem37 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "remark字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("remark", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 45));
             oprot.writeString(elem37);
             
             oprot.writeFieldEnd();
           if(bean.getMasterSupplierName().isPresent()){
-              oprot.writeFieldBegin(new TField("masterSupplierName", TType.STRING, (short) 46));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("masterSupplierName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 46));
               String elem38 = bean.getMasterSupplierName().get();
               oprot.writeString(elem38);
               
             }
             if(bean.getDeliveryTime().isPresent()){
-              oprot.writeFieldBegin(new TField("deliveryTime", TType.I32, (short) 50));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("deliveryTime", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 50));
               Integer elem39 = bean.getDeliveryTime().get();
               oprot.writeI32(elem39);
               
             }
             if(bean.getDistrictValue().isPresent()){
-              oprot.writeFieldBegin(new TField("districtValue", TType.STRING, (short) 51));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("districtValue", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 51));
               String elem40 = bean.getDistrictValue().get();
               oprot.writeString(elem40);
               
             }
             if(bean.getLogisticsPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("logisticsPrice", TType.DOUBLE, (short) 52));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("logisticsPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 52));
               Double elem41 = bean.getLogisticsPrice().get();
               oprot.writeDouble(elem41);
               
@@ -700,41 +774,159 @@ package com.today.api.purchase.response.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.response.SkuDetailItem bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;{
+              String elem2 = bean.getInventoryAccountValue();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem2);
+            }
+            {
+              String elem3 = bean.getSkuNo();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem3);
+            }
+            {
+              String elem4 = bean.getSkuName();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem4);
+            }
+            if(bean.getSkuNameEn().isPresent()){
+              String elem5 = bean.getSkuNameEn().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem5);
+            }
+            {
+              String elem6 = bean.getPosname();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem6);
+            }
+            {
+              String elem7 = bean.getBrand();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem7);
+            }
+            {
+              String elem8 = bean.getSpec();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem8);
+            }
+            {
+              String elem9 = bean.getSaleUnit();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem9);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;{
+              String elem12 = bean.getCategoryCode();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem12);
+            }
+            {
+              String elem13 = bean.getMasterBarcode();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem13);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;if(bean.getBuyingPrice().isPresent()){
+              Double elem19 = bean.getBuyingPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getSellingPrice().isPresent()){
+              Double elem20 = bean.getSellingPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getInputTax().isPresent()){
+              Double elem21 = bean.getInputTax().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.DOUBLE;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.DOUBLE;if(bean.getGrossMargin().isPresent()){
+              Double elem24 = bean.getGrossMargin().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getSupplierId().isPresent()){
+              Long elem25 = bean.getSupplierId().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I64;
+            }
+            if(bean.getSupplierNo().isPresent()){
+              String elem26 = bean.getSupplierNo().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem26);
+            }
+            {
+              String elem27 = bean.getShippingMethodValue();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem27);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;{
+              String elem37 = bean.getRemark();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem37);
+            }
+            if(bean.getMasterSupplierName().isPresent()){
+              String elem38 = bean.getMasterSupplierName().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem38);
+            }
+            if(bean.getDeliveryTime().isPresent()){
+              Integer elem39 = bean.getDeliveryTime().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I32;
+            }
+            if(bean.getDistrictValue().isPresent()){
+              String elem40 = bean.getDistrictValue().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem40);
+            }
+            if(bean.getLogisticsPrice().isPresent()){
+              Double elem41 = bean.getLogisticsPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.response.SkuDetailItem bean) throws TException{
       
-              if(bean.getInventoryAccountValue() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "inventoryAccountValue字段不允许为空");
-            
-              if(bean.getSkuNo() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
-            
-              if(bean.getSkuName() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuName字段不允许为空");
-            
-              if(bean.getPosname() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "posname字段不允许为空");
-            
-              if(bean.getBrand() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "brand字段不允许为空");
-            
-              if(bean.getSpec() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "spec字段不允许为空");
-            
-              if(bean.getSaleUnit() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "saleUnit字段不允许为空");
-            
-              if(bean.getCategoryCode() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "categoryCode字段不允许为空");
-            
-              if(bean.getMasterBarcode() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "masterBarcode字段不允许为空");
-            
-              if(bean.getShippingMethodValue() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "shippingMethodValue字段不允许为空");
-            
-              if(bean.getRemark() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "remark字段不允许为空");
-            
+            if(bean.getInventoryAccountValue() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "inventoryAccountValue字段不允许为空");
+          
+            if(bean.getSkuNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+          
+            if(bean.getSkuName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuName字段不允许为空");
+          
+            if(bean.getPosname() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "posname字段不允许为空");
+          
+            if(bean.getBrand() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "brand字段不允许为空");
+          
+            if(bean.getSpec() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "spec字段不允许为空");
+          
+            if(bean.getSaleUnit() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "saleUnit字段不允许为空");
+          
+            if(bean.getCategoryCode() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "categoryCode字段不允许为空");
+          
+            if(bean.getMasterBarcode() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "masterBarcode字段不允许为空");
+          
+            if(bean.getShippingMethodValue() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "shippingMethodValue字段不允许为空");
+          
+            if(bean.getRemark() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "remark字段不允许为空");
+          
+      
     }
     
         @Override
@@ -37,391 +37,463 @@ package com.today.api.purchase.response.serializer;
       public com.today.api.purchase.response.SkuStockItem read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.response.SkuStockItem bean = new com.today.api.purchase.response.SkuStockItem();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setStoreId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setOwnerName(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 5:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuName(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 6:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuNo(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 7:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setMasterBarcode(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 8:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSpec(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 9:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setStockNum(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 10:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setFfStockWeight(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 11:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setUseUnit(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 12:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setLastBalanceStock(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 13:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setLastBalanceFfStock(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 14:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setFinanceStock(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 15:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setFinanceFfStock(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 16:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSaleUnitName(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 17:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSaleUnitValue(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 18:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setShippingMethodValue(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 19:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setShippingMethodName(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 20:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuTypeName(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 21:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuTypeValue(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 22:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setCategoryCodeA(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 23:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setCategoryCodeC(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 24:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setSellingPrice(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 25:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setTotalSellingPrice(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
+            if(bean.getOwnerName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerName字段不允许为空");
+          
+            if(bean.getSkuName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuName字段不允许为空");
+          
+            if(bean.getSkuNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+          
+            if(bean.getMasterBarcode() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "masterBarcode字段不允许为空");
+          
+            if(bean.getSpec() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "spec字段不允许为空");
+          
+            if(bean.getSaleUnitName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "saleUnitName字段不允许为空");
+          
+            if(bean.getSaleUnitValue() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "saleUnitValue字段不允许为空");
+          
+            if(bean.getShippingMethodValue() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "shippingMethodValue字段不允许为空");
+          
+            if(bean.getShippingMethodName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "shippingMethodName字段不允许为空");
+          
+            if(bean.getSkuTypeName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuTypeName字段不允许为空");
+          
+            if(bean.getSkuTypeValue() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuTypeValue字段不允许为空");
+          
+            if(bean.getCategoryCodeA() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "categoryCodeA字段不允许为空");
+          
+            if(bean.getCategoryCodeC() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "categoryCodeC字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.response.SkuStockItem bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("SkuStockItem"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("SkuStockItem"));
 
       
-            oprot.writeFieldBegin(new TField("id", TType.I64, (short) 1));
             Long elem0 = bean.getId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("id", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 1));
             oprot.writeI64(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("storeId", TType.STRING, (short) 2));
             String elem1 = bean.getStoreId();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("storeId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 2));
             oprot.writeString(elem1);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("ownerName", TType.STRING, (short) 3));
             String elem2 = bean.getOwnerName();
+            if(elem2 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "ownerName字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("ownerName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 3));
             oprot.writeString(elem2);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("skuName", TType.STRING, (short) 5));
             String elem3 = bean.getSkuName();
+            if(elem3 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuName字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 5));
             oprot.writeString(elem3);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("skuNo", TType.STRING, (short) 6));
             String elem4 = bean.getSkuNo();
+            if(elem4 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 6));
             oprot.writeString(elem4);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("masterBarcode", TType.STRING, (short) 7));
             String elem5 = bean.getMasterBarcode();
+            if(elem5 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "masterBarcode字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("masterBarcode", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 7));
             oprot.writeString(elem5);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("spec", TType.STRING, (short) 8));
             String elem6 = bean.getSpec();
+            if(elem6 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "spec字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("spec", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 8));
             oprot.writeString(elem6);
             
             oprot.writeFieldEnd();
           if(bean.getStockNum().isPresent()){
-              oprot.writeFieldBegin(new TField("stockNum", TType.STRING, (short) 9));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stockNum", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 9));
               java.math.BigDecimal elem7 = bean.getStockNum().get();
               oprot.writeString(elem7.toString());
               
             }
             if(bean.getFfStockWeight().isPresent()){
-              oprot.writeFieldBegin(new TField("ffStockWeight", TType.DOUBLE, (short) 10));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("ffStockWeight", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 10));
               Double elem8 = bean.getFfStockWeight().get();
               oprot.writeDouble(elem8);
               
             }
             if(bean.getUseUnit().isPresent()){
-              oprot.writeFieldBegin(new TField("useUnit", TType.STRING, (short) 11));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("useUnit", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 11));
               String elem9 = bean.getUseUnit().get();
               oprot.writeString(elem9);
               
             }
             if(bean.getLastBalanceStock().isPresent()){
-              oprot.writeFieldBegin(new TField("lastBalanceStock", TType.I64, (short) 12));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("lastBalanceStock", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 12));
               Long elem10 = bean.getLastBalanceStock().get();
               oprot.writeI64(elem10);
               
             }
             if(bean.getLastBalanceFfStock().isPresent()){
-              oprot.writeFieldBegin(new TField("lastBalanceFfStock", TType.DOUBLE, (short) 13));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("lastBalanceFfStock", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 13));
               Double elem11 = bean.getLastBalanceFfStock().get();
               oprot.writeDouble(elem11);
               
             }
             if(bean.getFinanceStock().isPresent()){
-              oprot.writeFieldBegin(new TField("financeStock", TType.I64, (short) 14));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("financeStock", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 14));
               Long elem12 = bean.getFinanceStock().get();
               oprot.writeI64(elem12);
               
             }
             if(bean.getFinanceFfStock().isPresent()){
-              oprot.writeFieldBegin(new TField("financeFfStock", TType.DOUBLE, (short) 15));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("financeFfStock", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 15));
               Double elem13 = bean.getFinanceFfStock().get();
               oprot.writeDouble(elem13);
               
             }
             
-            oprot.writeFieldBegin(new TField("saleUnitName", TType.STRING, (short) 16));
             String elem14 = bean.getSaleUnitName();
+            if(elem14 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "saleUnitName字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("saleUnitName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 16));
             oprot.writeString(elem14);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("saleUnitValue", TType.STRING, (short) 17));
             String elem15 = bean.getSaleUnitValue();
+            if(elem15 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "saleUnitValue字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("saleUnitValue", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 17));
             oprot.writeString(elem15);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("shippingMethodValue", TType.STRING, (short) 18));
             String elem16 = bean.getShippingMethodValue();
+            if(elem16 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "shippingMethodValue字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("shippingMethodValue", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 18));
             oprot.writeString(elem16);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("shippingMethodName", TType.STRING, (short) 19));
             String elem17 = bean.getShippingMethodName();
+            if(elem17 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "shippingMethodName字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("shippingMethodName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 19));
             oprot.writeString(elem17);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("skuTypeName", TType.STRING, (short) 20));
             String elem18 = bean.getSkuTypeName();
+            if(elem18 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuTypeName字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuTypeName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 20));
             oprot.writeString(elem18);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("skuTypeValue", TType.STRING, (short) 21));
             String elem19 = bean.getSkuTypeValue();
+            if(elem19 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuTypeValue字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuTypeValue", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 21));
             oprot.writeString(elem19);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("categoryCodeA", TType.STRING, (short) 22));
             String elem20 = bean.getCategoryCodeA();
+            if(elem20 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "categoryCodeA字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("categoryCodeA", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 22));
             oprot.writeString(elem20);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("categoryCodeC", TType.STRING, (short) 23));
             String elem21 = bean.getCategoryCodeC();
+            if(elem21 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "categoryCodeC字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("categoryCodeC", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 23));
             oprot.writeString(elem21);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("sellingPrice", TType.DOUBLE, (short) 24));
             Double elem22 = bean.getSellingPrice();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sellingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 24));
             oprot.writeDouble(elem22);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("totalSellingPrice", TType.DOUBLE, (short) 25));
             Double elem23 = bean.getTotalSellingPrice();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("totalSellingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 25));
             oprot.writeDouble(elem23);
             
             oprot.writeFieldEnd();
@@ -430,50 +502,163 @@ package com.today.api.purchase.response.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.response.SkuStockItem bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;{
+              String elem1 = bean.getStoreId();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem1);
+            }
+            {
+              String elem2 = bean.getOwnerName();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem2);
+            }
+            {
+              String elem3 = bean.getSkuName();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem3);
+            }
+            {
+              String elem4 = bean.getSkuNo();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem4);
+            }
+            {
+              String elem5 = bean.getMasterBarcode();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem5);
+            }
+            {
+              String elem6 = bean.getSpec();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem6);
+            }
+            if(bean.getStockNum().isPresent()){
+              java.math.BigDecimal elem7 = bean.getStockNum().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem7);
+            }
+            if(bean.getFfStockWeight().isPresent()){
+              Double elem8 = bean.getFfStockWeight().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getUseUnit().isPresent()){
+              String elem9 = bean.getUseUnit().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem9);
+            }
+            if(bean.getLastBalanceStock().isPresent()){
+              Long elem10 = bean.getLastBalanceStock().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I64;
+            }
+            if(bean.getLastBalanceFfStock().isPresent()){
+              Double elem11 = bean.getLastBalanceFfStock().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getFinanceStock().isPresent()){
+              Long elem12 = bean.getFinanceStock().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I64;
+            }
+            if(bean.getFinanceFfStock().isPresent()){
+              Double elem13 = bean.getFinanceFfStock().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            {
+              String elem14 = bean.getSaleUnitName();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem14);
+            }
+            {
+              String elem15 = bean.getSaleUnitValue();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem15);
+            }
+            {
+              String elem16 = bean.getShippingMethodValue();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem16);
+            }
+            {
+              String elem17 = bean.getShippingMethodName();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem17);
+            }
+            {
+              String elem18 = bean.getSkuTypeName();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem18);
+            }
+            {
+              String elem19 = bean.getSkuTypeValue();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem19);
+            }
+            {
+              String elem20 = bean.getCategoryCodeA();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem20);
+            }
+            {
+              String elem21 = bean.getCategoryCodeC();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem21);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.DOUBLE;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.response.SkuStockItem bean) throws TException{
       
-              if(bean.getStoreId() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
-            
-              if(bean.getOwnerName() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "ownerName字段不允许为空");
-            
-              if(bean.getSkuName() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuName字段不允许为空");
-            
-              if(bean.getSkuNo() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
-            
-              if(bean.getMasterBarcode() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "masterBarcode字段不允许为空");
-            
-              if(bean.getSpec() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "spec字段不允许为空");
-            
-              if(bean.getSaleUnitName() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "saleUnitName字段不允许为空");
-            
-              if(bean.getSaleUnitValue() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "saleUnitValue字段不允许为空");
-            
-              if(bean.getShippingMethodValue() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "shippingMethodValue字段不允许为空");
-            
-              if(bean.getShippingMethodName() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "shippingMethodName字段不允许为空");
-            
-              if(bean.getSkuTypeName() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuTypeName字段不允许为空");
-            
-              if(bean.getSkuTypeValue() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuTypeValue字段不允许为空");
-            
-              if(bean.getCategoryCodeA() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "categoryCodeA字段不允许为空");
-            
-              if(bean.getCategoryCodeC() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "categoryCodeC字段不允许为空");
-            
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
+            if(bean.getOwnerName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "ownerName字段不允许为空");
+          
+            if(bean.getSkuName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuName字段不允许为空");
+          
+            if(bean.getSkuNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuNo字段不允许为空");
+          
+            if(bean.getMasterBarcode() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "masterBarcode字段不允许为空");
+          
+            if(bean.getSpec() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "spec字段不允许为空");
+          
+            if(bean.getSaleUnitName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "saleUnitName字段不允许为空");
+          
+            if(bean.getSaleUnitValue() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "saleUnitValue字段不允许为空");
+          
+            if(bean.getShippingMethodValue() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "shippingMethodValue字段不允许为空");
+          
+            if(bean.getShippingMethodName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "shippingMethodName字段不允许为空");
+          
+            if(bean.getSkuTypeName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuTypeName字段不允许为空");
+          
+            if(bean.getSkuTypeValue() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuTypeValue字段不允许为空");
+          
+            if(bean.getCategoryCodeA() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "categoryCodeA字段不允许为空");
+          
+            if(bean.getCategoryCodeC() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "categoryCodeC字段不允许为空");
+          
+      
     }
     
         @Override
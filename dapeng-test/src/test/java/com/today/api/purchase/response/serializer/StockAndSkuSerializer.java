@@ -37,63 +37,72 @@ package com.today.api.purchase.response.serializer;
       public com.today.api.purchase.response.StockAndSku read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.response.StockAndSku bean = new com.today.api.purchase.response.StockAndSku();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRUCT){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT){
               com.today.api.stock.vo.TStock elem0 = new com.today.api.stock.vo.TStock();
-        elem0=new TStockSerializer().read(iprot);
+        elem0=new com.today.api.stock.vo.serializer.TStockSerializer().read(iprot);
        bean.setStock(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.STRUCT){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT){
               com.today.api.purchase.response.SkuDetailItem elem0 = new com.today.api.purchase.response.SkuDetailItem();
         elem0=new com.today.api.purchase.response.serializer.SkuDetailItemSerializer().read(iprot);
        bean.setSkuDetail(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStock() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stock字段不允许为空");
+          
+            if(bean.getSkuDetail() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuDetail字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.response.StockAndSku bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("StockAndSku"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("StockAndSku"));
 
       
-            oprot.writeFieldBegin(new TField("stock", TType.STRUCT, (short) 1));
             com.today.api.stock.vo.TStock elem0 = bean.getStock();
-             new TStockSerializer().write(elem0, oprot);
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "stock字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stock", com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, (short) 1));
+             new com.today.api.stock.vo.serializer.TStockSerializer().write(elem0, oprot);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("skuDetail", TType.STRUCT, (short) 2));
             com.today.api.purchase.response.SkuDetailItem elem1 = bean.getSkuDetail();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "skuDetail字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuDetail", com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, (short) 2));
              new com.today.api.purchase.response.serializer.SkuDetailItemSerializer().write(elem1, oprot);
             
             oprot.writeFieldEnd();
@@ -102,17 +111,35 @@ package com.today.api.purchase.response.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.response.StockAndSku bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              com.today.api.stock.vo.TStock elem0 = bean.getStock();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              if(elem0 != null) size += new com.today.api.stock.vo.serializer.TStockSerializer().estimateSize(elem0);
+            }
+            {
+              com.today.api.purchase.response.SkuDetailItem elem1 = bean.getSkuDetail();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              if(elem1 != null) size += new com.today.api.purchase.response.serializer.SkuDetailItemSerializer().estimateSize(elem1);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.response.StockAndSku bean) throws TException{
       
-              if(bean.getStock() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "stock字段不允许为空");
-            
+            if(bean.getStock() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stock字段不允许为空");
+          
+            if(bean.getSkuDetail() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "skuDetail字段不允许为空");
+          
+      
                 if(bean.getStock() != null)
-                new TStockSerializer().validate(bean.getStock());
+                new com.today.api.stock.vo.serializer.TStockSerializer().validate(bean.getStock());
               
-              if(bean.getSkuDetail() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "skuDetail字段不允许为空");
-            
                 if(bean.getSkuDetail() != null)
                 new com.today.api.purchase.response.serializer.SkuDetailItemSerializer().validate(bean.getSkuDetail());
               
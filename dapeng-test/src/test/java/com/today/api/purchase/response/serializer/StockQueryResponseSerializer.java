@@ -37,76 +37,75 @@ package com.today.api.purchase.response.serializer;
       public com.today.api.purchase.response.StockQueryResponse read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.response.StockQueryResponse bean = new com.today.api.purchase.response.StockQueryResponse();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.LIST){
-               TList _list0 = iprot.readListBegin();
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.LIST){
+               com.github.dapeng.org.apache.thrift.protocol.TList _list0 = iprot.readListBegin();
         java.util.List<com.today.api.purchase.response.StockAndSku> elem0 = new java.util.ArrayList<>(_list0.size);
         for(int _i0 = 0; _i0 < _list0.size; ++ _i0){
           com.today.api.purchase.response.StockAndSku elem1 = new com.today.api.purchase.response.StockAndSku();
-        elem1=new StockAndSkuSerializer().read(iprot);
+        elem1=new com.today.api.purchase.response.serializer.StockAndSkuSerializer().read(iprot);
           elem0.add(elem1);
         }
         iprot.readListEnd();
        bean.setStockAndSku(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.STRUCT){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT){
               com.today.api.common.PageResponse elem0 = new com.today.api.common.PageResponse();
-        elem0=new PageResponseSerializer().read(iprot);
+        elem0=new com.today.api.common.serializer.PageResponseSerializer().read(iprot);
        bean.setPageResponse(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.response.StockQueryResponse bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("StockQueryResponse"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("StockQueryResponse"));
 
       if(bean.getStockAndSku().isPresent()){
-              oprot.writeFieldBegin(new TField("stockAndSku", TType.LIST, (short) 1));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stockAndSku", com.github.dapeng.org.apache.thrift.protocol.TType.LIST, (short) 1));
               java.util.List<com.today.api.purchase.response.StockAndSku> elem0 = bean.getStockAndSku().get();
               
-          oprot.writeListBegin(new TList(TType.STRUCT, elem0.size()));
+          oprot.writeListBegin(new com.github.dapeng.org.apache.thrift.protocol.TList(com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, elem0.size()));
           for(com.today.api.purchase.response.StockAndSku elem1 : elem0){
-           new StockAndSkuSerializer().write(elem1, oprot);
+           new com.today.api.purchase.response.serializer.StockAndSkuSerializer().write(elem1, oprot);
         }
           oprot.writeListEnd();
         
               
             }
             if(bean.getPageResponse().isPresent()){
-              oprot.writeFieldBegin(new TField("pageResponse", TType.STRUCT, (short) 2));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("pageResponse", com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, (short) 2));
               com.today.api.common.PageResponse elem1 = bean.getPageResponse().get();
-               new PageResponseSerializer().write(elem1, oprot);
+               new com.today.api.common.serializer.PageResponseSerializer().write(elem1, oprot);
               
             }
             
@@ -114,10 +113,33 @@ package com.today.api.purchase.response.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.response.StockQueryResponse bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      if(bean.getStockAndSku().isPresent()){
+              java.util.List<com.today.api.purchase.response.StockAndSku> elem0 = bean.getStockAndSku().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.COLLECTION;
+          if(elem0 != null){for(com.today.api.purchase.response.StockAndSku elem1 : elem0){
+                if(elem1 != null) size += new com.today.api.purchase.response.serializer.StockAndSkuSerializer().estimateSize(elem1);
+              }
+        }
+        
+            }
+            if(bean.getPageResponse().isPresent()){
+              com.today.api.common.PageResponse elem1 = bean.getPageResponse().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              if(elem1 != null) size += new com.today.api.common.serializer.PageResponseSerializer().estimateSize(elem1);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.response.StockQueryResponse bean) throws TException{
       
+      
                 if(bean.getPageResponse().isPresent())
-                new PageResponseSerializer().validate(bean.getPageResponse().get());
+                new com.today.api.common.serializer.PageResponseSerializer().validate(bean.getPageResponse().get());
               
     }
     
@@ -37,63 +37,68 @@ package com.today.api.purchase.response.serializer;
       public com.today.api.purchase.response.StockResponse read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.response.StockResponse bean = new com.today.api.purchase.response.StockResponse();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setStockid(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.STRUCT){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT){
               com.today.api.purchase.request.CreateStockAtomActionRequest elem0 = new com.today.api.purchase.request.CreateStockAtomActionRequest();
-        elem0=new CreateStockAtomActionRequestSerializer().read(iprot);
+        elem0=new com.today.api.purchase.request.serializer.CreateStockAtomActionRequestSerializer().read(iprot);
        bean.setStockRequest(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStockRequest() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stockRequest字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.response.StockResponse bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("StockResponse"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("StockResponse"));
 
       
-            oprot.writeFieldBegin(new TField("stockid", TType.I64, (short) 1));
             Long elem0 = bean.getStockid();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stockid", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 1));
             oprot.writeI64(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("stockRequest", TType.STRUCT, (short) 2));
             com.today.api.purchase.request.CreateStockAtomActionRequest elem1 = bean.getStockRequest();
-             new CreateStockAtomActionRequestSerializer().write(elem1, oprot);
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "stockRequest字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stockRequest", com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, (short) 2));
+             new com.today.api.purchase.request.serializer.CreateStockAtomActionRequestSerializer().write(elem1, oprot);
             
             oprot.writeFieldEnd();
           
@@ -101,13 +106,26 @@ package com.today.api.purchase.response.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.response.StockResponse bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;{
+              com.today.api.purchase.request.CreateStockAtomActionRequest elem1 = bean.getStockRequest();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              if(elem1 != null) size += new com.today.api.purchase.request.serializer.CreateStockAtomActionRequestSerializer().estimateSize(elem1);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.response.StockResponse bean) throws TException{
       
-              if(bean.getStockRequest() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "stockRequest字段不允许为空");
-            
+            if(bean.getStockRequest() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stockRequest字段不允许为空");
+          
+      
                 if(bean.getStockRequest() != null)
-                new CreateStockAtomActionRequestSerializer().validate(bean.getStockRequest());
+                new com.today.api.purchase.request.serializer.CreateStockAtomActionRequestSerializer().validate(bean.getStockRequest());
               
     }
     
@@ -37,90 +37,104 @@ package com.today.api.purchase.response.serializer;
       public com.today.api.purchase.response.StoreTransInfo read(TProtocol iprot) throws TException{
 
       com.today.api.purchase.response.StoreTransInfo bean = new com.today.api.purchase.response.StoreTransInfo();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setBeforeStoreId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.InventoryResultInventoryTypeEnum elem0 = com.today.api.stock.enums.InventoryResultInventoryTypeEnum.findByValue(iprot.readI32());
        bean.setInventoryResultInventoryTypeEnum(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setTransDate(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 4:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setAfterStoreId(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getBeforeStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "beforeStoreId字段不允许为空");
+          
+            if(bean.getInventoryResultInventoryTypeEnum() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "inventoryResultInventoryTypeEnum字段不允许为空");
+          
+            if(bean.getTransDate() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "transDate字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.purchase.response.StoreTransInfo bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("StoreTransInfo"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("StoreTransInfo"));
 
       
-            oprot.writeFieldBegin(new TField("beforeStoreId", TType.STRING, (short) 1));
             String elem0 = bean.getBeforeStoreId();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "beforeStoreId字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("beforeStoreId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
             oprot.writeString(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("inventoryResultInventoryTypeEnum", TType.I32, (short) 2));
             com.today.api.stock.enums.InventoryResultInventoryTypeEnum elem1 = bean.getInventoryResultInventoryTypeEnum();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "inventoryResultInventoryTypeEnum字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("inventoryResultInventoryTypeEnum", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 2));
             oprot.writeI32(elem1.getValue());
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("transDate", TType.STRING, (short) 3));
             String elem2 = bean.getTransDate();
+            if(elem2 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "transDate字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("transDate", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 3));
             oprot.writeString(elem2);
             
             oprot.writeFieldEnd();
           if(bean.getAfterStoreId().isPresent()){
-              oprot.writeFieldBegin(new TField("afterStoreId", TType.STRING, (short) 4));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("afterStoreId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 4));
               String elem3 = bean.getAfterStoreId().get();
               oprot.writeString(elem3);
               
@@ -130,17 +144,40 @@ package com.today.api.purchase.response.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.purchase.response.StoreTransInfo bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              String elem0 = bean.getBeforeStoreId();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;{
+              String elem2 = bean.getTransDate();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem2);
+            }
+            if(bean.getAfterStoreId().isPresent()){
+              String elem3 = bean.getAfterStoreId().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem3);
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.purchase.response.StoreTransInfo bean) throws TException{
       
-              if(bean.getBeforeStoreId() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "beforeStoreId字段不允许为空");
-            
-              if(bean.getInventoryResultInventoryTypeEnum() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "inventoryResultInventoryTypeEnum字段不允许为空");
-            
-              if(bean.getTransDate() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "transDate字段不允许为空");
-            
+            if(bean.getBeforeStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "beforeStoreId字段不允许为空");
+          
+            if(bean.getInventoryResultInventoryTypeEnum() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "inventoryResultInventoryTypeEnum字段不允许为空");
+          
+            if(bean.getTransDate() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "transDate字段不允许为空");
+          
+      
     }
     
         @Override
@@ -37,18 +37,18 @@ package com.today.api.stock.events.serializer;
       public com.today.api.stock.events.StockEvent read(TProtocol iprot) throws TException{
 
       com.today.api.stock.events.StockEvent bean = new com.today.api.stock.events.StockEvent();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.LIST){
-               TList _list0 = iprot.readListBegin();
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.LIST){
+               com.github.dapeng.org.apache.thrift.protocol.TList _list0 = iprot.readListBegin();
         java.util.List<com.today.api.purchase.request.AtomProcessStockItem> elem0 = new java.util.ArrayList<>(_list0.size);
         for(int _i0 = 0; _i0 < _list0.size; ++ _i0){
           com.today.api.purchase.request.AtomProcessStockItem elem1 = new com.today.api.purchase.request.AtomProcessStockItem();
@@ -58,43 +58,47 @@ package com.today.api.stock.events.serializer;
         iprot.readListEnd();
        bean.setStockList(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStockList() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stockList字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.stock.events.StockEvent bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("StockEvent"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("StockEvent"));
 
       
-            oprot.writeFieldBegin(new TField("stockList", TType.LIST, (short) 1));
             java.util.List<com.today.api.purchase.request.AtomProcessStockItem> elem0 = bean.getStockList();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "stockList字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stockList", com.github.dapeng.org.apache.thrift.protocol.TType.LIST, (short) 1));
             
-          oprot.writeListBegin(new TList(TType.STRUCT, elem0.size()));
+          oprot.writeListBegin(new com.github.dapeng.org.apache.thrift.protocol.TList(com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, elem0.size()));
           for(com.today.api.purchase.request.AtomProcessStockItem elem1 : elem0){
            new com.today.api.purchase.request.serializer.AtomProcessStockItemSerializer().write(elem1, oprot);
         }
@@ -103,8 +107,9 @@ package com.today.api.stock.events.serializer;
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("id", TType.I64, (short) 2));
             Long elem1 = bean.getId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("id", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 2));
             oprot.writeI64(elem1);
             
             oprot.writeFieldEnd();
@@ -113,11 +118,29 @@ package com.today.api.stock.events.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.stock.events.StockEvent bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              java.util.List<com.today.api.purchase.request.AtomProcessStockItem> elem0 = bean.getStockList();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.COLLECTION;
+          if(elem0 != null){for(com.today.api.purchase.request.AtomProcessStockItem elem1 : elem0){
+                if(elem1 != null) size += new com.today.api.purchase.request.serializer.AtomProcessStockItemSerializer().estimateSize(elem1);
+              }
+        }
+        
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;
+      return size;
+    }
+    
       public void validate(com.today.api.stock.events.StockEvent bean) throws TException{
       
-              if(bean.getStockList() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "stockList字段不允许为空");
-            
+            if(bean.getStockList() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "stockList字段不允许为空");
+          
+      
     }
     
         @Override
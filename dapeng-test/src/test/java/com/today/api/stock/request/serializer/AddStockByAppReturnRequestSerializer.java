@@ -37,27 +37,27 @@ package com.today.api.stock.request.serializer;
       public com.today.api.stock.request.AddStockByAppReturnRequest read(TProtocol iprot) throws TException{
 
       com.today.api.stock.request.AddStockByAppReturnRequest bean = new com.today.api.stock.request.AddStockByAppReturnRequest();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setStoreId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.LIST){
-               TList _list0 = iprot.readListBegin();
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.LIST){
+               com.github.dapeng.org.apache.thrift.protocol.TList _list0 = iprot.readListBegin();
         java.util.List<com.today.api.stock.request.AddStockByAppReturnRequestItem> elem0 = new java.util.ArrayList<>(_list0.size);
         for(int _i0 = 0; _i0 < _list0.size; ++ _i0){
           com.today.api.stock.request.AddStockByAppReturnRequestItem elem1 = new com.today.api.stock.request.AddStockByAppReturnRequestItem();
@@ -67,40 +67,49 @@ package com.today.api.stock.request.serializer;
         iprot.readListEnd();
        bean.setDeductStockItem(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
+            if(bean.getDeductStockItem() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "deductStockItem字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.stock.request.AddStockByAppReturnRequest bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("AddStockByAppReturnRequest"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("AddStockByAppReturnRequest"));
 
       
-            oprot.writeFieldBegin(new TField("storeId", TType.STRING, (short) 1));
             String elem0 = bean.getStoreId();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("storeId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
             oprot.writeString(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("deductStockItem", TType.LIST, (short) 2));
             java.util.List<com.today.api.stock.request.AddStockByAppReturnRequestItem> elem1 = bean.getDeductStockItem();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "deductStockItem字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("deductStockItem", com.github.dapeng.org.apache.thrift.protocol.TType.LIST, (short) 2));
             
-          oprot.writeListBegin(new TList(TType.STRUCT, elem1.size()));
+          oprot.writeListBegin(new com.github.dapeng.org.apache.thrift.protocol.TList(com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, elem1.size()));
           for(com.today.api.stock.request.AddStockByAppReturnRequestItem elem2 : elem1){
            new com.today.api.stock.request.serializer.AddStockByAppReturnRequestItemSerializer().write(elem2, oprot);
         }
@@ -113,14 +122,37 @@ package com.today.api.stock.request.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.stock.request.AddStockByAppReturnRequest bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              String elem0 = bean.getStoreId();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            {
+              java.util.List<com.today.api.stock.request.AddStockByAppReturnRequestItem> elem1 = bean.getDeductStockItem();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.COLLECTION;
+          if(elem1 != null){for(com.today.api.stock.request.AddStockByAppReturnRequestItem elem2 : elem1){
+                if(elem2 != null) size += new com.today.api.stock.request.serializer.AddStockByAppReturnRequestItemSerializer().estimateSize(elem2);
+              }
+        }
+        
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.stock.request.AddStockByAppReturnRequest bean) throws TException{
       
-              if(bean.getStoreId() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
-            
-              if(bean.getDeductStockItem() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "deductStockItem字段不允许为空");
-            
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
+            if(bean.getDeductStockItem() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "deductStockItem字段不允许为空");
+          
+      
     }
     
         @Override
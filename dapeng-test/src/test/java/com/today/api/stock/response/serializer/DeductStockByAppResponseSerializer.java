@@ -26,7 +26,7 @@ package com.today.api.stock.response.serializer;
         import java.util.concurrent.Future;
 
         /**
-        * Autogenerated by Dapeng-Code-Generator (2.1.1-final)
+        * Autogenerated by Dapeng-Code-Generator (2.2.0)
         *
         * DO NOT EDIT UNLESS YOU ARE SURE THAT YOU KNOW WHAT YOU ARE DOING
         *
@@ -37,36 +37,36 @@ package com.today.api.stock.response.serializer;
       public com.today.api.stock.response.DeductStockByAppResponse read(TProtocol iprot) throws TException{
 
       com.today.api.stock.response.DeductStockByAppResponse bean = new com.today.api.stock.response.DeductStockByAppResponse();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setStoreId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.BOOL){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.BOOL){
               boolean elem0 = iprot.readBool();
        bean.setHasDeductSuccess(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.LIST){
-               TList _list0 = iprot.readListBegin();
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.LIST){
+               com.github.dapeng.org.apache.thrift.protocol.TList _list0 = iprot.readListBegin();
         java.util.List<com.today.api.stock.response.DeductStockByAppResponseItem> elem0 = new java.util.ArrayList<>(_list0.size);
         for(int _i0 = 0; _i0 < _list0.size; ++ _i0){
           com.today.api.stock.response.DeductStockByAppResponseItem elem1 = new com.today.api.stock.response.DeductStockByAppResponseItem();
@@ -76,46 +76,56 @@ package com.today.api.stock.response.serializer;
         iprot.readListEnd();
        bean.setDeductStockItem(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
+            if(bean.getDeductStockItem() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "deductStockItem字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.stock.response.DeductStockByAppResponse bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("DeductStockByAppResponse"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("DeductStockByAppResponse"));
 
       
-            oprot.writeFieldBegin(new TField("storeId", TType.STRING, (short) 1));
             String elem0 = bean.getStoreId();
+            if(elem0 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("storeId", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 1));
             oprot.writeString(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("hasDeductSuccess", TType.BOOL, (short) 2));
             Boolean elem1 = bean.getHasDeductSuccess();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("hasDeductSuccess", com.github.dapeng.org.apache.thrift.protocol.TType.BOOL, (short) 2));
             oprot.writeBool(elem1);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("deductStockItem", TType.LIST, (short) 3));
             java.util.List<com.today.api.stock.response.DeductStockByAppResponseItem> elem2 = bean.getDeductStockItem();
+            if(elem2 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "deductStockItem字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("deductStockItem", com.github.dapeng.org.apache.thrift.protocol.TType.LIST, (short) 3));
             
-          oprot.writeListBegin(new TList(TType.STRUCT, elem2.size()));
+          oprot.writeListBegin(new com.github.dapeng.org.apache.thrift.protocol.TList(com.github.dapeng.org.apache.thrift.protocol.TType.STRUCT, elem2.size()));
           for(com.today.api.stock.response.DeductStockByAppResponseItem elem3 : elem2){
            new com.today.api.stock.response.serializer.DeductStockByAppResponseItemSerializer().write(elem3, oprot);
         }
@@ -128,14 +138,37 @@ package com.today.api.stock.response.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.stock.response.DeductStockByAppResponse bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      {
+              String elem0 = bean.getStoreId();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem0);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.BOOL;{
+              java.util.List<com.today.api.stock.response.DeductStockByAppResponseItem> elem2 = bean.getDeductStockItem();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.COLLECTION;
+          if(elem2 != null){for(com.today.api.stock.response.DeductStockByAppResponseItem elem3 : elem2){
+                if(elem3 != null) size += new com.today.api.stock.response.serializer.DeductStockByAppResponseItemSerializer().estimateSize(elem3);
+              }
+        }
+        
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.stock.response.DeductStockByAppResponse bean) throws TException{
       
-              if(bean.getStoreId() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
-            
-              if(bean.getDeductStockItem() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "deductStockItem字段不允许为空");
-            
+            if(bean.getStoreId() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "storeId字段不允许为空");
+          
+            if(bean.getDeductStockItem() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "deductStockItem字段不允许为空");
+          
+      
     }
     
         @Override
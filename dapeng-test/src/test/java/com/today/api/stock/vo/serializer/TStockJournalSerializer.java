@@ -26,7 +26,7 @@ package com.today.api.stock.vo.serializer;
         import java.util.concurrent.Future;
 
         /**
-        * Autogenerated by Dapeng-Code-Generator (2.1.1)
+        * Autogenerated by Dapeng-Code-Generator (2.2.0)
         *
         * DO NOT EDIT UNLESS YOU ARE SURE THAT YOU KNOW WHAT YOU ARE DOING
         *
@@ -37,285 +37,292 @@ package com.today.api.stock.vo.serializer;
       public com.today.api.stock.vo.TStockJournal read(TProtocol iprot) throws TException{
 
       com.today.api.stock.vo.TStockJournal bean = new com.today.api.stock.vo.TStockJournal();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setStockId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.StockJournalSourceTypeEnum elem0 = com.today.api.stock.enums.StockJournalSourceTypeEnum.findByValue(iprot.readI32());
        bean.setSourceType(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 4:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setSourceId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 5:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setSourceTime(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 6:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setStockAmount(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 7:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setFfStockAmount(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 8:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               java.math.BigDecimal elem0 = new java.math.BigDecimal(iprot.readString());
        bean.setAfterStockNum(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 9:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setAfterFfStockWeight(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 10:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.StockJournalHandleTypeEnum elem0 = com.today.api.stock.enums.StockJournalHandleTypeEnum.findByValue(iprot.readI32());
        bean.setHandleType(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 11:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.StockJournalIsDeletedEnum elem0 = com.today.api.stock.enums.StockJournalIsDeletedEnum.findByValue(iprot.readI32());
        bean.setIsDeleted(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 12:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setSellingPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 13:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setBuyingPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 14:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setCreatedAt(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 15:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setCreatedBy(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 16:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setUpdatedAt(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 17:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setUpdatedBy(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getSourceType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.stock.vo.TStockJournal bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("TStockJournal"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("TStockJournal"));
 
       
-            oprot.writeFieldBegin(new TField("id", TType.I64, (short) 1));
             Long elem0 = bean.getId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("id", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 1));
             oprot.writeI64(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("stockId", TType.I64, (short) 2));
             Long elem1 = bean.getStockId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stockId", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 2));
             oprot.writeI64(elem1);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("sourceType", TType.I32, (short) 3));
             com.today.api.stock.enums.StockJournalSourceTypeEnum elem2 = bean.getSourceType();
+            if(elem2 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceType", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 3));
             oprot.writeI32(elem2.getValue());
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("sourceId", TType.I64, (short) 4));
             Long elem3 = bean.getSourceId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceId", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 4));
             oprot.writeI64(elem3);
             
             oprot.writeFieldEnd();
           if(bean.getSourceTime().isPresent()){
-              oprot.writeFieldBegin(new TField("sourceTime", TType.I64, (short) 5));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sourceTime", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 5));
               Long elem4 = bean.getSourceTime().get();
               oprot.writeI64(elem4);
               
             }
             if(bean.getStockAmount().isPresent()){
-              oprot.writeFieldBegin(new TField("stockAmount", TType.STRING, (short) 6));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("stockAmount", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 6));
               java.math.BigDecimal elem5 = bean.getStockAmount().get();
               oprot.writeString(elem5.toString());
               
             }
             if(bean.getFfStockAmount().isPresent()){
-              oprot.writeFieldBegin(new TField("ffStockAmount", TType.STRING, (short) 7));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("ffStockAmount", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 7));
               java.math.BigDecimal elem6 = bean.getFfStockAmount().get();
               oprot.writeString(elem6.toString());
               
             }
             if(bean.getAfterStockNum().isPresent()){
-              oprot.writeFieldBegin(new TField("afterStockNum", TType.STRING, (short) 8));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("afterStockNum", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 8));
               java.math.BigDecimal elem7 = bean.getAfterStockNum().get();
               oprot.writeString(elem7.toString());
               
             }
             if(bean.getAfterFfStockWeight().isPresent()){
-              oprot.writeFieldBegin(new TField("afterFfStockWeight", TType.DOUBLE, (short) 9));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("afterFfStockWeight", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 9));
               Double elem8 = bean.getAfterFfStockWeight().get();
               oprot.writeDouble(elem8);
               
             }
             if(bean.getHandleType().isPresent()){
-              oprot.writeFieldBegin(new TField("handleType", TType.I32, (short) 10));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("handleType", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 10));
               com.today.api.stock.enums.StockJournalHandleTypeEnum elem9 = bean.getHandleType().get();
               oprot.writeI32(elem9.getValue());
               
             }
             if(bean.getIsDeleted().isPresent()){
-              oprot.writeFieldBegin(new TField("isDeleted", TType.I32, (short) 11));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("isDeleted", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 11));
               com.today.api.stock.enums.StockJournalIsDeletedEnum elem10 = bean.getIsDeleted().get();
               oprot.writeI32(elem10.getValue());
               
             }
             if(bean.getSellingPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("sellingPrice", TType.DOUBLE, (short) 12));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("sellingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 12));
               Double elem11 = bean.getSellingPrice().get();
               oprot.writeDouble(elem11);
               
             }
             if(bean.getBuyingPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("buyingPrice", TType.DOUBLE, (short) 13));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("buyingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 13));
               Double elem12 = bean.getBuyingPrice().get();
               oprot.writeDouble(elem12);
               
             }
             if(bean.getCreatedAt().isPresent()){
-              oprot.writeFieldBegin(new TField("createdAt", TType.I64, (short) 14));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("createdAt", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 14));
               Long elem13 = bean.getCreatedAt().get();
               oprot.writeI64(elem13);
               
             }
             if(bean.getCreatedBy().isPresent()){
-              oprot.writeFieldBegin(new TField("createdBy", TType.I32, (short) 15));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("createdBy", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 15));
               Integer elem14 = bean.getCreatedBy().get();
               oprot.writeI32(elem14);
               
             }
             if(bean.getUpdatedAt().isPresent()){
-              oprot.writeFieldBegin(new TField("updatedAt", TType.I64, (short) 16));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("updatedAt", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 16));
               Long elem15 = bean.getUpdatedAt().get();
               oprot.writeI64(elem15);
               
             }
             if(bean.getUpdatedBy().isPresent()){
-              oprot.writeFieldBegin(new TField("updatedBy", TType.I32, (short) 17));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("updatedBy", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 17));
               Integer elem16 = bean.getUpdatedBy().get();
               oprot.writeI32(elem16);
               
@@ -325,11 +332,84 @@ package com.today.api.stock.vo.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.stock.vo.TStockJournal bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;if(bean.getSourceTime().isPresent()){
+              Long elem4 = bean.getSourceTime().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I64;
+            }
+            if(bean.getStockAmount().isPresent()){
+              java.math.BigDecimal elem5 = bean.getStockAmount().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem5);
+            }
+            if(bean.getFfStockAmount().isPresent()){
+              java.math.BigDecimal elem6 = bean.getFfStockAmount().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem6);
+            }
+            if(bean.getAfterStockNum().isPresent()){
+              java.math.BigDecimal elem7 = bean.getAfterStockNum().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.decimalSize(elem7);
+            }
+            if(bean.getAfterFfStockWeight().isPresent()){
+              Double elem8 = bean.getAfterFfStockWeight().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getHandleType().isPresent()){
+              com.today.api.stock.enums.StockJournalHandleTypeEnum elem9 = bean.getHandleType().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I32;
+            }
+            if(bean.getIsDeleted().isPresent()){
+              com.today.api.stock.enums.StockJournalIsDeletedEnum elem10 = bean.getIsDeleted().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I32;
+            }
+            if(bean.getSellingPrice().isPresent()){
+              Double elem11 = bean.getSellingPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getBuyingPrice().isPresent()){
+              Double elem12 = bean.getBuyingPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getCreatedAt().isPresent()){
+              Long elem13 = bean.getCreatedAt().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I64;
+            }
+            if(bean.getCreatedBy().isPresent()){
+              Integer elem14 = bean.getCreatedBy().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I32;
+            }
+            if(bean.getUpdatedAt().isPresent()){
+              Long elem15 = bean.getUpdatedAt().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I64;
+            }
+            if(bean.getUpdatedBy().isPresent()){
+              Integer elem16 = bean.getUpdatedBy().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I32;
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.stock.vo.TStockJournal bean) throws TException{
       
-              if(bean.getSourceType() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
-            
+            if(bean.getSourceType() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "sourceType字段不允许为空");
+          
+      
     }
     
         @Override
@@ -26,7 +26,7 @@ package com.today.api.stock.vo.serializer;
         import java.util.concurrent.Future;
 
         /**
-        * Autogenerated by Dapeng-Code-Generator (2.1.1)
+        * Autogenerated by Dapeng-Code-Generator (2.2.0)
         *
         * DO NOT EDIT UNLESS YOU ARE SURE THAT YOU KNOW WHAT YOU ARE DOING
         *
@@ -37,315 +37,350 @@ package com.today.api.stock.vo.serializer;
       public com.today.api.stock.vo.TWarehouseInventoryDetail read(TProtocol iprot) throws TException{
 
       com.today.api.stock.vo.TWarehouseInventoryDetail bean = new com.today.api.stock.vo.TWarehouseInventoryDetail();
-      TField schemeField;
+      com.github.dapeng.org.apache.thrift.protocol.TField schemeField;
       iprot.readStructBegin();
 
       while(true){
         schemeField = iprot.readFieldBegin();
-        if(schemeField.type == TType.STOP){ break;}
+        if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STOP){ break;}
 
         switch(schemeField.id){
           
               case 1:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setId(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 2:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setWarehouseNo(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 3:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setWarehouseName(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 4:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setWarehouseInventoryNo(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 5:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setInventoryStockDate(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 6:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setInventoryDate(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 7:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
               com.today.api.stock.enums.StockFinanceTypeEnum elem0 = com.today.api.stock.enums.StockFinanceTypeEnum.findByValue(iprot.readI32());
        bean.setNORMAL_SKU(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 8:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setWmsSkuNo(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 9:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuNo(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 10:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setSkuName(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 11:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setBuyingPrice(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 12:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setInventoryStock(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 13:
-              if(schemeField.type == TType.DOUBLE){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE){
                double elem0 = iprot.readDouble();
        bean.setInventoryStockAmout(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 14:
-              if(schemeField.type == TType.STRING){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.STRING){
               String elem0 = iprot.readString();
        bean.setWmsBarcode(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 15:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setStatus(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 16:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setCreatedAt(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 17:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setCreatedBy(elem0);
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 18:
-              if(schemeField.type == TType.I64){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I64){
               long elem0 = iprot.readI64();
        bean.setUpdatedAt(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
               case 19:
-              if(schemeField.type == TType.I32){
+              if(schemeField.type == com.github.dapeng.org.apache.thrift.protocol.TType.I32){
                int elem0 = iprot.readI32();
        bean.setUpdatedBy(Optional.of(elem0));
             }else{
-              TProtocolUtil.skip(iprot, schemeField.type);
+              com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
               break;
             
           
             default:
-            TProtocolUtil.skip(iprot, schemeField.type);
+            com.github.dapeng.org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           
         }
         iprot.readFieldEnd();
       }
       iprot.readStructEnd();
 
-      validate(bean);
+      
+            if(bean.getWarehouseNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "warehouseNo字段不允许为空");
+          
+            if(bean.getWarehouseName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "warehouseName字段不允许为空");
+          
+            if(bean.getWarehouseInventoryNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "warehouseInventoryNo字段不允许为空");
+          
+            if(bean.getNORMAL_SKU() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "NORMAL_SKU字段不允许为空");
+          
+            if(bean.getWmsSkuNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "wmsSkuNo字段不允许为空");
+          
+            if(bean.getWmsBarcode() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "wmsBarcode字段不允许为空");
+          
       return bean;
     }
     
       @Override
       public void write(com.today.api.stock.vo.TWarehouseInventoryDetail bean, TProtocol oprot) throws TException{
 
-      validate(bean);
-      oprot.writeStructBegin(new TStruct("TWarehouseInventoryDetail"));
+      oprot.writeStructBegin(new com.github.dapeng.org.apache.thrift.protocol.TStruct("TWarehouseInventoryDetail"));
 
       
-            oprot.writeFieldBegin(new TField("id", TType.I64, (short) 1));
             Long elem0 = bean.getId();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("id", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 1));
             oprot.writeI64(elem0);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("warehouseNo", TType.STRING, (short) 2));
             String elem1 = bean.getWarehouseNo();
+            if(elem1 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "warehouseNo字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("warehouseNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 2));
             oprot.writeString(elem1);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("warehouseName", TType.STRING, (short) 3));
             String elem2 = bean.getWarehouseName();
+            if(elem2 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "warehouseName字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("warehouseName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 3));
             oprot.writeString(elem2);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("warehouseInventoryNo", TType.STRING, (short) 4));
             String elem3 = bean.getWarehouseInventoryNo();
+            if(elem3 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "warehouseInventoryNo字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("warehouseInventoryNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 4));
             oprot.writeString(elem3);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("inventoryStockDate", TType.I64, (short) 5));
             Long elem4 = bean.getInventoryStockDate();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("inventoryStockDate", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 5));
             oprot.writeI64(elem4);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("inventoryDate", TType.I64, (short) 6));
             Long elem5 = bean.getInventoryDate();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("inventoryDate", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 6));
             oprot.writeI64(elem5);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("NORMAL_SKU", TType.I32, (short) 7));
             com.today.api.stock.enums.StockFinanceTypeEnum elem6 = bean.getNORMAL_SKU();
+            if(elem6 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "NORMAL_SKU字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("NORMAL_SKU", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 7));
             oprot.writeI32(elem6.getValue());
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("wmsSkuNo", TType.STRING, (short) 8));
             String elem7 = bean.getWmsSkuNo();
+            if(elem7 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "wmsSkuNo字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("wmsSkuNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 8));
             oprot.writeString(elem7);
             
             oprot.writeFieldEnd();
           if(bean.getSkuNo().isPresent()){
-              oprot.writeFieldBegin(new TField("skuNo", TType.STRING, (short) 9));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuNo", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 9));
               String elem8 = bean.getSkuNo().get();
               oprot.writeString(elem8);
               
             }
             if(bean.getSkuName().isPresent()){
-              oprot.writeFieldBegin(new TField("skuName", TType.STRING, (short) 10));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("skuName", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 10));
               String elem9 = bean.getSkuName().get();
               oprot.writeString(elem9);
               
             }
             if(bean.getBuyingPrice().isPresent()){
-              oprot.writeFieldBegin(new TField("buyingPrice", TType.DOUBLE, (short) 11));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("buyingPrice", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 11));
               Double elem10 = bean.getBuyingPrice().get();
               oprot.writeDouble(elem10);
               
             }
             if(bean.getInventoryStock().isPresent()){
-              oprot.writeFieldBegin(new TField("inventoryStock", TType.I32, (short) 12));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("inventoryStock", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 12));
               Integer elem11 = bean.getInventoryStock().get();
               oprot.writeI32(elem11);
               
             }
             if(bean.getInventoryStockAmout().isPresent()){
-              oprot.writeFieldBegin(new TField("inventoryStockAmout", TType.DOUBLE, (short) 13));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("inventoryStockAmout", com.github.dapeng.org.apache.thrift.protocol.TType.DOUBLE, (short) 13));
               Double elem12 = bean.getInventoryStockAmout().get();
               oprot.writeDouble(elem12);
               
             }
             
-            oprot.writeFieldBegin(new TField("wmsBarcode", TType.STRING, (short) 14));
             String elem13 = bean.getWmsBarcode();
+            if(elem13 == null)
+              throw new SoaException(SoaCode.StructFieldNull, "wmsBarcode字段不允许为空");
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("wmsBarcode", com.github.dapeng.org.apache.thrift.protocol.TType.STRING, (short) 14));
             oprot.writeString(elem13);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("status", TType.I32, (short) 15));
             Integer elem14 = bean.getStatus();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("status", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 15));
             oprot.writeI32(elem14);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("createdAt", TType.I64, (short) 16));
             Long elem15 = bean.getCreatedAt();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("createdAt", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 16));
             oprot.writeI64(elem15);
             
             oprot.writeFieldEnd();
           
-            oprot.writeFieldBegin(new TField("createdBy", TType.I32, (short) 17));
             Integer elem16 = bean.getCreatedBy();
+            
+            oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("createdBy", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 17));
             oprot.writeI32(elem16);
             
             oprot.writeFieldEnd();
           if(bean.getUpdatedAt().isPresent()){
-              oprot.writeFieldBegin(new TField("updatedAt", TType.I64, (short) 18));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("updatedAt", com.github.dapeng.org.apache.thrift.protocol.TType.I64, (short) 18));
               Long elem17 = bean.getUpdatedAt().get();
               oprot.writeI64(elem17);
               
             }
             if(bean.getUpdatedBy().isPresent()){
-              oprot.writeFieldBegin(new TField("updatedBy", TType.I32, (short) 19));
+              oprot.writeFieldBegin(new com.github.dapeng.org.apache.thrift.protocol.TField("updatedBy", com.github.dapeng.org.apache.thrift.protocol.TType.I32, (short) 19));
               Integer elem18 = bean.getUpdatedBy().get();
               oprot.writeI32(elem18);
               
@@ -355,26 +390,94 @@ package com.today.api.stock.vo.serializer;
       oprot.writeStructEnd();
     }
     
+      @Override
+      public int estimateSize(com.today.api.stock.vo.TWarehouseInventoryDetail bean){
+      int size = com.github.dapeng.core.helper.SizeEstimator.STOP;
+      size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;{
+              String elem1 = bean.getWarehouseNo();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem1);
+            }
+            {
+              String elem2 = bean.getWarehouseName();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem2);
+            }
+            {
+              String elem3 = bean.getWarehouseInventoryNo();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem3);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;{
+              String elem7 = bean.getWmsSkuNo();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem7);
+            }
+            if(bean.getSkuNo().isPresent()){
+              String elem8 = bean.getSkuNo().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem8);
+            }
+            if(bean.getSkuName().isPresent()){
+              String elem9 = bean.getSkuName().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem9);
+            }
+            if(bean.getBuyingPrice().isPresent()){
+              Double elem10 = bean.getBuyingPrice().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            if(bean.getInventoryStock().isPresent()){
+              Integer elem11 = bean.getInventoryStock().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I32;
+            }
+            if(bean.getInventoryStockAmout().isPresent()){
+              Double elem12 = bean.getInventoryStockAmout().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.DOUBLE;
+            }
+            {
+              String elem13 = bean.getWmsBarcode();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.stringSize(elem13);
+            }
+            size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I64;size += com.github.dapeng.core.helper.SizeEstimator.FIELD + com.github.dapeng.core.helper.SizeEstimator.I32;if(bean.getUpdatedAt().isPresent()){
+              Long elem17 = bean.getUpdatedAt().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I64;
+            }
+            if(bean.getUpdatedBy().isPresent()){
+              Integer elem18 = bean.getUpdatedBy().get();
+              size += com.github.dapeng.core.helper.SizeEstimator.FIELD;
+              size += com.github.dapeng.core.helper.SizeEstimator.I32;
+            }
+            
+      return size;
+    }
+    
       public void validate(com.today.api.stock.vo.TWarehouseInventoryDetail bean) throws TException{
       
-              if(bean.getWarehouseNo() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "warehouseNo字段不允许为空");
-            
-              if(bean.getWarehouseName() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "warehouseName字段不允许为空");
-            
-              if(bean.getWarehouseInventoryNo() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "warehouseInventoryNo字段不允许为空");
-            
-              if(bean.getNORMAL_SKU() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "NORMAL_SKU字段不允许为空");
-            
-              if(bean.getWmsSkuNo() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "wmsSkuNo字段不允许为空");
-            
-              if(bean.getWmsBarcode() == null)
-              throw new SoaException(SoaCode.StructFieldNull, "wmsBarcode字段不允许为空");
-            
+            if(bean.getWarehouseNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "warehouseNo字段不允许为空");
+          
+            if(bean.getWarehouseName() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "warehouseName字段不允许为空");
+          
+            if(bean.getWarehouseInventoryNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "warehouseInventoryNo字段不允许为空");
+          
+            if(bean.getNORMAL_SKU() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "NORMAL_SKU字段不允许为空");
+          
+            if(bean.getWmsSkuNo() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "wmsSkuNo字段不允许为空");
+          
+            if(bean.getWmsBarcode() == null)
+            throw new SoaException(SoaCode.StructFieldNull, "wmsBarcode字段不允许为空");
+          
+      
     }
     
         @Override
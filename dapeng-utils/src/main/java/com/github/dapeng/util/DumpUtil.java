@@ -20,6 +20,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -150,4 +151,21 @@ public class DumpUtil {
 
         return msg;
     }
+
+    /**
+     * UTF-8编码的消息, 只解码前128个字节
+     */
+    public static String formatToString(ByteBuf msg) {
+        if (msg == null) {
+            return null;
+        }
+
+        int len = msg.readableBytes();
+        int max_len = 128;
+
+        if (len > max_len) {
+            return msg.toString(msg.readerIndex(), max_len, StandardCharsets.UTF_8) + "...(" + len + ")";
+        }
+        return msg.toString(msg.readerIndex(), len, StandardCharsets.UTF_8);
+    }
 }
@@ -79,6 +79,33 @@ public class TCommonTransport extends TTransport {
         return amtToRead;
     }
 
+    @Override
+    public boolean skipBytes(int len) throws TTransportException {
+        if (len < 0) throw new IllegalArgumentException();
+
+        if (type == Type.Write)
+            throw new TTransportException("try to read from write-only transport");
+
+        if (byteBuf.length - pos < len)
+            throw new TTransportException("remaining bytes is less than skip length");
+
+        pos += len;
+        return true;
+    }
+
+    @Override
+    public int getReadPosition() {
+        return type == Type.Read ? pos : -1;
+    }
+
+    @Override
+    public byte[] copyRange(int fromPosition, int toPosition) throws TTransportException {
+        if (fromPosition < 0 || toPosition < fromPosition || toPosition > byteBuf.length)
+            throw new TTransportException("invalid range [" + fromPosition + ", " + toPosition + ")");
+
+        return Arrays.copyOfRange(byteBuf, fromPosition, toPosition);
+    }
+
     @Override
     public void write(byte[] buf, int off, int len) throws TTransportException {
         if (type == Type.Read)